@@ -1,88 +1,202 @@
 package com.arnellconsulting.worktajm.ms.aop.logging;
 
+import com.arnellconsulting.worktajm.ms.config.ApplicationProperties;
+
 import io.github.jhipster.config.JHipsterConstants;
 
-import org.aspectj.lang.JoinPoint;
-import org.aspectj.lang.ProceedingJoinPoint;
-import org.aspectj.lang.annotation.AfterThrowing;
-import org.aspectj.lang.annotation.Around;
-import org.aspectj.lang.annotation.Aspect;
-import org.aspectj.lang.annotation.Pointcut;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.env.Environment;
 
-import java.util.Arrays;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * Aspect for logging execution of service and repository Spring components.
+ * Advice for logging execution of service and repository Spring components.
+ *
+ * <p>
+ * The methods are selected once, when the proxies are created, by the {@link #LOGGING_POINTCUT} expression. The
+ * advice is a plain method interceptor, so when the logger is not at DEBUG level a call only costs a level check
+ * before it proceeds: no join point is created and the arguments are not copied. At DEBUG level, at most
+ * max-calls-per-second calls are logged each second, and each argument and result is cut to max-argument-length
+ * characters, so that DEBUG can be switched on in production.
+ * </p>
  *
- * By default, it only runs with the "dev" profile.
+ * By default, it is only enabled with the "dev" profile, see the application.logging.aspect properties.
  */
-@Aspect
-public class LoggingAspect {
+public class LoggingAspect implements MethodInterceptor {
+
+    /**
+     * Pointcut that matches all repositories, services and Web REST endpoints.
+     */
+    public static final String LOGGING_POINTCUT =
+        "(within(com.arnellconsulting.worktajm.ms.repository..*) && within(@org.springframework.stereotype.Repository *))" +
+        " || (within(com.arnellconsulting.worktajm.ms.service..*) && within(@org.springframework.stereotype.Service *))" +
+        " || (within(com.arnellconsulting.worktajm.ms.web.rest..*) && within(@org.springframework.web.bind.annotation.RestController *))";
+
+    private static final int MAX_ELEMENTS = 10;
+
+    private static final long WINDOW_MILLIS = 1000;
 
     private final Logger log = LoggerFactory.getLogger(this.getClass());
 
     private final Environment env;
 
-    public LoggingAspect(Environment env) {
+    private final int maxCallsPerSecond;
+
+    private final int maxArgumentLength;
+
+    private final AtomicLong windowStart = new AtomicLong();
+
+    private final AtomicLong windowCalls = new AtomicLong();
+
+    private final AtomicLong skippedCalls = new AtomicLong();
+
+    public LoggingAspect(Environment env, ApplicationProperties.Logging.Aspect properties) {
         this.env = env;
+        this.maxCallsPerSecond = properties.getMaxCallsPerSecond();
+        this.maxArgumentLength = properties.getMaxArgumentLength();
     }
 
     /**
-     * Pointcut that matches all repositories, services and Web REST endpoints.
+     * Advice that logs when a method is entered and exited, and when it throws an exception.
+     *
+     * @param invocation the intercepted method call
+     * @return result
+     * @throws Throwable the exception thrown by the method
      */
-    @Pointcut("(within(com.arnellconsulting.worktajm.ms.repository..*) && @annotation(org.springframework.stereotype.Repository))"+
-        " || (within(com.arnellconsulting.worktajm.ms.service..*) && @annotation(org.springframework.stereotype.Service))"+
-        " || (within(com.arnellconsulting.worktajm.ms.web.rest..*) && @annotation(org.springframework.web.bind.annotation.RestController))")
-    public void loggingPointcut() {
-        // Method is empty as this is just a Pointcut, the implementations are in the advices.
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (!log.isDebugEnabled()) {
+            try {
+                return invocation.proceed();
+            } catch (Throwable e) {
+                logAfterThrowing(invocation, e);
+                throw e;
+            }
+        }
+        return logAround(invocation);
+    }
+
+    private Object logAround(MethodInvocation invocation) throws Throwable {
+        boolean sampled = acquire(System.currentTimeMillis());
+        Method method = invocation.getMethod();
+        if (sampled) {
+            log.debug("Enter: {}.{}() with argument[s] = {}", method.getDeclaringClass().getName(),
+                method.getName(), abbreviate(invocation.getArguments()));
+        }
+        try {
+            Object result = invocation.proceed();
+            if (sampled) {
+                log.debug("Exit: {}.{}() with result = {}", method.getDeclaringClass().getName(),
+                    method.getName(), abbreviate(result));
+            }
+            return result;
+        } catch (Throwable e) {
+            logAfterThrowing(invocation, e);
+            throw e;
+        }
     }
 
     /**
-     * Advice that logs methods throwing exceptions.
-     *
-     * @param joinPoint join point for advice
-     * @param e exception
+     * Logs methods throwing exceptions.
      */
-    @AfterThrowing(pointcut = "loggingPointcut()", throwing = "e")
-    public void logAfterThrowing(JoinPoint joinPoint, Throwable e) {
+    private void logAfterThrowing(MethodInvocation invocation, Throwable e) {
+        Method method = invocation.getMethod();
+        if (e instanceof IllegalArgumentException) {
+            log.error("Illegal argument: {} in {}.{}()", abbreviate(invocation.getArguments()),
+                method.getDeclaringClass().getName(), method.getName());
+        }
         if (env.acceptsProfiles(JHipsterConstants.SPRING_PROFILE_DEVELOPMENT)) {
-            log.error("Exception in {}.{}() with cause = \'{}\' and exception = \'{}\'", joinPoint.getSignature().getDeclaringTypeName(),
-                joinPoint.getSignature().getName(), e.getCause() != null? e.getCause() : "NULL", e.getMessage(), e);
+            log.error("Exception in {}.{}() with cause = \'{}\' and exception = \'{}\'", method.getDeclaringClass().getName(),
+                method.getName(), e.getCause() != null? e.getCause() : "NULL", e.getMessage(), e);
 
         } else {
-            log.error("Exception in {}.{}() with cause = {}", joinPoint.getSignature().getDeclaringTypeName(),
-                joinPoint.getSignature().getName(), e.getCause() != null? e.getCause() : "NULL");
+            log.error("Exception in {}.{}() with cause = {}", method.getDeclaringClass().getName(),
+                method.getName(), e.getCause() != null? e.getCause() : "NULL");
         }
     }
 
     /**
-     * Advice that logs when a method is entered and exited.
+     * Take a slot in the current one second window, the first caller of a new window reports the calls that were
+     * not logged in the previous ones.
      *
-     * @param joinPoint join point for advice
-     * @return result
-     * @throws Throwable throws IllegalArgumentException
+     * @param now the current time, in milliseconds since the epoch
+     * @return true if the call should be logged
      */
-    @Around("loggingPointcut()")
-    public Object logAround(ProceedingJoinPoint joinPoint) throws Throwable {
-        if (log.isDebugEnabled()) {
-            log.debug("Enter: {}.{}() with argument[s] = {}", joinPoint.getSignature().getDeclaringTypeName(),
-                joinPoint.getSignature().getName(), Arrays.toString(joinPoint.getArgs()));
+    boolean acquire(long now) {
+        long start = windowStart.get();
+        if (now - start >= WINDOW_MILLIS && windowStart.compareAndSet(start, now)) {
+            windowCalls.set(0);
+            long skipped = skippedCalls.getAndSet(0);
+            if (skipped > 0) {
+                log.debug("{} calls were not logged, the limit is {} calls per second", skipped, maxCallsPerSecond);
+            }
         }
-        try {
-            Object result = joinPoint.proceed();
-            if (log.isDebugEnabled()) {
-                log.debug("Exit: {}.{}() with result = {}", joinPoint.getSignature().getDeclaringTypeName(),
-                    joinPoint.getSignature().getName(), result);
+        if (windowCalls.incrementAndGet() <= maxCallsPerSecond) {
+            return true;
+        }
+        skippedCalls.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Format a value for the log, only the first elements of arrays and collections are written and each element
+     * is cut to the maximum argument length.
+     */
+    String abbreviate(Object value) {
+        StringBuilder builder = new StringBuilder();
+        if (value instanceof Object[]) {
+            Object[] array = (Object[]) value;
+            builder.append('[');
+            for (int i = 0; i < array.length; i++) {
+                if (!appendElement(builder, i, array[i], array.length)) {
+                    break;
+                }
             }
-            return result;
-        } catch (IllegalArgumentException e) {
-            log.error("Illegal argument: {} in {}.{}()", Arrays.toString(joinPoint.getArgs()),
-                joinPoint.getSignature().getDeclaringTypeName(), joinPoint.getSignature().getName());
+            builder.append(']');
+        } else if (value instanceof Collection) {
+            Collection<?> collection = (Collection<?>) value;
+            builder.append('[');
+            Iterator<?> iterator = collection.iterator();
+            for (int i = 0; iterator.hasNext(); i++) {
+                if (!appendElement(builder, i, iterator.next(), collection.size())) {
+                    break;
+                }
+            }
+            builder.append(']');
+        } else {
+            appendValue(builder, value);
+        }
+        return builder.toString();
+    }
 
-            throw e;
+    private boolean appendElement(StringBuilder builder, int index, Object element, int size) {
+        if (index > 0) {
+            builder.append(", ");
+        }
+        if (index == MAX_ELEMENTS) {
+            builder.append("... ").append(size - MAX_ELEMENTS).append(" more");
+            return false;
+        }
+        appendValue(builder, element);
+        return true;
+    }
+
+    private void appendValue(StringBuilder builder, Object value) {
+        if (value instanceof Object[] || value instanceof Collection) {
+            builder.append(abbreviate(value));
+            return;
+        }
+        String string = String.valueOf(value);
+        if (string.length() > maxArgumentLength) {
+            builder.append(string, 0, maxArgumentLength).append("...");
+        } else {
+            builder.append(string);
         }
     }
 }
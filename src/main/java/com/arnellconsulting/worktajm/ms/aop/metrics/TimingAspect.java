@@ -0,0 +1,121 @@
+package com.arnellconsulting.worktajm.ms.aop.metrics;
+
+import com.arnellconsulting.worktajm.ms.aop.logging.LoggingAspect;
+import com.arnellconsulting.worktajm.ms.config.ApplicationProperties;
+import com.arnellconsulting.worktajm.ms.config.metrics.HdrHistogramReservoir;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+/**
+ * Advice timing the execution of service, repository and REST Spring components.
+ *
+ * <p>
+ * The methods are selected by the {@link LoggingAspect#LOGGING_POINTCUT} expression, and the methods of the Spring
+ * Data repositories by their type, see {@code TimingAspectConfiguration}. Each method has a timer named
+ * "methods.&lt;component&gt;.&lt;method&gt;", backed by an {@link HdrHistogramReservoir} so that recording a call
+ * is wait-free. The component is the class of the bean, or the interface of the application it implements when the
+ * bean is a JDK proxy, such as a Spring Data repository. Calls slower than the slow-call threshold are also logged
+ * as one warning with "component", "method", "durationMs" and "thresholdMs" structured arguments.
+ * </p>
+ */
+public class TimingAspect implements MethodInterceptor {
+
+    public static final String NAME_PREFIX = "methods";
+
+    private static final String APPLICATION_PACKAGE = "com.arnellconsulting.worktajm.ms.";
+
+    private final Logger log = LoggerFactory.getLogger(TimingAspect.class);
+
+    private final MetricRegistry metricRegistry;
+
+    private final long slowCallThresholdNanos;
+
+    private final ConcurrentMap<Class<?>, ComponentTimers> componentTimers = new ConcurrentHashMap<>();
+
+    public TimingAspect(MetricRegistry metricRegistry, ApplicationProperties.Metrics.MethodTiming properties) {
+        this.metricRegistry = metricRegistry;
+        this.slowCallThresholdNanos = properties.getSlowCallThresholdMs() > 0 ?
+            TimeUnit.MILLISECONDS.toNanos(properties.getSlowCallThresholdMs()) : Long.MAX_VALUE;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        long start = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } finally {
+            long duration = System.nanoTime() - start;
+            ComponentTimers timers = getComponentTimers(invocation);
+            Method method = invocation.getMethod();
+            timers.getTimer(method).update(duration, TimeUnit.NANOSECONDS);
+            if (duration >= slowCallThresholdNanos) {
+                log.warn("Slow call {} {} {} {}", kv("component", timers.component), kv("method", method.getName()),
+                    kv("durationMs", TimeUnit.NANOSECONDS.toMillis(duration)),
+                    kv("thresholdMs", TimeUnit.NANOSECONDS.toMillis(slowCallThresholdNanos)));
+            }
+        }
+    }
+
+    private ComponentTimers getComponentTimers(MethodInvocation invocation) {
+        Class<?> type = invocation.getThis() != null ?
+            invocation.getThis().getClass() : invocation.getMethod().getDeclaringClass();
+        // Lookups of existing entries do not lock, unlike computeIfAbsent
+        ComponentTimers timers = componentTimers.get(type);
+        if (timers == null) {
+            timers = componentTimers.computeIfAbsent(type, key -> new ComponentTimers(getComponentName(key)));
+        }
+        return timers;
+    }
+
+    /**
+     * The name of the component of a bean class.
+     *
+     * @param type the class of the bean
+     * @return the name of the interface of the application implemented by a JDK proxy, or of the user class
+     */
+    static String getComponentName(Class<?> type) {
+        if (Proxy.isProxyClass(type)) {
+            for (Class<?> proxiedInterface : type.getInterfaces()) {
+                if (proxiedInterface.getName().startsWith(APPLICATION_PACKAGE)) {
+                    return proxiedInterface.getName();
+                }
+            }
+        }
+        return ClassUtils.getUserClass(type).getName();
+    }
+
+    private final class ComponentTimers {
+
+        private final String component;
+
+        private final ConcurrentMap<Method, Timer> timers = new ConcurrentHashMap<>();
+
+        private ComponentTimers(String component) {
+            this.component = component;
+        }
+
+        private Timer getTimer(Method method) {
+            Timer timer = timers.get(method);
+            if (timer == null) {
+                timer = timers.computeIfAbsent(method, key -> metricRegistry.timer(
+                    MetricRegistry.name(NAME_PREFIX, component, key.getName()),
+                    () -> new Timer(new HdrHistogramReservoir())));
+            }
+            return timer;
+        }
+    }
+}
@@ -1,7 +1,14 @@
 package com.arnellconsulting.worktajm.ms.config;
 
+import com.arnellconsulting.worktajm.ms.config.logging.BatchingLogstashAppender;
+import com.arnellconsulting.worktajm.ms.service.TotalCount;
+
+import com.hazelcast.config.InMemoryFormat;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Properties specific to JHipster.
  *
@@ -12,4 +19,843 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
 public class ApplicationProperties {
 
+    private final Security security = new Security();
+
+    private final Cache cache = new Cache();
+
+    private final Logging logging = new Logging();
+
+    private final Metrics metrics = new Metrics();
+
+    private final Audit audit = new Audit();
+
+    private final WorkLog workLog = new WorkLog();
+
+    private final Timesheet timesheet = new Timesheet();
+
+    private final Pagination pagination = new Pagination();
+
+    public Security getSecurity() {
+        return security;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public Logging getLogging() {
+        return logging;
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    public Audit getAudit() {
+        return audit;
+    }
+
+    public WorkLog getWorkLog() {
+        return workLog;
+    }
+
+    public Timesheet getTimesheet() {
+        return timesheet;
+    }
+
+    public Pagination getPagination() {
+        return pagination;
+    }
+
+    public static class Security {
+
+        private final TokenCache tokenCache = new TokenCache();
+
+        private final Jwks jwks = new Jwks();
+
+        public TokenCache getTokenCache() {
+            return tokenCache;
+        }
+
+        public Jwks getJwks() {
+            return jwks;
+        }
+
+        /**
+         * Cache of already verified JWTs, used by the TokenProvider.
+         */
+        public static class TokenCache {
+
+            private boolean enabled = true;
+
+            private int maxEntries = 10000;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public int getMaxEntries() {
+                return maxEntries;
+            }
+
+            public void setMaxEntries(int maxEntries) {
+                this.maxEntries = maxEntries;
+            }
+        }
+
+        /**
+         * JSON Web Key Set used to verify RS256/ES256 signed JWTs, instead of the shared HS512 secret.
+         */
+        public static class Jwks {
+
+            private String location;
+
+            private long refreshInterval = 10000;
+
+            public String getLocation() {
+                return location;
+            }
+
+            public void setLocation(String location) {
+                this.location = location;
+            }
+
+            public long getRefreshInterval() {
+                return refreshInterval;
+            }
+
+            public void setRefreshInterval(long refreshInterval) {
+                this.refreshInterval = refreshInterval;
+            }
+        }
+    }
+
+    public static class Cache {
+
+        private final List<Region> regions = new ArrayList<>();
+
+        private final Local local = new Local();
+
+        private final Cluster cluster = new Cluster();
+
+        private final WarmUp warmUp = new WarmUp();
+
+        public List<Region> getRegions() {
+            return regions;
+        }
+
+        public Local getLocal() {
+            return local;
+        }
+
+        public Cluster getCluster() {
+            return cluster;
+        }
+
+        public WarmUp getWarmUp() {
+            return warmUp;
+        }
+
+        /**
+         * Loading of the hot entities and caches when the application starts, before it reports UP.
+         */
+        public static class WarmUp {
+
+            private boolean enabled = true;
+
+            private int parallelism = 4;
+
+            private int timeBudgetSeconds = 60;
+
+            private final List<WarmUpEntity> entities = new ArrayList<>();
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public int getParallelism() {
+                return parallelism;
+            }
+
+            public void setParallelism(int parallelism) {
+                this.parallelism = parallelism;
+            }
+
+            public int getTimeBudgetSeconds() {
+                return timeBudgetSeconds;
+            }
+
+            public void setTimeBudgetSeconds(int timeBudgetSeconds) {
+                this.timeBudgetSeconds = timeBudgetSeconds;
+            }
+
+            public List<WarmUpEntity> getEntities() {
+                return entities;
+            }
+        }
+
+        /**
+         * Entities loaded into their second level cache region, by default the first max-results of the table.
+         */
+        public static class WarmUpEntity {
+
+            private String name;
+
+            private String query;
+
+            private int maxResults = 1000;
+
+            public String getName() {
+                return name;
+            }
+
+            public void setName(String name) {
+                this.name = name;
+            }
+
+            public String getQuery() {
+                return query;
+            }
+
+            public void setQuery(String query) {
+                this.query = query;
+            }
+
+            public int getMaxResults() {
+                return maxResults;
+            }
+
+            public void setMaxResults(int maxResults) {
+                this.maxResults = maxResults;
+            }
+        }
+
+        /**
+         * Membership of the Hazelcast cluster, found with the discovery service.
+         */
+        public static class Cluster {
+
+            private int discoveryIntervalSeconds = 30;
+
+            public int getDiscoveryIntervalSeconds() {
+                return discoveryIntervalSeconds;
+            }
+
+            public void setDiscoveryIntervalSeconds(int discoveryIntervalSeconds) {
+                this.discoveryIntervalSeconds = discoveryIntervalSeconds;
+            }
+        }
+
+        /**
+         * Bounded cache of each member, in front of the Hazelcast caches used by the Spring cache abstraction.
+         *
+         * <p>
+         * A local hit returns the same instance to every caller, so only the caches declared immutable in the caches
+         * list get a local cache: their values must never be changed by the code reading them. The other caches are
+         * read from Hazelcast, which returns a new copy on each read. The maximum size and time to live apply to every
+         * local cache, unless overridden in the caches list.
+         * </p>
+         */
+        public static class Local {
+
+            private boolean enabled = true;
+
+            private long maxSize = 1000;
+
+            private int timeToLiveSeconds = 60;
+
+            private final List<LocalCache> caches = new ArrayList<>();
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public long getMaxSize() {
+                return maxSize;
+            }
+
+            public void setMaxSize(long maxSize) {
+                this.maxSize = maxSize;
+            }
+
+            public int getTimeToLiveSeconds() {
+                return timeToLiveSeconds;
+            }
+
+            public void setTimeToLiveSeconds(int timeToLiveSeconds) {
+                this.timeToLiveSeconds = timeToLiveSeconds;
+            }
+
+            public List<LocalCache> getCaches() {
+                return caches;
+            }
+        }
+
+        public static class LocalCache {
+
+            private String name;
+
+            private boolean immutable;
+
+            private Long maxSize;
+
+            private Integer timeToLiveSeconds;
+
+            public String getName() {
+                return name;
+            }
+
+            public void setName(String name) {
+                this.name = name;
+            }
+
+            public boolean isImmutable() {
+                return immutable;
+            }
+
+            public void setImmutable(boolean immutable) {
+                this.immutable = immutable;
+            }
+
+            public Long getMaxSize() {
+                return maxSize;
+            }
+
+            public void setMaxSize(Long maxSize) {
+                this.maxSize = maxSize;
+            }
+
+            public Integer getTimeToLiveSeconds() {
+                return timeToLiveSeconds;
+            }
+
+            public void setTimeToLiveSeconds(Integer timeToLiveSeconds) {
+                this.timeToLiveSeconds = timeToLiveSeconds;
+            }
+        }
+
+        /**
+         * Hazelcast map configuration of a cache region, usually the second level cache of a domain entity.
+         *
+         * <p>
+         * The time to live and backup count default to the jhipster.cache.hazelcast properties.
+         * </p>
+         */
+        public static class Region {
+
+            private String name;
+
+            private Integer timeToLiveSeconds;
+
+            private Integer backupCount;
+
+            private int maxSize = 0;
+
+            private InMemoryFormat inMemoryFormat = InMemoryFormat.BINARY;
+
+            private final NearCache nearCache = new NearCache();
+
+            public String getName() {
+                return name;
+            }
+
+            public void setName(String name) {
+                this.name = name;
+            }
+
+            public Integer getTimeToLiveSeconds() {
+                return timeToLiveSeconds;
+            }
+
+            public void setTimeToLiveSeconds(Integer timeToLiveSeconds) {
+                this.timeToLiveSeconds = timeToLiveSeconds;
+            }
+
+            public Integer getBackupCount() {
+                return backupCount;
+            }
+
+            public void setBackupCount(Integer backupCount) {
+                this.backupCount = backupCount;
+            }
+
+            public int getMaxSize() {
+                return maxSize;
+            }
+
+            public void setMaxSize(int maxSize) {
+                this.maxSize = maxSize;
+            }
+
+            public InMemoryFormat getInMemoryFormat() {
+                return inMemoryFormat;
+            }
+
+            public void setInMemoryFormat(InMemoryFormat inMemoryFormat) {
+                this.inMemoryFormat = inMemoryFormat;
+            }
+
+            public NearCache getNearCache() {
+                return nearCache;
+            }
+        }
+
+        /**
+         * Local copy of the entries of a region, invalidated when they change on any member of the cluster.
+         */
+        public static class NearCache {
+
+            private boolean enabled = false;
+
+            private int maxSize = 10000;
+
+            private int timeToLiveSeconds = 0;
+
+            private int maxIdleSeconds = 0;
+
+            private InMemoryFormat inMemoryFormat = InMemoryFormat.OBJECT;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public int getMaxSize() {
+                return maxSize;
+            }
+
+            public void setMaxSize(int maxSize) {
+                this.maxSize = maxSize;
+            }
+
+            public int getTimeToLiveSeconds() {
+                return timeToLiveSeconds;
+            }
+
+            public void setTimeToLiveSeconds(int timeToLiveSeconds) {
+                this.timeToLiveSeconds = timeToLiveSeconds;
+            }
+
+            public int getMaxIdleSeconds() {
+                return maxIdleSeconds;
+            }
+
+            public void setMaxIdleSeconds(int maxIdleSeconds) {
+                this.maxIdleSeconds = maxIdleSeconds;
+            }
+
+            public InMemoryFormat getInMemoryFormat() {
+                return inMemoryFormat;
+            }
+
+            public void setInMemoryFormat(InMemoryFormat inMemoryFormat) {
+                this.inMemoryFormat = inMemoryFormat;
+            }
+        }
+    }
+
+    public static class Logging {
+
+        private final Aspect aspect = new Aspect();
+
+        private final Logstash logstash = new Logstash();
+
+        public Aspect getAspect() {
+            return aspect;
+        }
+
+        public Logstash getLogstash() {
+            return logstash;
+        }
+
+        /**
+         * Sending of the logs to Logstash, in addition to the jhipster.logging.logstash properties.
+         *
+         * <p>
+         * When the jhipster queue-size buffer fills up, DEBUG and then INFO events are dropped above their discarding
+         * thresholds, WARN events are dropped when it is full, and ERROR events wait up to max-blocking-millis.
+         * </p>
+         */
+        public static class Logstash {
+
+            private BatchingLogstashAppender.Protocol protocol = BatchingLogstashAppender.Protocol.UDP;
+
+            private int batchSize = 256;
+
+            private double debugDiscardingThreshold = 0.5;
+
+            private double infoDiscardingThreshold = 0.8;
+
+            private long maxBlockingMillis = 1000;
+
+            private long reconnectionDelayMillis = 5000;
+
+            public BatchingLogstashAppender.Protocol getProtocol() {
+                return protocol;
+            }
+
+            public void setProtocol(BatchingLogstashAppender.Protocol protocol) {
+                this.protocol = protocol;
+            }
+
+            public int getBatchSize() {
+                return batchSize;
+            }
+
+            public void setBatchSize(int batchSize) {
+                this.batchSize = batchSize;
+            }
+
+            public double getDebugDiscardingThreshold() {
+                return debugDiscardingThreshold;
+            }
+
+            public void setDebugDiscardingThreshold(double debugDiscardingThreshold) {
+                this.debugDiscardingThreshold = debugDiscardingThreshold;
+            }
+
+            public double getInfoDiscardingThreshold() {
+                return infoDiscardingThreshold;
+            }
+
+            public void setInfoDiscardingThreshold(double infoDiscardingThreshold) {
+                this.infoDiscardingThreshold = infoDiscardingThreshold;
+            }
+
+            public long getMaxBlockingMillis() {
+                return maxBlockingMillis;
+            }
+
+            public void setMaxBlockingMillis(long maxBlockingMillis) {
+                this.maxBlockingMillis = maxBlockingMillis;
+            }
+
+            public long getReconnectionDelayMillis() {
+                return reconnectionDelayMillis;
+            }
+
+            public void setReconnectionDelayMillis(long reconnectionDelayMillis) {
+                this.reconnectionDelayMillis = reconnectionDelayMillis;
+            }
+        }
+
+        /**
+         * Debug logging of the calls to repositories, services and REST endpoints, done by the LoggingAspect.
+         *
+         * <p>
+         * The calls are only logged when the LoggingAspect logger is at DEBUG level, at most max-calls-per-second
+         * of them, with each argument and result cut to max-argument-length characters.
+         * </p>
+         */
+        public static class Aspect {
+
+            private boolean enabled = false;
+
+            private int maxCallsPerSecond = 100;
+
+            private int maxArgumentLength = 200;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public int getMaxCallsPerSecond() {
+                return maxCallsPerSecond;
+            }
+
+            public void setMaxCallsPerSecond(int maxCallsPerSecond) {
+                this.maxCallsPerSecond = maxCallsPerSecond;
+            }
+
+            public int getMaxArgumentLength() {
+                return maxArgumentLength;
+            }
+
+            public void setMaxArgumentLength(int maxArgumentLength) {
+                this.maxArgumentLength = maxArgumentLength;
+            }
+        }
+    }
+
+    public static class Metrics {
+
+        private final MethodTiming methodTiming = new MethodTiming();
+
+        public MethodTiming getMethodTiming() {
+            return methodTiming;
+        }
+
+        /**
+         * Timers of the calls to repositories, services and REST endpoints, done by the TimingAspect.
+         */
+        public static class MethodTiming {
+
+            private boolean enabled = true;
+
+            private long slowCallThresholdMs = 1000;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public long getSlowCallThresholdMs() {
+                return slowCallThresholdMs;
+            }
+
+            public void setSlowCallThresholdMs(long slowCallThresholdMs) {
+                this.slowCallThresholdMs = slowCallThresholdMs;
+            }
+        }
+    }
+
+    public static class Audit {
+
+        private final Writer writer = new Writer();
+
+        private final Retention retention = new Retention();
+
+        public Writer getWriter() {
+            return writer;
+        }
+
+        public Retention getRetention() {
+            return retention;
+        }
+
+        /**
+         * Asynchronous writing of the audit events in batches, done by the AuditEventWriter.
+         */
+        public static class Writer {
+
+            private int queueSize = 10000;
+
+            private int flushSize = 100;
+
+            private long flushIntervalMs = 1000;
+
+            public int getQueueSize() {
+                return queueSize;
+            }
+
+            public void setQueueSize(int queueSize) {
+                this.queueSize = queueSize;
+            }
+
+            public int getFlushSize() {
+                return flushSize;
+            }
+
+            public void setFlushSize(int flushSize) {
+                this.flushSize = flushSize;
+            }
+
+            public long getFlushIntervalMs() {
+                return flushIntervalMs;
+            }
+
+            public void setFlushIntervalMs(long flushIntervalMs) {
+                this.flushIntervalMs = flushIntervalMs;
+            }
+        }
+
+        /**
+         * Removal of the old audit events, done by the AuditEventRetentionService.
+         *
+         * <p>
+         * The events older than retention-months whole months are removed, or moved to the archive tables, by
+         * chunks of chunk-size events each in its own transaction. A run stops after max-duration-seconds, and the
+         * next run goes on from where it stopped.
+         * </p>
+         */
+        public static class Retention {
+
+            private boolean enabled = true;
+
+            private String cron = "0 30 3 * * *";
+
+            private int retentionMonths = 12;
+
+            private boolean archive = false;
+
+            private int chunkSize = 1000;
+
+            private long maxDurationSeconds = 600;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public String getCron() {
+                return cron;
+            }
+
+            public void setCron(String cron) {
+                this.cron = cron;
+            }
+
+            public int getRetentionMonths() {
+                return retentionMonths;
+            }
+
+            public void setRetentionMonths(int retentionMonths) {
+                this.retentionMonths = retentionMonths;
+            }
+
+            public boolean isArchive() {
+                return archive;
+            }
+
+            public void setArchive(boolean archive) {
+                this.archive = archive;
+            }
+
+            public int getChunkSize() {
+                return chunkSize;
+            }
+
+            public void setChunkSize(int chunkSize) {
+                this.chunkSize = chunkSize;
+            }
+
+            public long getMaxDurationSeconds() {
+                return maxDurationSeconds;
+            }
+
+            public void setMaxDurationSeconds(long maxDurationSeconds) {
+                this.maxDurationSeconds = maxDurationSeconds;
+            }
+        }
+    }
+
+    /**
+     * Work logs ingestion.
+     *
+     * <p>
+     * POST /api/work-logs/batch accepts up to max-batch-size work logs per request, and inserts them in JDBC batches
+     * of hibernate.jdbc.batch_size rows. GET /api/work-logs/export streams up to max-concurrent-exports files at
+     * once, each on its own thread.
+     * </p>
+     */
+    public static class WorkLog {
+
+        private int maxBatchSize = 5000;
+
+        private int maxConcurrentExports = 2;
+
+        private int maxDurationDays = 31;
+
+        public int getMaxBatchSize() {
+            return maxBatchSize;
+        }
+
+        public void setMaxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+        }
+
+        public int getMaxConcurrentExports() {
+            return maxConcurrentExports;
+        }
+
+        public void setMaxConcurrentExports(int maxConcurrentExports) {
+            this.maxConcurrentExports = maxConcurrentExports;
+        }
+
+        public int getMaxDurationDays() {
+            return maxDurationDays;
+        }
+
+        public void setMaxDurationDays(int maxDurationDays) {
+            this.maxDurationDays = maxDurationDays;
+        }
+    }
+
+    /**
+     * Timesheets, the time spent per worker and project during each day, week and month.
+     *
+     * <p>
+     * The days start at midnight in the zone-id time zone, and the weeks on Monday. The timesheets must be rebuilt
+     * after the time zone is changed.
+     * </p>
+     */
+    public static class Timesheet {
+
+        private String zoneId = "UTC";
+
+        public String getZoneId() {
+            return zoneId;
+        }
+
+        public void setZoneId(String zoneId) {
+            this.zoneId = zoneId;
+        }
+    }
+
+    /**
+     * Total counts of the lists read by page, sent in the X-Total-Count header.
+     *
+     * <p>
+     * EXACT counts the elements on each request. CACHED keeps the count of each list and filter in Hazelcast for
+     * cache-time-to-live-seconds. ESTIMATED reads the number of rows of the unfiltered lists from the table
+     * statistics of the database, once the table has estimate-threshold rows, and otherwise caches the count.
+     * </p>
+     */
+    public static class Pagination {
+
+        private TotalCount.Strategy countStrategy = TotalCount.Strategy.CACHED;
+
+        private int cacheTimeToLiveSeconds = 60;
+
+        private long estimateThreshold = 100000;
+
+        public TotalCount.Strategy getCountStrategy() {
+            return countStrategy;
+        }
+
+        public void setCountStrategy(TotalCount.Strategy countStrategy) {
+            this.countStrategy = countStrategy;
+        }
+
+        public int getCacheTimeToLiveSeconds() {
+            return cacheTimeToLiveSeconds;
+        }
+
+        public void setCacheTimeToLiveSeconds(int cacheTimeToLiveSeconds) {
+            this.cacheTimeToLiveSeconds = cacheTimeToLiveSeconds;
+        }
+
+        public long getEstimateThreshold() {
+            return estimateThreshold;
+        }
+
+        public void setEstimateThreshold(long estimateThreshold) {
+            this.estimateThreshold = estimateThreshold;
+        }
+    }
 }
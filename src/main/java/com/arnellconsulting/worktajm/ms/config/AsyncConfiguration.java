@@ -11,20 +11,32 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.*;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurerAdapter;
 
 import java.util.concurrent.Executor;
 
 @Configuration
 @EnableAsync
 @EnableScheduling
-public class AsyncConfiguration implements AsyncConfigurer {
+public class AsyncConfiguration extends WebMvcConfigurerAdapter implements AsyncConfigurer {
+
+    /**
+     * Threads running the @Scheduled methods, so that a long job such as the audit retention does not delay the
+     * others.
+     */
+    private static final int SCHEDULER_POOL_SIZE = 4;
 
     private final Logger log = LoggerFactory.getLogger(AsyncConfiguration.class);
 
     private final JHipsterProperties jHipsterProperties;
 
-    public AsyncConfiguration(JHipsterProperties jHipsterProperties) {
+    private final ApplicationProperties applicationProperties;
+
+    public AsyncConfiguration(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
         this.jHipsterProperties = jHipsterProperties;
+        this.applicationProperties = applicationProperties;
     }
 
     @Override
@@ -39,6 +51,38 @@ public class AsyncConfiguration implements AsyncConfigurer {
         return new ExceptionHandlingAsyncTaskExecutor(executor);
     }
 
+    @Bean(name = "taskScheduler")
+    public ThreadPoolTaskScheduler taskScheduler() {
+        log.debug("Creating Task Scheduler");
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(SCHEDULER_POOL_SIZE);
+        scheduler.setThreadNamePrefix("worktajm-ms-Scheduler-");
+        return scheduler;
+    }
+
+    /**
+     * Threads of the StreamingResponseBody and Callable results of the REST controllers, which may stream for up to
+     * spring.mvc.async.request-timeout. They have their own pool so that they do not hold the threads of the
+     * "taskExecutor", which only grows past its core size once its queue is full.
+     */
+    @Bean(name = "mvcAsyncExecutor")
+    public ThreadPoolTaskExecutor mvcAsyncExecutor() {
+        log.debug("Creating MVC Async Task Executor");
+        int exports = Math.max(1, applicationProperties.getWorkLog().getMaxConcurrentExports());
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(exports);
+        executor.setMaxPoolSize(exports);
+        // Room for an export started while the thread of the previous one is ending
+        executor.setQueueCapacity(exports);
+        executor.setThreadNamePrefix("worktajm-ms-Mvc-");
+        return executor;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(mvcAsyncExecutor());
+    }
+
     @Override
     public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
         return new SimpleAsyncUncaughtExceptionHandler();
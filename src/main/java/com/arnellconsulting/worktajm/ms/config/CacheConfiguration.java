@@ -1,14 +1,27 @@
 package com.arnellconsulting.worktajm.ms.config;
 
+import com.arnellconsulting.worktajm.ms.config.cache.CacheSerializers;
+import com.arnellconsulting.worktajm.ms.config.cache.DiscoveryClientDiscoveryStrategy;
+import com.arnellconsulting.worktajm.ms.config.cache.TwoLevelCacheManager;
+
 import io.github.jhipster.config.JHipsterConstants;
 import io.github.jhipster.config.JHipsterProperties;
 
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
 import com.hazelcast.config.Config;
+import com.hazelcast.config.DiscoveryStrategyConfig;
+import com.hazelcast.core.Cluster;
+import com.hazelcast.core.MembershipAdapter;
+import com.hazelcast.core.MembershipEvent;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.Hazelcast;
 import com.hazelcast.config.MapConfig;
 import com.hazelcast.config.EvictionPolicy;
 import com.hazelcast.config.MaxSizeConfig;
+import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.spi.properties.GroupProperty;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,13 +33,13 @@ import org.springframework.boot.autoconfigure.web.ServerProperties;
 
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cloud.client.ServiceInstance;
 import org.springframework.cloud.client.discovery.DiscoveryClient;
 import org.springframework.cloud.client.serviceregistry.Registration;
 import org.springframework.context.annotation.*;
 import org.springframework.core.env.Environment;
 
 import javax.annotation.PreDestroy;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 @EnableCaching
@@ -44,6 +57,8 @@ public class CacheConfiguration {
 
     private Registration registration;
 
+    private MetricRegistry metricRegistry;
+
     public CacheConfiguration(Environment env, ServerProperties serverProperties, DiscoveryClient discoveryClient) {
         this.env = env;
         this.serverProperties = serverProperties;
@@ -55,6 +70,11 @@ public class CacheConfiguration {
         this.registration = registration;
     }
 
+    @Autowired(required = false)
+    public void setMetricRegistry(MetricRegistry metricRegistry) {
+        this.metricRegistry = metricRegistry;
+    }
+
     @PreDestroy
     public void destroy() {
         log.info("Closing Cache Manager");
@@ -62,20 +82,42 @@ public class CacheConfiguration {
     }
 
     @Bean
-    public CacheManager cacheManager(HazelcastInstance hazelcastInstance) {
+    public CacheManager cacheManager(HazelcastInstance hazelcastInstance, ApplicationProperties applicationProperties) {
         log.debug("Starting HazelcastCacheManager");
         CacheManager cacheManager = new com.hazelcast.spring.cache.HazelcastCacheManager(hazelcastInstance);
+        ApplicationProperties.Cache.Local localCacheProperties = applicationProperties.getCache().getLocal();
+        if (localCacheProperties.isEnabled()) {
+            log.debug("Adding a local cache in front of the Hazelcast caches");
+            cacheManager = new TwoLevelCacheManager(hazelcastInstance, cacheManager, localCacheProperties, metricRegistry);
+        }
         return cacheManager;
     }
 
     @Bean
-    public HazelcastInstance hazelcastInstance(JHipsterProperties jHipsterProperties) {
+    public HazelcastInstance hazelcastInstance(JHipsterProperties jHipsterProperties,
+        ApplicationProperties applicationProperties) {
         log.debug("Configuring Hazelcast");
         HazelcastInstance hazelCastInstance = Hazelcast.getHazelcastInstanceByName("worktajmMs");
         if (hazelCastInstance != null) {
             log.debug("Hazelcast already initialized");
             return hazelCastInstance;
         }
+        Config config = createHazelcastConfig(jHipsterProperties, applicationProperties);
+        long start = System.nanoTime();
+        hazelCastInstance = Hazelcast.newHazelcastInstance(config);
+        long joinTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        log.info("Hazelcast joined a cluster of {} members in {} ms",
+            hazelCastInstance.getCluster().getMembers().size(), joinTime);
+        if (metricRegistry != null) {
+            registerClusterMetrics(hazelCastInstance, joinTime);
+        }
+        return hazelCastInstance;
+    }
+
+    /**
+     * @return the configuration of the Hazelcast member, with the cluster membership and the map configurations
+     */
+    Config createHazelcastConfig(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
         Config config = new Config();
         config.setInstanceName("worktajmMs");
         config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(false);
@@ -86,34 +128,57 @@ public class CacheConfiguration {
             String serviceId = registration.getServiceId();
             log.debug("Configuring Hazelcast clustering for instanceId: {}", serviceId);
             // In development, everything goes through 127.0.0.1, with a different port
-            if (env.acceptsProfiles(JHipsterConstants.SPRING_PROFILE_DEVELOPMENT)) {
+            boolean localhostOnly = env.acceptsProfiles(JHipsterConstants.SPRING_PROFILE_DEVELOPMENT);
+            if (localhostOnly) {
                 log.debug("Application is running with the \"dev\" profile, Hazelcast " +
                           "cluster will only work with localhost instances");
 
                 System.setProperty("hazelcast.local.localAddress", "127.0.0.1");
-                config.getNetworkConfig().setPort(serverProperties.getPort() + 5701);
-                config.getNetworkConfig().getJoin().getTcpIpConfig().setEnabled(true);
-                for (ServiceInstance instance : discoveryClient.getInstances(serviceId)) {
-                    String clusterMember = "127.0.0.1:" + (instance.getPort() + 5701);
-                    log.debug("Adding Hazelcast (dev) cluster member " + clusterMember);
-                    config.getNetworkConfig().getJoin().getTcpIpConfig().addMember(clusterMember);
-                }
+                config.getNetworkConfig().setPort(serverProperties.getPort() + DiscoveryClientDiscoveryStrategy.HAZELCAST_PORT);
             } else { // Production configuration, one host per instance all using port 5701
-                config.getNetworkConfig().setPort(5701);
-                config.getNetworkConfig().getJoin().getTcpIpConfig().setEnabled(true);
-                for (ServiceInstance instance : discoveryClient.getInstances(serviceId)) {
-                    String clusterMember = instance.getHost() + ":5701";
-                    log.debug("Adding Hazelcast (prod) cluster member " + clusterMember);
-                    config.getNetworkConfig().getJoin().getTcpIpConfig().addMember(clusterMember);
-                }
+                config.getNetworkConfig().setPort(DiscoveryClientDiscoveryStrategy.HAZELCAST_PORT);
             }
+            // The members are looked up in the discovery service when joining, and at each split-brain merge check
+            config.setProperty(GroupProperty.DISCOVERY_SPI_ENABLED.getName(), "true");
+            int discoveryInterval = applicationProperties.getCache().getCluster().getDiscoveryIntervalSeconds();
+            config.setProperty(GroupProperty.MERGE_FIRST_RUN_DELAY_SECONDS.getName(), String.valueOf(discoveryInterval));
+            config.setProperty(GroupProperty.MERGE_NEXT_RUN_DELAY_SECONDS.getName(), String.valueOf(discoveryInterval));
+            config.getNetworkConfig().getJoin().getDiscoveryConfig().addDiscoveryStrategyConfig(
+                new DiscoveryStrategyConfig(new DiscoveryClientDiscoveryStrategy.Factory(
+                    discoveryClient, serviceId, localhostOnly, metricRegistry)));
         }
-        config.getMapConfigs().put("default", initializeDefaultMapConfig());
+        CacheSerializers.register(config.getSerializationConfig());
+        config.getMapConfigs().put("default", initializeDefaultMapConfig(jHipsterProperties));
         config.getMapConfigs().put("com.arnellconsulting.worktajm.ms.domain.*", initializeDomainMapConfig(jHipsterProperties));
-        return Hazelcast.newHazelcastInstance(config);
+        for (ApplicationProperties.Cache.Region region : applicationProperties.getCache().getRegions()) {
+            config.getMapConfigs().put(region.getName(), initializeRegionMapConfig(region, jHipsterProperties));
+        }
+        return config;
     }
 
-    private MapConfig initializeDefaultMapConfig() {
+    private void registerClusterMetrics(HazelcastInstance hazelcastInstance, long joinTime) {
+        Cluster cluster = hazelcastInstance.getCluster();
+        metricRegistry.register("hazelcast.cluster.size", (Gauge<Integer>) () -> cluster.getMembers().size());
+        metricRegistry.register("hazelcast.cluster.join-time", (Gauge<Long>) () -> joinTime);
+        Counter addedMembers = metricRegistry.counter("hazelcast.cluster.members-added");
+        Counter removedMembers = metricRegistry.counter("hazelcast.cluster.members-removed");
+        cluster.addMembershipListener(new MembershipAdapter() {
+
+            @Override
+            public void memberAdded(MembershipEvent membershipEvent) {
+                log.info("Hazelcast member added: {}", membershipEvent.getMember());
+                addedMembers.inc();
+            }
+
+            @Override
+            public void memberRemoved(MembershipEvent membershipEvent) {
+                log.info("Hazelcast member removed: {}", membershipEvent.getMember());
+                removedMembers.inc();
+            }
+        });
+    }
+
+    private MapConfig initializeDefaultMapConfig(JHipsterProperties jHipsterProperties) {
         MapConfig mapConfig = new MapConfig();
 
     /*
@@ -121,7 +186,7 @@ public class CacheConfiguration {
         then all entries of the map will be copied to another JVM for
         fail-safety. Valid numbers are 0 (no backup), 1, 2, 3.
      */
-        mapConfig.setBackupCount(0);
+        mapConfig.setBackupCount(jHipsterProperties.getCache().getHazelcast().getBackupCount());
 
     /*
         Valid values are:
@@ -146,6 +211,37 @@ public class CacheConfiguration {
     private MapConfig initializeDomainMapConfig(JHipsterProperties jHipsterProperties) {
         MapConfig mapConfig = new MapConfig();
         mapConfig.setTimeToLiveSeconds(jHipsterProperties.getCache().getHazelcast().getTimeToLiveSeconds());
+        mapConfig.setBackupCount(jHipsterProperties.getCache().getHazelcast().getBackupCount());
+        return mapConfig;
+    }
+
+    MapConfig initializeRegionMapConfig(ApplicationProperties.Cache.Region region,
+        JHipsterProperties jHipsterProperties) {
+        JHipsterProperties.Cache.Hazelcast hazelcast = jHipsterProperties.getCache().getHazelcast();
+        MapConfig mapConfig = new MapConfig(region.getName());
+        mapConfig.setTimeToLiveSeconds(region.getTimeToLiveSeconds() != null ?
+            region.getTimeToLiveSeconds() : hazelcast.getTimeToLiveSeconds());
+        mapConfig.setBackupCount(region.getBackupCount() != null ?
+            region.getBackupCount() : hazelcast.getBackupCount());
+        mapConfig.setInMemoryFormat(region.getInMemoryFormat());
+        if (region.getMaxSize() > 0) {
+            mapConfig.setEvictionPolicy(EvictionPolicy.LRU);
+            mapConfig.setMaxSizeConfig(new MaxSizeConfig(region.getMaxSize(), MaxSizeConfig.MaxSizePolicy.PER_NODE));
+        }
+
+        ApplicationProperties.Cache.NearCache nearCache = region.getNearCache();
+        if (nearCache.isEnabled()) {
+            // Entries are read locally, and dropped on every member when they are updated or evicted
+            NearCacheConfig nearCacheConfig = new NearCacheConfig(region.getName());
+            nearCacheConfig.setInvalidateOnChange(true);
+            nearCacheConfig.setInMemoryFormat(nearCache.getInMemoryFormat());
+            nearCacheConfig.setMaxSize(nearCache.getMaxSize());
+            nearCacheConfig.setEvictionPolicy(EvictionPolicy.LRU.name());
+            nearCacheConfig.setTimeToLiveSeconds(nearCache.getTimeToLiveSeconds());
+            nearCacheConfig.setMaxIdleSeconds(nearCache.getMaxIdleSeconds());
+            mapConfig.setNearCacheConfig(nearCacheConfig);
+        }
+        log.debug("Configured Hazelcast cache region {}, near cache: {}", region.getName(), nearCache.isEnabled());
         return mapConfig;
     }
 }
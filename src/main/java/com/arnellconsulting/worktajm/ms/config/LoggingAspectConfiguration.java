@@ -2,18 +2,29 @@ package com.arnellconsulting.worktajm.ms.config;
 
 import com.arnellconsulting.worktajm.ms.aop.logging.LoggingAspect;
 
-import io.github.jhipster.config.JHipsterConstants;
-
+import org.springframework.aop.Advisor;
+import org.springframework.aop.aspectj.AspectJExpressionPointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.*;
 import org.springframework.core.env.Environment;
 
 @Configuration
 @EnableAspectJAutoProxy
+@ConditionalOnProperty("application.logging.aspect.enabled")
 public class LoggingAspectConfiguration {
 
     @Bean
-    @Profile(JHipsterConstants.SPRING_PROFILE_DEVELOPMENT)
-    public LoggingAspect loggingAspect(Environment env) {
-        return new LoggingAspect(env);
+    public LoggingAspect loggingAspect(Environment env, ApplicationProperties applicationProperties) {
+        return new LoggingAspect(env, applicationProperties.getLogging().getAspect());
+    }
+
+    @Bean
+    public Advisor loggingAdvisor(LoggingAspect loggingAspect) {
+        AspectJExpressionPointcut pointcut = new AspectJExpressionPointcut();
+        pointcut.setExpression(LoggingAspect.LOGGING_POINTCUT);
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut, loggingAspect);
+        advisor.setOrder(TimingAspectConfiguration.TIMING_ADVISOR_ORDER - 1);
+        return advisor;
     }
 }
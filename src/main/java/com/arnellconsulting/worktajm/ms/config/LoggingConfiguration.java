@@ -1,40 +1,61 @@
 package com.arnellconsulting.worktajm.ms.config;
 
+import com.arnellconsulting.worktajm.ms.config.logging.BatchingLogstashAppender;
+import com.arnellconsulting.worktajm.ms.config.logging.StructuredJsonEncoder;
+
 import io.github.jhipster.config.JHipsterProperties;
 
-import ch.qos.logback.classic.AsyncAppender;
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.classic.spi.LoggerContextListener;
+import ch.qos.logback.core.Appender;
 import ch.qos.logback.core.spi.ContextAwareBase;
-import net.logstash.logback.appender.LogstashSocketAppender;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
 import net.logstash.logback.stacktrace.ShortenedThrowableConverter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 
+import javax.annotation.PostConstruct;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
 @Configuration
 public class LoggingConfiguration {
 
+    public static final String LOGSTASH_APPENDER_NAME = "ASYNC_LOGSTASH";
+
+    private static final String LOGSTASH_METRICS_PREFIX = "logging.logstash";
+
     private final Logger log = LoggerFactory.getLogger(LoggingConfiguration.class);
 
     private LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
 
-    private final String appName;
+    private final Map<String, String> staticFields;
 
-    private final String serverPort;
+    private final JHipsterProperties jHipsterProperties;
 
-    private final String instanceId;
+    private final ApplicationProperties applicationProperties;
 
-    private final JHipsterProperties jHipsterProperties;
+    private MetricRegistry metricRegistry;
 
     public LoggingConfiguration(@Value("${spring.application.name}") String appName, @Value("${server.port}") String serverPort,
-        @Value("${eureka.instance.instanceId}") String instanceId, JHipsterProperties jHipsterProperties) {
-        this.appName = appName;
-        this.serverPort = serverPort;
-        this.instanceId = instanceId;
+        @Value("${eureka.instance.instanceId}") String instanceId, JHipsterProperties jHipsterProperties,
+        ApplicationProperties applicationProperties) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("app_name", appName);
+        fields.put("app_port", serverPort);
+        fields.put("instance_id", instanceId);
+        this.staticFields = Collections.unmodifiableMap(fields);
         this.jHipsterProperties = jHipsterProperties;
+        this.applicationProperties = applicationProperties;
         if (jHipsterProperties.getLogging().getLogstash().isEnabled()) {
             addLogstashAppender(context);
 
@@ -45,37 +66,69 @@ public class LoggingConfiguration {
         }
     }
 
+    @Autowired(required = false)
+    public void setMetricRegistry(MetricRegistry metricRegistry) {
+        this.metricRegistry = metricRegistry;
+    }
+
     public void addLogstashAppender(LoggerContext context) {
         log.info("Initializing Logstash logging");
 
-        LogstashSocketAppender logstashAppender = new LogstashSocketAppender();
-        logstashAppender.setName("LOGSTASH");
-        logstashAppender.setContext(context);
-        String customFields = "{\"app_name\":\"" + appName + "\",\"app_port\":\"" + serverPort + "\"," +
-            "\"instance_id\":\"" + instanceId + "\"}";
-
-        // Set the Logstash appender config from JHipster properties
-        logstashAppender.setSyslogHost(jHipsterProperties.getLogging().getLogstash().getHost());
-        logstashAppender.setPort(jHipsterProperties.getLogging().getLogstash().getPort());
-        logstashAppender.setCustomFields(customFields);
+        StructuredJsonEncoder encoder = new StructuredJsonEncoder();
+        encoder.setContext(context);
+        encoder.setStaticFields(staticFields);
 
         // Limit the maximum length of the forwarded stacktrace so that it won't exceed the 8KB UDP limit of logstash
         ShortenedThrowableConverter throwableConverter = new ShortenedThrowableConverter();
         throwableConverter.setMaxLength(7500);
         throwableConverter.setRootCauseFirst(true);
-        logstashAppender.setThrowableConverter(throwableConverter);
+        encoder.setThrowableConverter(throwableConverter);
+        encoder.start();
 
+        // Set the Logstash appender config from JHipster and application properties
+        ApplicationProperties.Logging.Logstash logstashProperties = applicationProperties.getLogging().getLogstash();
+        BatchingLogstashAppender logstashAppender = new BatchingLogstashAppender();
+        logstashAppender.setContext(context);
+        logstashAppender.setName(LOGSTASH_APPENDER_NAME);
+        logstashAppender.setHost(jHipsterProperties.getLogging().getLogstash().getHost());
+        logstashAppender.setPort(jHipsterProperties.getLogging().getLogstash().getPort());
+        logstashAppender.setQueueSize(jHipsterProperties.getLogging().getLogstash().getQueueSize());
+        logstashAppender.setProtocol(logstashProperties.getProtocol());
+        logstashAppender.setBatchSize(logstashProperties.getBatchSize());
+        logstashAppender.setDebugDiscardingThreshold(logstashProperties.getDebugDiscardingThreshold());
+        logstashAppender.setInfoDiscardingThreshold(logstashProperties.getInfoDiscardingThreshold());
+        logstashAppender.setMaxBlockingMillis(logstashProperties.getMaxBlockingMillis());
+        logstashAppender.setReconnectionDelayMillis(logstashProperties.getReconnectionDelayMillis());
+        logstashAppender.setEncoder(encoder);
         logstashAppender.start();
 
-        // Wrap the appender in an Async appender for performance
-        AsyncAppender asyncLogstashAppender = new AsyncAppender();
-        asyncLogstashAppender.setContext(context);
-        asyncLogstashAppender.setName("ASYNC_LOGSTASH");
-        asyncLogstashAppender.setQueueSize(jHipsterProperties.getLogging().getLogstash().getQueueSize());
-        asyncLogstashAppender.addAppender(logstashAppender);
-        asyncLogstashAppender.start();
+        context.getLogger("ROOT").addAppender(logstashAppender);
+    }
+
+    /**
+     * Register the metrics of the Logstash appender, they read the current appender as it is replaced when the
+     * Logback configuration is reset.
+     */
+    @PostConstruct
+    public void registerLogstashMetrics() {
+        if (metricRegistry == null || !jHipsterProperties.getLogging().getLogstash().isEnabled()) {
+            return;
+        }
+        registerLogstashGauge("queue-depth", BatchingLogstashAppender::getQueueDepth);
+        registerLogstashGauge("sent", BatchingLogstashAppender::getSentEvents);
+        registerLogstashGauge("failed", BatchingLogstashAppender::getFailedEvents);
+        for (Level level : new Level[] {Level.TRACE, Level.DEBUG, Level.INFO, Level.WARN, Level.ERROR}) {
+            registerLogstashGauge("dropped." + level.toString().toLowerCase(Locale.ENGLISH),
+                appender -> appender.getDroppedEvents(level));
+        }
+    }
 
-        context.getLogger("ROOT").addAppender(asyncLogstashAppender);
+    private void registerLogstashGauge(String name, ToLongFunction<BatchingLogstashAppender> value) {
+        metricRegistry.register(MetricRegistry.name(LOGSTASH_METRICS_PREFIX, name), (Gauge<Long>) () -> {
+            Appender<ILoggingEvent> appender = context.getLogger("ROOT").getAppender(LOGSTASH_APPENDER_NAME);
+            return appender instanceof BatchingLogstashAppender ?
+                value.applyAsLong((BatchingLogstashAppender) appender) : 0L;
+        });
     }
 
     /**
@@ -1,5 +1,7 @@
 package com.arnellconsulting.worktajm.ms.config;
 
+import com.arnellconsulting.worktajm.ms.config.metrics.PrometheusMetricsServlet;
+
 import io.github.jhipster.config.JHipsterProperties;
 import io.github.jhipster.config.metrics.SpectatorLogMetricWriter;
 
@@ -8,6 +10,7 @@ import org.springframework.boot.actuate.autoconfigure.ExportMetricReader;
 import org.springframework.boot.actuate.autoconfigure.ExportMetricWriter;
 import org.springframework.boot.actuate.metrics.writer.MetricWriter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.ServletRegistrationBean;
 import org.springframework.cloud.netflix.metrics.spectator.SpectatorMetricReader;
 
 import com.codahale.metrics.JmxReporter;
@@ -95,6 +98,14 @@ public class MetricsConfiguration extends MetricsConfigurerAdapter {
         }
     }
 
+    @Bean
+    @ConditionalOnProperty("jhipster.metrics.prometheus.enabled")
+    public ServletRegistrationBean prometheusMetricsServlet() {
+        String endpoint = jHipsterProperties.getMetrics().getPrometheus().getEndpoint();
+        log.info("Initializing Metrics Prometheus endpoint at {}", endpoint);
+        return new ServletRegistrationBean(new PrometheusMetricsServlet(metricRegistry), endpoint);
+    }
+
     /* Spectator metrics log reporting */
     @Bean
     @ConditionalOnProperty("jhipster.logging.spectator-metrics.enabled")
@@ -0,0 +1,44 @@
+package com.arnellconsulting.worktajm.ms.config;
+
+import com.arnellconsulting.worktajm.ms.aop.logging.LoggingAspect;
+import com.arnellconsulting.worktajm.ms.aop.metrics.TimingAspect;
+
+import com.codahale.metrics.MetricRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.aspectj.AspectJExpressionPointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.*;
+import org.springframework.core.Ordered;
+
+@Configuration
+@EnableAspectJAutoProxy
+@ConditionalOnProperty("application.metrics.method-timing.enabled")
+public class TimingAspectConfiguration {
+
+    /**
+     * Runs inside the logging advice, so that logging is not timed, and outside the transaction advice, so that
+     * commits are.
+     */
+    public static final int TIMING_ADVISOR_ORDER = Ordered.LOWEST_PRECEDENCE - 1;
+
+    /**
+     * The Spring Data repositories are JDK proxies, outside of the repository package, so they are matched by type.
+     */
+    public static final String TIMING_POINTCUT = LoggingAspect.LOGGING_POINTCUT +
+        " || this(org.springframework.data.repository.Repository+)";
+
+    @Bean
+    public TimingAspect timingAspect(MetricRegistry metricRegistry, ApplicationProperties applicationProperties) {
+        return new TimingAspect(metricRegistry, applicationProperties.getMetrics().getMethodTiming());
+    }
+
+    @Bean
+    public Advisor timingAdvisor(TimingAspect timingAspect) {
+        AspectJExpressionPointcut pointcut = new AspectJExpressionPointcut();
+        pointcut.setExpression(TIMING_POINTCUT);
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut, timingAspect);
+        advisor.setOrder(TIMING_ADVISOR_ORDER);
+        return advisor;
+    }
+}
@@ -0,0 +1,172 @@
+package com.arnellconsulting.worktajm.ms.config.audit;
+
+import com.arnellconsulting.worktajm.ms.config.ApplicationProperties;
+import com.arnellconsulting.worktajm.ms.domain.PersistentAuditEvent;
+import com.arnellconsulting.worktajm.ms.repository.PersistenceAuditEventRepository;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Writer inserting the audit events in batches, outside of the threads that create them.
+ *
+ * <p>
+ * Events are queued in memory, and written in one transaction per application.audit.writer.flush-size events,
+ * which Hibernate sends as JDBC batches. A flush is run on the "taskExecutor" as soon as flush-size events are
+ * queued, and every flush-interval-ms by the scheduler. When the queue is full the caller flushes it itself, and
+ * when a batch fails its events are written one by one, so that an audit event is only lost when it cannot be
+ * written on its own. The "audit.writer" metrics count the written and failed events.
+ * </p>
+ */
+@Component
+public class AuditEventWriter {
+
+    private final Logger log = LoggerFactory.getLogger(AuditEventWriter.class);
+
+    private final PersistenceAuditEventRepository persistenceAuditEventRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Executor taskExecutor;
+
+    private final int flushSize;
+
+    private final BlockingQueue<PersistentAuditEvent> queue;
+
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    private final Object flushLock = new Object();
+
+    private Counter writtenEvents = new Counter();
+
+    private Counter failedEvents = new Counter();
+
+    private Timer flushTimer = new Timer();
+
+    public AuditEventWriter(ApplicationProperties applicationProperties,
+        PersistenceAuditEventRepository persistenceAuditEventRepository,
+        PlatformTransactionManager transactionManager, @Qualifier("taskExecutor") Executor taskExecutor) {
+        ApplicationProperties.Audit.Writer properties = applicationProperties.getAudit().getWriter();
+        this.persistenceAuditEventRepository = persistenceAuditEventRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.taskExecutor = taskExecutor;
+        this.flushSize = Math.max(1, properties.getFlushSize());
+        this.queue = new ArrayBlockingQueue<>(Math.max(flushSize, properties.getQueueSize()));
+    }
+
+    @Autowired(required = false)
+    public void setMetricRegistry(MetricRegistry metricRegistry) {
+        writtenEvents = metricRegistry.counter("audit.writer.written");
+        failedEvents = metricRegistry.counter("audit.writer.failed");
+        flushTimer = metricRegistry.timer("audit.writer.batches");
+        metricRegistry.register("audit.writer.queue-depth", (Gauge<Integer>) queue::size);
+    }
+
+    /**
+     * Queue an audit event, it is written by the next flush.
+     *
+     * @param event the event to write
+     */
+    public void write(PersistentAuditEvent event) {
+        if (!queue.offer(event)) {
+            log.warn("The audit event queue is full, writing {} events on the calling thread", queue.size());
+            flush();
+            if (!queue.offer(event)) {
+                save(Collections.singletonList(event));
+                return;
+            }
+        }
+        if (queue.size() >= flushSize) {
+            scheduleFlush();
+        }
+    }
+
+    private void scheduleFlush() {
+        if (!flushScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            taskExecutor.execute(() -> {
+                flushScheduled.set(false);
+                flush();
+            });
+        } catch (TaskRejectedException e) {
+            // The events are written by the next scheduled flush
+            flushScheduled.set(false);
+        }
+    }
+
+    /**
+     * Write all the queued events, in batches of flush-size events.
+     */
+    @Scheduled(fixedDelayString = "${application.audit.writer.flush-interval-ms:1000}")
+    public void flush() {
+        synchronized (flushLock) {
+            List<PersistentAuditEvent> batch = new ArrayList<>(flushSize);
+            while (queue.drainTo(batch, flushSize) > 0) {
+                if (!save(batch) && batch.size() > 1) {
+                    for (PersistentAuditEvent event : batch) {
+                        // Ids allocated by the failed transaction are not used
+                        event.setId(null);
+                        save(Collections.singletonList(event));
+                    }
+                }
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * @return the number of events waiting to be written
+     */
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    @PreDestroy
+    public void stop() {
+        flush();
+    }
+
+    private boolean save(List<PersistentAuditEvent> events) {
+        Timer.Context context = flushTimer.time();
+        try {
+            transactionTemplate.execute(status -> persistenceAuditEventRepository.save(events));
+            writtenEvents.inc(events.size());
+            return true;
+        } catch (RuntimeException e) {
+            if (events.size() == 1) {
+                failedEvents.inc();
+                log.error("Cannot write the audit event {}: {}", events.get(0).getAuditEventType(), e.getMessage(), e);
+            } else {
+                log.warn("Cannot write a batch of {} audit events, writing them one by one: {}", events.size(),
+                    e.getMessage());
+            }
+            return false;
+        } finally {
+            context.stop();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.arnellconsulting.worktajm.ms.config.cache;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.StreamSerializer;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Message published when an entry of a two level cache is written, so that the other members drop their local copy.
+ */
+public final class CacheInvalidation {
+
+    private final UUID origin;
+
+    private final String cacheName;
+
+    private final Object key;
+
+    /**
+     * @param origin the id of the cache manager which changed the entry
+     * @param cacheName the name of the cache
+     * @param key the key of the changed entry, or null when the whole cache was cleared
+     */
+    public CacheInvalidation(UUID origin, String cacheName, Object key) {
+        this.origin = origin;
+        this.cacheName = cacheName;
+        this.key = key;
+    }
+
+    public UUID getOrigin() {
+        return origin;
+    }
+
+    public String getCacheName() {
+        return cacheName;
+    }
+
+    public Object getKey() {
+        return key;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheInvalidation{" +
+            "cacheName='" + cacheName + "'" +
+            ", key=" + key +
+            "}";
+    }
+
+    static final class Serializer implements StreamSerializer<CacheInvalidation> {
+
+        @Override
+        public void write(ObjectDataOutput out, CacheInvalidation invalidation) throws IOException {
+            out.writeLong(invalidation.origin.getMostSignificantBits());
+            out.writeLong(invalidation.origin.getLeastSignificantBits());
+            out.writeUTF(invalidation.cacheName);
+            out.writeObject(invalidation.key);
+        }
+
+        @Override
+        public CacheInvalidation read(ObjectDataInput in) throws IOException {
+            return new CacheInvalidation(new UUID(in.readLong(), in.readLong()), in.readUTF(), in.readObject());
+        }
+
+        @Override
+        public int getTypeId() {
+            return CacheSerializers.CACHE_INVALIDATION_TYPE_ID;
+        }
+
+        @Override
+        public void destroy() {
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.arnellconsulting.worktajm.ms.config.cache;
+
+import com.arnellconsulting.worktajm.ms.domain.PersistentAuditEvent;
+import com.arnellconsulting.worktajm.ms.service.LogLevelChange;
+
+import com.hazelcast.config.SerializationConfig;
+import com.hazelcast.config.SerializerConfig;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.StreamSerializer;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+
+/**
+ * Field by field serializers of the objects stored in Hazelcast, used instead of Java serialization.
+ *
+ * <p>
+ * Hibernate stores the disassembled state of the entities in the second level cache, so the java.time types of
+ * their fields are registered along with the entities put in the Spring caches. Add the serializer of a new
+ * cached entity here, with the next free type id.
+ * </p>
+ */
+public final class CacheSerializers {
+
+    public static final int INSTANT_TYPE_ID = 1000;
+
+    public static final int ZONED_DATE_TIME_TYPE_ID = 1001;
+
+    public static final int LOCAL_DATE_TYPE_ID = 1002;
+
+    public static final int PERSISTENT_AUDIT_EVENT_TYPE_ID = 1100;
+
+    public static final int CACHE_INVALIDATION_TYPE_ID = 1200;
+
+    public static final int LOG_LEVEL_CHANGE_TYPE_ID = 1300;
+
+    private CacheSerializers() {
+    }
+
+    /**
+     * Register the serializers in a Hazelcast serialization configuration.
+     *
+     * @param serializationConfig the configuration of the Hazelcast instance
+     */
+    public static void register(SerializationConfig serializationConfig) {
+        register(serializationConfig, Instant.class, new JavaTimeSerializers.InstantSerializer());
+        register(serializationConfig, ZonedDateTime.class, new JavaTimeSerializers.ZonedDateTimeSerializer());
+        register(serializationConfig, LocalDate.class, new JavaTimeSerializers.LocalDateSerializer());
+        register(serializationConfig, PersistentAuditEvent.class, new PersistentAuditEventSerializer());
+        register(serializationConfig, CacheInvalidation.class, new CacheInvalidation.Serializer());
+        register(serializationConfig, LogLevelChange.class, new LogLevelChange.Serializer());
+    }
+
+    private static void register(SerializationConfig serializationConfig, Class<?> typeClass,
+        StreamSerializer<?> serializer) {
+        serializationConfig.addSerializerConfig(new SerializerConfig()
+            .setTypeClass(typeClass)
+            .setImplementation(serializer));
+    }
+
+    /**
+     * Write a nullable instant inline, without the type id written by {@link ObjectDataOutput#writeObject}.
+     */
+    static void writeInstant(ObjectDataOutput out, Instant instant) throws IOException {
+        out.writeBoolean(instant != null);
+        if (instant != null) {
+            out.writeLong(instant.getEpochSecond());
+            out.writeInt(instant.getNano());
+        }
+    }
+
+    static Instant readInstant(ObjectDataInput in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        return Instant.ofEpochSecond(in.readLong(), in.readInt());
+    }
+}
@@ -0,0 +1,129 @@
+package com.arnellconsulting.worktajm.ms.config.cache;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.hazelcast.config.properties.PropertyDefinition;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.nio.Address;
+import com.hazelcast.spi.discovery.AbstractDiscoveryStrategy;
+import com.hazelcast.spi.discovery.DiscoveryNode;
+import com.hazelcast.spi.discovery.DiscoveryStrategy;
+import com.hazelcast.spi.discovery.DiscoveryStrategyFactory;
+import com.hazelcast.spi.discovery.SimpleDiscoveryNode;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hazelcast discovery strategy finding the cluster members with the Spring Cloud {@link DiscoveryClient}.
+ *
+ * <p>
+ * Hazelcast asks for the members when it joins the cluster, and again at each split-brain merge check, so members
+ * registered after startup, for example by autoscaling, are found and merged into a single cluster.
+ * </p>
+ */
+public class DiscoveryClientDiscoveryStrategy extends AbstractDiscoveryStrategy {
+
+    /**
+     * The Hazelcast port of a member when each member runs on its own host.
+     */
+    public static final int HAZELCAST_PORT = 5701;
+
+    private final DiscoveryClient discoveryClient;
+
+    private final String serviceId;
+
+    private final boolean localhostOnly;
+
+    private final Timer lookupTimer;
+
+    /**
+     * @param logger the Hazelcast logger
+     * @param discoveryClient the client of the discovery service
+     * @param serviceId the id of the service, the application name by default
+     * @param localhostOnly true when all the members run on 127.0.0.1, the Hazelcast port of each member is then
+     * its server port plus {@link #HAZELCAST_PORT}
+     * @param metricRegistry the registry of the "hazelcast.discovery.lookups" timer, or null
+     */
+    public DiscoveryClientDiscoveryStrategy(ILogger logger, DiscoveryClient discoveryClient, String serviceId,
+        boolean localhostOnly, MetricRegistry metricRegistry) {
+        super(logger, Collections.emptyMap());
+        this.discoveryClient = discoveryClient;
+        this.serviceId = serviceId;
+        this.localhostOnly = localhostOnly;
+        this.lookupTimer = metricRegistry != null ? metricRegistry.timer("hazelcast.discovery.lookups") : new Timer();
+    }
+
+    @Override
+    public Iterable<DiscoveryNode> discoverNodes() {
+        List<ServiceInstance> instances;
+        try (Timer.Context ignored = lookupTimer.time()) {
+            instances = discoveryClient.getInstances(serviceId);
+        } catch (RuntimeException e) {
+            getLogger().warning("Cannot get the instances of " + serviceId + " from the discovery service", e);
+            return Collections.emptyList();
+        }
+        List<DiscoveryNode> nodes = new ArrayList<>(instances.size());
+        for (ServiceInstance instance : instances) {
+            try {
+                nodes.add(new SimpleDiscoveryNode(toAddress(instance)));
+            } catch (UnknownHostException e) {
+                getLogger().warning("Ignoring instance " + instance.getHost() + " with an unknown host");
+            }
+        }
+        getLogger().fine("Discovered Hazelcast cluster members " + nodes);
+        return nodes;
+    }
+
+    private Address toAddress(ServiceInstance instance) throws UnknownHostException {
+        if (localhostOnly) {
+            return new Address("127.0.0.1", instance.getPort() + HAZELCAST_PORT);
+        }
+        return new Address(instance.getHost(), HAZELCAST_PORT);
+    }
+
+    /**
+     * Creates the discovery strategy of a Hazelcast instance.
+     */
+    public static class Factory implements DiscoveryStrategyFactory {
+
+        private final DiscoveryClient discoveryClient;
+
+        private final String serviceId;
+
+        private final boolean localhostOnly;
+
+        private final MetricRegistry metricRegistry;
+
+        public Factory(DiscoveryClient discoveryClient, String serviceId, boolean localhostOnly,
+            MetricRegistry metricRegistry) {
+            this.discoveryClient = discoveryClient;
+            this.serviceId = serviceId;
+            this.localhostOnly = localhostOnly;
+            this.metricRegistry = metricRegistry;
+        }
+
+        @Override
+        public Class<? extends DiscoveryStrategy> getDiscoveryStrategyType() {
+            return DiscoveryClientDiscoveryStrategy.class;
+        }
+
+        @Override
+        public DiscoveryStrategy newDiscoveryStrategy(DiscoveryNode discoveryNode, ILogger logger,
+            Map<String, Comparable> properties) {
+            return new DiscoveryClientDiscoveryStrategy(logger, discoveryClient, serviceId, localhostOnly,
+                metricRegistry);
+        }
+
+        @Override
+        public Collection<PropertyDefinition> getConfigurationProperties() {
+            return Collections.emptyList();
+        }
+    }
+}
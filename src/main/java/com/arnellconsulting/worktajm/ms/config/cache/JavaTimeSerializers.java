@@ -0,0 +1,91 @@
+package com.arnellconsulting.worktajm.ms.config.cache;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.StreamSerializer;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+/**
+ * Serializers of the java.time values held in the Hibernate second level cache entries, which Hazelcast would
+ * otherwise write with Java serialization.
+ */
+final class JavaTimeSerializers {
+
+    private JavaTimeSerializers() {
+    }
+
+    static final class InstantSerializer implements StreamSerializer<Instant> {
+
+        @Override
+        public void write(ObjectDataOutput out, Instant instant) throws IOException {
+            out.writeLong(instant.getEpochSecond());
+            out.writeInt(instant.getNano());
+        }
+
+        @Override
+        public Instant read(ObjectDataInput in) throws IOException {
+            return Instant.ofEpochSecond(in.readLong(), in.readInt());
+        }
+
+        @Override
+        public int getTypeId() {
+            return CacheSerializers.INSTANT_TYPE_ID;
+        }
+
+        @Override
+        public void destroy() {
+        }
+    }
+
+    static final class ZonedDateTimeSerializer implements StreamSerializer<ZonedDateTime> {
+
+        @Override
+        public void write(ObjectDataOutput out, ZonedDateTime dateTime) throws IOException {
+            out.writeLong(dateTime.toEpochSecond());
+            out.writeInt(dateTime.getNano());
+            out.writeUTF(dateTime.getZone().getId());
+        }
+
+        @Override
+        public ZonedDateTime read(ObjectDataInput in) throws IOException {
+            Instant instant = Instant.ofEpochSecond(in.readLong(), in.readInt());
+            return ZonedDateTime.ofInstant(instant, ZoneId.of(in.readUTF()));
+        }
+
+        @Override
+        public int getTypeId() {
+            return CacheSerializers.ZONED_DATE_TIME_TYPE_ID;
+        }
+
+        @Override
+        public void destroy() {
+        }
+    }
+
+    static final class LocalDateSerializer implements StreamSerializer<LocalDate> {
+
+        @Override
+        public void write(ObjectDataOutput out, LocalDate date) throws IOException {
+            out.writeLong(date.toEpochDay());
+        }
+
+        @Override
+        public LocalDate read(ObjectDataInput in) throws IOException {
+            return LocalDate.ofEpochDay(in.readLong());
+        }
+
+        @Override
+        public int getTypeId() {
+            return CacheSerializers.LOCAL_DATE_TYPE_ID;
+        }
+
+        @Override
+        public void destroy() {
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.arnellconsulting.worktajm.ms.config.cache;
+
+import com.arnellconsulting.worktajm.ms.domain.PersistentAuditEvent;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.StreamSerializer;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Serializer of {@link PersistentAuditEvent}.
+ */
+public class PersistentAuditEventSerializer implements StreamSerializer<PersistentAuditEvent> {
+
+    private static final long NO_ID = Long.MIN_VALUE;
+
+    @Override
+    public void write(ObjectDataOutput out, PersistentAuditEvent event) throws IOException {
+        out.writeLong(event.getId() != null ? event.getId() : NO_ID);
+        out.writeUTF(event.getPrincipal());
+        CacheSerializers.writeInstant(out, event.getAuditEventDate());
+        out.writeUTF(event.getAuditEventType());
+        Map<String, String> data = event.getData();
+        out.writeInt(data != null ? data.size() : -1);
+        if (data != null) {
+            for (Map.Entry<String, String> entry : data.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeUTF(entry.getValue());
+            }
+        }
+    }
+
+    @Override
+    public PersistentAuditEvent read(ObjectDataInput in) throws IOException {
+        PersistentAuditEvent event = new PersistentAuditEvent();
+        long id = in.readLong();
+        event.setId(id != NO_ID ? id : null);
+        event.setPrincipal(in.readUTF());
+        event.setAuditEventDate(CacheSerializers.readInstant(in));
+        event.setAuditEventType(in.readUTF());
+        int size = in.readInt();
+        if (size >= 0) {
+            Map<String, String> data = new HashMap<>((int) (size / 0.75f) + 1);
+            for (int i = 0; i < size; i++) {
+                data.put(in.readUTF(), in.readUTF());
+            }
+            event.setData(data);
+        } else {
+            event.setData(null);
+        }
+        return event;
+    }
+
+    @Override
+    public int getTypeId() {
+        return CacheSerializers.PERSISTENT_AUDIT_EVENT_TYPE_ID;
+    }
+
+    @Override
+    public void destroy() {
+    }
+}
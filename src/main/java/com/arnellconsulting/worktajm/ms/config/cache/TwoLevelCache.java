@@ -0,0 +1,131 @@
+package com.arnellconsulting.worktajm.ms.config.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+
+/**
+ * A {@link Cache} reading from a local cache first, and from the distributed cache on a local miss.
+ *
+ * <p>
+ * Writes go to the distributed cache, then invalidate the local copies of the other members through the
+ * invalidation publisher. A member can read a stale value from its local cache until the invalidation is received,
+ * or until the local entry expires when it was loaded concurrently with the change.
+ * </p>
+ */
+public class TwoLevelCache implements Cache {
+
+    private final Cache remoteCache;
+
+    private final com.github.benmanes.caffeine.cache.Cache<Object, ValueWrapper> localCache;
+
+    private final Consumer<Object> invalidationPublisher;
+
+    /**
+     * @param remoteCache the distributed cache
+     * @param localCache the local cache, holding the values read from the distributed cache
+     * @param invalidationPublisher called with the key of a changed entry, or null when the cache is cleared
+     */
+    public TwoLevelCache(Cache remoteCache, com.github.benmanes.caffeine.cache.Cache<Object, ValueWrapper> localCache,
+        Consumer<Object> invalidationPublisher) {
+        this.remoteCache = remoteCache;
+        this.localCache = localCache;
+        this.invalidationPublisher = invalidationPublisher;
+    }
+
+    @Override
+    public String getName() {
+        return remoteCache.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remoteCache.getNativeCache();
+    }
+
+    public com.github.benmanes.caffeine.cache.Cache<Object, ValueWrapper> getLocalCache() {
+        return localCache;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper valueWrapper = localCache.getIfPresent(key);
+        if (valueWrapper == null) {
+            valueWrapper = remoteCache.get(key);
+            if (valueWrapper != null) {
+                localCache.put(key, valueWrapper);
+            }
+        }
+        return valueWrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper valueWrapper = get(key);
+        Object value = valueWrapper != null ? valueWrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper valueWrapper = localCache.getIfPresent(key);
+        if (valueWrapper != null) {
+            return (T) valueWrapper.get();
+        }
+        T value = remoteCache.get(key, valueLoader);
+        localCache.put(key, new SimpleValueWrapper(value));
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remoteCache.put(key, value);
+        localCache.put(key, new SimpleValueWrapper(value));
+        invalidationPublisher.accept(key);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existingValue = remoteCache.putIfAbsent(key, value);
+        localCache.invalidate(key);
+        if (existingValue == null) {
+            invalidationPublisher.accept(key);
+        }
+        return existingValue;
+    }
+
+    @Override
+    public void evict(Object key) {
+        remoteCache.evict(key);
+        localCache.invalidate(key);
+        invalidationPublisher.accept(key);
+    }
+
+    @Override
+    public void clear() {
+        remoteCache.clear();
+        localCache.invalidateAll();
+        invalidationPublisher.accept(null);
+    }
+
+    /**
+     * Drop the local copy of an entry changed on another member.
+     *
+     * @param key the key of the entry, or null to drop all the entries
+     */
+    void invalidateLocal(Object key) {
+        if (key == null) {
+            localCache.invalidateAll();
+        } else {
+            localCache.invalidate(key);
+        }
+    }
+}
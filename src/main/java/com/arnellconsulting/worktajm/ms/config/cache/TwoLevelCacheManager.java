@@ -0,0 +1,153 @@
+package com.arnellconsulting.worktajm.ms.config.cache;
+
+import com.arnellconsulting.worktajm.ms.config.ApplicationProperties;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ITopic;
+import com.hazelcast.core.Message;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link CacheManager} putting a bounded local cache of each member in front of the distributed Hazelcast caches.
+ *
+ * <p>
+ * Cache hits are served from the heap of the member, without deserializing a value from a partition which is
+ * usually owned by another member. Changed entries are invalidated on the other members with a Hazelcast topic.
+ * The statistics of each local cache are registered in the "cache.local" metrics.
+ * </p>
+ *
+ * <p>
+ * As a local hit returns the same instance to every caller, only the caches declared immutable in the properties
+ * have a local cache. The other caches are the distributed caches themselves.
+ * </p>
+ *
+ * @see TwoLevelCache
+ */
+public class TwoLevelCacheManager implements CacheManager {
+
+    public static final String INVALIDATION_TOPIC = "worktajmMs.cache.invalidation";
+
+    private final Logger log = LoggerFactory.getLogger(TwoLevelCacheManager.class);
+
+    private final UUID id = UUID.randomUUID();
+
+    private final CacheManager remoteCacheManager;
+
+    private final ApplicationProperties.Cache.Local properties;
+
+    private final MetricRegistry metricRegistry;
+
+    private final ITopic<CacheInvalidation> invalidationTopic;
+
+    private final ConcurrentMap<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    private final Counter receivedInvalidations;
+
+    /**
+     * @param hazelcastInstance the Hazelcast instance, used to publish the invalidations
+     * @param remoteCacheManager the manager of the distributed caches
+     * @param properties the local cache sizes
+     * @param metricRegistry the registry of the local cache metrics, or null
+     */
+    public TwoLevelCacheManager(HazelcastInstance hazelcastInstance, CacheManager remoteCacheManager,
+        ApplicationProperties.Cache.Local properties, MetricRegistry metricRegistry) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.properties = properties;
+        this.metricRegistry = metricRegistry;
+        this.receivedInvalidations = metricRegistry != null ?
+            metricRegistry.counter("cache.local.invalidations") : new Counter();
+        this.invalidationTopic = hazelcastInstance.getTopic(INVALIDATION_TOPIC);
+        this.invalidationTopic.addMessageListener(this::onInvalidation);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        TwoLevelCache cache = caches.get(name);
+        if (cache == null) {
+            Cache remoteCache = remoteCacheManager.getCache(name);
+            if (remoteCache == null || getLocalCacheProperties(name) == null) {
+                return remoteCache;
+            }
+            cache = caches.computeIfAbsent(name, cacheName -> createCache(remoteCache));
+        }
+        return cache;
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return remoteCacheManager.getCacheNames();
+    }
+
+    private TwoLevelCache createCache(Cache remoteCache) {
+        String name = remoteCache.getName();
+        ApplicationProperties.Cache.LocalCache localCacheProperties = getLocalCacheProperties(name);
+        long maxSize = localCacheProperties.getMaxSize() != null ?
+            localCacheProperties.getMaxSize() : properties.getMaxSize();
+        int timeToLiveSeconds = localCacheProperties.getTimeToLiveSeconds() != null ?
+            localCacheProperties.getTimeToLiveSeconds() : properties.getTimeToLiveSeconds();
+        log.debug("Creating local cache {}, max size: {}, time to live: {}s", name, maxSize, timeToLiveSeconds);
+        com.github.benmanes.caffeine.cache.Cache<Object, Cache.ValueWrapper> localCache = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(timeToLiveSeconds, TimeUnit.SECONDS)
+            .recordStats()
+            .build();
+        if (metricRegistry != null) {
+            registerMetrics(name, localCache);
+        }
+        return new TwoLevelCache(remoteCache, localCache,
+            key -> invalidationTopic.publish(new CacheInvalidation(id, name, key)));
+    }
+
+    /**
+     * @param name the name of a cache
+     * @return the properties of the cache, or null if it is not declared immutable
+     */
+    private ApplicationProperties.Cache.LocalCache getLocalCacheProperties(String name) {
+        for (ApplicationProperties.Cache.LocalCache localCache : properties.getCaches()) {
+            if (name.equals(localCache.getName()) && localCache.isImmutable()) {
+                return localCache;
+            }
+        }
+        return null;
+    }
+
+    private void registerMetrics(String name, com.github.benmanes.caffeine.cache.Cache<?, ?> localCache) {
+        String prefix = MetricRegistry.name("cache.local", name);
+        metricRegistry.register(MetricRegistry.name(prefix, "hits"),
+            (Gauge<Long>) () -> localCache.stats().hitCount());
+        metricRegistry.register(MetricRegistry.name(prefix, "misses"),
+            (Gauge<Long>) () -> localCache.stats().missCount());
+        metricRegistry.register(MetricRegistry.name(prefix, "evictions"),
+            (Gauge<Long>) () -> localCache.stats().evictionCount());
+        metricRegistry.register(MetricRegistry.name(prefix, "hit-ratio"),
+            (Gauge<Double>) () -> localCache.stats().hitRate());
+        metricRegistry.register(MetricRegistry.name(prefix, "size"),
+            (Gauge<Long>) localCache::estimatedSize);
+    }
+
+    private void onInvalidation(Message<CacheInvalidation> message) {
+        CacheInvalidation invalidation = message.getMessageObject();
+        if (id.equals(invalidation.getOrigin())) {
+            return;
+        }
+        TwoLevelCache cache = caches.get(invalidation.getCacheName());
+        if (cache != null) {
+            log.trace("Received {}", invalidation);
+            receivedInvalidations.inc();
+            cache.invalidateLocal(invalidation.getKey());
+        }
+    }
+}
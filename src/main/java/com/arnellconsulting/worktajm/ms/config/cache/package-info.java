@@ -0,0 +1,4 @@
+/**
+ * Hazelcast cache specific code.
+ */
+package com.arnellconsulting.worktajm.ms.config.cache;
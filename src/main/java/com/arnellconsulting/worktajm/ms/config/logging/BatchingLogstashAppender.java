@@ -0,0 +1,448 @@
+package com.arnellconsulting.worktajm.ms.config.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.encoder.Encoder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Appender sending the logs to Logstash from a background thread, in batches, over UDP or TCP.
+ *
+ * <p>
+ * Logging threads never take a lock: events are added to a lock-free {@link RingBuffer}, and a single sender thread
+ * drains it. The sender encodes up to batch-size events into a reused buffer, then writes the whole batch to the TCP
+ * connection at once, or sends one datagram per event over UDP, one event being one Logstash message.
+ * </p>
+ *
+ * <p>
+ * When Logstash cannot keep up, the less important events are dropped first: TRACE and DEBUG events once the buffer
+ * is debug-discarding-threshold full, INFO events once it is info-discarding-threshold full, and WARN events once
+ * it is full. ERROR events wait up to max-blocking-millis for some room. The dropped events are counted per level.
+ * </p>
+ */
+public class BatchingLogstashAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
+
+    public enum Protocol {
+        UDP, TCP
+    }
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private static final long BLOCKED_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private static final int MAX_RETAINED_BUFFER_SIZE = 1024 * 1024;
+
+    private static final int CONNECTION_TIMEOUT_MILLIS = 1000;
+
+    private static final IOException WAITING_FOR_RECONNECTION =
+        new IOException("Waiting before reconnecting to Logstash");
+
+    private static final int[] LEVELS = {Level.TRACE_INT, Level.DEBUG_INT, Level.INFO_INT, Level.WARN_INT,
+        Level.ERROR_INT};
+
+    private String host;
+
+    private int port;
+
+    private Protocol protocol = Protocol.UDP;
+
+    private int queueSize = 8192;
+
+    private int batchSize = 256;
+
+    private double debugDiscardingThreshold = 0.5;
+
+    private double infoDiscardingThreshold = 0.8;
+
+    private long maxBlockingMillis = 1000;
+
+    private long reconnectionDelayMillis = 5000;
+
+    private Encoder<ILoggingEvent> encoder;
+
+    private RingBuffer<ILoggingEvent> ringBuffer;
+
+    private int debugDiscardingSize;
+
+    private int infoDiscardingSize;
+
+    private final LongAdder[] droppedEvents = new LongAdder[LEVELS.length];
+
+    private final LongAdder sentEvents = new LongAdder();
+
+    private final LongAdder failedEvents = new LongAdder();
+
+    private volatile Thread sender;
+
+    private volatile boolean senderWaiting;
+
+    // Only used by the sender thread
+
+    private final BatchBuffer buffer = new BatchBuffer();
+
+    private InetSocketAddress address;
+
+    private DatagramSocket datagramSocket;
+
+    private Socket socket;
+
+    private OutputStream socketOutputStream;
+
+    private long nextConnectionMillis;
+
+    public BatchingLogstashAppender() {
+        for (int i = 0; i < droppedEvents.length; i++) {
+            droppedEvents[i] = new LongAdder();
+        }
+    }
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+        if (encoder == null) {
+            addError("No encoder set for the appender named [" + name + "].");
+            return;
+        }
+        if (host == null || port <= 0) {
+            addError("No Logstash host and port set for the appender named [" + name + "].");
+            return;
+        }
+        try {
+            encoder.init(buffer);
+        } catch (IOException e) {
+            addError("Cannot initialize the encoder of the appender named [" + name + "].", e);
+            return;
+        }
+        ringBuffer = new RingBuffer<>(queueSize);
+        debugDiscardingSize = (int) (ringBuffer.capacity() * debugDiscardingThreshold);
+        infoDiscardingSize = (int) (ringBuffer.capacity() * infoDiscardingThreshold);
+        super.start();
+        Thread thread = new Thread(this::send, "logstash-appender-" + name);
+        thread.setDaemon(true);
+        sender = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        Thread thread = sender;
+        LockSupport.unpark(thread);
+        try {
+            // Give the sender some time to send the remaining events
+            thread.join(maxBlockingMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        int level = event.getLevel().toInt();
+        int size = ringBuffer.size();
+        if ((level < Level.INFO_INT && size >= debugDiscardingSize) ||
+            (level < Level.WARN_INT && size >= infoDiscardingSize)) {
+            drop(level);
+            return;
+        }
+        event.prepareForDeferredProcessing();
+        if (!ringBuffer.offer(event) && (level < Level.ERROR_INT || !offerBlocking(event))) {
+            drop(level);
+            return;
+        }
+        if (senderWaiting) {
+            LockSupport.unpark(sender);
+        }
+    }
+
+    private boolean offerBlocking(ILoggingEvent event) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxBlockingMillis);
+        do {
+            LockSupport.unpark(sender);
+            LockSupport.parkNanos(this, BLOCKED_PARK_NANOS);
+            if (ringBuffer.offer(event)) {
+                return true;
+            }
+        } while (isStarted() && System.nanoTime() - deadline < 0);
+        return false;
+    }
+
+    private void drop(int level) {
+        for (int i = LEVELS.length - 1; i >= 0; i--) {
+            if (level >= LEVELS[i]) {
+                droppedEvents[i].increment();
+                return;
+            }
+        }
+        droppedEvents[0].increment();
+    }
+
+    /**
+     * Main loop of the sender thread, which also sends the events left in the buffer once the appender is stopped.
+     */
+    private void send() {
+        while (true) {
+            ILoggingEvent event = ringBuffer.poll();
+            if (event != null) {
+                sendBatch(event);
+            } else if (!isStarted()) {
+                break;
+            } else {
+                senderWaiting = true;
+                if (ringBuffer.isEmpty() && isStarted()) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                senderWaiting = false;
+            }
+        }
+        disconnect();
+    }
+
+    private void sendBatch(ILoggingEvent first) {
+        buffer.reset();
+        ILoggingEvent event = first;
+        int pending = 0;
+        int count = 0;
+        try {
+            do {
+                encoder.doEncode(event);
+                pending++;
+                if (protocol == Protocol.UDP) {
+                    sendDatagram();
+                    sentEvents.increment();
+                    pending--;
+                    buffer.reset();
+                }
+                count++;
+            } while (count < batchSize && (event = ringBuffer.poll()) != null);
+            if (protocol == Protocol.TCP) {
+                writeSocket();
+                sentEvents.add(pending);
+                pending = 0;
+            }
+        } catch (IOException | RuntimeException e) {
+            failedEvents.add(pending);
+            if (e != WAITING_FOR_RECONNECTION) {
+                addWarn("Cannot send logs to Logstash at " + host + ":" + port, e);
+            }
+            disconnect();
+        } finally {
+            buffer.trim();
+        }
+    }
+
+    private void sendDatagram() throws IOException {
+        if (datagramSocket == null) {
+            connect();
+            datagramSocket = new DatagramSocket();
+        }
+        datagramSocket.send(new DatagramPacket(buffer.array(), buffer.size(), address));
+    }
+
+    private void writeSocket() throws IOException {
+        if (socketOutputStream == null) {
+            connect();
+            Socket connection = new Socket();
+            try {
+                connection.connect(address, CONNECTION_TIMEOUT_MILLIS);
+                socketOutputStream = connection.getOutputStream();
+            } catch (IOException e) {
+                connection.close();
+                throw e;
+            }
+            socket = connection;
+        }
+        socketOutputStream.write(buffer.array(), 0, buffer.size());
+        socketOutputStream.flush();
+    }
+
+    /**
+     * Resolve the Logstash address, at most once per reconnection delay so that the events are dropped quickly while
+     * Logstash is down.
+     */
+    private void connect() throws IOException {
+        long now = System.currentTimeMillis();
+        if (now < nextConnectionMillis) {
+            throw WAITING_FOR_RECONNECTION;
+        }
+        nextConnectionMillis = now + reconnectionDelayMillis;
+        InetSocketAddress resolvedAddress = new InetSocketAddress(host, port);
+        if (resolvedAddress.isUnresolved()) {
+            throw new IOException("Unknown Logstash host " + host);
+        }
+        address = resolvedAddress;
+    }
+
+    private void disconnect() {
+        if (datagramSocket != null) {
+            datagramSocket.close();
+            datagramSocket = null;
+        }
+        if (socket != null) {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                addWarn("Cannot close the connection to Logstash", e);
+            }
+            socket = null;
+            socketOutputStream = null;
+        }
+    }
+
+    /**
+     * @return the number of events waiting to be sent
+     */
+    public int getQueueDepth() {
+        RingBuffer<ILoggingEvent> currentRingBuffer = ringBuffer;
+        return currentRingBuffer != null ? currentRingBuffer.size() : 0;
+    }
+
+    /**
+     * @param level the level of the events, TRACE to ERROR
+     * @return the number of events of this level dropped because the buffer was too full
+     */
+    public long getDroppedEvents(Level level) {
+        for (int i = 0; i < LEVELS.length; i++) {
+            if (LEVELS[i] == level.toInt()) {
+                return droppedEvents[i].sum();
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return the number of events sent to Logstash
+     */
+    public long getSentEvents() {
+        return sentEvents.sum();
+    }
+
+    /**
+     * @return the number of events which could not be sent because of a connection error
+     */
+    public long getFailedEvents() {
+        return failedEvents.sum();
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    public void setHost(String host) {
+        this.host = host;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public void setPort(int port) {
+        this.port = port;
+    }
+
+    public Protocol getProtocol() {
+        return protocol;
+    }
+
+    public void setProtocol(Protocol protocol) {
+        this.protocol = protocol;
+    }
+
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    public void setQueueSize(int queueSize) {
+        this.queueSize = queueSize;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public double getDebugDiscardingThreshold() {
+        return debugDiscardingThreshold;
+    }
+
+    public void setDebugDiscardingThreshold(double debugDiscardingThreshold) {
+        this.debugDiscardingThreshold = debugDiscardingThreshold;
+    }
+
+    public double getInfoDiscardingThreshold() {
+        return infoDiscardingThreshold;
+    }
+
+    public void setInfoDiscardingThreshold(double infoDiscardingThreshold) {
+        this.infoDiscardingThreshold = infoDiscardingThreshold;
+    }
+
+    public long getMaxBlockingMillis() {
+        return maxBlockingMillis;
+    }
+
+    public void setMaxBlockingMillis(long maxBlockingMillis) {
+        this.maxBlockingMillis = maxBlockingMillis;
+    }
+
+    public long getReconnectionDelayMillis() {
+        return reconnectionDelayMillis;
+    }
+
+    public void setReconnectionDelayMillis(long reconnectionDelayMillis) {
+        this.reconnectionDelayMillis = reconnectionDelayMillis;
+    }
+
+    public Encoder<ILoggingEvent> getEncoder() {
+        return encoder;
+    }
+
+    public void setEncoder(Encoder<ILoggingEvent> encoder) {
+        this.encoder = encoder;
+    }
+
+    /**
+     * Buffer of the encoded events of a batch, whose array is written without being copied.
+     */
+    private static final class BatchBuffer extends ByteArrayOutputStream {
+
+        private static final int INITIAL_SIZE = 64 * 1024;
+
+        private BatchBuffer() {
+            super(INITIAL_SIZE);
+        }
+
+        private byte[] array() {
+            return buf;
+        }
+
+        /**
+         * Release the memory taken by an unusually large batch.
+         */
+        private void trim() {
+            if (buf.length > MAX_RETAINED_BUFFER_SIZE) {
+                buf = new byte[INITIAL_SIZE];
+                count = 0;
+            }
+        }
+    }
+}
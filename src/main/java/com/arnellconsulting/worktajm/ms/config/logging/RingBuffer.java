@@ -0,0 +1,111 @@
+package com.arnellconsulting.worktajm.ms.config.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free queue, for many producers and a single consumer.
+ *
+ * <p>
+ * Each slot has a sequence number telling whether it is free for the producer of a given position, or holds the
+ * element of a given position for the consumer. Producers claim positions with a compare-and-set on the tail, and
+ * never wait on each other or on the consumer: when the buffer is full, {@link #offer(Object)} returns false.
+ * </p>
+ *
+ * @param <E> the type of the elements
+ */
+final class RingBuffer<E> {
+
+    private final int capacity;
+
+    private final int mask;
+
+    private final AtomicReferenceArray<E> elements;
+
+    private final AtomicLongArray sequences;
+
+    private final AtomicLong tail = new AtomicLong();
+
+    private volatile long head;
+
+    /**
+     * @param minCapacity the minimum number of elements, rounded up to a power of two
+     */
+    RingBuffer(int minCapacity) {
+        if (minCapacity < 1 || minCapacity > 1 << 30) {
+            throw new IllegalArgumentException("Invalid ring buffer capacity " + minCapacity);
+        }
+        this.capacity = Integer.highestOneBit(minCapacity) == minCapacity ?
+            minCapacity : Integer.highestOneBit(minCapacity) << 1;
+        this.mask = capacity - 1;
+        this.elements = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Add an element, may be called by any thread.
+     *
+     * @param element the element to add
+     * @return false if the buffer is full
+     */
+    boolean offer(E element) {
+        long position = tail.get();
+        int index;
+        while (true) {
+            index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                // The slot still holds the element of the previous lap
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+        elements.lazySet(index, element);
+        sequences.lazySet(index, position + 1);
+        return true;
+    }
+
+    /**
+     * Remove the oldest element, may only be called by the consumer thread.
+     *
+     * @return the element, or null if the buffer is empty
+     */
+    E poll() {
+        long position = head;
+        int index = (int) position & mask;
+        if (sequences.get(index) != position + 1) {
+            return null;
+        }
+        E element = elements.get(index);
+        elements.lazySet(index, null);
+        sequences.lazySet(index, position + capacity);
+        head = position + 1;
+        return element;
+    }
+
+    /**
+     * @return the number of elements, which may already be outdated when there are concurrent producers
+     */
+    int size() {
+        long size = tail.get() - head;
+        return size < 0 ? 0 : (int) Math.min(size, capacity);
+    }
+
+    boolean isEmpty() {
+        return size() == 0;
+    }
+
+    int capacity() {
+        return capacity;
+    }
+}
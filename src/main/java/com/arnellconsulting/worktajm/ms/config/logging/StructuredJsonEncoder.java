@@ -0,0 +1,407 @@
+package com.arnellconsulting.worktajm.ms.config.logging;
+
+import ch.qos.logback.classic.pattern.ThrowableHandlingConverter;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.encoder.EncoderBase;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import net.logstash.logback.argument.StructuredArgument;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Encoder writing logging events as one line JSON objects, with the fields written by the LogstashEncoder.
+ *
+ * <p>
+ * The static fields, the "@version" field and the properties of the Logback context are encoded once as UTF-8 when
+ * the encoder starts. Each event is then written straight to bytes in a buffer of the calling thread, without
+ * building a JSON tree or intermediate strings, and copied to the output stream with a single write. The date and
+ * time of the "@timestamp" field are only formatted again when the second changes.
+ * </p>
+ *
+ * <p>
+ * Structured arguments, such as {@code kv("key", value)}, are rare and still written with Jackson.
+ * </p>
+ */
+public class StructuredJsonEncoder extends EncoderBase<ILoggingEvent> {
+
+    private static final byte[] TIMESTAMP_FIELD = bytes(",\"@timestamp\":\"");
+
+    private static final byte[] MESSAGE_FIELD = bytes("\",\"message\":\"");
+
+    private static final byte[] LOGGER_NAME_FIELD = bytes("\",\"logger_name\":\"");
+
+    private static final byte[] THREAD_NAME_FIELD = bytes("\",\"thread_name\":\"");
+
+    private static final byte[] LEVEL_FIELD = bytes("\",\"level\":\"");
+
+    private static final byte[] LEVEL_VALUE_FIELD = bytes("\",\"level_value\":");
+
+    private static final byte[] STACK_TRACE_FIELD = bytes(",\"stack_trace\":\"");
+
+    private static final int MAX_RETAINED_BUFFER_SIZE = 64 * 1024;
+
+    private static final ThreadLocal<JsonWriter> WRITERS = ThreadLocal.withInitial(JsonWriter::new);
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    private Map<String, String> staticFields = Collections.emptyMap();
+
+    private ThrowableHandlingConverter throwableConverter;
+
+    private ZoneId zone = ZoneId.systemDefault();
+
+    private byte[] prefix;
+
+    @Override
+    public void start() {
+        if (throwableConverter != null) {
+            throwableConverter.setContext(context);
+            throwableConverter.start();
+        }
+        Map<String, String> fields = new LinkedHashMap<>();
+        if (context != null) {
+            fields.putAll(context.getCopyOfPropertyMap());
+        }
+        fields.putAll(staticFields);
+        JsonWriter writer = new JsonWriter();
+        writer.writeAscii("{\"@version\":1");
+        for (Map.Entry<String, String> field : fields.entrySet()) {
+            writer.writeField(field.getKey(), field.getValue());
+        }
+        prefix = writer.toByteArray();
+        super.start();
+    }
+
+    @Override
+    public void stop() {
+        super.stop();
+        if (throwableConverter != null) {
+            throwableConverter.stop();
+        }
+    }
+
+    @Override
+    public void doEncode(ILoggingEvent event) throws IOException {
+        JsonWriter writer = WRITERS.get();
+        if (writer.inUse) {
+            // The event is logged while encoding another one, by a toString() for example
+            writer = new JsonWriter();
+        }
+        writer.inUse = true;
+        try {
+            writer.reset();
+            encode(event, writer);
+            outputStream.write(writer.buffer, 0, writer.count);
+        } finally {
+            writer.inUse = false;
+            writer.trim();
+        }
+    }
+
+    private void encode(ILoggingEvent event, JsonWriter writer) throws IOException {
+        writer.write(prefix);
+        writer.write(TIMESTAMP_FIELD);
+        writer.writeTimestamp(event.getTimeStamp(), zone);
+        writer.write(MESSAGE_FIELD);
+        writer.writeEscaped(event.getFormattedMessage());
+        writer.write(LOGGER_NAME_FIELD);
+        writer.writeEscaped(event.getLoggerName());
+        writer.write(THREAD_NAME_FIELD);
+        writer.writeEscaped(event.getThreadName());
+        writer.write(LEVEL_FIELD);
+        writer.writeAscii(event.getLevel().toString());
+        writer.write(LEVEL_VALUE_FIELD);
+        writer.writeLong(event.getLevel().toInt());
+        Map<String, String> mdc = event.getMDCPropertyMap();
+        if (mdc != null) {
+            for (Map.Entry<String, String> entry : mdc.entrySet()) {
+                writer.writeField(entry.getKey(), entry.getValue());
+            }
+        }
+        Object[] arguments = event.getArgumentArray();
+        if (arguments != null) {
+            for (Object argument : arguments) {
+                if (argument instanceof StructuredArgument) {
+                    writeStructuredArgument((StructuredArgument) argument, writer);
+                }
+            }
+        }
+        if (throwableConverter != null && event.getThrowableProxy() != null) {
+            writer.write(STACK_TRACE_FIELD);
+            writer.writeEscaped(throwableConverter.convert(event));
+            writer.writeByte('"');
+        }
+        writer.writeAscii("}\n");
+    }
+
+    /**
+     * Write the fields of a structured argument with Jackson, in a separate object whose braces are then removed.
+     */
+    private void writeStructuredArgument(StructuredArgument argument, JsonWriter writer) throws IOException {
+        ByteArrayBuilder bytes = new ByteArrayBuilder();
+        try (JsonGenerator generator = jsonFactory.createGenerator(bytes, JsonEncoding.UTF8)) {
+            generator.writeStartObject();
+            argument.writeTo(generator);
+            generator.writeEndObject();
+        }
+        byte[] object = bytes.toByteArray();
+        if (object.length > 2) {
+            writer.writeByte(',');
+            writer.write(object, 1, object.length - 2);
+        }
+    }
+
+    @Override
+    public void close() {
+        // Nothing to do.
+    }
+
+    public Map<String, String> getStaticFields() {
+        return staticFields;
+    }
+
+    /**
+     * @param staticFields fields added to every event, such as the application name
+     */
+    public void setStaticFields(Map<String, String> staticFields) {
+        this.staticFields = staticFields;
+    }
+
+    public ThrowableHandlingConverter getThrowableConverter() {
+        return throwableConverter;
+    }
+
+    public void setThrowableConverter(ThrowableHandlingConverter throwableConverter) {
+        this.throwableConverter = throwableConverter;
+    }
+
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    public void setZone(ZoneId zone) {
+        this.zone = zone;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Growable byte buffer writing JSON values as UTF-8.
+     */
+    private static final class JsonWriter {
+
+        private static final int INITIAL_SIZE = 1024;
+
+        private static final byte[] HEX = bytes("0123456789abcdef");
+
+        private byte[] buffer = new byte[INITIAL_SIZE];
+
+        private int count;
+
+        private boolean inUse;
+
+        private long cachedSecond = Long.MIN_VALUE;
+
+        private ZoneId cachedZone;
+
+        private final byte[] cachedDateTime = new byte[19];
+
+        private byte[] cachedOffset;
+
+        private void reset() {
+            count = 0;
+        }
+
+        private void trim() {
+            if (buffer.length > MAX_RETAINED_BUFFER_SIZE) {
+                buffer = new byte[INITIAL_SIZE];
+            }
+        }
+
+        private byte[] toByteArray() {
+            byte[] bytes = new byte[count];
+            System.arraycopy(buffer, 0, bytes, 0, count);
+            return bytes;
+        }
+
+        private void ensureCapacity(int length) {
+            if (count + length > buffer.length) {
+                byte[] larger = new byte[Math.max(buffer.length * 2, count + length)];
+                System.arraycopy(buffer, 0, larger, 0, count);
+                buffer = larger;
+            }
+        }
+
+        private void writeByte(int b) {
+            ensureCapacity(1);
+            buffer[count++] = (byte) b;
+        }
+
+        private void write(byte[] bytes) {
+            write(bytes, 0, bytes.length);
+        }
+
+        private void write(byte[] bytes, int offset, int length) {
+            ensureCapacity(length);
+            System.arraycopy(bytes, offset, buffer, count, length);
+            count += length;
+        }
+
+        /**
+         * Write a string known to only have ASCII characters which do not need to be escaped.
+         */
+        private void writeAscii(String value) {
+            int length = value.length();
+            ensureCapacity(length);
+            for (int i = 0; i < length; i++) {
+                buffer[count++] = (byte) value.charAt(i);
+            }
+        }
+
+        private void writeField(String name, String value) {
+            writeAscii(",\"");
+            writeEscaped(name);
+            writeAscii("\":\"");
+            writeEscaped(value);
+            writeByte('"');
+        }
+
+        private void writeLong(long value) {
+            if (value < 0) {
+                writeByte('-');
+                value = -value;
+            }
+            int digits = 1;
+            for (long v = value; v >= 10; v /= 10) {
+                digits++;
+            }
+            ensureCapacity(digits);
+            for (int i = count + digits - 1; i >= count; i--) {
+                buffer[i] = (byte) ('0' + value % 10);
+                value /= 10;
+            }
+            count += digits;
+        }
+
+        /**
+         * Write the content of a JSON string, the same way as Jackson: with short escapes for the usual control
+         * characters, and UTF-8 for the characters outside the ASCII range.
+         */
+        private void writeEscaped(String value) {
+            if (value == null) {
+                return;
+            }
+            int length = value.length();
+            // Each character takes at most 6 bytes, \\u0000, and a surrogate pair at most 4
+            ensureCapacity(length * 6);
+            byte[] bytes = buffer;
+            int position = count;
+            for (int i = 0; i < length; i++) {
+                char c = value.charAt(i);
+                if (c >= 0x20 && c < 0x80 && c != '"' && c != '\\') {
+                    bytes[position++] = (byte) c;
+                } else if (c < 0x80) {
+                    bytes[position++] = '\\';
+                    switch (c) {
+                        case '"':
+                            bytes[position++] = '"';
+                            break;
+                        case '\\':
+                            bytes[position++] = '\\';
+                            break;
+                        case '\n':
+                            bytes[position++] = 'n';
+                            break;
+                        case '\r':
+                            bytes[position++] = 'r';
+                            break;
+                        case '\t':
+                            bytes[position++] = 't';
+                            break;
+                        case '\b':
+                            bytes[position++] = 'b';
+                            break;
+                        case '\f':
+                            bytes[position++] = 'f';
+                            break;
+                        default:
+                            bytes[position++] = 'u';
+                            bytes[position++] = '0';
+                            bytes[position++] = '0';
+                            bytes[position++] = HEX[c >> 4];
+                            bytes[position++] = HEX[c & 0xF];
+                    }
+                } else if (c < 0x800) {
+                    bytes[position++] = (byte) (0xC0 | (c >> 6));
+                    bytes[position++] = (byte) (0x80 | (c & 0x3F));
+                } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                    bytes[position++] = (byte) (0xF0 | (codePoint >> 18));
+                    bytes[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    bytes[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    bytes[position++] = (byte) (0x80 | (codePoint & 0x3F));
+                } else if (Character.isSurrogate(c)) {
+                    // Unpaired surrogate, not valid in UTF-8
+                    bytes[position++] = '?';
+                } else {
+                    bytes[position++] = (byte) (0xE0 | (c >> 12));
+                    bytes[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    bytes[position++] = (byte) (0x80 | (c & 0x3F));
+                }
+            }
+            count = position;
+        }
+
+        /**
+         * Write a timestamp as "yyyy-MM-dd'T'HH:mm:ss.SSSXXX", like the LogstashEncoder.
+         */
+        private void writeTimestamp(long timestamp, ZoneId zone) {
+            long second = Math.floorDiv(timestamp, 1000);
+            if (second != cachedSecond || !zone.equals(cachedZone)) {
+                Instant instant = Instant.ofEpochSecond(second);
+                ZoneOffset offset = zone.getRules().getOffset(instant);
+                LocalDateTime dateTime = LocalDateTime.ofEpochSecond(second, 0, offset);
+                writeDigits(cachedDateTime, 0, dateTime.getYear(), 4);
+                cachedDateTime[4] = '-';
+                writeDigits(cachedDateTime, 5, dateTime.getMonthValue(), 2);
+                cachedDateTime[7] = '-';
+                writeDigits(cachedDateTime, 8, dateTime.getDayOfMonth(), 2);
+                cachedDateTime[10] = 'T';
+                writeDigits(cachedDateTime, 11, dateTime.getHour(), 2);
+                cachedDateTime[13] = ':';
+                writeDigits(cachedDateTime, 14, dateTime.getMinute(), 2);
+                cachedDateTime[16] = ':';
+                writeDigits(cachedDateTime, 17, dateTime.getSecond(), 2);
+                cachedOffset = bytes(offset == ZoneOffset.UTC ? "+00:00" : offset.getId());
+                cachedSecond = second;
+                cachedZone = zone;
+            }
+            write(cachedDateTime);
+            ensureCapacity(4);
+            buffer[count++] = '.';
+            writeDigits(buffer, count, (int) Math.floorMod(timestamp, 1000), 3);
+            count += 3;
+            write(cachedOffset);
+        }
+
+        private static void writeDigits(byte[] bytes, int offset, int value, int digits) {
+            for (int i = offset + digits - 1; i >= offset; i--) {
+                bytes[i] = (byte) ('0' + value % 10);
+                value /= 10;
+            }
+        }
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Logback specific code.
+ */
+package com.arnellconsulting.worktajm.ms.config.logging;
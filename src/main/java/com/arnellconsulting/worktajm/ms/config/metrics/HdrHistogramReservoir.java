@@ -0,0 +1,82 @@
+package com.arnellconsulting.worktajm.ms.config.metrics;
+
+import com.codahale.metrics.Clock;
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.Snapshot;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link Reservoir} recording all the values in an HdrHistogram, instead of sampling them.
+ *
+ * <p>
+ * Values are recorded with a wait-free {@link Recorder}, so many threads can update the reservoir without
+ * contention. Snapshots cover the values recorded during the current and the previous window: a value stays in the
+ * snapshots for one to two windows. Windows are only rotated when a snapshot is taken, by a reporter or by the
+ * metrics servlet.
+ * </p>
+ */
+public class HdrHistogramReservoir implements Reservoir {
+
+    /**
+     * Values are recorded with a 1% precision.
+     */
+    private static final int SIGNIFICANT_VALUE_DIGITS = 2;
+
+    private final Recorder recorder = new Recorder(SIGNIFICANT_VALUE_DIGITS);
+
+    private final Histogram currentWindow = new Histogram(SIGNIFICANT_VALUE_DIGITS);
+
+    private final Histogram previousWindow = new Histogram(SIGNIFICANT_VALUE_DIGITS);
+
+    private final long windowNanos;
+
+    private final Clock clock;
+
+    private Histogram intervalHistogram;
+
+    private long windowStart;
+
+    public HdrHistogramReservoir() {
+        this(1, TimeUnit.MINUTES, Clock.defaultClock());
+    }
+
+    public HdrHistogramReservoir(long window, TimeUnit windowUnit, Clock clock) {
+        this.windowNanos = windowUnit.toNanos(window);
+        this.clock = clock;
+        this.windowStart = clock.getTick();
+    }
+
+    @Override
+    public int size() {
+        return getSnapshot().size();
+    }
+
+    @Override
+    public void update(long value) {
+        if (value >= 0) {
+            recorder.recordValue(value);
+        }
+    }
+
+    @Override
+    public synchronized Snapshot getSnapshot() {
+        intervalHistogram = recorder.getIntervalHistogram(intervalHistogram);
+        long now = clock.getTick();
+        long elapsed = now - windowStart;
+        if (elapsed >= windowNanos) {
+            previousWindow.reset();
+            if (elapsed < 2 * windowNanos) {
+                previousWindow.add(currentWindow);
+            }
+            currentWindow.reset();
+            windowStart = now;
+        }
+        currentWindow.add(intervalHistogram);
+        Histogram histogram = previousWindow.copy();
+        histogram.add(currentWindow);
+        return new HdrHistogramSnapshot(histogram);
+    }
+}
@@ -0,0 +1,90 @@
+package com.arnellconsulting.worktajm.ms.config.metrics;
+
+import com.codahale.metrics.Snapshot;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramIterationValue;
+
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A {@link Snapshot} of an HdrHistogram, see the {@link HdrHistogramReservoir}.
+ *
+ * <p>
+ * A histogram does not keep the recorded values, so {@link #getValues()} and {@link #dump(OutputStream)} return
+ * one value per distinct recorded value, at the histogram precision.
+ * </p>
+ */
+public class HdrHistogramSnapshot extends Snapshot {
+
+    private final Histogram histogram;
+
+    public HdrHistogramSnapshot(Histogram histogram) {
+        this.histogram = histogram;
+    }
+
+    @Override
+    public double getValue(double quantile) {
+        if (quantile < 0.0 || quantile > 1.0 || Double.isNaN(quantile)) {
+            throw new IllegalArgumentException(quantile + " is not in [0..1]");
+        }
+        if (histogram.getTotalCount() == 0) {
+            return 0.0;
+        }
+        return histogram.getValueAtPercentile(quantile * 100.0);
+    }
+
+    @Override
+    public long[] getValues() {
+        long[] values = new long[countDistinctValues()];
+        int i = 0;
+        for (HistogramIterationValue value : histogram.recordedValues()) {
+            values[i++] = value.getValueIteratedTo();
+        }
+        return values;
+    }
+
+    @Override
+    public int size() {
+        return (int) Math.min(histogram.getTotalCount(), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public long getMax() {
+        return histogram.getTotalCount() == 0 ? 0 : histogram.getMaxValue();
+    }
+
+    @Override
+    public double getMean() {
+        return histogram.getTotalCount() == 0 ? 0.0 : histogram.getMean();
+    }
+
+    @Override
+    public long getMin() {
+        return histogram.getTotalCount() == 0 ? 0 : histogram.getMinValue();
+    }
+
+    @Override
+    public double getStdDev() {
+        return histogram.getTotalCount() == 0 ? 0.0 : histogram.getStdDeviation();
+    }
+
+    @Override
+    public void dump(OutputStream output) {
+        try (PrintWriter out = new PrintWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8))) {
+            for (long value : getValues()) {
+                out.printf("%d%n", value);
+            }
+        }
+    }
+
+    private int countDistinctValues() {
+        int count = 0;
+        for (HistogramIterationValue ignored : histogram.recordedValues()) {
+            count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,212 @@
+package com.arnellconsulting.worktajm.ms.config.metrics;
+
+import com.codahale.metrics.*;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Servlet exposing the Dropwizard metrics in the Prometheus text format (version 0.0.4).
+ *
+ * <p>
+ * The metrics are written while walking the registry, through a buffer reused by each thread and flushed to the
+ * response writer in chunks, so that a scrape does not build a copy of the registry. The sanitized Prometheus names
+ * are computed once per metric. The metric types are mapped like the Prometheus Dropwizard exporter does: gauges
+ * and counters are gauges, meters are counters, and histograms and timers are summaries, timers being in seconds.
+ * </p>
+ */
+public class PrometheusMetricsServlet extends HttpServlet {
+
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static final int CHUNK_SIZE = 8192;
+
+    private static final int MAX_CACHED_NAMES = 10000;
+
+    private static final double NANOSECONDS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private static final String[] QUANTILE_LABELS = {
+        "{quantile=\"0.5\"} ",
+        "{quantile=\"0.75\"} ",
+        "{quantile=\"0.95\"} ",
+        "{quantile=\"0.98\"} ",
+        "{quantile=\"0.99\"} ",
+        "{quantile=\"0.999\"} "
+    };
+
+    private static final ThreadLocal<Buffer> BUFFER = ThreadLocal.withInitial(Buffer::new);
+
+    private final transient MetricRegistry metricRegistry;
+
+    private final transient ConcurrentMap<String, String> sanitizedNames = new ConcurrentHashMap<>();
+
+    public PrometheusMetricsServlet(MetricRegistry metricRegistry) {
+        this.metricRegistry = metricRegistry;
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(CONTENT_TYPE);
+        response.setHeader("Cache-Control", "must-revalidate,no-cache,no-store");
+        write(response.getWriter());
+    }
+
+    /**
+     * Write all the metrics of the registry.
+     *
+     * @param writer the destination, it is not flushed
+     * @throws IOException if the metrics cannot be written
+     */
+    public void write(Writer writer) throws IOException {
+        Buffer buffer = BUFFER.get();
+        buffer.writer = writer;
+        try {
+            for (Map.Entry<String, Metric> entry : metricRegistry.getMetrics().entrySet()) {
+                writeMetric(buffer, sanitizedName(entry.getKey()), entry.getValue());
+                buffer.flushIfFull();
+            }
+            buffer.flush();
+        } finally {
+            buffer.reset();
+        }
+    }
+
+    private void writeMetric(Buffer buffer, String name, Metric metric) {
+        StringBuilder out = buffer.builder;
+        if (metric instanceof Gauge) {
+            Object value = ((Gauge<?>) metric).getValue();
+            double doubleValue;
+            if (value instanceof Number) {
+                doubleValue = ((Number) value).doubleValue();
+            } else if (value instanceof Boolean) {
+                doubleValue = (Boolean) value ? 1 : 0;
+            } else {
+                return;
+            }
+            writeType(out, name, "gauge");
+            out.append(name).append(' ');
+            appendDouble(out, doubleValue);
+            out.append('\n');
+        } else if (metric instanceof Counter) {
+            writeType(out, name, "gauge");
+            out.append(name).append(' ').append(((Counter) metric).getCount()).append('\n');
+        } else if (metric instanceof Timer) {
+            Timer timer = (Timer) metric;
+            writeSummary(out, name, timer.getSnapshot(), timer.getCount(), 1 / NANOSECONDS_PER_SECOND);
+        } else if (metric instanceof Histogram) {
+            Histogram histogram = (Histogram) metric;
+            writeSummary(out, name, histogram.getSnapshot(), histogram.getCount(), 1);
+        } else if (metric instanceof Meter) {
+            out.append("# TYPE ").append(name).append("_total counter\n");
+            out.append(name).append("_total ").append(((Meter) metric).getCount()).append('\n');
+        }
+    }
+
+    private static void writeSummary(StringBuilder out, String name, Snapshot snapshot, long count, double factor) {
+        writeType(out, name, "summary");
+        writeQuantile(out, name, 0, snapshot.getMedian() * factor);
+        writeQuantile(out, name, 1, snapshot.get75thPercentile() * factor);
+        writeQuantile(out, name, 2, snapshot.get95thPercentile() * factor);
+        writeQuantile(out, name, 3, snapshot.get98thPercentile() * factor);
+        writeQuantile(out, name, 4, snapshot.get99thPercentile() * factor);
+        writeQuantile(out, name, 5, snapshot.get999thPercentile() * factor);
+        out.append(name).append("_count ").append(count).append('\n');
+    }
+
+    private static void writeQuantile(StringBuilder out, String name, int quantile, double value) {
+        out.append(name).append(QUANTILE_LABELS[quantile]);
+        appendDouble(out, value);
+        out.append('\n');
+    }
+
+    private static void writeType(StringBuilder out, String name, String type) {
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void appendDouble(StringBuilder out, double value) {
+        if (Double.isNaN(value)) {
+            out.append("NaN");
+        } else if (Double.isInfinite(value)) {
+            out.append(value > 0 ? "+Inf" : "-Inf");
+        } else if (value == (long) value) {
+            out.append((long) value);
+        } else {
+            out.append(value);
+        }
+    }
+
+    private String sanitizedName(String name) {
+        String sanitizedName = sanitizedNames.get(name);
+        if (sanitizedName == null) {
+            if (sanitizedNames.size() >= MAX_CACHED_NAMES) {
+                // Metrics were removed from the registry, forget their names
+                sanitizedNames.clear();
+            }
+            sanitizedName = sanitize(name);
+            sanitizedNames.put(name, sanitizedName);
+        }
+        return sanitizedName;
+    }
+
+    /**
+     * Replace the characters which are not allowed in a Prometheus metric name by underscores.
+     */
+    static String sanitize(String name) {
+        StringBuilder sanitizedName = new StringBuilder(name.length() + 1);
+        if (name.isEmpty() || Character.isDigit(name.charAt(0))) {
+            sanitizedName.append('_');
+        }
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            boolean allowed = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') ||
+                c == '_' || c == ':';
+            sanitizedName.append(allowed ? c : '_');
+        }
+        return sanitizedName.toString();
+    }
+
+    /**
+     * Buffer of a thread: the text is built in a string builder and copied to the writer through a char array.
+     */
+    private static final class Buffer {
+
+        private final StringBuilder builder = new StringBuilder(2 * CHUNK_SIZE);
+
+        private final char[] chunk = new char[CHUNK_SIZE];
+
+        private Writer writer;
+
+        private void flushIfFull() throws IOException {
+            if (builder.length() >= CHUNK_SIZE) {
+                flush();
+            }
+        }
+
+        private void flush() throws IOException {
+            int length = builder.length();
+            for (int start = 0; start < length; start += CHUNK_SIZE) {
+                int end = Math.min(start + CHUNK_SIZE, length);
+                builder.getChars(start, end, chunk, 0);
+                writer.write(chunk, 0, end - start);
+            }
+            builder.setLength(0);
+        }
+
+        private void reset() {
+            builder.setLength(0);
+            if (builder.capacity() > 16 * CHUNK_SIZE) {
+                // A huge metric name grew the builder, do not keep it for the next scrapes
+                builder.trimToSize();
+            }
+            writer = null;
+        }
+    }
+}
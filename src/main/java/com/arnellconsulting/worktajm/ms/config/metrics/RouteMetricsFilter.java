@@ -0,0 +1,189 @@
+package com.arnellconsulting.worktajm.ms.config.metrics;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.*;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Filter timing each request, globally and per route, a route being the request method and the Spring MVC path
+ * pattern which handled the request, for example "GET /api/work-logs/{id}".
+ *
+ * <p>
+ * The global metrics keep the names of the Dropwizard InstrumentedFilter, which this filter replaces. The route
+ * timers are named "web.routes.&lt;method&gt;.&lt;pattern&gt;", and are backed by an {@link HdrHistogramReservoir}
+ * so that their percentiles are exact up to the histogram precision, and cheap to record.
+ * </p>
+ */
+public class RouteMetricsFilter implements Filter {
+
+    public static final String NAME_PREFIX = "com.codahale.metrics.servlet.InstrumentedFilter";
+
+    public static final String ROUTES_PREFIX = "web.routes";
+
+    /**
+     * The route of the requests not handled by a Spring MVC handler.
+     */
+    public static final String UNMATCHED_ROUTE = "unmatched";
+
+    /**
+     * The route of the requests received once {@link #MAX_ROUTES} routes are timed.
+     */
+    public static final String OTHER_ROUTE = "other";
+
+    static final int MAX_ROUTES = 500;
+
+    private static final String FILTERED_ATTRIBUTE = RouteMetricsFilter.class.getName() + ".FILTERED";
+
+    private final MetricRegistry metricRegistry;
+
+    private final Timer requests;
+
+    private final Counter activeRequests;
+
+    private final Map<Integer, Meter> responseCodeMeters = new HashMap<>();
+
+    private final Meter otherResponseCodes;
+
+    private final ConcurrentMap<String, ConcurrentMap<String, Timer>> routeTimers = new ConcurrentHashMap<>();
+
+    private final AtomicInteger routeCount = new AtomicInteger();
+
+    public RouteMetricsFilter(MetricRegistry metricRegistry) {
+        this.metricRegistry = metricRegistry;
+        this.requests = metricRegistry.timer(MetricRegistry.name(NAME_PREFIX, "requests"), RouteMetricsFilter::newTimer);
+        this.activeRequests = metricRegistry.counter(MetricRegistry.name(NAME_PREFIX, "activeRequests"));
+        registerResponseCodeMeter(HttpServletResponse.SC_OK, "ok");
+        registerResponseCodeMeter(HttpServletResponse.SC_CREATED, "created");
+        registerResponseCodeMeter(HttpServletResponse.SC_NO_CONTENT, "noContent");
+        registerResponseCodeMeter(HttpServletResponse.SC_BAD_REQUEST, "badRequest");
+        registerResponseCodeMeter(HttpServletResponse.SC_NOT_FOUND, "notFound");
+        registerResponseCodeMeter(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "serverError");
+        this.otherResponseCodes = metricRegistry.meter(MetricRegistry.name(NAME_PREFIX, "responseCodes", "other"));
+    }
+
+    private void registerResponseCodeMeter(int status, String name) {
+        responseCodeMeters.put(status, metricRegistry.meter(MetricRegistry.name(NAME_PREFIX, "responseCodes", name)));
+    }
+
+    private static Timer newTimer() {
+        return new Timer(new HdrHistogramReservoir());
+    }
+
+    @Override
+    public void init(FilterConfig filterConfig) {
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+        throws IOException, ServletException {
+        if (request.getAttribute(FILTERED_ATTRIBUTE) != null) {
+            // Forward or async dispatch of a request which is already timed
+            chain.doFilter(request, response);
+            return;
+        }
+        request.setAttribute(FILTERED_ATTRIBUTE, Boolean.TRUE);
+        activeRequests.inc();
+        long start = System.nanoTime();
+        boolean async = false;
+        try {
+            chain.doFilter(request, response);
+            async = request.isAsyncStarted();
+            if (async) {
+                request.getAsyncContext().addListener(new RecordingAsyncListener(start));
+            }
+        } finally {
+            if (!async) {
+                record((HttpServletRequest) request, (HttpServletResponse) response, start);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response, long start) {
+        long duration = System.nanoTime() - start;
+        activeRequests.dec();
+        requests.update(duration, TimeUnit.NANOSECONDS);
+        routeTimer(request).update(duration, TimeUnit.NANOSECONDS);
+        Meter responseCodeMeter = responseCodeMeters.get(response.getStatus());
+        (responseCodeMeter != null ? responseCodeMeter : otherResponseCodes).mark();
+    }
+
+    private Timer routeTimer(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String route = pattern != null ? pattern.toString() : UNMATCHED_ROUTE;
+        String method = request.getMethod();
+        ConcurrentMap<String, Timer> timersByMethod = routeTimers.get(route);
+        Timer timer = timersByMethod != null ? timersByMethod.get(method) : null;
+        if (timer == null) {
+            timer = createRouteTimer(route, method);
+        }
+        return timer;
+    }
+
+    private Timer createRouteTimer(String route, String method) {
+        return routeTimers.computeIfAbsent(route, key -> new ConcurrentHashMap<>())
+            .computeIfAbsent(method, key -> {
+                if (routeCount.incrementAndGet() > MAX_ROUTES) {
+                    return metricRegistry.timer(MetricRegistry.name(ROUTES_PREFIX, OTHER_ROUTE),
+                        RouteMetricsFilter::newTimer);
+                }
+                return metricRegistry.timer(MetricRegistry.name(ROUTES_PREFIX, method, route),
+                    RouteMetricsFilter::newTimer);
+            });
+    }
+
+    private class RecordingAsyncListener implements AsyncListener {
+
+        private final long start;
+
+        private boolean recorded;
+
+        private RecordingAsyncListener(long start) {
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            record(event);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            record(event);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            record(event);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+
+        private synchronized void record(AsyncEvent event) {
+            if (!recorded) {
+                recorded = true;
+                RouteMetricsFilter.this.record((HttpServletRequest) event.getSuppliedRequest(),
+                    (HttpServletResponse) event.getSuppliedResponse(), start);
+            }
+        }
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Dropwizard metrics specific code.
+ */
+package com.arnellconsulting.worktajm.ms.config.metrics;
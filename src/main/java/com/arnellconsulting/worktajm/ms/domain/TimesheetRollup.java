@@ -0,0 +1,84 @@
+package com.arnellconsulting.worktajm.ms.domain;
+
+import com.arnellconsulting.worktajm.ms.domain.enumeration.TimesheetPeriod;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * The time spent by a worker on a project during a day, a week or a month.
+ *
+ * <p>
+ * A row of the timesheet_rollup table, which is kept up to date by the TimesheetService when the work logs change.
+ * It is not an entity, as the rows are only changed by adding durations to them.
+ * </p>
+ */
+public class TimesheetRollup implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final TimesheetPeriod period;
+
+    private final LocalDate periodStart;
+
+    private final Long workerId;
+
+    private final Long projectId;
+
+    private final long durationSeconds;
+
+    private final int entries;
+
+    public TimesheetRollup(TimesheetPeriod period, LocalDate periodStart, Long workerId, Long projectId,
+        long durationSeconds, int entries) {
+        this.period = period;
+        this.periodStart = periodStart;
+        this.workerId = workerId;
+        this.projectId = projectId;
+        this.durationSeconds = durationSeconds;
+        this.entries = entries;
+    }
+
+    public TimesheetPeriod getPeriod() {
+        return period;
+    }
+
+    public LocalDate getPeriodStart() {
+        return periodStart;
+    }
+
+    public Long getWorkerId() {
+        return workerId;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public long getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public double getHours() {
+        return durationSeconds / 3600.0;
+    }
+
+    /**
+     * @return the number of work logs overlapping the period
+     */
+    public int getEntries() {
+        return entries;
+    }
+
+    @Override
+    public String toString() {
+        return "TimesheetRollup{" +
+            "period=" + period +
+            ", periodStart=" + periodStart +
+            ", workerId=" + workerId +
+            ", projectId=" + projectId +
+            ", durationSeconds=" + durationSeconds +
+            ", entries=" + entries +
+            '}';
+    }
+}
@@ -0,0 +1,144 @@
+package com.arnellconsulting.worktajm.ms.domain;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.time.ZonedDateTime;
+import java.util.Objects;
+
+/**
+ * A WorkLog, the time spent by a worker on a project.
+ *
+ * <p>
+ * Work logs are created by thousands, so they are not in the second level cache, and their ids come from a sequence
+ * allocated by blocks of 50 so that Hibernate can batch their inserts.
+ * </p>
+ */
+@Entity
+@Table(name = "work_log")
+public class WorkLog implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
+    @SequenceGenerator(name = "sequenceGenerator", sequenceName = "sequence_generator", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "start_date")
+    private ZonedDateTime startDate;
+
+    @Column(name = "end_date")
+    private ZonedDateTime endDate;
+
+    @Column(name = "jhi_comment")
+    private String comment;
+
+    @ManyToOne
+    private Worker worker;
+
+    @ManyToOne
+    private Project project;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public ZonedDateTime getStartDate() {
+        return startDate;
+    }
+
+    public WorkLog startDate(ZonedDateTime startDate) {
+        this.startDate = startDate;
+        return this;
+    }
+
+    public void setStartDate(ZonedDateTime startDate) {
+        this.startDate = startDate;
+    }
+
+    public ZonedDateTime getEndDate() {
+        return endDate;
+    }
+
+    public WorkLog endDate(ZonedDateTime endDate) {
+        this.endDate = endDate;
+        return this;
+    }
+
+    public void setEndDate(ZonedDateTime endDate) {
+        this.endDate = endDate;
+    }
+
+    public String getComment() {
+        return comment;
+    }
+
+    public WorkLog comment(String comment) {
+        this.comment = comment;
+        return this;
+    }
+
+    public void setComment(String comment) {
+        this.comment = comment;
+    }
+
+    public Worker getWorker() {
+        return worker;
+    }
+
+    public WorkLog worker(Worker worker) {
+        this.worker = worker;
+        return this;
+    }
+
+    public void setWorker(Worker worker) {
+        this.worker = worker;
+    }
+
+    public Project getProject() {
+        return project;
+    }
+
+    public WorkLog project(Project project) {
+        this.project = project;
+        return this;
+    }
+
+    public void setProject(Project project) {
+        this.project = project;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        WorkLog workLog = (WorkLog) o;
+        if (workLog.getId() == null || getId() == null) {
+            return false;
+        }
+        return Objects.equals(getId(), workLog.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(getId());
+    }
+
+    @Override
+    public String toString() {
+        return "WorkLog{" +
+            "id=" + getId() +
+            ", startDate='" + getStartDate() + "'" +
+            ", endDate='" + getEndDate() + "'" +
+            ", comment='" + getComment() + "'" +
+            "}";
+    }
+}
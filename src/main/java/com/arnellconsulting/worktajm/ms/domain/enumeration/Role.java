@@ -0,0 +1,8 @@
+package com.arnellconsulting.worktajm.ms.domain.enumeration;
+
+/**
+ * The Role enumeration.
+ */
+public enum Role {
+    OWNER, ADMIN, MEMBER
+}
@@ -0,0 +1,27 @@
+package com.arnellconsulting.worktajm.ms.domain.enumeration;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * The TimesheetPeriod enumeration, the length of the buckets of the timesheets.
+ */
+public enum TimesheetPeriod {
+    DAY, WEEK, MONTH;
+
+    /**
+     * @param day a day
+     * @return the first day of the period holding this day, weeks starting on Monday
+     */
+    public LocalDate getStart(LocalDate day) {
+        switch (this) {
+            case WEEK:
+                return day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH:
+                return day.withDayOfMonth(1);
+            default:
+                return day;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.arnellconsulting.worktajm.ms.repository;
+
+import com.arnellconsulting.worktajm.ms.config.Constants;
+import com.arnellconsulting.worktajm.ms.config.audit.AuditEventConverter;
+import com.arnellconsulting.worktajm.ms.config.audit.AuditEventWriter;
+import com.arnellconsulting.worktajm.ms.domain.PersistentAuditEvent;
+
+import org.springframework.boot.actuate.audit.AuditEvent;
+import org.springframework.boot.actuate.audit.AuditEventRepository;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An implementation of Spring Boot's AuditEventRepository.
+ *
+ * <p>
+ * Events are handed to the {@link AuditEventWriter}, which inserts them in batches from a background thread, so
+ * they can be found once the next flush is done.
+ * </p>
+ */
+@Repository
+public class CustomAuditEventRepository implements AuditEventRepository {
+
+    private static final String AUTHORIZATION_FAILURE = "AUTHORIZATION_FAILURE";
+
+    /**
+     * Should be the same as in Liquibase migration.
+     */
+    protected static final int EVENT_DATA_COLUMN_MAX_LENGTH = 255;
+
+    /**
+     * Should be the same as in Liquibase migration.
+     */
+    protected static final int PRINCIPAL_COLUMN_MAX_LENGTH = 50;
+
+    private final PersistenceAuditEventRepository persistenceAuditEventRepository;
+
+    private final AuditEventConverter auditEventConverter;
+
+    private final AuditEventWriter auditEventWriter;
+
+    public CustomAuditEventRepository(PersistenceAuditEventRepository persistenceAuditEventRepository,
+            AuditEventConverter auditEventConverter, AuditEventWriter auditEventWriter) {
+
+        this.persistenceAuditEventRepository = persistenceAuditEventRepository;
+        this.auditEventConverter = auditEventConverter;
+        this.auditEventWriter = auditEventWriter;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AuditEvent> find(Date after) {
+        Iterable<PersistentAuditEvent> persistentAuditEvents =
+            persistenceAuditEventRepository.findDistinctByAuditEventDateAfter(after.toInstant());
+        return auditEventConverter.convertToAuditEvent(persistentAuditEvents);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AuditEvent> find(String principal, Date after) {
+        if (principal == null) {
+            return find(after);
+        }
+        Iterable<PersistentAuditEvent> persistentAuditEvents =
+            persistenceAuditEventRepository.findDistinctByPrincipalAndAuditEventDateAfter(principal, after.toInstant());
+        return auditEventConverter.convertToAuditEvent(persistentAuditEvents);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AuditEvent> find(String principal, Date after, String type) {
+        if (principal == null || type == null) {
+            return find(principal, after);
+        }
+        Iterable<PersistentAuditEvent> persistentAuditEvents =
+            persistenceAuditEventRepository.findDistinctByPrincipalAndAuditEventDateAfterAndAuditEventType(principal,
+                after.toInstant(), type);
+        return auditEventConverter.convertToAuditEvent(persistentAuditEvents);
+    }
+
+    @Override
+    public void add(AuditEvent event) {
+        if (!AUTHORIZATION_FAILURE.equals(event.getType()) &&
+            !Constants.ANONYMOUS_USER.equals(event.getPrincipal())) {
+
+            PersistentAuditEvent persistentAuditEvent = new PersistentAuditEvent();
+            persistentAuditEvent.setPrincipal(truncate(event.getPrincipal(), PRINCIPAL_COLUMN_MAX_LENGTH));
+            persistentAuditEvent.setAuditEventType(event.getType());
+            persistentAuditEvent.setAuditEventDate(event.getTimestamp().toInstant());
+            Map<String, String> eventData = auditEventConverter.convertDataToStrings(event.getData());
+            persistentAuditEvent.setData(truncate(eventData));
+            auditEventWriter.write(persistentAuditEvent);
+        }
+    }
+
+    /**
+     * Truncate event data that might exceed column length, one oversized event would fail its whole batch.
+     */
+    private static Map<String, String> truncate(Map<String, String> data) {
+        Map<String, String> results = new HashMap<>();
+        if (data != null) {
+            for (Map.Entry<String, String> entry : data.entrySet()) {
+                results.put(entry.getKey(), truncate(entry.getValue(), EVENT_DATA_COLUMN_MAX_LENGTH));
+            }
+        }
+        return results;
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value != null && value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+}
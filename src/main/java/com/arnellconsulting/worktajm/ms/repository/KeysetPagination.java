@@ -0,0 +1,61 @@
+package com.arnellconsulting.worktajm.ms.repository;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keyset pagination of the queries sorted by date then id, both descending.
+ *
+ * <p>
+ * The next page starts after the date and id of the last row of the previous page, so that a page is read from an
+ * index ending with (date, id) without skipping the rows of the previous pages. One more row than the size of the
+ * page is read to tell whether there is a next page.
+ * </p>
+ */
+public final class KeysetPagination {
+
+    private KeysetPagination() {
+    }
+
+    /**
+     * Add the condition selecting the rows after the last row of the previous page to a query.
+     *
+     * @param jpql the query, with a where clause
+     * @param parameters the parameters of the query
+     * @param date the date property of the sort
+     * @param id the id property of the sort
+     * @param beforeDate the date of the last row of the previous page, as a parameter of the query
+     * @param beforeId the id of the last row of the previous page
+     */
+    static void appendBefore(StringBuilder jpql, Map<String, Object> parameters, String date, String id,
+        Object beforeDate, Long beforeId) {
+        // The first condition is a range on the index, the second one skips the rows of the same date already
+        // returned
+        jpql.append(" and ").append(date).append(" <= :beforeDate and (").append(date).append(" < :beforeDate or ")
+            .append(id).append(" < :beforeId)");
+        parameters.put("beforeDate", beforeDate);
+        parameters.put("beforeId", beforeId);
+    }
+
+    /**
+     * @param size the size of the page
+     * @return the number of rows to read for a page
+     */
+    public static int maxResults(int size) {
+        return size + 1;
+    }
+
+    /**
+     * @param rows the rows read for a page, at most {@link #maxResults(int)}
+     * @param size the size of the page
+     * @return the rows of the page, telling whether there is a next page
+     */
+    public static <T> Slice<T> slice(List<T> rows, int size) {
+        boolean hasNext = rows.size() > size;
+        return new SliceImpl<>(hasNext ? rows.subList(0, size) : rows, new PageRequest(0, size), hasNext);
+    }
+}
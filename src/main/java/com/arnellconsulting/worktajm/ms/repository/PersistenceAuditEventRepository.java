@@ -0,0 +1,38 @@
+package com.arnellconsulting.worktajm.ms.repository;
+
+import com.arnellconsulting.worktajm.ms.domain.PersistentAuditEvent;
+
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Spring Data JPA repository for the PersistentAuditEvent entity.
+ *
+ * <p>
+ * The events are always read with their data, in the same query, so that listing them does not run one more query
+ * per event to load its data.
+ * </p>
+ */
+public interface PersistenceAuditEventRepository extends JpaRepository<PersistentAuditEvent, Long>,
+    PersistenceAuditEventRepositoryCustom {
+
+    @EntityGraph(attributePaths = "data")
+    List<PersistentAuditEvent> findDistinctByAuditEventDateAfter(Instant after);
+
+    @EntityGraph(attributePaths = "data")
+    List<PersistentAuditEvent> findDistinctByPrincipalAndAuditEventDateAfter(String principal, Instant after);
+
+    @EntityGraph(attributePaths = "data")
+    List<PersistentAuditEvent> findDistinctByPrincipalAndAuditEventDateAfterAndAuditEventType(String principal,
+        Instant after, String type);
+
+    @Query("select distinct event from PersistentAuditEvent event left join fetch event.data " +
+        "where event.id in :ids order by event.auditEventDate desc, event.id desc")
+    List<PersistentAuditEvent> findAllWithDataByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,56 @@
+package com.arnellconsulting.worktajm.ms.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Queries of the PersistenceAuditEventRepository built at runtime.
+ */
+public interface PersistenceAuditEventRepositoryCustom {
+
+    /**
+     * Find the ids and dates of the latest audit events matching a filter, by keyset pagination.
+     *
+     * <p>
+     * The events are sorted by date then id, both descending. A page is read from the (event_date, event_id) or
+     * (principal, event_date) index, as described in {@link KeysetPagination}.
+     * </p>
+     *
+     * @param principal the principal of the events, or null for all the principals
+     * @param type the type of the events, or null for all the types
+     * @param fromDate the inclusive start of the date range, or null
+     * @param toDate the exclusive end of the date range, or null
+     * @param beforeDate the date of the last event of the previous page, or null for the first page
+     * @param beforeId the id of the last event of the previous page, or null for the first page
+     * @param maxResults the maximum number of events to return
+     * @return the id and date of each event, latest first
+     */
+    List<Object[]> findKeysBefore(String principal, String type, Instant fromDate, Instant toDate, Instant beforeDate,
+        Long beforeId, int maxResults);
+
+    /**
+     * Find the ids of the oldest audit events, from the (event_date, event_id) index.
+     *
+     * @param before the exclusive end of the date of the events
+     * @param maxResults the maximum number of ids to return
+     * @return the ids of the events, oldest first
+     */
+    List<Long> findOldestIds(Instant before, int maxResults);
+
+    /**
+     * Copy audit events and their data to the archive tables.
+     *
+     * @param ids the ids of the events
+     * @return the number of events copied
+     */
+    int archiveByIdIn(Collection<Long> ids);
+
+    /**
+     * Delete audit events and their data, without loading them.
+     *
+     * @param ids the ids of the events
+     * @return the number of events deleted
+     */
+    int deleteWithDataByIdIn(Collection<Long> ids);
+}
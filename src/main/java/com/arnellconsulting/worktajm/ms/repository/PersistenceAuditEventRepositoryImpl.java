@@ -0,0 +1,94 @@
+package com.arnellconsulting.worktajm.ms.repository;
+
+import com.arnellconsulting.worktajm.ms.domain.PersistentAuditEvent;
+
+import org.hibernate.query.NativeQuery;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import javax.persistence.TypedQuery;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of the queries of the PersistenceAuditEventRepository built at runtime.
+ *
+ * <p>
+ * Only the conditions of the filter that are set are added to the query, instead of "(:param is null or ...)"
+ * conditions which can keep the database from using the indexes. The bulk statements are declared to only change the
+ * audit event tables, otherwise Hibernate would evict the whole second level cache after each of them.
+ * </p>
+ */
+public class PersistenceAuditEventRepositoryImpl implements PersistenceAuditEventRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Object[]> findKeysBefore(String principal, String type, Instant fromDate, Instant toDate,
+        Instant beforeDate, Long beforeId, int maxResults) {
+        StringBuilder jpql = new StringBuilder(
+            "select event.id, event.auditEventDate from PersistentAuditEvent event " +
+            "where event.auditEventDate is not null");
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        if (principal != null) {
+            jpql.append(" and event.principal = :principal");
+            parameters.put("principal", principal);
+        }
+        if (type != null) {
+            jpql.append(" and event.auditEventType = :type");
+            parameters.put("type", type);
+        }
+        if (fromDate != null) {
+            jpql.append(" and event.auditEventDate >= :fromDate");
+            parameters.put("fromDate", fromDate);
+        }
+        if (toDate != null) {
+            jpql.append(" and event.auditEventDate < :toDate");
+            parameters.put("toDate", toDate);
+        }
+        if (beforeDate != null && beforeId != null) {
+            KeysetPagination.appendBefore(jpql, parameters, "event.auditEventDate", "event.id", beforeDate,
+                beforeId);
+        }
+        jpql.append(" order by event.auditEventDate desc, event.id desc");
+        TypedQuery<Object[]> query = entityManager.createQuery(jpql.toString(), Object[].class);
+        parameters.forEach(query::setParameter);
+        return query.setMaxResults(maxResults).getResultList();
+    }
+
+    @Override
+    public List<Long> findOldestIds(Instant before, int maxResults) {
+        return entityManager.createQuery("select event.id from PersistentAuditEvent event " +
+            "where event.auditEventDate < :before order by event.auditEventDate, event.id", Long.class)
+            .setParameter("before", before)
+            .setMaxResults(maxResults)
+            .getResultList();
+    }
+
+    @Override
+    public int archiveByIdIn(Collection<Long> ids) {
+        int archivedEvents = executeUpdate("insert into jhi_persistent_audit_event_arch " +
+            "(event_id, principal, event_date, event_type) select event_id, principal, event_date, event_type " +
+            "from jhi_persistent_audit_event where event_id in (:ids)", ids);
+        executeUpdate("insert into jhi_persistent_audit_evt_data_arch (event_id, name, value) " +
+            "select event_id, name, value from jhi_persistent_audit_evt_data where event_id in (:ids)", ids);
+        return archivedEvents;
+    }
+
+    @Override
+    public int deleteWithDataByIdIn(Collection<Long> ids) {
+        executeUpdate("delete from jhi_persistent_audit_evt_data where event_id in (:ids)", ids);
+        return executeUpdate("delete from jhi_persistent_audit_event where event_id in (:ids)", ids);
+    }
+
+    private int executeUpdate(String sql, Collection<Long> ids) {
+        Query query = entityManager.createNativeQuery(sql).setParameter("ids", ids);
+        query.unwrap(NativeQuery.class).addSynchronizedEntityClass(PersistentAuditEvent.class);
+        return query.executeUpdate();
+    }
+}
@@ -0,0 +1,32 @@
+package com.arnellconsulting.worktajm.ms.repository;
+
+import com.arnellconsulting.worktajm.ms.domain.Project;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Spring Data JPA repository for the Project entity.
+ */
+@SuppressWarnings("unused")
+public interface ProjectRepository extends JpaRepository<Project, Long> {
+
+    /**
+     * @param pageable the page to read
+     * @return the page of projects, read without counting all the projects
+     */
+    Slice<Project> findAllBy(Pageable pageable);
+
+    /**
+     * @param ids the ids to check
+     * @return the ids of the existing projects, read without loading them
+     */
+    @Query("select project.id from Project project where project.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,124 @@
+package com.arnellconsulting.worktajm.ms.repository;
+
+import com.arnellconsulting.worktajm.ms.domain.TimesheetRollup;
+import com.arnellconsulting.worktajm.ms.domain.enumeration.TimesheetPeriod;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Repository of the timesheet_rollup table.
+ *
+ * <p>
+ * The rows are changed by adding to their duration and number of entries, with an update of the row followed by an
+ * insert when it does not exist yet, so that concurrent changes of the same row add up instead of overwriting each
+ * other. The statements run in the transaction of the caller.
+ * </p>
+ */
+@Repository
+public class TimesheetRollupRepository {
+
+    private static final String KEY_CONDITION =
+        " where period = ? and worker_id = ? and period_start = ? and project_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TimesheetRollupRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Add a duration and a number of entries to a row, the row is removed when it has no entries left.
+     *
+     * @param rollup the key of the row and the values to add, which may be negative
+     */
+    public void add(TimesheetRollup rollup) {
+        if (update(rollup) == 0) {
+            try {
+                jdbcTemplate.update("insert into timesheet_rollup (period, worker_id, period_start, project_id, " +
+                        "duration_seconds, entries) values (?, ?, ?, ?, ?, ?)", rollup.getPeriod().name(),
+                    rollup.getWorkerId(), Date.valueOf(rollup.getPeriodStart()), rollup.getProjectId(),
+                    rollup.getDurationSeconds(), rollup.getEntries());
+            } catch (DuplicateKeyException e) {
+                // Inserted by a concurrent transaction
+                update(rollup);
+            }
+        }
+        if (rollup.getEntries() < 0) {
+            jdbcTemplate.update("delete from timesheet_rollup" + KEY_CONDITION + " and entries <= 0",
+                keyOf(rollup));
+        }
+    }
+
+    private int update(TimesheetRollup rollup) {
+        Object[] key = keyOf(rollup);
+        Object[] parameters = new Object[key.length + 2];
+        parameters[0] = rollup.getDurationSeconds();
+        parameters[1] = rollup.getEntries();
+        System.arraycopy(key, 0, parameters, 2, key.length);
+        return jdbcTemplate.update("update timesheet_rollup set duration_seconds = duration_seconds + ?, " +
+            "entries = entries + ?" + KEY_CONDITION, parameters);
+    }
+
+    private static Object[] keyOf(TimesheetRollup rollup) {
+        return new Object[]{rollup.getPeriod().name(), rollup.getWorkerId(), Date.valueOf(rollup.getPeriodStart()),
+            rollup.getProjectId()};
+    }
+
+    /**
+     * Find the rows of a period type in a date range.
+     *
+     * @param period the length of the periods
+     * @param workerId the id of the worker, or null for all the workers
+     * @param projectId the id of the project, or null for all the projects
+     * @param fromDate the first day of the first period
+     * @param toDate the last day of the range, included
+     * @return the rows, sorted by period start, worker and project
+     */
+    public List<TimesheetRollup> find(TimesheetPeriod period, Long workerId, Long projectId, LocalDate fromDate,
+        LocalDate toDate) {
+        StringBuilder sql = new StringBuilder("select period_start, worker_id, project_id, duration_seconds, " +
+            "entries from timesheet_rollup where period = ?");
+        List<Object> parameters = new ArrayList<>();
+        parameters.add(period.name());
+        if (workerId != null) {
+            sql.append(" and worker_id = ?");
+            parameters.add(workerId);
+        }
+        if (projectId != null) {
+            sql.append(" and project_id = ?");
+            parameters.add(projectId);
+        }
+        sql.append(" and period_start >= ? and period_start <= ? order by period_start, worker_id, project_id");
+        parameters.add(Date.valueOf(fromDate));
+        parameters.add(Date.valueOf(toDate));
+        return jdbcTemplate.query(sql.toString(), parameters.toArray(), (resultSet, rowNum) ->
+            new TimesheetRollup(period, resultSet.getDate(1).toLocalDate(), resultSet.getLong(2),
+                resultSet.getLong(3), resultSet.getLong(4), resultSet.getInt(5)));
+    }
+
+    /**
+     * @param workerId the id of a worker
+     * @return the number of rows deleted
+     */
+    public int deleteByWorkerId(Long workerId) {
+        return jdbcTemplate.update("delete from timesheet_rollup where worker_id = ?", workerId);
+    }
+
+    /**
+     * Delete the rows of the workers who have no work log.
+     *
+     * @return the number of rows deleted
+     */
+    public int deleteWithoutWorkLogs() {
+        return jdbcTemplate.update("delete from timesheet_rollup where not exists " +
+            "(select 1 from work_log where work_log.worker_id = timesheet_rollup.worker_id)");
+    }
+}
@@ -0,0 +1,40 @@
+package com.arnellconsulting.worktajm.ms.repository;
+
+import com.arnellconsulting.worktajm.ms.domain.WorkLog;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.LockModeType;
+import java.util.List;
+
+/**
+ * Spring Data JPA repository for the WorkLog entity.
+ */
+@SuppressWarnings("unused")
+public interface WorkLogRepository extends JpaRepository<WorkLog, Long>, WorkLogRepositoryCustom {
+
+    /**
+     * Read a work log and lock its row until the end of the transaction, so that concurrent changes of the work
+     * log are applied one after the other.
+     *
+     * @param id the id of the work log
+     * @return the work log, or null if there is none
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select workLog from WorkLog workLog where workLog.id = :id")
+    WorkLog findOneForUpdate(@Param("id") Long id);
+
+    @Query("select distinct workLog.worker.id from WorkLog workLog order by workLog.worker.id")
+    List<Long> findWorkerIds();
+
+    /**
+     * @param workerId the id of a worker
+     * @return the start date, end date and project id of each work log of the worker, read without loading them
+     */
+    @Query("select workLog.startDate, workLog.endDate, workLog.project.id from WorkLog workLog " +
+        "where workLog.worker.id = :workerId")
+    List<Object[]> findTimesByWorkerId(@Param("workerId") Long workerId);
+}
@@ -0,0 +1,30 @@
+package com.arnellconsulting.worktajm.ms.repository;
+
+import com.arnellconsulting.worktajm.ms.domain.WorkLog;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Queries of the WorkLogRepository built at runtime.
+ */
+public interface WorkLogRepositoryCustom {
+
+    /**
+     * Find the latest work logs matching a filter, by keyset pagination.
+     *
+     * <p>
+     * The work logs are sorted by start date then id, both descending, and read with their worker and project. A
+     * page is read from the (worker_id, start_date, id), (project_id, start_date, id) or (start_date, id) index, as
+     * described in {@link KeysetPagination}. The work logs without start date are not returned.
+     * </p>
+     *
+     * @param workerId the id of the worker, or null for all the workers
+     * @param projectId the id of the project, or null for all the projects
+     * @param beforeDate the start date of the last work log of the previous page, or null for the first page
+     * @param beforeId the id of the last work log of the previous page, or null for the first page
+     * @param maxResults the maximum number of work logs to return
+     * @return the work logs, latest first
+     */
+    List<WorkLog> findBefore(Long workerId, Long projectId, Instant beforeDate, Long beforeId, int maxResults);
+}
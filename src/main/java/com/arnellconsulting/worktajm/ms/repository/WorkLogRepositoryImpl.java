@@ -0,0 +1,47 @@
+package com.arnellconsulting.worktajm.ms.repository;
+
+import com.arnellconsulting.worktajm.ms.domain.WorkLog;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of the queries of the WorkLogRepository built at runtime, like the ones of
+ * {@link PersistenceAuditEventRepositoryImpl}.
+ */
+public class WorkLogRepositoryImpl implements WorkLogRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<WorkLog> findBefore(Long workerId, Long projectId, Instant beforeDate, Long beforeId,
+        int maxResults) {
+        // The worker and project are fetched by the same query, instead of one query per work log
+        StringBuilder jpql = new StringBuilder("select workLog from WorkLog workLog " +
+            "left join fetch workLog.worker left join fetch workLog.project where workLog.startDate is not null");
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        if (workerId != null) {
+            jpql.append(" and workLog.worker.id = :workerId");
+            parameters.put("workerId", workerId);
+        }
+        if (projectId != null) {
+            jpql.append(" and workLog.project.id = :projectId");
+            parameters.put("projectId", projectId);
+        }
+        if (beforeDate != null && beforeId != null) {
+            KeysetPagination.appendBefore(jpql, parameters, "workLog.startDate", "workLog.id",
+                beforeDate.atZone(ZoneOffset.UTC), beforeId);
+        }
+        jpql.append(" order by workLog.startDate desc, workLog.id desc");
+        TypedQuery<WorkLog> query = entityManager.createQuery(jpql.toString(), WorkLog.class);
+        parameters.forEach(query::setParameter);
+        return query.setMaxResults(maxResults).getResultList();
+    }
+}
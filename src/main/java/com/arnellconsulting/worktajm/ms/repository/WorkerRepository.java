@@ -0,0 +1,36 @@
+package com.arnellconsulting.worktajm.ms.repository;
+
+import com.arnellconsulting.worktajm.ms.domain.Worker;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Spring Data JPA repository for the Worker entity.
+ */
+@SuppressWarnings("unused")
+public interface WorkerRepository extends JpaRepository<Worker, Long> {
+
+    /**
+     * Find a slice of the workers, by keyset pagination on the primary key: a slice is not counted, and the next
+     * one starts after the id of the last worker of the previous one.
+     *
+     * @param id the exclusive upper bound of the ids
+     * @param pageable the size and sort of the slice, which must be sorted by descending id
+     * @return the slice of workers
+     */
+    Slice<Worker> findByIdLessThan(Long id, Pageable pageable);
+
+    /**
+     * @param ids the ids to check
+     * @return the ids of the existing workers, read without loading them
+     */
+    @Query("select worker.id from Worker worker where worker.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+}
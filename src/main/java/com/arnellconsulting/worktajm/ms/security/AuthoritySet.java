@@ -0,0 +1,135 @@
+package com.arnellconsulting.worktajm.ms.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.io.Serializable;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Immutable set of granted authorities, shared by all the principals having the same authorities.
+ *
+ * <p>
+ * Instances are obtained from {@link #fromClaim(String)}, which canonicalizes the comma-separated "auth" claim
+ * of a JWT (for example "ROLE_USER,ROLE_ADMIN"), so that building an authentication does not allocate new
+ * authority objects. Authority lookups by name are hash-based instead of scanning the collection.
+ * </p>
+ */
+public final class AuthoritySet extends AbstractSet<GrantedAuthority> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Upper bound of the registries, claims beyond it still work but are not shared.
+     */
+    private static final int MAX_INTERNED = 1024;
+
+    private static final ConcurrentMap<String, GrantedAuthority> AUTHORITIES = new ConcurrentHashMap<>();
+
+    private static final ConcurrentMap<String, AuthoritySet> SETS = new ConcurrentHashMap<>();
+
+    private final String claim;
+
+    private final transient GrantedAuthority[] authorities;
+
+    private final transient Set<String> names;
+
+    private AuthoritySet(String claim) {
+        this.claim = claim;
+        Set<String> authorityNames = new LinkedHashSet<>();
+        for (String name : claim.split(",")) {
+            if (!name.isEmpty()) {
+                authorityNames.add(name);
+            }
+        }
+        this.authorities = new GrantedAuthority[authorityNames.size()];
+        int i = 0;
+        for (String name : authorityNames) {
+            this.authorities[i++] = intern(name);
+        }
+        this.names = Collections.unmodifiableSet(authorityNames);
+    }
+
+    /**
+     * Get the shared authority set of an "auth" claim.
+     *
+     * @param claim the comma-separated authority names
+     * @return the canonical authority set of this claim
+     */
+    public static AuthoritySet fromClaim(String claim) {
+        AuthoritySet authoritySet = SETS.get(claim);
+        if (authoritySet != null) {
+            return authoritySet;
+        }
+        authoritySet = new AuthoritySet(claim);
+        if (SETS.size() < MAX_INTERNED) {
+            AuthoritySet previous = SETS.putIfAbsent(claim, authoritySet);
+            if (previous != null) {
+                return previous;
+            }
+        }
+        return authoritySet;
+    }
+
+    /**
+     * Check if this set contains an authority.
+     *
+     * @param authority the authority name
+     * @return true if the authority is part of this set
+     */
+    public boolean hasAuthority(String authority) {
+        return names.contains(authority);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof GrantedAuthority && hasAuthority(((GrantedAuthority) o).getAuthority());
+    }
+
+    @Override
+    public Iterator<GrantedAuthority> iterator() {
+        return new Iterator<GrantedAuthority>() {
+
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < authorities.length;
+            }
+
+            @Override
+            public GrantedAuthority next() {
+                if (next >= authorities.length) {
+                    throw new NoSuchElementException();
+                }
+                return authorities[next++];
+            }
+        };
+    }
+
+    @Override
+    public int size() {
+        return authorities.length;
+    }
+
+    private Object readResolve() {
+        return fromClaim(claim);
+    }
+
+    private static GrantedAuthority intern(String name) {
+        GrantedAuthority authority = AUTHORITIES.get(name);
+        if (authority != null) {
+            return authority;
+        }
+        authority = new SimpleGrantedAuthority(name);
+        if (AUTHORITIES.size() < MAX_INTERNED) {
+            GrantedAuthority previous = AUTHORITIES.putIfAbsent(name, authority);
+            if (previous != null) {
+                return previous;
+            }
+        }
+        return authority;
+    }
+}
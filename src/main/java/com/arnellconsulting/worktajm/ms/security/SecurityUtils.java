@@ -1,10 +1,13 @@
 package com.arnellconsulting.worktajm.ms.security;
 
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.util.Collection;
+
 /**
  * Utility class for Spring Security.
  */
@@ -56,8 +59,7 @@ public final class SecurityUtils {
         SecurityContext securityContext = SecurityContextHolder.getContext();
         Authentication authentication = securityContext.getAuthentication();
         if (authentication != null) {
-            return authentication.getAuthorities().stream()
-                .noneMatch(grantedAuthority -> grantedAuthority.getAuthority().equals(AuthoritiesConstants.ANONYMOUS));
+            return !hasAuthority(authentication.getAuthorities(), AuthoritiesConstants.ANONYMOUS);
         }
         return false;
     }
@@ -74,9 +76,16 @@ public final class SecurityUtils {
         SecurityContext securityContext = SecurityContextHolder.getContext();
         Authentication authentication = securityContext.getAuthentication();
         if (authentication != null) {
-            return authentication.getAuthorities().stream()
-                .anyMatch(grantedAuthority -> grantedAuthority.getAuthority().equals(authority));
+            return hasAuthority(authentication.getAuthorities(), authority);
         }
         return false;
     }
+
+    private static boolean hasAuthority(Collection<? extends GrantedAuthority> authorities, String authority) {
+        if (authorities instanceof AuthoritySet) {
+            return ((AuthoritySet) authorities).hasAuthority(authority);
+        }
+        return authorities.stream()
+            .anyMatch(grantedAuthority -> grantedAuthority.getAuthority().equals(authority));
+    }
 }
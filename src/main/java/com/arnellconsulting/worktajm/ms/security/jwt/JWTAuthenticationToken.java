@@ -0,0 +1,34 @@
+package com.arnellconsulting.worktajm.ms.security.jwt;
+
+import com.arnellconsulting.worktajm.ms.security.AuthoritySet;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.util.Collection;
+
+/**
+ * Authentication built from a verified JWT.
+ *
+ * <p>
+ * It exposes the shared {@link AuthoritySet} of the token's "auth" claim, instead of the per-instance copy
+ * made by {@link org.springframework.security.authentication.AbstractAuthenticationToken}.
+ * </p>
+ */
+public class JWTAuthenticationToken extends UsernamePasswordAuthenticationToken {
+
+    private static final long serialVersionUID = 1L;
+
+    private final AuthoritySet authorities;
+
+    public JWTAuthenticationToken(Object principal, String token, AuthoritySet authorities) {
+        super(principal, token, AuthorityUtils.NO_AUTHORITIES);
+        this.authorities = authorities;
+    }
+
+    @Override
+    public Collection<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+}
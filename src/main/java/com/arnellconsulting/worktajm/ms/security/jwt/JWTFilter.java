@@ -1,6 +1,5 @@
 package com.arnellconsulting.worktajm.ms.security.jwt;
 
-import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.GenericFilterBean;
@@ -18,6 +17,8 @@ import java.io.IOException;
  */
 public class JWTFilter extends GenericFilterBean {
 
+    private static final String BEARER_PREFIX = "Bearer ";
+
     private TokenProvider tokenProvider;
 
     public JWTFilter(TokenProvider tokenProvider) {
@@ -29,18 +30,33 @@ public class JWTFilter extends GenericFilterBean {
         throws IOException, ServletException {
         HttpServletRequest httpServletRequest = (HttpServletRequest) servletRequest;
         String jwt = resolveToken(httpServletRequest);
-        if (StringUtils.hasText(jwt) && this.tokenProvider.validateToken(jwt)) {
-            Authentication authentication = this.tokenProvider.getAuthentication(jwt);
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+        if (jwt != null) {
+            this.tokenProvider.resolveAuthentication(jwt)
+                .ifPresent(authentication -> SecurityContextHolder.getContext().setAuthentication(authentication));
         }
         filterChain.doFilter(servletRequest, servletResponse);
     }
 
+    /**
+     * Get the bearer token of a request, if it passes the structural checks of {@link TokenPreValidator}.
+     *
+     * <p>The header is checked in place, so rejected tokens cost neither an allocation nor an exception.</p>
+     */
     private String resolveToken(HttpServletRequest request){
         String bearerToken = request.getHeader(JWTConfigurer.AUTHORIZATION_HEADER);
-        if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
-            return bearerToken.substring(7, bearerToken.length());
+        if (!StringUtils.hasText(bearerToken)) {
+            return null;
+        }
+        TokenRejection rejection;
+        if (bearerToken.startsWith(BEARER_PREFIX)) {
+            rejection = TokenPreValidator.check(bearerToken, BEARER_PREFIX.length(), System.currentTimeMillis());
+        } else {
+            rejection = TokenRejection.NOT_BEARER;
+        }
+        if (rejection != null) {
+            this.tokenProvider.countRejection(rejection);
+            return null;
         }
-        return null;
+        return bearerToken.substring(BEARER_PREFIX.length());
     }
 }
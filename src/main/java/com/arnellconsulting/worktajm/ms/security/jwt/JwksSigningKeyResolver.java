@@ -0,0 +1,195 @@
+package com.arnellconsulting.worktajm.ms.security.jwt;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.*;
+import java.util.*;
+
+/**
+ * Resolves the public key verifying a JWT from a JSON Web Key Set (RFC 7517), using the "kid" header of the token.
+ *
+ * <p>
+ * The key set is read from a local file or classpath resource into an immutable key id to key map. When the file
+ * changes, {@link #refresh()} builds a new map and swaps it atomically, so resolving a key never takes a lock and
+ * keys can be rotated without a restart. Only RSA and EC (P-256, P-384 and P-521) signature keys are supported.
+ * </p>
+ */
+public class JwksSigningKeyResolver extends SigningKeyResolverAdapter {
+
+    private final Logger log = LoggerFactory.getLogger(JwksSigningKeyResolver.class);
+
+    private static final Map<String, String> CURVES = new HashMap<>();
+
+    static {
+        CURVES.put("P-256", "secp256r1");
+        CURVES.put("P-384", "secp384r1");
+        CURVES.put("P-521", "secp521r1");
+    }
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Resource resource;
+
+    private volatile Map<String, SigningKey> keys = Collections.emptyMap();
+
+    private long lastModified = -1;
+
+    public JwksSigningKeyResolver(Resource resource) {
+        this.resource = resource;
+    }
+
+    /**
+     * Load the key set if its resource has changed since the previous load.
+     *
+     * @return true if a previously loaded key was removed or replaced
+     * @throws IOException if the key set cannot be read
+     */
+    public synchronized boolean refresh() throws IOException {
+        long modified = getLastModified();
+        if (lastModified != -1 && modified == lastModified) {
+            return false;
+        }
+        Map<String, SigningKey> loadedKeys = load();
+        Map<String, SigningKey> previousKeys = keys;
+        keys = loadedKeys;
+        lastModified = modified;
+        log.info("Loaded {} JWT signing keys from {}", loadedKeys.size(), resource.getDescription());
+        return previousKeys.entrySet().stream()
+            .anyMatch(entry -> !entry.getValue().equals(loadedKeys.get(entry.getKey())));
+    }
+
+    @Override
+    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+        SignatureAlgorithm algorithm = SignatureAlgorithm.forName(header.getAlgorithm());
+        if (!algorithm.isRsa() && !algorithm.isEllipticCurve()) {
+            throw new UnsupportedJwtException("JWT signature algorithm " + algorithm.getValue() +
+                " is not allowed with public key verification");
+        }
+        Map<String, SigningKey> currentKeys = keys;
+        String keyId = header.getKeyId();
+        SigningKey signingKey;
+        if (keyId != null) {
+            signingKey = currentKeys.get(keyId);
+        } else if (currentKeys.size() == 1) {
+            signingKey = currentKeys.values().iterator().next();
+        } else {
+            signingKey = null;
+        }
+        if (signingKey == null) {
+            throw new SignatureException("Unknown JWT signing key " + keyId);
+        }
+        if (!signingKey.accepts(algorithm)) {
+            throw new SignatureException("JWT signing key " + keyId + " cannot be used with " + algorithm.getValue());
+        }
+        return signingKey.publicKey;
+    }
+
+    private long getLastModified() {
+        try {
+            return resource.lastModified();
+        } catch (IOException e) {
+            // Resources inside an archive have no modification date, they are loaded only once
+            return 0;
+        }
+    }
+
+    private Map<String, SigningKey> load() throws IOException {
+        JsonNode jwks;
+        try (InputStream inputStream = resource.getInputStream()) {
+            jwks = objectMapper.readTree(inputStream);
+        }
+        Map<String, SigningKey> loadedKeys = new HashMap<>();
+        for (JsonNode jwk : jwks.path("keys")) {
+            String keyId = jwk.path("kid").asText(null);
+            String use = jwk.path("use").asText("sig");
+            if (keyId == null || !"sig".equals(use)) {
+                log.debug("Ignoring JWK {} with usage {}", keyId, use);
+                continue;
+            }
+            try {
+                loadedKeys.put(keyId, new SigningKey(toPublicKey(jwk), jwk.path("alg").asText(null)));
+            } catch (GeneralSecurityException | IllegalArgumentException e) {
+                log.warn("Ignoring invalid JWK {}: {}", keyId, e.getMessage());
+            }
+        }
+        return Collections.unmodifiableMap(loadedKeys);
+    }
+
+    private PublicKey toPublicKey(JsonNode jwk) throws GeneralSecurityException {
+        String keyType = jwk.path("kty").asText();
+        if ("RSA".equals(keyType)) {
+            RSAPublicKeySpec keySpec = new RSAPublicKeySpec(decode(jwk, "n"), decode(jwk, "e"));
+            return KeyFactory.getInstance("RSA").generatePublic(keySpec);
+        } else if ("EC".equals(keyType)) {
+            String curve = CURVES.get(jwk.path("crv").asText());
+            if (curve == null) {
+                throw new IllegalArgumentException("unsupported curve " + jwk.path("crv").asText());
+            }
+            AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+            parameters.init(new ECGenParameterSpec(curve));
+            ECPoint point = new ECPoint(decode(jwk, "x"), decode(jwk, "y"));
+            ECPublicKeySpec keySpec = new ECPublicKeySpec(point, parameters.getParameterSpec(ECParameterSpec.class));
+            return KeyFactory.getInstance("EC").generatePublic(keySpec);
+        }
+        throw new IllegalArgumentException("unsupported key type " + keyType);
+    }
+
+    private static BigInteger decode(JsonNode jwk, String field) {
+        String value = jwk.path(field).asText(null);
+        if (value == null) {
+            throw new IllegalArgumentException("missing \"" + field + "\" parameter");
+        }
+        return new BigInteger(1, Base64.getUrlDecoder().decode(value));
+    }
+
+    private static final class SigningKey {
+
+        private final PublicKey publicKey;
+
+        private final String algorithm;
+
+        private SigningKey(PublicKey publicKey, String algorithm) {
+            this.publicKey = publicKey;
+            this.algorithm = algorithm;
+        }
+
+        private boolean accepts(SignatureAlgorithm signatureAlgorithm) {
+            if (algorithm != null && !algorithm.equals(signatureAlgorithm.getValue())) {
+                return false;
+            }
+            return signatureAlgorithm.isRsa() ? publicKey instanceof RSAPublicKey : publicKey instanceof ECPublicKey;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            SigningKey signingKey = (SigningKey) o;
+            return publicKey.equals(signingKey.publicKey) && Objects.equals(algorithm, signingKey.algorithm);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(publicKey, algorithm);
+        }
+    }
+}
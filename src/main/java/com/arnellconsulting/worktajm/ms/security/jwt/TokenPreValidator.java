@@ -0,0 +1,211 @@
+package com.arnellconsulting.worktajm.ms.security.jwt;
+
+/**
+ * Cheap structural checks run on a bearer token before its signature is verified.
+ *
+ * <p>
+ * The token is checked in place, without allocating or throwing: it must be made of three non-empty base64url
+ * parts, and the "exp" claim is read by decoding the payload on the fly. This only rejects tokens that the full
+ * verification would reject too, so that garbage and expired tokens never reach the JWT parser.
+ * </p>
+ */
+public final class TokenPreValidator {
+
+    /**
+     * Tokens longer than this are rejected, we never issue tokens of this size.
+     */
+    public static final int MAX_TOKEN_LENGTH = 8192;
+
+    private static final long NO_EXPIRATION = -1;
+
+    private static final long NOT_AN_OBJECT = -2;
+
+    private static final int EXPECT_OBJECT = 0;
+
+    private static final int IN_OBJECT = 1;
+
+    private static final int IN_STRING = 2;
+
+    private static final int IN_STRING_ESCAPE = 3;
+
+    private static final int AFTER_EXP_KEY = 4;
+
+    private static final int BEFORE_EXP_VALUE = 5;
+
+    private static final int IN_EXP_VALUE = 6;
+
+    private static final String EXP = "exp";
+
+    private TokenPreValidator() {
+    }
+
+    /**
+     * Check a token.
+     *
+     * @param value the string holding the token, for example the whole Authorization header
+     * @param offset the index of the first character of the token in value
+     * @param now the current time, in milliseconds since the epoch
+     * @return the reason why the token is rejected, or null if it may be valid
+     */
+    public static TokenRejection check(String value, int offset, long now) {
+        int end = value.length();
+        if (end - offset > MAX_TOKEN_LENGTH) {
+            return TokenRejection.TOO_LONG;
+        }
+        int firstDot = -1;
+        int secondDot = -1;
+        for (int i = offset; i < end; i++) {
+            char c = value.charAt(i);
+            if (c == '.') {
+                if (firstDot < 0) {
+                    firstDot = i;
+                } else if (secondDot < 0) {
+                    secondDot = i;
+                } else {
+                    return TokenRejection.MALFORMED;
+                }
+            } else if (decode(c) < 0 && c != '=') {
+                return TokenRejection.MALFORMED;
+            }
+        }
+        if (secondDot < 0 || firstDot == offset || secondDot == firstDot + 1) {
+            return TokenRejection.MALFORMED;
+        }
+        if (secondDot == end - 1) {
+            return TokenRejection.UNSIGNED;
+        }
+        long expiration = readExpiration(value, firstDot + 1, secondDot);
+        if (expiration == NOT_AN_OBJECT) {
+            return TokenRejection.MALFORMED;
+        }
+        if (expiration != NO_EXPIRATION && expiration < Long.MAX_VALUE / 1000 && now > expiration * 1000) {
+            return TokenRejection.EXPIRED;
+        }
+        return null;
+    }
+
+    /**
+     * Decode the base64url payload and scan the JSON object for a top-level numeric "exp" member.
+     */
+    private static long readExpiration(String value, int start, int end) {
+        int state = EXPECT_OBJECT;
+        int depth = 0;
+        int matched = 0;
+        long expiration = 0;
+        int bits = 0;
+        int bitCount = 0;
+        for (int i = start; i < end; i++) {
+            int sextet = decode(value.charAt(i));
+            if (sextet < 0) {
+                // Padding
+                continue;
+            }
+            bits = (bits << 6) | sextet;
+            bitCount += 6;
+            if (bitCount < 8) {
+                continue;
+            }
+            bitCount -= 8;
+            int b = (bits >> bitCount) & 0xFF;
+            bits &= (1 << bitCount) - 1;
+
+            switch (state) {
+                case EXPECT_OBJECT:
+                    if (b == '{') {
+                        depth = 1;
+                        state = IN_OBJECT;
+                    } else if (!isWhitespace(b)) {
+                        return NOT_AN_OBJECT;
+                    }
+                    break;
+                case IN_OBJECT:
+                    if (b == '"') {
+                        matched = depth == 1 ? 0 : -1;
+                        state = IN_STRING;
+                    } else if (b == '{' || b == '[') {
+                        depth++;
+                    } else if ((b == '}' || b == ']') && --depth == 0) {
+                        return NO_EXPIRATION;
+                    }
+                    break;
+                case IN_STRING:
+                    if (b == '\\') {
+                        matched = -1;
+                        state = IN_STRING_ESCAPE;
+                    } else if (b == '"') {
+                        state = matched == EXP.length() ? AFTER_EXP_KEY : IN_OBJECT;
+                    } else if (matched >= 0 && matched < EXP.length() && b == EXP.charAt(matched)) {
+                        matched++;
+                    } else {
+                        matched = -1;
+                    }
+                    break;
+                case IN_STRING_ESCAPE:
+                    state = IN_STRING;
+                    break;
+                case AFTER_EXP_KEY:
+                    if (b == ':') {
+                        state = BEFORE_EXP_VALUE;
+                    } else if (b == '}') {
+                        // "exp" was the value of the last member
+                        return NO_EXPIRATION;
+                    } else if (!isWhitespace(b)) {
+                        state = IN_OBJECT;
+                    }
+                    break;
+                case BEFORE_EXP_VALUE:
+                    if (b >= '0' && b <= '9') {
+                        expiration = b - '0';
+                        state = IN_EXP_VALUE;
+                    } else if (!isWhitespace(b)) {
+                        // Not a number, leave it to the JWT parser
+                        return NO_EXPIRATION;
+                    }
+                    break;
+                case IN_EXP_VALUE:
+                    if (b >= '0' && b <= '9') {
+                        if (expiration > (Long.MAX_VALUE - 9) / 10) {
+                            return NO_EXPIRATION;
+                        }
+                        expiration = expiration * 10 + (b - '0');
+                    } else if (b == '.') {
+                        // Fractional seconds, round up so that we never reject a token that is still valid
+                        return expiration + 1;
+                    } else if (b == 'e' || b == 'E') {
+                        return NO_EXPIRATION;
+                    } else {
+                        return expiration;
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown state " + state);
+            }
+        }
+        if (state == EXPECT_OBJECT) {
+            return NOT_AN_OBJECT;
+        }
+        return state == IN_EXP_VALUE ? expiration : NO_EXPIRATION;
+    }
+
+    /**
+     * Decode a base64 character, the JWT parser accepts both the URL-safe and the standard alphabets.
+     */
+    private static int decode(char c) {
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A';
+        } else if (c >= 'a' && c <= 'z') {
+            return c - 'a' + 26;
+        } else if (c >= '0' && c <= '9') {
+            return c - '0' + 52;
+        } else if (c == '-' || c == '+') {
+            return 62;
+        } else if (c == '_' || c == '/') {
+            return 63;
+        }
+        return -1;
+    }
+
+    private static boolean isWhitespace(int b) {
+        return b == ' ' || b == '\t' || b == '\n' || b == '\r';
+    }
+}
@@ -1,19 +1,27 @@
 package com.arnellconsulting.worktajm.ms.security.jwt;
 
+import com.arnellconsulting.worktajm.ms.config.ApplicationProperties;
+import com.arnellconsulting.worktajm.ms.security.AuthoritySet;
+
 import io.github.jhipster.config.JHipsterProperties;
 
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
+
+import java.io.IOException;
 import java.util.*;
 import java.util.stream.Collectors;
 import javax.annotation.PostConstruct;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.User;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 
 import io.jsonwebtoken.*;
 
@@ -30,10 +38,28 @@ public class TokenProvider {
 
     private long tokenValidityInMillisecondsForRememberMe;
 
+    private JwtParser jwtParser;
+
+    private JwksSigningKeyResolver signingKeyResolver;
+
+    private VerifiedTokenCache verifiedTokenCache;
+
+    private final Map<TokenRejection, Counter> rejectionCounters = new EnumMap<>(TokenRejection.class);
+
     private final JHipsterProperties jHipsterProperties;
 
-    public TokenProvider(JHipsterProperties jHipsterProperties) {
+    private final ApplicationProperties applicationProperties;
+
+    public TokenProvider(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
         this.jHipsterProperties = jHipsterProperties;
+        this.applicationProperties = applicationProperties;
+    }
+
+    @Autowired(required = false)
+    public void setMetricRegistry(MetricRegistry metricRegistry) {
+        for (TokenRejection rejection : TokenRejection.values()) {
+            rejectionCounters.put(rejection, metricRegistry.counter(rejection.getMetricName()));
+        }
     }
 
     @PostConstruct
@@ -45,6 +71,26 @@ public class TokenProvider {
             1000 * jHipsterProperties.getSecurity().getAuthentication().getJwt().getTokenValidityInSeconds();
         this.tokenValidityInMillisecondsForRememberMe =
             1000 * jHipsterProperties.getSecurity().getAuthentication().getJwt().getTokenValidityInSecondsForRememberMe();
+
+        ApplicationProperties.Security.TokenCache tokenCache = applicationProperties.getSecurity().getTokenCache();
+        if (tokenCache.isEnabled()) {
+            log.debug("Caching up to {} verified JWTs", tokenCache.getMaxEntries());
+            this.verifiedTokenCache = new VerifiedTokenCache(tokenCache.getMaxEntries());
+        }
+
+        String jwksLocation = applicationProperties.getSecurity().getJwks().getLocation();
+        if (StringUtils.hasText(jwksLocation)) {
+            log.info("Verifying JWTs with the public keys of {}", jwksLocation);
+            this.signingKeyResolver = new JwksSigningKeyResolver(new DefaultResourceLoader().getResource(jwksLocation));
+            try {
+                this.signingKeyResolver.refresh();
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot load the JWT signing keys from " + jwksLocation, e);
+            }
+            this.jwtParser = Jwts.parser().setSigningKeyResolver(signingKeyResolver);
+        } else {
+            this.jwtParser = Jwts.parser().setSigningKey(secretKey);
+        }
     }
 
     public String createToken(Authentication authentication, Boolean rememberMe) {
@@ -68,42 +114,98 @@ public class TokenProvider {
             .compact();
     }
 
-    public Authentication getAuthentication(String token) {
-        Claims claims = Jwts.parser()
-            .setSigningKey(secretKey)
-            .parseClaimsJws(token)
-            .getBody();
-
-        Collection<? extends GrantedAuthority> authorities =
-            Arrays.stream(claims.get(AUTHORITIES_KEY).toString().split(","))
-                .map(SimpleGrantedAuthority::new)
-                .collect(Collectors.toList());
-
-        User principal = new User(claims.getSubject(), "", authorities);
-
-        return new UsernamePasswordAuthenticationToken(principal, token, authorities);
+    /**
+     * Get the authentication of a request from its JWT, which is only parsed and verified when it is not cached.
+     *
+     * @param token the JWT
+     * @return a new authentication, or empty if the token is not valid
+     */
+    public Optional<Authentication> resolveAuthentication(String token) {
+        VerifiedToken verifiedToken = verifiedTokenCache != null ? verifiedTokenCache.get(token) : null;
+        if (verifiedToken == null) {
+            verifiedToken = verify(token);
+            if (verifiedToken == null) {
+                return Optional.empty();
+            }
+            if (verifiedTokenCache != null) {
+                verifiedTokenCache.put(token, verifiedToken);
+            }
+        }
+        return Optional.of(verifiedToken.toAuthentication(token));
     }
 
-    public boolean validateToken(String authToken) {
+    private VerifiedToken verify(String authToken) {
         try {
-            Jwts.parser().setSigningKey(secretKey).parseClaimsJws(authToken);
-            return true;
+            Claims claims = jwtParser.parseClaimsJws(authToken).getBody();
+            AuthoritySet authorities = AuthoritySet.fromClaim(claims.get(AUTHORITIES_KEY).toString());
+            Date expiration = claims.getExpiration();
+            long expiresAt = expiration != null ? expiration.getTime() :
+                System.currentTimeMillis() + tokenValidityInMilliseconds;
+            return new VerifiedToken(claims.getSubject(), authorities, expiresAt);
         } catch (SignatureException e) {
-            log.info("Invalid JWT signature.");
+            countRejection(TokenRejection.INVALID_SIGNATURE);
+            log.debug("Invalid JWT signature.");
             log.trace("Invalid JWT signature trace: {}", e);
         } catch (MalformedJwtException e) {
-            log.info("Invalid JWT token.");
+            countRejection(TokenRejection.MALFORMED);
+            log.debug("Invalid JWT token.");
             log.trace("Invalid JWT token trace: {}", e);
         } catch (ExpiredJwtException e) {
-            log.info("Expired JWT token.");
+            countRejection(TokenRejection.EXPIRED);
+            log.debug("Expired JWT token.");
             log.trace("Expired JWT token trace: {}", e);
         } catch (UnsupportedJwtException e) {
-            log.info("Unsupported JWT token.");
+            countRejection(TokenRejection.UNSUPPORTED);
+            log.debug("Unsupported JWT token.");
             log.trace("Unsupported JWT token trace: {}", e);
         } catch (IllegalArgumentException e) {
-            log.info("JWT token compact of handler are invalid.");
+            countRejection(TokenRejection.MALFORMED);
+            log.debug("JWT token compact of handler are invalid.");
             log.trace("JWT token compact of handler are invalid trace: {}", e);
         }
-        return false;
+        return null;
+    }
+
+    /**
+     * Count a rejected token in the "security.jwt.rejected" metrics.
+     *
+     * @param rejection the reason why the token was rejected
+     */
+    public void countRejection(TokenRejection rejection) {
+        Counter counter = rejectionCounters.get(rejection);
+        if (counter != null) {
+            counter.inc();
+        }
+    }
+
+    /**
+     * Remove the expired tokens from the verified token cache.
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void evictExpiredTokens() {
+        if (verifiedTokenCache != null) {
+            int evicted = verifiedTokenCache.evictExpired();
+            log.trace("Evicted {} expired JWTs from the cache", evicted);
+        }
+    }
+
+    /**
+     * Reload the JWT signing keys when their key set has changed.
+     *
+     * <p>Tokens verified with a key that has been removed or replaced are evicted from the verified token cache.</p>
+     */
+    @Scheduled(fixedDelayString = "${application.security.jwks.refresh-interval:10000}")
+    public void refreshSigningKeys() {
+        if (signingKeyResolver == null) {
+            return;
+        }
+        try {
+            if (signingKeyResolver.refresh() && verifiedTokenCache != null) {
+                log.info("JWT signing keys were revoked, clearing the verified JWT cache");
+                verifiedTokenCache.clear();
+            }
+        } catch (IOException e) {
+            log.warn("Cannot reload the JWT signing keys, the current keys are kept: {}", e.getMessage());
+        }
     }
 }
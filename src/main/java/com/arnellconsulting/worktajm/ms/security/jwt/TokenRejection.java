@@ -0,0 +1,36 @@
+package com.arnellconsulting.worktajm.ms.security.jwt;
+
+import java.util.Locale;
+
+/**
+ * Reasons why a bearer token is rejected, each one is counted in the "security.jwt.rejected" metrics.
+ */
+public enum TokenRejection {
+
+    /** The Authorization header does not hold a bearer token. */
+    NOT_BEARER,
+
+    /** The token is longer than any token we issue. */
+    TOO_LONG,
+
+    /** The token is not made of three base64url encoded parts, or its claims are not a JSON object. */
+    MALFORMED,
+
+    /** The token has no signature. */
+    UNSIGNED,
+
+    /** The token "exp" claim is in the past. */
+    EXPIRED,
+
+    /** The token signature does not match its content. */
+    INVALID_SIGNATURE,
+
+    /** The token is not a signed claims JWT. */
+    UNSUPPORTED;
+
+    private final String metricName = "security.jwt.rejected." + name().toLowerCase(Locale.ENGLISH);
+
+    public String getMetricName() {
+        return metricName;
+    }
+}
@@ -0,0 +1,65 @@
+package com.arnellconsulting.worktajm.ms.security.jwt;
+
+import com.arnellconsulting.worktajm.ms.security.AuthoritySet;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+
+/**
+ * The claims of a JWT whose signature has been verified, shared by all the requests sending the token.
+ *
+ * <p>
+ * It is immutable: each request gets its own {@link Authentication}, built from the shared principal and
+ * authorities without parsing the token again.
+ * </p>
+ */
+final class VerifiedToken {
+
+    private final User principal;
+
+    private final AuthoritySet authorities;
+
+    private final long expiresAt;
+
+    VerifiedToken(String subject, AuthoritySet authorities, long expiresAt) {
+        this.principal = new ImmutableUser(subject, authorities);
+        this.authorities = authorities;
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * @param token the JWT, kept as the credentials of the authentication
+     * @return a new authentication for the request
+     */
+    Authentication toAuthentication(String token) {
+        return new JWTAuthenticationToken(principal, token, authorities);
+    }
+
+    /**
+     * @return the expiration time of the token, in milliseconds since the epoch
+     */
+    long getExpiresAt() {
+        return expiresAt;
+    }
+
+    boolean isExpired(long now) {
+        return now >= expiresAt;
+    }
+
+    /**
+     * User whose credentials are never erased, as it is shared by concurrent requests.
+     */
+    private static final class ImmutableUser extends User {
+
+        private static final long serialVersionUID = 1L;
+
+        private ImmutableUser(String username, AuthoritySet authorities) {
+            super(username, "", authorities);
+        }
+
+        @Override
+        public void eraseCredentials() {
+            // The password is always empty
+        }
+    }
+}
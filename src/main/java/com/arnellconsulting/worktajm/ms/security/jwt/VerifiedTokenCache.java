@@ -0,0 +1,123 @@
+package com.arnellconsulting.worktajm.ms.security.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Bounded cache of JWTs whose signature has already been verified, mapping them to their {@link VerifiedToken}.
+ *
+ * <p>
+ * Tokens are keyed by their SHA-256 digest, so raw bearer tokens are never kept in memory. An entry is
+ * never returned after the token's expiration time, so the cache cannot accept a token that a full
+ * verification would have rejected.
+ * </p>
+ */
+public class VerifiedTokenCache {
+
+    /**
+     * Number of entries inspected when the cache is full.
+     */
+    private static final int EVICTION_SAMPLE_SIZE = 8;
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    private final ConcurrentMap<String, VerifiedToken> entries = new ConcurrentHashMap<>();
+
+    private final int maxEntries;
+
+    public VerifiedTokenCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Get an already verified token.
+     *
+     * @param token the JWT
+     * @return the verified token, or null if the token is unknown or has expired
+     */
+    VerifiedToken get(String token) {
+        String key = digest(token);
+        VerifiedToken verifiedToken = entries.get(key);
+        if (verifiedToken == null) {
+            return null;
+        }
+        if (verifiedToken.isExpired(System.currentTimeMillis())) {
+            entries.remove(key, verifiedToken);
+            return null;
+        }
+        return verifiedToken;
+    }
+
+    /**
+     * Cache a verified token.
+     *
+     * @param token the JWT, which must have been verified by the caller
+     * @param verifiedToken the claims of the token
+     */
+    void put(String token, VerifiedToken verifiedToken) {
+        if (entries.size() >= maxEntries) {
+            evictSoonestExpiring();
+        }
+        entries.put(digest(token), verifiedToken);
+    }
+
+    /**
+     * Remove all the entries whose token has expired.
+     *
+     * @return the number of removed entries
+     */
+    public int evictExpired() {
+        long now = System.currentTimeMillis();
+        int evicted = 0;
+        for (Iterator<VerifiedToken> it = entries.values().iterator(); it.hasNext(); ) {
+            if (it.next().isExpired(now)) {
+                it.remove();
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    private void evictSoonestExpiring() {
+        Map.Entry<String, VerifiedToken> candidate = null;
+        int sampled = 0;
+        for (Map.Entry<String, VerifiedToken> mapEntry : entries.entrySet()) {
+            if (candidate == null || mapEntry.getValue().getExpiresAt() < candidate.getValue().getExpiresAt()) {
+                candidate = mapEntry;
+            }
+            if (++sampled >= EVICTION_SAMPLE_SIZE) {
+                break;
+            }
+        }
+        if (candidate != null) {
+            entries.remove(candidate.getKey(), candidate.getValue());
+        }
+    }
+
+    private static String digest(String token) {
+        MessageDigest messageDigest = SHA_256.get();
+        messageDigest.reset();
+        byte[] hash = messageDigest.digest(token.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+    }
+}
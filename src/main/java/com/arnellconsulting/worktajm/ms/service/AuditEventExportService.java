@@ -0,0 +1,153 @@
+package com.arnellconsulting.worktajm.ms.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Service exporting the audit events as gzip compressed newline delimited JSON.
+ *
+ * <p>
+ * The events and their data are read by one {@link StreamingQuery}, and each event is written as soon as its last
+ * data row is read, without creating entities or collections. Each line is a JSON
+ * object with the "id", "timestamp", "principal", "type" and "data" fields of an event, oldest first.
+ * </p>
+ */
+@Service
+public class AuditEventExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Logger log = LoggerFactory.getLogger(AuditEventExportService.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Without root value separator, as each event ends with its own new line.
+     */
+    private final JsonFactory jsonFactory = new JsonFactory().setRootValueSeparator(null);
+
+    public AuditEventExportService(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Write the audit events matching a filter.
+     *
+     * @param principal the principal of the events, or null for all the principals
+     * @param type the type of the events, or null for all the types
+     * @param fromDate the inclusive start of the date range, or null
+     * @param toDate the exclusive end of the date range, or null
+     * @param outputStream the stream to write the compressed events to, which is not closed
+     * @return the number of events written
+     * @throws IOException if the events cannot be written, for instance when the client disconnects
+     */
+    public long export(String principal, String type, Instant fromDate, Instant toDate, OutputStream outputStream)
+        throws IOException {
+        StringBuilder sql = new StringBuilder("select e.event_id, e.event_date, e.principal, e.event_type, " +
+            "d.name, d.value from jhi_persistent_audit_event e " +
+            "left join jhi_persistent_audit_evt_data d on d.event_id = e.event_id where e.event_date is not null");
+        List<Object> parameters = new ArrayList<>();
+        if (principal != null) {
+            sql.append(" and e.principal = ?");
+            parameters.add(principal);
+        }
+        if (type != null) {
+            sql.append(" and e.event_type = ?");
+            parameters.add(type);
+        }
+        if (fromDate != null) {
+            sql.append(" and e.event_date >= ?");
+            parameters.add(Timestamp.from(fromDate));
+        }
+        if (toDate != null) {
+            sql.append(" and e.event_date < ?");
+            parameters.add(Timestamp.from(toDate));
+        }
+        sql.append(" order by e.event_date, e.event_id");
+
+        GZIPOutputStream gzipOutputStream = new GZIPOutputStream(new NonClosingOutputStream(outputStream), BUFFER_SIZE);
+        try (JsonGenerator generator = jsonFactory.createGenerator(gzipOutputStream, JsonEncoding.UTF8)) {
+            long events = StreamingQuery.execute(jdbcTemplate, sql.toString(), parameters,
+                resultSet -> writeEvents(resultSet, generator));
+            generator.flush();
+            gzipOutputStream.finish();
+            log.debug("Exported {} audit events", events);
+            return events;
+        }
+    }
+
+    /**
+     * Write the rows of the events, each event is closed when a row of another event is read.
+     */
+    private static long writeEvents(ResultSet resultSet, JsonGenerator generator) throws SQLException, IOException {
+        long events = 0;
+        long currentId = 0;
+        while (resultSet.next()) {
+            long id = resultSet.getLong(1);
+            if (events == 0 || id != currentId) {
+                if (events > 0) {
+                    endEvent(generator);
+                }
+                currentId = id;
+                events++;
+                generator.writeStartObject();
+                generator.writeNumberField("id", id);
+                generator.writeStringField("timestamp", resultSet.getTimestamp(2).toInstant().toString());
+                generator.writeStringField("principal", resultSet.getString(3));
+                generator.writeStringField("type", resultSet.getString(4));
+                generator.writeObjectFieldStart("data");
+            }
+            String name = resultSet.getString(5);
+            if (name != null) {
+                generator.writeStringField(name, resultSet.getString(6));
+            }
+        }
+        if (events > 0) {
+            endEvent(generator);
+        }
+        return events;
+    }
+
+    private static void endEvent(JsonGenerator generator) throws IOException {
+        generator.writeEndObject();
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    /**
+     * Output stream leaving the response stream open, so that the container can complete the response.
+     */
+    private static final class NonClosingOutputStream extends FilterOutputStream {
+
+        private NonClosingOutputStream(OutputStream outputStream) {
+            super(outputStream);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
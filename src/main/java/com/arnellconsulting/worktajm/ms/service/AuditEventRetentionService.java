@@ -0,0 +1,145 @@
+package com.arnellconsulting.worktajm.ms.service;
+
+import com.arnellconsulting.worktajm.ms.config.ApplicationProperties;
+import com.arnellconsulting.worktajm.ms.repository.PersistenceAuditEventRepository;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ILock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service removing the audit events older than the retention period.
+ *
+ * <p>
+ * Whole months are removed, the oldest events first: the ids of a chunk are read from the (event_date, event_id)
+ * index, then the events and their data are deleted by id, after being copied to the archive tables when
+ * application.audit.retention.archive is true. Each chunk is its own short transaction, so that the tables are not
+ * locked for long and the other writes go on. On a cluster, only the member holding the retention lock runs. The
+ * "audit.retention" metrics count the deleted and archived events.
+ * </p>
+ */
+@Service
+public class AuditEventRetentionService {
+
+    public static final String RETENTION_LOCK = "worktajmMs.audit.retention";
+
+    private final Logger log = LoggerFactory.getLogger(AuditEventRetentionService.class);
+
+    private final ApplicationProperties.Audit.Retention properties;
+
+    private final PersistenceAuditEventRepository persistenceAuditEventRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private ILock retentionLock;
+
+    private Counter deletedEvents = new Counter();
+
+    private Counter archivedEvents = new Counter();
+
+    private Timer runTimer = new Timer();
+
+    public AuditEventRetentionService(ApplicationProperties applicationProperties,
+        PersistenceAuditEventRepository persistenceAuditEventRepository,
+        PlatformTransactionManager transactionManager) {
+        this.properties = applicationProperties.getAudit().getRetention();
+        this.persistenceAuditEventRepository = persistenceAuditEventRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Autowired(required = false)
+    public void setHazelcastInstance(HazelcastInstance hazelcastInstance) {
+        this.retentionLock = hazelcastInstance.getLock(RETENTION_LOCK);
+    }
+
+    @Autowired(required = false)
+    public void setMetricRegistry(MetricRegistry metricRegistry) {
+        deletedEvents = metricRegistry.counter("audit.retention.deleted");
+        archivedEvents = metricRegistry.counter("audit.retention.archived");
+        runTimer = metricRegistry.timer("audit.retention.runs");
+    }
+
+    /**
+     * Remove the audit events older than the retention period, at the application.audit.retention.cron times.
+     */
+    @Scheduled(cron = "${application.audit.retention.cron:0 30 3 * * *}")
+    public void removeOldAuditEvents() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (retentionLock != null && !retentionLock.tryLock()) {
+            log.debug("The audit events are being removed by another member");
+            return;
+        }
+        try {
+            Instant before = YearMonth.now(ZoneOffset.UTC).minusMonths(properties.getRetentionMonths())
+                .atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+            removeAuditEventsBefore(before,
+                System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(properties.getMaxDurationSeconds()));
+        } finally {
+            if (retentionLock != null) {
+                retentionLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Remove the audit events older than a date, by chunks.
+     *
+     * @param before the exclusive end of the date of the events to remove
+     * @param deadline the time after which no chunk is started, in milliseconds since the epoch
+     * @return the number of events removed
+     */
+    public long removeAuditEventsBefore(Instant before, long deadline) {
+        int chunkSize = Math.max(1, properties.getChunkSize());
+        long removedEvents = 0;
+        Timer.Context context = runTimer.time();
+        try {
+            int chunkEvents;
+            do {
+                chunkEvents = transactionTemplate.execute(status -> removeChunk(before, chunkSize));
+                deletedEvents.inc(chunkEvents);
+                if (properties.isArchive()) {
+                    archivedEvents.inc(chunkEvents);
+                }
+                removedEvents += chunkEvents;
+            } while (chunkEvents > 0 && System.currentTimeMillis() < deadline);
+        } catch (RuntimeException e) {
+            log.error("Cannot remove the audit events older than {}: {}", before, e.getMessage(), e);
+        } finally {
+            context.stop();
+        }
+        if (removedEvents > 0) {
+            log.info("Removed {} audit events older than {}", removedEvents, before);
+        }
+        return removedEvents;
+    }
+
+    private int removeChunk(Instant before, int chunkSize) {
+        List<Long> ids = persistenceAuditEventRepository.findOldestIds(before, chunkSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        if (properties.isArchive()) {
+            persistenceAuditEventRepository.archiveByIdIn(ids);
+        }
+        return persistenceAuditEventRepository.deleteWithDataByIdIn(ids);
+    }
+}
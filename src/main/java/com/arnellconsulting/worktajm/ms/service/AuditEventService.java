@@ -0,0 +1,111 @@
+package com.arnellconsulting.worktajm.ms.service;
+
+import com.arnellconsulting.worktajm.ms.domain.PersistentAuditEvent;
+import com.arnellconsulting.worktajm.ms.repository.KeysetPagination;
+import com.arnellconsulting.worktajm.ms.repository.PersistenceAuditEventRepository;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Service for reading the persistent audit events.
+ *
+ * <p>
+ * A page is read with two queries whatever its size: the ids of the events by keyset pagination, then the events
+ * with their data.
+ * </p>
+ */
+@Service
+@Transactional(readOnly = true)
+public class AuditEventService {
+
+    private final PersistenceAuditEventRepository persistenceAuditEventRepository;
+
+    public AuditEventService(PersistenceAuditEventRepository persistenceAuditEventRepository) {
+        this.persistenceAuditEventRepository = persistenceAuditEventRepository;
+    }
+
+    /**
+     * Get a page of the latest audit events matching a filter.
+     *
+     * @param principal the principal of the events, or null for all the principals
+     * @param type the type of the events, or null for all the types
+     * @param fromDate the inclusive start of the date range, or null
+     * @param toDate the exclusive end of the date range, or null
+     * @param beforeDate the date of the last event of the previous page, or null for the first page
+     * @param beforeId the id of the last event of the previous page, or null for the first page
+     * @param size the maximum number of events of the page
+     * @return the events, latest first, with the date and id of the last event found by the id query
+     */
+    public AuditEventSlice findBefore(String principal, String type, Instant fromDate, Instant toDate,
+        Instant beforeDate, Long beforeId, int size) {
+        Slice<Object[]> page = KeysetPagination.slice(persistenceAuditEventRepository.findKeysBefore(principal, type,
+            fromDate, toDate, beforeDate, beforeId, KeysetPagination.maxResults(size)), size);
+        List<Object[]> keys = page.getContent();
+        if (keys.isEmpty()) {
+            return new AuditEventSlice(Collections.emptyList(), size, false, null, null);
+        }
+        List<Long> ids = keys.stream().map(key -> (Long) key[0]).collect(Collectors.toList());
+        Object[] last = keys.get(keys.size() - 1);
+        return new AuditEventSlice(persistenceAuditEventRepository.findAllWithDataByIdIn(ids), size,
+            page.hasNext(), (Instant) last[1], (Long) last[0]);
+    }
+
+    /**
+     * Get an audit event, with its data.
+     *
+     * @param id the id of the event
+     * @return the event, or an empty optional if there is none
+     */
+    public Optional<PersistentAuditEvent> find(Long id) {
+        return persistenceAuditEventRepository.findAllWithDataByIdIn(Collections.singletonList(id)).stream()
+            .findFirst();
+    }
+
+    /**
+     * A page of audit events, with the position of the page in the list.
+     *
+     * <p>
+     * The position comes from the id query, as an event can be deleted by the retention before it is read with its
+     * data, and the page is then shorter than the ids found.
+     * </p>
+     */
+    public static class AuditEventSlice extends SliceImpl<PersistentAuditEvent> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Instant lastDate;
+
+        private final Long lastId;
+
+        AuditEventSlice(List<PersistentAuditEvent> events, int size, boolean hasNext, Instant lastDate,
+            Long lastId) {
+            super(events, new PageRequest(0, size), hasNext);
+            this.lastDate = lastDate;
+            this.lastId = lastId;
+        }
+
+        /**
+         * @return the date of the last event of the page, or null if the page is empty
+         */
+        public Instant getLastDate() {
+            return lastDate;
+        }
+
+        /**
+         * @return the id of the last event of the page, or null if the page is empty
+         */
+        public Long getLastId() {
+            return lastId;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.arnellconsulting.worktajm.ms.service;
+
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the instance OUT_OF_SERVICE while the {@link CacheWarmUpService} runs, so that Eureka, which uses the
+ * health status of the instance, does not send it requests with cold caches.
+ */
+@Component
+public class CacheWarmUpHealthIndicator extends AbstractHealthIndicator {
+
+    private final CacheWarmUpService cacheWarmUpService;
+
+    public CacheWarmUpHealthIndicator(CacheWarmUpService cacheWarmUpService) {
+        this.cacheWarmUpService = cacheWarmUpService;
+    }
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) {
+        if (cacheWarmUpService.isDone()) {
+            builder.up();
+        } else {
+            builder.outOfService();
+        }
+        builder.withDetail("completedTasks", cacheWarmUpService.getCompletedTasks())
+            .withDetail("totalTasks", cacheWarmUpService.getTotalTasks());
+    }
+}
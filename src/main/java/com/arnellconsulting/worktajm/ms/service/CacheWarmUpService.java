@@ -0,0 +1,235 @@
+package com.arnellconsulting.worktajm.ms.service;
+
+import com.arnellconsulting.worktajm.ms.config.ApplicationProperties;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import org.hibernate.CacheMode;
+import org.hibernate.annotations.QueryHints;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.metamodel.EntityType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service warming up the second level cache regions and the named caches when the application starts.
+ *
+ * <p>
+ * The warm-up tasks are run on the "taskExecutor", by at most application.cache.warm-up.parallelism threads. Tasks
+ * still queued when the time budget is spent are skipped. The progress is available in the "cache.warm-up" metrics
+ * and in the {@link CacheWarmUpHealthIndicator}, which keeps the instance out of service until the warm-up is done.
+ * </p>
+ */
+@Service
+public class CacheWarmUpService {
+
+    private final Logger log = LoggerFactory.getLogger(CacheWarmUpService.class);
+
+    private final ApplicationProperties.Cache.WarmUp properties;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final Executor taskExecutor;
+
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    private final AtomicInteger completedTasks = new AtomicInteger();
+
+    private List<CacheWarmer> cacheWarmers = Collections.emptyList();
+
+    private Counter loadedEntries = new Counter();
+
+    private Counter failedTasks = new Counter();
+
+    private Counter skippedTasks = new Counter();
+
+    private Timer taskTimer = new Timer();
+
+    private volatile int totalTasks;
+
+    private volatile long deadline = Long.MAX_VALUE;
+
+    private volatile boolean done;
+
+    public CacheWarmUpService(ApplicationProperties applicationProperties, EntityManagerFactory entityManagerFactory,
+        @Qualifier("taskExecutor") Executor taskExecutor) {
+        this.properties = applicationProperties.getCache().getWarmUp();
+        this.entityManagerFactory = entityManagerFactory;
+        this.taskExecutor = taskExecutor;
+    }
+
+    @Autowired(required = false)
+    public void setCacheWarmers(List<CacheWarmer> cacheWarmers) {
+        this.cacheWarmers = cacheWarmers;
+    }
+
+    @Autowired(required = false)
+    public void setMetricRegistry(MetricRegistry metricRegistry) {
+        loadedEntries = metricRegistry.counter("cache.warm-up.entries");
+        failedTasks = metricRegistry.counter("cache.warm-up.failed");
+        skippedTasks = metricRegistry.counter("cache.warm-up.skipped");
+        taskTimer = metricRegistry.timer("cache.warm-up.tasks");
+        metricRegistry.register("cache.warm-up.completed", (Gauge<Integer>) completedTasks::get);
+        metricRegistry.register("cache.warm-up.progress", (Gauge<Double>) this::getProgress);
+    }
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void onContextRefreshed() {
+        start();
+    }
+
+    /**
+     * Start the warm-up, once.
+     */
+    public void start() {
+        if (!started.compareAndSet(false, true)) {
+            return;
+        }
+        List<WarmUpTask> tasks = properties.isEnabled() ? createTasks() : Collections.emptyList();
+        if (tasks.isEmpty()) {
+            done = true;
+            return;
+        }
+        totalTasks = tasks.size();
+        deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(properties.getTimeBudgetSeconds());
+        log.info("Warming up {} caches in less than {} seconds", tasks.size(), properties.getTimeBudgetSeconds());
+        Queue<WarmUpTask> queue = new ConcurrentLinkedQueue<>(tasks);
+        int workers = Math.max(1, Math.min(properties.getParallelism(), tasks.size()));
+        AtomicInteger runningWorkers = new AtomicInteger(workers);
+        for (int i = 0; i < workers; i++) {
+            try {
+                taskExecutor.execute(() -> runTasks(queue, runningWorkers));
+            } catch (TaskRejectedException e) {
+                log.warn("Cannot start a cache warm-up thread: {}", e.getMessage());
+                if (runningWorkers.decrementAndGet() == 0) {
+                    // No thread could be started, the queued tasks are skipped
+                    skippedTasks.inc(queue.size());
+                    done = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return true when all the tasks are run, or when the time budget is spent
+     */
+    public boolean isDone() {
+        return done || System.currentTimeMillis() > deadline;
+    }
+
+    public int getTotalTasks() {
+        return totalTasks;
+    }
+
+    public int getCompletedTasks() {
+        return completedTasks.get();
+    }
+
+    private double getProgress() {
+        int total = totalTasks;
+        return total == 0 ? (done ? 1.0 : 0.0) : (double) completedTasks.get() / total;
+    }
+
+    private List<WarmUpTask> createTasks() {
+        List<WarmUpTask> tasks = new ArrayList<>();
+        for (ApplicationProperties.Cache.WarmUpEntity entity : properties.getEntities()) {
+            tasks.add(new WarmUpTask(entity.getName(), () -> loadEntities(entity)));
+        }
+        for (CacheWarmer cacheWarmer : cacheWarmers) {
+            tasks.add(new WarmUpTask(cacheWarmer.getCacheName(), cacheWarmer::warmUp));
+        }
+        return tasks;
+    }
+
+    private void runTasks(Queue<WarmUpTask> queue, AtomicInteger runningWorkers) {
+        try {
+            WarmUpTask task;
+            while ((task = queue.poll()) != null) {
+                if (System.currentTimeMillis() > deadline) {
+                    log.warn("Cache warm-up time budget spent, skipping {}", task.name);
+                    skippedTasks.inc();
+                    continue;
+                }
+                try (Timer.Context ignored = taskTimer.time()) {
+                    int entries = task.loader.call();
+                    loadedEntries.inc(entries);
+                    log.debug("Warmed up {} with {} entries", task.name, entries);
+                } catch (Exception e) {
+                    log.warn("Cannot warm up {}: {}", task.name, e.toString());
+                    failedTasks.inc();
+                } finally {
+                    completedTasks.incrementAndGet();
+                }
+            }
+        } finally {
+            if (runningWorkers.decrementAndGet() == 0) {
+                log.info("Cache warm-up done, {} of {} tasks run", completedTasks.get(), totalTasks);
+                done = true;
+            }
+        }
+    }
+
+    /**
+     * Load entities in a read-only transaction, which puts them in their second level cache region.
+     */
+    private int loadEntities(ApplicationProperties.Cache.WarmUpEntity entity) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            entityManager.getTransaction().begin();
+            String query = entity.getQuery() != null ? entity.getQuery() :
+                "select e from " + getEntityName(entity.getName()) + " e";
+            return entityManager.createQuery(query)
+                .setMaxResults(entity.getMaxResults())
+                .setHint(QueryHints.CACHE_MODE, CacheMode.PUT)
+                .setHint(QueryHints.READ_ONLY, true)
+                .getResultList()
+                .size();
+        } finally {
+            if (entityManager.getTransaction().isActive()) {
+                entityManager.getTransaction().rollback();
+            }
+            entityManager.close();
+        }
+    }
+
+    private String getEntityName(String className) {
+        for (EntityType<?> entityType : entityManagerFactory.getMetamodel().getEntities()) {
+            if (entityType.getJavaType().getName().equals(className)) {
+                return entityType.getName();
+            }
+        }
+        throw new IllegalArgumentException("Unknown entity " + className);
+    }
+
+    private static final class WarmUpTask {
+
+        private final String name;
+
+        private final Callable<Integer> loader;
+
+        private WarmUpTask(String name, Callable<Integer> loader) {
+            this.name = name;
+            this.loader = loader;
+        }
+    }
+}
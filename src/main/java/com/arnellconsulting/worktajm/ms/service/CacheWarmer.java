@@ -0,0 +1,23 @@
+package com.arnellconsulting.worktajm.ms.service;
+
+/**
+ * Loads the hot entries of a named cache when the application starts.
+ *
+ * <p>
+ * Beans implementing this interface are run by the {@link CacheWarmUpService}, in parallel with the other warmers.
+ * </p>
+ */
+public interface CacheWarmer {
+
+    /**
+     * @return the name of the cache, used in the logs
+     */
+    String getCacheName();
+
+    /**
+     * Load the entries into the cache.
+     *
+     * @return the number of loaded entries
+     */
+    int warmUp();
+}
@@ -0,0 +1,75 @@
+package com.arnellconsulting.worktajm.ms.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encoder writing the rows as RFC 4180 comma separated values, in UTF-8.
+ *
+ * <p>
+ * Text values which a spreadsheet would run as a formula, starting with =, +, -, @, a tab or a carriage return, are
+ * prefixed with a quote and quoted.
+ * </p>
+ */
+class CsvRowEncoder implements RowEncoder {
+
+    private final Writer writer;
+
+    CsvRowEncoder(OutputStream outputStream, int bufferSize, String[] header) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), bufferSize);
+        writeRow(header);
+    }
+
+    @Override
+    public void writeRow(Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] instanceof Number) {
+                writer.write(values[i].toString());
+            } else if (values[i] != null) {
+                writeValue(values[i].toString());
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private void writeValue(String value) throws IOException {
+        if (isFormula(value)) {
+            writer.write("\"'");
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+            return;
+        }
+        boolean quoted = false;
+        for (int i = 0; i < value.length() && !quoted; i++) {
+            char c = value.charAt(i);
+            quoted = c == ',' || c == '"' || c == '\r' || c == '\n';
+        }
+        if (!quoted) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static boolean isFormula(String value) {
+        if (value.isEmpty()) {
+            return false;
+        }
+        char first = value.charAt(0);
+        return first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r';
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writer.flush();
+    }
+}
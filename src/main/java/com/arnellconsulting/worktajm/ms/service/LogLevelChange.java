@@ -0,0 +1,92 @@
+package com.arnellconsulting.worktajm.ms.service;
+
+import com.arnellconsulting.worktajm.ms.config.cache.CacheSerializers;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.StreamSerializer;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Message published when log levels are changed on all the members of the cluster.
+ */
+public final class LogLevelChange {
+
+    private final UUID origin;
+
+    private final Map<String, String> levels;
+
+    private final long timeToLiveSeconds;
+
+    /**
+     * @param origin the id of the service which changed the levels
+     * @param levels the new level of each logger, or null to inherit the level of its parent
+     * @param timeToLiveSeconds the delay before the previous levels are restored, 0 to keep the new levels
+     */
+    public LogLevelChange(UUID origin, Map<String, String> levels, long timeToLiveSeconds) {
+        this.origin = origin;
+        this.levels = Collections.unmodifiableMap(new LinkedHashMap<>(levels));
+        this.timeToLiveSeconds = timeToLiveSeconds;
+    }
+
+    public UUID getOrigin() {
+        return origin;
+    }
+
+    public Map<String, String> getLevels() {
+        return levels;
+    }
+
+    public long getTimeToLiveSeconds() {
+        return timeToLiveSeconds;
+    }
+
+    @Override
+    public String toString() {
+        return "LogLevelChange{" +
+            "levels=" + levels +
+            ", timeToLiveSeconds=" + timeToLiveSeconds +
+            "}";
+    }
+
+    public static final class Serializer implements StreamSerializer<LogLevelChange> {
+
+        @Override
+        public void write(ObjectDataOutput out, LogLevelChange change) throws IOException {
+            out.writeLong(change.origin.getMostSignificantBits());
+            out.writeLong(change.origin.getLeastSignificantBits());
+            out.writeLong(change.timeToLiveSeconds);
+            out.writeInt(change.levels.size());
+            for (Map.Entry<String, String> level : change.levels.entrySet()) {
+                out.writeUTF(level.getKey());
+                out.writeUTF(level.getValue());
+            }
+        }
+
+        @Override
+        public LogLevelChange read(ObjectDataInput in) throws IOException {
+            UUID origin = new UUID(in.readLong(), in.readLong());
+            long timeToLiveSeconds = in.readLong();
+            int size = in.readInt();
+            Map<String, String> levels = new LinkedHashMap<>();
+            for (int i = 0; i < size; i++) {
+                levels.put(in.readUTF(), in.readUTF());
+            }
+            return new LogLevelChange(origin, levels, timeToLiveSeconds);
+        }
+
+        @Override
+        public int getTypeId() {
+            return CacheSerializers.LOG_LEVEL_CHANGE_TYPE_ID;
+        }
+
+        @Override
+        public void destroy() {
+        }
+    }
+}
@@ -0,0 +1,312 @@
+package com.arnellconsulting.worktajm.ms.service;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggerContextListener;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ITopic;
+import com.hazelcast.core.Message;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service for reading and changing the Logback log levels at runtime.
+ *
+ * <p>
+ * Several levels are changed together, and may be restored after a time to live, so that a verbose level does not
+ * stay on by mistake. When a logger is changed again before its previous levels are restored, the level it had
+ * before the first change is the one restored. Changes can be published to all the members of the Hazelcast
+ * cluster, each member then restores its own levels after the time to live.
+ * </p>
+ */
+@Service
+public class LogLevelService {
+
+    public static final String LOG_LEVEL_TOPIC = "worktajmMs.logging.levels";
+
+    private static final long SNAPSHOT_TIME_TO_LIVE_MILLIS = 5000;
+
+    private final org.slf4j.Logger log = LoggerFactory.getLogger(LogLevelService.class);
+
+    private final UUID id = UUID.randomUUID();
+
+    private final LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+
+    /**
+     * The level to restore of each logger changed with a time to live, guarded by this.
+     */
+    private final Map<String, PendingRevert> pendingReverts = new HashMap<>();
+
+    /**
+     * The delay after which the loggers created since the last snapshot are listed.
+     */
+    private final long snapshotTimeToLiveMillis;
+
+    private volatile LoggerSnapshot snapshot;
+
+    private ITopic<LogLevelChange> logLevelTopic;
+
+    public LogLevelService() {
+        this(SNAPSHOT_TIME_TO_LIVE_MILLIS);
+    }
+
+    LogLevelService(long snapshotTimeToLiveMillis) {
+        this.snapshotTimeToLiveMillis = snapshotTimeToLiveMillis;
+        context.addListener(new SnapshotResetListener());
+    }
+
+    @Autowired(required = false)
+    public void setHazelcastInstance(HazelcastInstance hazelcastInstance) {
+        this.logLevelTopic = hazelcastInstance.getTopic(LOG_LEVEL_TOPIC);
+        this.logLevelTopic.addMessageListener(this::onLogLevelChange);
+    }
+
+    /**
+     * Get the loggers, sorted by name with the root logger first.
+     *
+     * @param prefix the start of the names of the loggers, or null for all the loggers
+     * @return the loggers
+     */
+    public List<Logger> getLoggers(String prefix) {
+        return getSnapshot(prefix).subList(prefix, 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Get a page of the loggers, sorted by name with the root logger first.
+     *
+     * @param prefix the start of the names of the loggers, or null for all the loggers
+     * @param pageable the page to get
+     * @return the page of loggers
+     */
+    public Page<Logger> getLoggers(String prefix, Pageable pageable) {
+        LoggerSnapshot loggers = getSnapshot(prefix);
+        List<Logger> content = loggers.subList(prefix, pageable.getOffset(), pageable.getPageSize());
+        return new PageImpl<>(content, pageable, loggers.count(prefix));
+    }
+
+    /**
+     * Logback copies and sorts all its loggers on each call to getLoggerList(), so the sorted list is only read
+     * again after a time to live, when the context was reset, or when no logger of the snapshot has the prefix
+     * searched, as it may have just been created.
+     */
+    private LoggerSnapshot getSnapshot(String prefix) {
+        LoggerSnapshot current = snapshot;
+        long now = System.currentTimeMillis();
+        if (current == null || now - current.createdAt >= snapshotTimeToLiveMillis || current.count(prefix) == 0) {
+            current = new LoggerSnapshot(context.getLoggerList(), now);
+            snapshot = current;
+        }
+        return current;
+    }
+
+    /**
+     * Change the level of several loggers at once.
+     *
+     * @param levels the new level of each logger, or null to inherit the level of its parent
+     * @param timeToLiveSeconds the delay before the previous levels are restored, 0 to keep the new levels
+     * @param clusterWide true to also change the levels on the other members of the cluster
+     */
+    public void changeLevels(Map<String, Level> levels, long timeToLiveSeconds, boolean clusterWide) {
+        if (levels.containsKey(Logger.ROOT_LOGGER_NAME) && levels.get(Logger.ROOT_LOGGER_NAME) == null) {
+            throw new IllegalArgumentException("The level of the root logger cannot be inherited");
+        }
+        applyLevels(levels, timeToLiveSeconds, System.currentTimeMillis());
+        if (clusterWide && logLevelTopic != null) {
+            Map<String, String> levelNames = new LinkedHashMap<>();
+            levels.forEach((name, level) -> levelNames.put(name, level != null ? level.toString() : null));
+            logLevelTopic.publish(new LogLevelChange(id, levelNames, timeToLiveSeconds));
+        }
+    }
+
+    synchronized void applyLevels(Map<String, Level> levels, long timeToLiveSeconds, long now) {
+        for (Map.Entry<String, Level> entry : levels.entrySet()) {
+            String name = entry.getKey();
+            Logger logger = context.getLogger(name);
+            PendingRevert pendingRevert = pendingReverts.remove(name);
+            Level previousLevel = pendingRevert != null ? pendingRevert.level : logger.getLevel();
+            logger.setLevel(entry.getValue());
+            if (timeToLiveSeconds > 0) {
+                pendingReverts.put(name,
+                    new PendingRevert(previousLevel, now + TimeUnit.SECONDS.toMillis(timeToLiveSeconds)));
+            }
+        }
+        // The loggers changed may have just been created
+        snapshot = null;
+        log.info("Changed log levels {}{}", levels,
+            timeToLiveSeconds > 0 ? " for " + timeToLiveSeconds + " seconds" : "");
+    }
+
+    /**
+     * Restore the levels whose time to live is over.
+     */
+    @Scheduled(fixedDelay = 1000)
+    public void revertExpiredLevels() {
+        revertExpiredLevels(System.currentTimeMillis());
+    }
+
+    synchronized void revertExpiredLevels(long now) {
+        if (pendingReverts.isEmpty()) {
+            return;
+        }
+        Map<String, Level> revertedLevels = new LinkedHashMap<>();
+        pendingReverts.entrySet().removeIf(entry -> {
+            if (entry.getValue().expiration > now) {
+                return false;
+            }
+            context.getLogger(entry.getKey()).setLevel(entry.getValue().level);
+            revertedLevels.put(entry.getKey(), entry.getValue().level);
+            return true;
+        });
+        if (!revertedLevels.isEmpty()) {
+            log.info("Restored log levels {}", revertedLevels);
+        }
+    }
+
+    private void onLogLevelChange(Message<LogLevelChange> message) {
+        LogLevelChange change = message.getMessageObject();
+        if (id.equals(change.getOrigin())) {
+            return;
+        }
+        Map<String, Level> levels = new LinkedHashMap<>();
+        change.getLevels().forEach((name, level) -> levels.put(name, level != null ? Level.toLevel(level) : null));
+        applyLevels(levels, change.getTimeToLiveSeconds(), System.currentTimeMillis());
+    }
+
+    /**
+     * The loggers of the context, sorted by name after the root logger, searched by prefix without scanning them.
+     */
+    private static final class LoggerSnapshot {
+
+        private final Logger root;
+
+        private final Logger[] loggers;
+
+        private final String[] names;
+
+        private final long createdAt;
+
+        private LoggerSnapshot(List<Logger> sortedLoggers, long createdAt) {
+            this.root = sortedLoggers.get(0);
+            this.loggers = sortedLoggers.subList(1, sortedLoggers.size()).toArray(new Logger[0]);
+            this.names = new String[loggers.length];
+            for (int i = 0; i < loggers.length; i++) {
+                names[i] = loggers[i].getName();
+            }
+            this.createdAt = createdAt;
+        }
+
+        private boolean rootMatches(String prefix) {
+            return prefix == null || root.getName().startsWith(prefix);
+        }
+
+        /**
+         * @return the index of the first logger whose name starts with the prefix, or would if there is none
+         */
+        private int from(String prefix) {
+            if (prefix == null) {
+                return 0;
+            }
+            int index = Arrays.binarySearch(names, prefix);
+            return index >= 0 ? index : -index - 1;
+        }
+
+        /**
+         * @return the index after the last logger whose name starts with the prefix
+         */
+        private int to(String prefix, int from) {
+            if (prefix == null) {
+                return names.length;
+            }
+            int low = from;
+            int high = names.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (names[middle].startsWith(prefix)) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        private long count(String prefix) {
+            int from = from(prefix);
+            return (rootMatches(prefix) ? 1 : 0) + to(prefix, from) - from;
+        }
+
+        private List<Logger> subList(String prefix, long offset, int limit) {
+            List<Logger> result = new ArrayList<>();
+            long skip = offset;
+            if (rootMatches(prefix)) {
+                if (skip == 0 && limit > 0) {
+                    result.add(root);
+                } else {
+                    skip--;
+                }
+            }
+            int from = from(prefix);
+            int to = to(prefix, from);
+            for (long i = from + skip; i < to && result.size() < limit; i++) {
+                result.add(loggers[(int) i]);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Drop the snapshot of the loggers when the context is reset, so that the loggers of the new configuration are
+     * listed at once.
+     */
+    private final class SnapshotResetListener implements LoggerContextListener {
+
+        @Override
+        public boolean isResetResistant() {
+            return true;
+        }
+
+        @Override
+        public void onStart(LoggerContext context) {
+        }
+
+        @Override
+        public void onReset(LoggerContext context) {
+            snapshot = null;
+        }
+
+        @Override
+        public void onStop(LoggerContext context) {
+        }
+
+        @Override
+        public void onLevelChange(Logger logger, Level level) {
+        }
+    }
+
+    private static final class PendingRevert {
+
+        private final Level level;
+
+        private final long expiration;
+
+        private PendingRevert(Level level, long expiration) {
+            this.level = level;
+            this.expiration = expiration;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.arnellconsulting.worktajm.ms.service;
+
+import java.io.IOException;
+
+/**
+ * Encoder writing the rows of an export to a stream as soon as they are given.
+ */
+interface RowEncoder {
+
+    /**
+     * Write a row.
+     *
+     * @param values the values of the columns: null, a Number or any object written as a String
+     * @throws IOException if the row cannot be written
+     */
+    void writeRow(Object[] values) throws IOException;
+
+    /**
+     * Write the end of the export and flush it, without closing the stream.
+     *
+     * @throws IOException if the export cannot be written
+     */
+    void finish() throws IOException;
+}
@@ -0,0 +1,103 @@
+package com.arnellconsulting.worktajm.ms.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Query whose rows are read through a forward-only read-only JDBC cursor and written as soon as they are read, so
+ * that the memory used by an export does not depend on its number of rows.
+ *
+ * <p>
+ * When a row cannot be written, for instance because the client disconnected, the statement is cancelled instead
+ * of reading the remaining rows.
+ * </p>
+ */
+final class StreamingQuery {
+
+    /**
+     * Writer of the rows of a result set.
+     *
+     * @param <T> the type of the result
+     */
+    @FunctionalInterface
+    interface RowWriter<T> {
+
+        T write(ResultSet resultSet) throws SQLException, IOException;
+    }
+
+    /**
+     * Rows fetched per round-trip by the databases streaming with a positive fetch size.
+     */
+    private static final int FETCH_SIZE = 1000;
+
+    private static final Logger log = LoggerFactory.getLogger(StreamingQuery.class);
+
+    private StreamingQuery() {
+    }
+
+    /**
+     * Run a query and write its rows.
+     *
+     * @param jdbcTemplate the template of the data source
+     * @param sql the query
+     * @param parameters the values of the parameters of the query
+     * @param rowWriter the writer of the rows
+     * @param <T> the type of the result
+     * @return the result of the writer
+     * @throws IOException if the rows cannot be written
+     */
+    static <T> T execute(JdbcTemplate jdbcTemplate, String sql, List<Object> parameters, RowWriter<T> rowWriter)
+        throws IOException {
+        try {
+            return jdbcTemplate.execute((ConnectionCallback<T>) connection ->
+                execute(connection, sql, parameters, rowWriter));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static <T> T execute(Connection connection, String sql, List<Object> parameters,
+        RowWriter<T> rowWriter) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY,
+            ResultSet.CONCUR_READ_ONLY)) {
+            statement.setFetchSize(getFetchSize(connection));
+            for (int i = 0; i < parameters.size(); i++) {
+                statement.setObject(i + 1, parameters.get(i));
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return rowWriter.write(resultSet);
+            } catch (IOException e) {
+                // Otherwise closing a streaming result set reads all its remaining rows
+                cancel(statement);
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private static void cancel(PreparedStatement statement) {
+        try {
+            statement.cancel();
+        } catch (SQLException e) {
+            log.debug("Cannot cancel the export query: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * MySQL only streams the rows with a fetch size of Integer.MIN_VALUE, otherwise it reads them all in memory.
+     */
+    private static int getFetchSize(Connection connection) throws SQLException {
+        return connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ENGLISH).contains("mysql") ?
+            Integer.MIN_VALUE : FETCH_SIZE;
+    }
+}
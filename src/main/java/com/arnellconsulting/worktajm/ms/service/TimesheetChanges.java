@@ -0,0 +1,141 @@
+package com.arnellconsulting.worktajm.ms.service;
+
+import com.arnellconsulting.worktajm.ms.domain.TimesheetRollup;
+import com.arnellconsulting.worktajm.ms.domain.WorkLog;
+import com.arnellconsulting.worktajm.ms.domain.enumeration.TimesheetPeriod;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The changes of the timesheets caused by created, updated and deleted work logs, added up per timesheet row.
+ *
+ * <p>
+ * A work log spanning several days is split at midnight in the time zone of the timesheets, and is counted as one
+ * entry of each day, week and month it overlaps. Work logs without end date, worker or project are not counted.
+ * </p>
+ */
+public class TimesheetChanges {
+
+    private final ZoneId zoneId;
+
+    private final Map<Key, long[]> changes = new LinkedHashMap<>();
+
+    TimesheetChanges(ZoneId zoneId) {
+        this.zoneId = zoneId;
+    }
+
+    /**
+     * Count a created work log, or the new values of an updated one.
+     *
+     * @param workLog the work log
+     */
+    public void add(WorkLog workLog) {
+        add(workLog, 1);
+    }
+
+    /**
+     * Stop counting a deleted work log, or the previous values of an updated one. This must be called before the
+     * work log is changed.
+     *
+     * @param workLog the work log
+     */
+    public void remove(WorkLog workLog) {
+        add(workLog, -1);
+    }
+
+    private void add(WorkLog workLog, int sign) {
+        if (workLog.getWorker() == null || workLog.getProject() == null) {
+            return;
+        }
+        add(workLog.getStartDate(), workLog.getEndDate(), workLog.getWorker().getId(),
+            workLog.getProject().getId(), sign);
+    }
+
+    void add(ZonedDateTime startDate, ZonedDateTime endDate, Long workerId, Long projectId, int sign) {
+        if (startDate == null || endDate == null || workerId == null || projectId == null ||
+            !endDate.isAfter(startDate)) {
+            return;
+        }
+        Instant start = startDate.toInstant();
+        Instant end = endDate.toInstant();
+        Map<TimesheetPeriod, LocalDate> lastPeriodStarts = new EnumMap<>(TimesheetPeriod.class);
+        LocalDate day = startDate.withZoneSameInstant(zoneId).toLocalDate();
+        Instant dayStart = day.atStartOfDay(zoneId).toInstant();
+        while (dayStart.isBefore(end)) {
+            Instant dayEnd = day.plusDays(1).atStartOfDay(zoneId).toInstant();
+            long seconds = Duration.between(start.isAfter(dayStart) ? start : dayStart,
+                end.isBefore(dayEnd) ? end : dayEnd).getSeconds();
+            for (TimesheetPeriod period : TimesheetPeriod.values()) {
+                LocalDate periodStart = period.getStart(day);
+                // Counted once per period, even when it overlaps several of its days
+                int entries = periodStart.equals(lastPeriodStarts.put(period, periodStart)) ? 0 : 1;
+                long[] values = changes.computeIfAbsent(new Key(period, periodStart, workerId, projectId),
+                    key -> new long[2]);
+                values[0] += sign * seconds;
+                values[1] += sign * entries;
+            }
+            day = day.plusDays(1);
+            dayStart = dayEnd;
+        }
+    }
+
+    /**
+     * @return the changes of the timesheet rows, without the rows left unchanged
+     */
+    public List<TimesheetRollup> getRollups() {
+        List<TimesheetRollup> rollups = new ArrayList<>(changes.size());
+        changes.forEach((key, values) -> {
+            if (values[0] != 0 || values[1] != 0) {
+                rollups.add(new TimesheetRollup(key.period, key.periodStart, key.workerId, key.projectId, values[0],
+                    (int) values[1]));
+            }
+        });
+        return rollups;
+    }
+
+    private static final class Key {
+
+        private final TimesheetPeriod period;
+
+        private final LocalDate periodStart;
+
+        private final Long workerId;
+
+        private final Long projectId;
+
+        private Key(TimesheetPeriod period, LocalDate periodStart, Long workerId, Long projectId) {
+            this.period = period;
+            this.periodStart = periodStart;
+            this.workerId = workerId;
+            this.projectId = projectId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return period == key.period && periodStart.equals(key.periodStart) && workerId.equals(key.workerId) &&
+                projectId.equals(key.projectId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(period, periodStart, workerId, projectId);
+        }
+    }
+}
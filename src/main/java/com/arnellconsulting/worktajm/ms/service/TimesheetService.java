@@ -0,0 +1,160 @@
+package com.arnellconsulting.worktajm.ms.service;
+
+import com.arnellconsulting.worktajm.ms.config.ApplicationProperties;
+import com.arnellconsulting.worktajm.ms.domain.TimesheetRollup;
+import com.arnellconsulting.worktajm.ms.domain.enumeration.TimesheetPeriod;
+import com.arnellconsulting.worktajm.ms.repository.TimesheetRollupRepository;
+import com.arnellconsulting.worktajm.ms.repository.WorkLogRepository;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ILock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+/**
+ * Service for the timesheets, the time spent per worker and project during each day, week and month.
+ *
+ * <p>
+ * The timesheets are precomputed in the timesheet_rollup table: the WorkLogService applies the changes of the
+ * timesheets in the transaction that changes the work logs, so that reading a timesheet reads one row per period
+ * and project, whatever the number of work logs. The rebuild recomputes the rows from the work logs, one worker per
+ * transaction, to fill the table with the existing work logs or after a change of application.timesheet.zone-id.
+ * </p>
+ */
+@Service
+public class TimesheetService {
+
+    public static final String REBUILD_LOCK = "worktajmMs.timesheet.rebuild";
+
+    private final Logger log = LoggerFactory.getLogger(TimesheetService.class);
+
+    private final TimesheetRollupRepository timesheetRollupRepository;
+
+    private final WorkLogRepository workLogRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ZoneId zoneId;
+
+    private ILock rebuildLock;
+
+    private Timer rebuildTimer = new Timer();
+
+    public TimesheetService(ApplicationProperties applicationProperties,
+        TimesheetRollupRepository timesheetRollupRepository, WorkLogRepository workLogRepository,
+        PlatformTransactionManager transactionManager) {
+        this.timesheetRollupRepository = timesheetRollupRepository;
+        this.workLogRepository = workLogRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.zoneId = ZoneId.of(applicationProperties.getTimesheet().getZoneId());
+    }
+
+    @Autowired(required = false)
+    public void setHazelcastInstance(HazelcastInstance hazelcastInstance) {
+        this.rebuildLock = hazelcastInstance.getLock(REBUILD_LOCK);
+    }
+
+    @Autowired(required = false)
+    public void setMetricRegistry(MetricRegistry metricRegistry) {
+        rebuildTimer = metricRegistry.timer("timesheet.rebuilds");
+    }
+
+    /**
+     * @return empty changes, to fill with the work logs changed by a transaction
+     */
+    public TimesheetChanges newChanges() {
+        return new TimesheetChanges(zoneId);
+    }
+
+    /**
+     * Apply the changes of the timesheets, in the transaction of the work logs.
+     *
+     * @param changes the changes caused by the work logs
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(TimesheetChanges changes) {
+        List<TimesheetRollup> rollups = changes.getRollups();
+        rollups.forEach(timesheetRollupRepository::add);
+        log.debug("Applied {} timesheet changes", rollups.size());
+    }
+
+    /**
+     * Get the timesheets of a date range.
+     *
+     * @param period the length of the periods
+     * @param workerId the id of the worker, or null for all the workers
+     * @param projectId the id of the project, or null for all the projects
+     * @param fromDate a day of the first period
+     * @param toDate a day of the last period
+     * @return the time spent by each worker on each project during each period, sorted by period
+     */
+    @Transactional(readOnly = true)
+    public List<TimesheetRollup> find(TimesheetPeriod period, Long workerId, Long projectId, LocalDate fromDate,
+        LocalDate toDate) {
+        return timesheetRollupRepository.find(period, workerId, projectId, period.getStart(fromDate), toDate);
+    }
+
+    /**
+     * Rebuild the timesheets in the background, see {@link #rebuild()}.
+     */
+    @Async
+    public void rebuildAsync() {
+        rebuild();
+    }
+
+    /**
+     * Recompute the timesheets from the work logs. On a cluster, only one member rebuilds them at a time.
+     *
+     * @return the number of workers whose timesheets were rebuilt, or -1 when another rebuild is running
+     */
+    public long rebuild() {
+        if (rebuildLock != null && !rebuildLock.tryLock()) {
+            log.info("The timesheets are being rebuilt by another member");
+            return -1;
+        }
+        Timer.Context context = rebuildTimer.time();
+        try {
+            transactionTemplate.execute(status -> timesheetRollupRepository.deleteWithoutWorkLogs());
+            List<Long> workerIds = workLogRepository.findWorkerIds();
+            for (Long workerId : workerIds) {
+                transactionTemplate.execute(status -> {
+                    rebuild(workerId);
+                    return null;
+                });
+            }
+            log.info("Rebuilt the timesheets of {} workers", workerIds.size());
+            return workerIds.size();
+        } finally {
+            context.stop();
+            if (rebuildLock != null) {
+                rebuildLock.unlock();
+            }
+        }
+    }
+
+    private void rebuild(Long workerId) {
+        // Deleted first, so that the work logs are read after the concurrent changes of the rows are committed
+        timesheetRollupRepository.deleteByWorkerId(workerId);
+        TimesheetChanges changes = newChanges();
+        for (Object[] times : workLogRepository.findTimesByWorkerId(workerId)) {
+            changes.add((ZonedDateTime) times[0], (ZonedDateTime) times[1], workerId, (Long) times[2], 1);
+        }
+        changes.getRollups().forEach(timesheetRollupRepository::add);
+    }
+}
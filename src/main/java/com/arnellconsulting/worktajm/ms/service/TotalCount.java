@@ -0,0 +1,66 @@
+package com.arnellconsulting.worktajm.ms.service;
+
+/**
+ * The total number of elements of a paginated list, and how it was obtained.
+ */
+public final class TotalCount {
+
+    public enum Strategy {
+
+        /**
+         * Counted by the request.
+         */
+        EXACT,
+
+        /**
+         * Counted by a previous request, so it may miss the latest changes.
+         */
+        CACHED,
+
+        /**
+         * Read from the table statistics of the database, which are only approximate.
+         */
+        ESTIMATED
+    }
+
+    private final long count;
+
+    private final Strategy strategy;
+
+    private TotalCount(long count, Strategy strategy) {
+        this.count = count;
+        this.strategy = strategy;
+    }
+
+    public static TotalCount exact(long count) {
+        return new TotalCount(count, Strategy.EXACT);
+    }
+
+    public static TotalCount cached(long count) {
+        return new TotalCount(count, Strategy.CACHED);
+    }
+
+    public static TotalCount estimated(long count) {
+        return new TotalCount(count, Strategy.ESTIMATED);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * @return true if the count was exact when it was made, so that the last page can be computed from it
+     */
+    public boolean isTrustworthy() {
+        return strategy != Strategy.ESTIMATED;
+    }
+
+    @Override
+    public String toString() {
+        return "TotalCount{count=" + count + ", strategy=" + strategy + "}";
+    }
+}
@@ -0,0 +1,164 @@
+package com.arnellconsulting.worktajm.ms.service;
+
+import com.arnellconsulting.worktajm.ms.config.ApplicationProperties;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Service counting the elements of the lists read by page, without counting them on every request.
+ *
+ * <p>
+ * The pages are read as slices, without count query, and the count is then obtained with the strategy of
+ * application.pagination.count-strategy. No count is made when the page is the last one, as its position gives the
+ * exact count. Cached counts are shared by the members of the Hazelcast cluster, per table and filter, and are
+ * counted again when a page shows that the list has grown. Estimated counts are only used for unfiltered lists,
+ * since the table statistics do not depend on the filter.
+ * </p>
+ */
+@Service
+public class TotalCountService {
+
+    public static final String TOTAL_COUNTS_MAP = "worktajmMs.pagination.totalCounts";
+
+    private final Logger log = LoggerFactory.getLogger(TotalCountService.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TotalCount.Strategy defaultStrategy;
+
+    private final int cacheTimeToLiveSeconds;
+
+    private final long estimateThreshold;
+
+    private IMap<String, Long> totalCounts;
+
+    public TotalCountService(ApplicationProperties applicationProperties, DataSource dataSource) {
+        ApplicationProperties.Pagination properties = applicationProperties.getPagination();
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.defaultStrategy = properties.getCountStrategy();
+        this.cacheTimeToLiveSeconds = properties.getCacheTimeToLiveSeconds();
+        this.estimateThreshold = properties.getEstimateThreshold();
+    }
+
+    @Autowired(required = false)
+    public void setHazelcastInstance(HazelcastInstance hazelcastInstance) {
+        this.totalCounts = hazelcastInstance.getMap(TOTAL_COUNTS_MAP);
+    }
+
+    /**
+     * Count the elements of a list with the configured strategy.
+     *
+     * @param page the page read from the list
+     * @param table the table of the elements
+     * @param filter the signature of the filter of the list, such as its sorted query parameters, or null if the list
+     * is not filtered
+     * @param exactCount the count of the elements of the list
+     * @return the count
+     */
+    public TotalCount count(Slice<?> page, String table, String filter, Supplier<Long> exactCount) {
+        return count(defaultStrategy, page, table, filter, exactCount);
+    }
+
+    /**
+     * Count the elements of a list.
+     *
+     * <p>
+     * A strategy falls back on the next more exact one when it cannot be used: ESTIMATED on CACHED for a filtered
+     * list, a small table or a database without statistics, and CACHED on EXACT without Hazelcast.
+     * </p>
+     *
+     * @param strategy the preferred strategy
+     * @param page the page read from the list
+     * @param table the table of the elements
+     * @param filter the signature of the filter of the list, or null if the list is not filtered
+     * @param exactCount the count of the elements of the list
+     * @return the count
+     */
+    public TotalCount count(TotalCount.Strategy strategy, Slice<?> page, String table, String filter,
+        Supplier<Long> exactCount) {
+        long offset = (long) page.getNumber() * page.getSize();
+        if (!page.hasNext() && (page.hasContent() || page.getNumber() == 0)) {
+            return TotalCount.exact(offset + page.getNumberOfElements());
+        }
+        // The elements before this page, this page and at least one after it
+        long minimum = offset + page.getNumberOfElements() + (page.hasNext() ? 1 : 0);
+        if (strategy == TotalCount.Strategy.ESTIMATED && filter == null) {
+            Long estimate = estimate(table);
+            if (estimate != null && estimate >= estimateThreshold) {
+                return TotalCount.estimated(Math.max(estimate, minimum));
+            }
+        }
+        if (strategy != TotalCount.Strategy.EXACT && totalCounts != null) {
+            String key = filter != null ? table + "?" + filter : table;
+            Long count = totalCounts.get(key);
+            if (count != null && count >= minimum) {
+                return TotalCount.cached(count);
+            }
+            count = exactCount.get();
+            totalCounts.set(key, count, cacheTimeToLiveSeconds, TimeUnit.SECONDS);
+            return TotalCount.exact(count);
+        }
+        return TotalCount.exact(exactCount.get());
+    }
+
+    /**
+     * @param table the name of the table
+     * @return the estimated number of rows of the table, or null if the database has no statistics for it
+     */
+    Long estimate(String table) {
+        return jdbcTemplate.execute((ConnectionCallback<Long>) connection -> estimate(connection, table));
+    }
+
+    private Long estimate(Connection connection, String table) throws SQLException {
+        String product = connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ENGLISH);
+        String sql;
+        String name = table;
+        if (product.contains("postgres")) {
+            sql = "select reltuples from pg_class where oid = to_regclass(?)";
+        } else if (product.contains("mysql") || product.contains("mariadb")) {
+            sql = "select table_rows from information_schema.tables where table_schema = database() and " +
+                "table_name = ?";
+        } else if (product.contains("oracle")) {
+            sql = "select num_rows from user_tables where table_name = ?";
+            name = table.toUpperCase(Locale.ENGLISH);
+        } else if (product.contains("h2")) {
+            sql = "select row_count_estimate from information_schema.tables where table_schema = schema() and " +
+                "table_name = ?";
+            name = table.toUpperCase(Locale.ENGLISH);
+        } else {
+            return null;
+        }
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, name);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (!resultSet.next()) {
+                    return null;
+                }
+                Object value = resultSet.getObject(1);
+                // PostgreSQL returns -1 for a table which was never analyzed
+                if (!(value instanceof Number) || ((Number) value).longValue() < 0) {
+                    log.debug("No statistics for the table {}", table);
+                    return null;
+                }
+                return ((Number) value).longValue();
+            }
+        }
+    }
+}
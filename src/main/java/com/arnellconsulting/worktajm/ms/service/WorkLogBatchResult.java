@@ -0,0 +1,72 @@
+package com.arnellconsulting.worktajm.ms.service;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The result of one work log of a batch.
+ */
+public class WorkLogBatchResult {
+
+    public enum Status {
+        CREATED, INVALID
+    }
+
+    private final int index;
+
+    private final Status status;
+
+    private final Long id;
+
+    private final List<String> errors;
+
+    private WorkLogBatchResult(int index, Status status, Long id, List<String> errors) {
+        this.index = index;
+        this.status = status;
+        this.id = id;
+        this.errors = errors;
+    }
+
+    static WorkLogBatchResult created(int index, Long id) {
+        return new WorkLogBatchResult(index, Status.CREATED, id, Collections.emptyList());
+    }
+
+    static WorkLogBatchResult invalid(int index, List<String> errors) {
+        return new WorkLogBatchResult(index, Status.INVALID, null, errors);
+    }
+
+    /**
+     * @return the position of the work log in the batch, from 0
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * @return the id of the created work log, or null when it is invalid
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * @return the keys of the validation errors of an invalid work log, such as "worker.notFound"
+     */
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    @Override
+    public String toString() {
+        return "WorkLogBatchResult{" +
+            "index=" + index +
+            ", status=" + status +
+            ", id=" + id +
+            ", errors=" + errors +
+            '}';
+    }
+}
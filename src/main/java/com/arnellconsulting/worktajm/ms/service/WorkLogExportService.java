@@ -0,0 +1,147 @@
+package com.arnellconsulting.worktajm.ms.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service exporting the work logs as CSV or XLSX files.
+ *
+ * <p>
+ * The work logs are read by one {@link StreamingQuery}, and each row is encoded into a buffer of fixed size as soon as
+ * it is read.
+ * </p>
+ */
+@Service
+public class WorkLogExportService {
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx");
+
+        private final String contentType;
+
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    static final String[] HEADER = {"id", "workerId", "firstName", "lastName", "projectId", "projectTitle",
+        "startDate", "endDate", "hours", "comment"};
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Logger log = LoggerFactory.getLogger(WorkLogExportService.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public WorkLogExportService(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Write the work logs matching a filter, sorted by start date.
+     *
+     * @param format the format of the file
+     * @param workerId the id of the worker, or null for all the workers
+     * @param projectId the id of the project, or null for all the projects
+     * @param fromDate the inclusive start of the range of the start dates, or null
+     * @param toDate the exclusive end of the range of the start dates, or null
+     * @param outputStream the stream to write the file to, which is not closed
+     * @return the number of work logs written
+     * @throws IOException if the work logs cannot be written, for instance when the client disconnects
+     */
+    public long export(Format format, Long workerId, Long projectId, Instant fromDate, Instant toDate,
+        OutputStream outputStream) throws IOException {
+        StringBuilder sql = new StringBuilder("select w.id, w.worker_id, worker.first_name, worker.last_name, " +
+            "w.project_id, project.project_title, w.start_date, w.end_date, w.jhi_comment from work_log w " +
+            "left join worker on worker.id = w.worker_id left join project on project.id = w.project_id " +
+            "where 1 = 1");
+        List<Object> parameters = new ArrayList<>();
+        if (workerId != null) {
+            sql.append(" and w.worker_id = ?");
+            parameters.add(workerId);
+        }
+        if (projectId != null) {
+            sql.append(" and w.project_id = ?");
+            parameters.add(projectId);
+        }
+        if (fromDate != null) {
+            sql.append(" and w.start_date >= ?");
+            parameters.add(Timestamp.from(fromDate));
+        }
+        if (toDate != null) {
+            sql.append(" and w.start_date < ?");
+            parameters.add(Timestamp.from(toDate));
+        }
+        sql.append(" order by w.start_date, w.id");
+
+        RowEncoder encoder = format == Format.XLSX ?
+            new XlsxRowEncoder(outputStream, BUFFER_SIZE, "Work logs", HEADER) :
+            new CsvRowEncoder(outputStream, BUFFER_SIZE, HEADER);
+        long workLogs = StreamingQuery.execute(jdbcTemplate, sql.toString(), parameters,
+            resultSet -> writeWorkLogs(resultSet, encoder));
+        encoder.finish();
+        log.debug("Exported {} work logs as {}", workLogs, format);
+        return workLogs;
+    }
+
+    private static long writeWorkLogs(ResultSet resultSet, RowEncoder encoder) throws SQLException, IOException {
+        Object[] values = new Object[HEADER.length];
+        long workLogs = 0;
+        while (resultSet.next()) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedIOException("The export of the work logs was interrupted");
+            }
+            Instant startDate = toInstant(resultSet.getTimestamp(7));
+            Instant endDate = toInstant(resultSet.getTimestamp(8));
+            values[0] = resultSet.getLong(1);
+            values[1] = getLong(resultSet, 2);
+            values[2] = resultSet.getString(3);
+            values[3] = resultSet.getString(4);
+            values[4] = getLong(resultSet, 5);
+            values[5] = resultSet.getString(6);
+            values[6] = startDate;
+            values[7] = endDate;
+            values[8] = startDate != null && endDate != null ?
+                Duration.between(startDate, endDate).getSeconds() / 3600.0 : null;
+            values[9] = resultSet.getString(9);
+            encoder.writeRow(values);
+            workLogs++;
+        }
+        return workLogs;
+    }
+
+    private static Long getLong(ResultSet resultSet, int column) throws SQLException {
+        long value = resultSet.getLong(column);
+        return resultSet.wasNull() ? null : value;
+    }
+
+    private static Instant toInstant(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toInstant() : null;
+    }
+}
@@ -0,0 +1,248 @@
+package com.arnellconsulting.worktajm.ms.service;
+
+import com.arnellconsulting.worktajm.ms.config.ApplicationProperties;
+import com.arnellconsulting.worktajm.ms.domain.Project;
+import com.arnellconsulting.worktajm.ms.domain.WorkLog;
+import com.arnellconsulting.worktajm.ms.domain.Worker;
+import com.arnellconsulting.worktajm.ms.repository.KeysetPagination;
+import com.arnellconsulting.worktajm.ms.repository.ProjectRepository;
+import com.arnellconsulting.worktajm.ms.repository.WorkLogRepository;
+import com.arnellconsulting.worktajm.ms.repository.WorkerRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Service Implementation for managing WorkLog.
+ *
+ * <p>
+ * A batch of work logs is validated as a whole, with one query per chunk of referenced worker or project ids, then
+ * its valid work logs are inserted in one transaction. The persistence context is flushed and cleared every
+ * hibernate.jdbc.batch_size work logs, so that each flush sends one JDBC batch and only the current chunk is kept
+ * in the persistence context.
+ * </p>
+ *
+ * <p>
+ * The timesheets are updated in the same transaction as the work logs, once per call, see {@link TimesheetService}.
+ * </p>
+ */
+@Service
+@Transactional
+public class WorkLogService {
+
+    static final int MAX_COMMENT_LENGTH = 255;
+
+    /**
+     * Ids per "in" clause, within the limits of all the databases.
+     */
+    private static final int MAX_IDS_PER_QUERY = 1000;
+
+    private final Logger log = LoggerFactory.getLogger(WorkLogService.class);
+
+    private final WorkLogRepository workLogRepository;
+
+    private final WorkerRepository workerRepository;
+
+    private final ProjectRepository projectRepository;
+
+    private final TimesheetService timesheetService;
+
+    private final int batchSize;
+
+    private final Duration maxDuration;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public WorkLogService(WorkLogRepository workLogRepository, WorkerRepository workerRepository,
+        ProjectRepository projectRepository, TimesheetService timesheetService,
+        ApplicationProperties applicationProperties,
+        @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize) {
+        this.workLogRepository = workLogRepository;
+        this.workerRepository = workerRepository;
+        this.projectRepository = projectRepository;
+        this.timesheetService = timesheetService;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxDuration = Duration.ofDays(applicationProperties.getWorkLog().getMaxDurationDays());
+    }
+
+    /**
+     * Save a workLog.
+     *
+     * @param workLog the entity to save
+     * @return the persisted entity
+     */
+    public WorkLog save(WorkLog workLog) {
+        log.debug("Request to save WorkLog : {}", workLog);
+        TimesheetChanges changes = timesheetService.newChanges();
+        if (workLog.getId() != null) {
+            // The previous values are only removed once from the timesheets, by the first of concurrent updates
+            WorkLog previous = workLogRepository.findOneForUpdate(workLog.getId());
+            if (previous != null) {
+                changes.remove(previous);
+            }
+        }
+        WorkLog result = workLogRepository.save(workLog);
+        changes.add(result);
+        timesheetService.apply(changes);
+        return result;
+    }
+
+    /**
+     * Create several workLogs, the invalid ones are skipped.
+     *
+     * @param workLogs the entities to create, without id
+     * @return the result of each entity, in the same order
+     */
+    public List<WorkLogBatchResult> createAll(List<WorkLog> workLogs) {
+        log.debug("Request to create {} WorkLogs", workLogs.size());
+        Set<Long> workerIds = findExistingIds(workLogs, workLog -> workLog.getWorker() != null ?
+            workLog.getWorker().getId() : null, workerRepository::findExistingIds);
+        Set<Long> projectIds = findExistingIds(workLogs, workLog -> workLog.getProject() != null ?
+            workLog.getProject().getId() : null, projectRepository::findExistingIds);
+
+        List<WorkLogBatchResult> results = new ArrayList<>(workLogs.size());
+        TimesheetChanges changes = timesheetService.newChanges();
+        int created = 0;
+        for (int index = 0; index < workLogs.size(); index++) {
+            WorkLog workLog = workLogs.get(index);
+            List<String> errors = validate(workLog, workerIds::contains, projectIds::contains);
+            if (!errors.isEmpty()) {
+                results.add(WorkLogBatchResult.invalid(index, errors));
+                continue;
+            }
+            workLog.setWorker(entityManager.getReference(Worker.class, workLog.getWorker().getId()));
+            workLog.setProject(entityManager.getReference(Project.class, workLog.getProject().getId()));
+            entityManager.persist(workLog);
+            changes.add(workLog);
+            results.add(WorkLogBatchResult.created(index, workLog.getId()));
+            if (++created % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        timesheetService.apply(changes);
+        log.debug("Created {} of {} WorkLogs", created, workLogs.size());
+        return results;
+    }
+
+    /**
+     * Get a page of the latest workLogs, by keyset pagination.
+     *
+     * @param workerId the id of the worker, or null for all the workers
+     * @param projectId the id of the project, or null for all the projects
+     * @param beforeDate the start date of the last workLog of the previous page, or null for the first page
+     * @param beforeId the id of the last workLog of the previous page, or null for the first page
+     * @param size the maximum number of workLogs of the page
+     * @return the workLogs, latest first
+     */
+    @Transactional(readOnly = true)
+    public Slice<WorkLog> findBefore(Long workerId, Long projectId, Instant beforeDate, Long beforeId, int size) {
+        log.debug("Request to get a slice of WorkLogs");
+        return KeysetPagination.slice(workLogRepository.findBefore(workerId, projectId, beforeDate, beforeId,
+            KeysetPagination.maxResults(size)), size);
+    }
+
+    /**
+     * Get one workLog by id.
+     *
+     * @param id the id of the entity
+     * @return the entity
+     */
+    @Transactional(readOnly = true)
+    public WorkLog findOne(Long id) {
+        log.debug("Request to get WorkLog : {}", id);
+        return workLogRepository.findOne(id);
+    }
+
+    /**
+     * Delete the workLog by id.
+     *
+     * @param id the id of the entity
+     */
+    public void delete(Long id) {
+        log.debug("Request to delete WorkLog : {}", id);
+        WorkLog workLog = workLogRepository.findOneForUpdate(id);
+        if (workLog != null) {
+            TimesheetChanges changes = timesheetService.newChanges();
+            changes.remove(workLog);
+            workLogRepository.delete(workLog);
+            timesheetService.apply(changes);
+        }
+    }
+
+    /**
+     * @param workLog a work log
+     * @return true if the work log is longer than application.work-log.max-duration-days
+     */
+    public boolean isTooLong(WorkLog workLog) {
+        return workLog.getStartDate() != null && workLog.getEndDate() != null &&
+            Duration.between(workLog.getStartDate(), workLog.getEndDate()).compareTo(maxDuration) > 0;
+    }
+
+    private List<String> validate(WorkLog workLog, Predicate<Long> workerExists,
+        Predicate<Long> projectExists) {
+        List<String> errors = new ArrayList<>();
+        if (workLog == null) {
+            errors.add("workLog.required");
+            return errors;
+        }
+        if (workLog.getId() != null) {
+            errors.add("id.exists");
+        }
+        if (workLog.getStartDate() == null) {
+            errors.add("startDate.required");
+        } else if (workLog.getEndDate() != null && workLog.getEndDate().isBefore(workLog.getStartDate())) {
+            errors.add("endDate.beforeStartDate");
+        } else if (isTooLong(workLog)) {
+            errors.add("endDate.tooLong");
+        }
+        if (workLog.getComment() != null && workLog.getComment().length() > MAX_COMMENT_LENGTH) {
+            errors.add("comment.tooLong");
+        }
+        if (workLog.getWorker() == null || workLog.getWorker().getId() == null) {
+            errors.add("worker.required");
+        } else if (!workerExists.test(workLog.getWorker().getId())) {
+            errors.add("worker.notFound");
+        }
+        if (workLog.getProject() == null || workLog.getProject().getId() == null) {
+            errors.add("project.required");
+        } else if (!projectExists.test(workLog.getProject().getId())) {
+            errors.add("project.notFound");
+        }
+        return errors;
+    }
+
+    private static Set<Long> findExistingIds(List<WorkLog> workLogs, Function<WorkLog, Long> idGetter,
+        Function<Collection<Long>, List<Long>> finder) {
+        List<Long> ids = workLogs.stream()
+            .filter(Objects::nonNull)
+            .map(idGetter)
+            .filter(Objects::nonNull)
+            .distinct()
+            .collect(Collectors.toList());
+        Set<Long> existingIds = new HashSet<>();
+        for (int from = 0; from < ids.size(); from += MAX_IDS_PER_QUERY) {
+            existingIds.addAll(finder.apply(ids.subList(from, Math.min(from + MAX_IDS_PER_QUERY, ids.size()))));
+        }
+        return existingIds;
+    }
+}
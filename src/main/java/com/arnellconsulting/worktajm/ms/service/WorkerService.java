@@ -0,0 +1,84 @@
+package com.arnellconsulting.worktajm.ms.service;
+
+import com.arnellconsulting.worktajm.ms.domain.Worker;
+import com.arnellconsulting.worktajm.ms.repository.WorkerRepository;
+import com.arnellconsulting.worktajm.ms.service.dto.WorkerDTO;
+import com.arnellconsulting.worktajm.ms.service.mapper.WorkerMapper;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service Implementation for managing Worker.
+ */
+@Service
+@Transactional
+public class WorkerService {
+
+    private final Logger log = LoggerFactory.getLogger(WorkerService.class);
+
+    private final WorkerRepository workerRepository;
+
+    private final WorkerMapper workerMapper;
+
+    public WorkerService(WorkerRepository workerRepository, WorkerMapper workerMapper) {
+        this.workerRepository = workerRepository;
+        this.workerMapper = workerMapper;
+    }
+
+    /**
+     * Save a worker.
+     *
+     * @param workerDTO the entity to save
+     * @return the persisted entity
+     */
+    public WorkerDTO save(WorkerDTO workerDTO) {
+        log.debug("Request to save Worker : {}", workerDTO);
+        Worker worker = workerMapper.toEntity(workerDTO);
+        worker = workerRepository.save(worker);
+        return workerMapper.toDto(worker);
+    }
+
+    /**
+     * Get a page of the latest workers, by keyset pagination.
+     *
+     * @param beforeId the id of the last worker of the previous page, or null for the first page
+     * @param size the maximum number of workers of the page
+     * @return the workers, latest first
+     */
+    @Transactional(readOnly = true)
+    public Slice<WorkerDTO> findBefore(Long beforeId, int size) {
+        log.debug("Request to get a slice of Workers");
+        return workerRepository.findByIdLessThan(beforeId != null ? beforeId : Long.MAX_VALUE,
+            new PageRequest(0, size, Sort.Direction.DESC, "id"))
+            .map(workerMapper::toDto);
+    }
+
+    /**
+     * Get one worker by id.
+     *
+     * @param id the id of the entity
+     * @return the entity
+     */
+    @Transactional(readOnly = true)
+    public WorkerDTO findOne(Long id) {
+        log.debug("Request to get Worker : {}", id);
+        Worker worker = workerRepository.findOne(id);
+        return workerMapper.toDto(worker);
+    }
+
+    /**
+     * Delete the worker by id.
+     *
+     * @param id the id of the entity
+     */
+    public void delete(Long id) {
+        log.debug("Request to delete Worker : {}", id);
+        workerRepository.delete(id);
+    }
+}
@@ -0,0 +1,174 @@
+package com.arnellconsulting.worktajm.ms.service;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Encoder writing the rows as an Office Open XML workbook.
+ *
+ * <p>
+ * The rows are written to the worksheet entries of the zip file as they come, with inline strings, so that no
+ * shared string table has to be kept in memory. A new worksheet, starting with the header, is added every
+ * maxRowsPerSheet rows, the limit of Excel being 1048576 rows. The workbook listing the worksheets is written last.
+ * </p>
+ */
+class XlsxRowEncoder implements RowEncoder {
+
+    static final int MAX_ROWS_PER_SHEET = 1048576;
+
+    private static final String XML_DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n";
+
+    private static final String MAIN_NAMESPACE = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+
+    private static final String PACKAGE_RELATIONSHIPS_NAMESPACE =
+        "http://schemas.openxmlformats.org/package/2006/relationships";
+
+    private static final String RELATIONSHIPS_NAMESPACE =
+        "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+
+    private final ZipOutputStream zipOutputStream;
+
+    private final Writer writer;
+
+    private final String sheetName;
+
+    private final String[] header;
+
+    private final int maxRowsPerSheet;
+
+    private int sheets;
+
+    private int sheetRows;
+
+    XlsxRowEncoder(OutputStream outputStream, int bufferSize, String sheetName, String[] header) throws IOException {
+        this(outputStream, bufferSize, sheetName, header, MAX_ROWS_PER_SHEET);
+    }
+
+    XlsxRowEncoder(OutputStream outputStream, int bufferSize, String sheetName, String[] header, int maxRowsPerSheet)
+        throws IOException {
+        this.zipOutputStream = new ZipOutputStream(new BufferedOutputStream(outputStream, bufferSize));
+        this.writer = new BufferedWriter(new OutputStreamWriter(zipOutputStream, StandardCharsets.UTF_8), bufferSize);
+        this.sheetName = sheetName;
+        this.header = header;
+        this.maxRowsPerSheet = Math.max(2, maxRowsPerSheet);
+        startSheet();
+    }
+
+    @Override
+    public void writeRow(Object[] values) throws IOException {
+        if (sheetRows == maxRowsPerSheet) {
+            endSheet();
+            startSheet();
+        }
+        sheetRows++;
+        writer.write("<row>");
+        for (Object value : values) {
+            if (value == null) {
+                writer.write("<c/>");
+            } else if (value instanceof Number) {
+                writer.write("<c><v>");
+                writer.write(value.toString());
+                writer.write("</v></c>");
+            } else {
+                writer.write("<c t=\"inlineStr\"><is><t xml:space=\"preserve\">");
+                writeEscaped(value.toString());
+                writer.write("</t></is></c>");
+            }
+        }
+        writer.write("</row>\n");
+    }
+
+    private void writeEscaped(String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '<':
+                    writer.write("&lt;");
+                    break;
+                case '>':
+                    writer.write("&gt;");
+                    break;
+                case '&':
+                    writer.write("&amp;");
+                    break;
+                case '"':
+                    writer.write("&quot;");
+                    break;
+                default:
+                    // The other control characters are not allowed in XML
+                    if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+                        writer.write(c);
+                    }
+            }
+        }
+    }
+
+    private void startSheet() throws IOException {
+        sheets++;
+        sheetRows = 0;
+        zipOutputStream.putNextEntry(new ZipEntry("xl/worksheets/sheet" + sheets + ".xml"));
+        writer.write(XML_DECLARATION);
+        writer.write("<worksheet xmlns=\"" + MAIN_NAMESPACE + "\"><sheetData>\n");
+        writeRow(header);
+    }
+
+    private void endSheet() throws IOException {
+        writer.write("</sheetData></worksheet>");
+        writer.flush();
+        zipOutputStream.closeEntry();
+    }
+
+    @Override
+    public void finish() throws IOException {
+        endSheet();
+
+        StringBuilder contentTypes = new StringBuilder(XML_DECLARATION)
+            .append("<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">")
+            .append("<Default Extension=\"rels\" ")
+            .append("ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>")
+            .append("<Default Extension=\"xml\" ContentType=\"application/xml\"/>")
+            .append("<Override PartName=\"/xl/workbook.xml\" ")
+            .append("ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>");
+        StringBuilder workbook = new StringBuilder(XML_DECLARATION)
+            .append("<workbook xmlns=\"").append(MAIN_NAMESPACE).append("\" xmlns:r=\"")
+            .append(RELATIONSHIPS_NAMESPACE).append("\"><sheets>");
+        StringBuilder workbookRelationships = new StringBuilder(XML_DECLARATION)
+            .append("<Relationships xmlns=\"").append(PACKAGE_RELATIONSHIPS_NAMESPACE).append("\">");
+        for (int sheet = 1; sheet <= sheets; sheet++) {
+            contentTypes.append("<Override PartName=\"/xl/worksheets/sheet").append(sheet).append(".xml\" ")
+                .append("ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>");
+            workbook.append("<sheet name=\"").append(sheetName).append(sheet > 1 ? " " + sheet : "")
+                .append("\" sheetId=\"").append(sheet).append("\" r:id=\"rId").append(sheet).append("\"/>");
+            workbookRelationships.append("<Relationship Id=\"rId").append(sheet).append("\" Type=\"")
+                .append(RELATIONSHIPS_NAMESPACE).append("/worksheet\" Target=\"worksheets/sheet").append(sheet)
+                .append(".xml\"/>");
+        }
+        contentTypes.append("</Types>");
+        workbook.append("</sheets></workbook>");
+        workbookRelationships.append("</Relationships>");
+
+        writeEntry("[Content_Types].xml", contentTypes);
+        writeEntry("_rels/.rels", new StringBuilder(XML_DECLARATION)
+            .append("<Relationships xmlns=\"").append(PACKAGE_RELATIONSHIPS_NAMESPACE).append("\">")
+            .append("<Relationship Id=\"rId1\" Type=\"").append(RELATIONSHIPS_NAMESPACE)
+            .append("/officeDocument\" Target=\"xl/workbook.xml\"/></Relationships>"));
+        writeEntry("xl/workbook.xml", workbook);
+        writeEntry("xl/_rels/workbook.xml.rels", workbookRelationships);
+        zipOutputStream.finish();
+        zipOutputStream.flush();
+    }
+
+    private void writeEntry(String name, CharSequence content) throws IOException {
+        zipOutputStream.putNextEntry(new ZipEntry(name));
+        writer.append(content);
+        writer.flush();
+        zipOutputStream.closeEntry();
+    }
+}
@@ -0,0 +1,105 @@
+package com.arnellconsulting.worktajm.ms.service.dto;
+
+
+import java.io.Serializable;
+import java.util.Objects;
+import com.arnellconsulting.worktajm.ms.domain.enumeration.Role;
+
+/**
+ * A DTO for the Worker entity.
+ */
+public class WorkerDTO implements Serializable {
+
+    private Long id;
+
+    private Long workerId;
+
+    private String firstName;
+
+    private String lastName;
+
+    private String email;
+
+    private Role role;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getWorkerId() {
+        return workerId;
+    }
+
+    public void setWorkerId(Long workerId) {
+        this.workerId = workerId;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    public void setRole(Role role) {
+        this.role = role;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        WorkerDTO workerDTO = (WorkerDTO) o;
+        if(workerDTO.getId() == null || getId() == null) {
+            return false;
+        }
+        return Objects.equals(getId(), workerDTO.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(getId());
+    }
+
+    @Override
+    public String toString() {
+        return "WorkerDTO{" +
+            "id=" + getId() +
+            ", workerId='" + getWorkerId() + "'" +
+            ", firstName='" + getFirstName() + "'" +
+            ", lastName='" + getLastName() + "'" +
+            ", email='" + getEmail() + "'" +
+            ", role='" + getRole() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,22 @@
+package com.arnellconsulting.worktajm.ms.service.mapper;
+
+import com.arnellconsulting.worktajm.ms.domain.*;
+import com.arnellconsulting.worktajm.ms.service.dto.WorkerDTO;
+
+import org.mapstruct.*;
+
+/**
+ * Mapper for the entity Worker and its DTO WorkerDTO.
+ */
+@Mapper(componentModel = "spring", uses = {})
+public interface WorkerMapper extends EntityMapper <WorkerDTO, Worker> {
+
+    default Worker fromId(Long id) {
+        if (id == null) {
+            return null;
+        }
+        Worker worker = new Worker();
+        worker.setId(id);
+        return worker;
+    }
+}
@@ -0,0 +1,144 @@
+package com.arnellconsulting.worktajm.ms.web.rest;
+
+import com.arnellconsulting.worktajm.ms.config.audit.AuditEventConverter;
+import com.arnellconsulting.worktajm.ms.service.AuditEventExportService;
+import com.arnellconsulting.worktajm.ms.service.AuditEventService;
+import com.arnellconsulting.worktajm.ms.web.rest.errors.CustomParameterizedException;
+import com.arnellconsulting.worktajm.ms.web.rest.util.PaginationUtil;
+import com.arnellconsulting.worktajm.ms.web.rest.util.SeekCursor;
+
+import com.codahale.metrics.annotation.Timed;
+import io.github.jhipster.web.util.ResponseUtil;
+import org.springframework.boot.actuate.audit.AuditEvent;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * REST controller for getting the audit events.
+ */
+@RestController
+@RequestMapping("/management/audits")
+public class AuditResource {
+
+    static final int MAX_PAGE_SIZE = 1000;
+
+    private final AuditEventService auditEventService;
+
+    private final AuditEventConverter auditEventConverter;
+
+    private final AuditEventExportService auditEventExportService;
+
+    public AuditResource(AuditEventService auditEventService, AuditEventConverter auditEventConverter,
+        AuditEventExportService auditEventExportService) {
+        this.auditEventService = auditEventService;
+        this.auditEventConverter = auditEventConverter;
+        this.auditEventExportService = auditEventExportService;
+    }
+
+    /**
+     * GET  /audits : get a page of the latest audit events.
+     *
+     * <p>
+     * The pages are read by keyset pagination: the "next" link of the Link header holds the cursor of the next
+     * page, and is missing on the last page. There is no total count.
+     * </p>
+     *
+     * @param principal the principal of the events, all the principals by default
+     * @param type the type of the events, all the types by default
+     * @param fromDate the first day of the events, included
+     * @param toDate the last day of the events, included
+     * @param cursor the cursor of the page, from the Link header of the previous page, the first page by default
+     * @param size the size of the page, at most 1000
+     * @return the ResponseEntity with status 200 (OK) and the list of AuditEvents in body
+     */
+    @GetMapping
+    @Timed
+    public ResponseEntity<List<AuditEvent>> getAll(@RequestParam(required = false) String principal,
+        @RequestParam(required = false) String type,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "20") int size) {
+        if (size < 1) {
+            throw new CustomParameterizedException("error.invalidPageSize", Integer.toString(size));
+        }
+        int pageSize = Math.min(size, MAX_PAGE_SIZE);
+        SeekCursor before = SeekCursor.decodeDated(cursor);
+        AuditEventService.AuditEventSlice page = auditEventService.findBefore(principal, type, startOf(fromDate),
+            startOf(toDate != null ? toDate.plusDays(1) : null),
+            before != null ? before.getDate() : null, before != null ? before.getId() : null, pageSize);
+
+        SeekCursor nextCursor = page.hasNext() ? SeekCursor.of(page.getLastDate(), page.getLastId()) : null;
+        UriComponentsBuilder baseUrl = UriComponentsBuilder.fromUriString("/management/audits");
+        addQueryParam(baseUrl, "principal", principal);
+        addQueryParam(baseUrl, "type", type);
+        addQueryParam(baseUrl, "fromDate", fromDate);
+        addQueryParam(baseUrl, "toDate", toDate);
+        HttpHeaders headers = PaginationUtil.generateSeekPaginationHttpHeaders(nextCursor, baseUrl.toUriString(),
+            pageSize);
+        return new ResponseEntity<>(auditEventConverter.convertToAuditEvent(page.getContent()), headers,
+            HttpStatus.OK);
+    }
+
+    /**
+     * GET  /audits/export : export the audit events as a gzip compressed file, with one JSON event per line.
+     *
+     * <p>
+     * The events are written to the response while they are read, oldest first, so that any date range can be
+     * exported.
+     * </p>
+     *
+     * @param principal the principal of the events, all the principals by default
+     * @param type the type of the events, all the types by default
+     * @param fromDate the first day of the events, included
+     * @param toDate the last day of the events, included
+     * @param response the response to write the events to
+     * @throws IOException if the events cannot be written
+     */
+    @GetMapping("/export")
+    @Timed
+    public void export(@RequestParam(required = false) String principal,
+        @RequestParam(required = false) String type,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+        HttpServletResponse response) throws IOException {
+        response.setContentType("application/gzip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"audits" +
+            (fromDate != null ? "-" + fromDate : "") + (toDate != null ? "-" + toDate : "") + ".ndjson.gz\"");
+        auditEventExportService.export(principal, type, startOf(fromDate),
+            startOf(toDate != null ? toDate.plusDays(1) : null), response.getOutputStream());
+    }
+
+    /**
+     * GET  /audits/:id : get an AuditEvent by id.
+     *
+     * @param id the id of the entity to get
+     * @return the ResponseEntity with status 200 (OK) and the AuditEvent in body, or status 404 (Not Found)
+     */
+    @GetMapping("/{id:.+}")
+    @Timed
+    public ResponseEntity<AuditEvent> get(@PathVariable Long id) {
+        return ResponseUtil.wrapOrNotFound(auditEventService.find(id).map(auditEventConverter::convertToAuditEvent));
+    }
+
+    private static Instant startOf(LocalDate date) {
+        return date != null ? date.atStartOfDay(ZoneId.systemDefault()).toInstant() : null;
+    }
+
+    private static void addQueryParam(UriComponentsBuilder builder, String name, Object value) {
+        if (value != null) {
+            builder.queryParam(name, value);
+        }
+    }
+}
@@ -1,15 +1,26 @@
 package com.arnellconsulting.worktajm.ms.web.rest;
 
+import com.arnellconsulting.worktajm.ms.service.LogLevelService;
+import com.arnellconsulting.worktajm.ms.web.rest.errors.CustomParameterizedException;
+import com.arnellconsulting.worktajm.ms.web.rest.util.PaginationUtil;
+import com.arnellconsulting.worktajm.ms.web.rest.vm.LogLevelsVM;
 import com.arnellconsulting.worktajm.ms.web.rest.vm.LoggerVM;
 
 import ch.qos.logback.classic.Level;
-import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.Logger;
 import com.codahale.metrics.annotation.Timed;
-import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -19,21 +30,93 @@ import java.util.stream.Collectors;
 @RequestMapping("/management")
 public class LogsResource {
 
+    private static final int DEFAULT_PAGE_SIZE = 100;
+
+    private final LogLevelService logLevelService;
+
+    public LogsResource(LogLevelService logLevelService) {
+        this.logLevelService = logLevelService;
+    }
+
+    /**
+     * GET  /logs : get the loggers, or a page of them when the page or size parameter is sent.
+     *
+     * @param prefix the start of the names of the loggers, all the loggers by default
+     * @param page the number of the page, from 0, the first page by default when size is sent
+     * @param size the size of the page, 100 by default when page is sent
+     * @return the ResponseEntity with status 200 (OK) and the loggers in body
+     */
     @GetMapping("/logs")
     @Timed
-    public List<LoggerVM> getList() {
-        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
-        return context.getLoggerList()
-            .stream()
-            .map(LoggerVM::new)
-            .collect(Collectors.toList());
+    public ResponseEntity<List<LoggerVM>> getList(@RequestParam(required = false) String prefix,
+        @RequestParam(required = false) Integer page,
+        @RequestParam(required = false) Integer size) {
+        List<Logger> loggers;
+        HttpHeaders headers = new HttpHeaders();
+        if (page == null && size == null) {
+            loggers = logLevelService.getLoggers(prefix);
+        } else {
+            int pageSize = size != null ? size : DEFAULT_PAGE_SIZE;
+            int pageNumber = page != null ? page : 0;
+            if (pageSize < 1 || pageNumber < 0) {
+                throw new CustomParameterizedException("error.invalidPageSize", Integer.toString(pageSize));
+            }
+            Page<Logger> loggerPage = logLevelService.getLoggers(prefix, new PageRequest(pageNumber, pageSize));
+            UriComponentsBuilder baseUrl = UriComponentsBuilder.fromUriString("/management/logs");
+            if (prefix != null) {
+                baseUrl.queryParam("prefix", prefix);
+            }
+            headers = PaginationUtil.generatePaginationHttpHeaders(loggerPage, baseUrl.toUriString());
+            loggers = loggerPage.getContent();
+        }
+        return new ResponseEntity<>(loggers.stream().map(LoggerVM::new).collect(Collectors.toList()), headers,
+            HttpStatus.OK);
     }
 
     @PutMapping("/logs")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     @Timed
     public void changeLevel(@RequestBody LoggerVM jsonLogger) {
-        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
-        context.getLogger(jsonLogger.getName()).setLevel(Level.valueOf(jsonLogger.getLevel()));
+        logLevelService.changeLevels(toLevels(Collections.singletonList(jsonLogger)), 0, false);
+    }
+
+    /**
+     * PUT  /logs/bulk : change the level of several loggers at once, none is changed if a level is invalid.
+     *
+     * @param logLevels the loggers, with the delay before their previous levels are restored
+     */
+    @PutMapping("/logs/bulk")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @Timed
+    public void changeLevels(@RequestBody LogLevelsVM logLevels) {
+        if (logLevels.getTimeToLiveSeconds() < 0) {
+            throw new CustomParameterizedException("error.invalidTimeToLive",
+                Long.toString(logLevels.getTimeToLiveSeconds()));
+        }
+        logLevelService.changeLevels(toLevels(logLevels.getLoggers()), logLevels.getTimeToLiveSeconds(),
+            logLevels.isClusterWide());
+    }
+
+    /**
+     * Parse the levels of the loggers, a null level inherits the level of the parent logger.
+     */
+    private static Map<String, Level> toLevels(List<LoggerVM> loggers) {
+        Map<String, Level> levels = new LinkedHashMap<>();
+        for (LoggerVM logger : loggers) {
+            Level level = null;
+            if (logger.getLevel() != null) {
+                level = Level.toLevel(logger.getLevel(), null);
+                if (level == null) {
+                    throw new CustomParameterizedException("error.invalidLogLevel", logger.getName(), logger.getLevel());
+                }
+            } else if (Logger.ROOT_LOGGER_NAME.equalsIgnoreCase(logger.getName())) {
+                throw new CustomParameterizedException("error.invalidLogLevel", logger.getName(), null);
+            }
+            if (logger.getName() == null) {
+                throw new CustomParameterizedException("error.invalidLoggerName");
+            }
+            levels.put(logger.getName(), level);
+        }
+        return levels;
     }
 }
@@ -0,0 +1,137 @@
+package com.arnellconsulting.worktajm.ms.web.rest;
+
+import com.arnellconsulting.worktajm.ms.domain.Project;
+import com.arnellconsulting.worktajm.ms.repository.ProjectRepository;
+import com.arnellconsulting.worktajm.ms.service.TotalCount;
+import com.arnellconsulting.worktajm.ms.service.TotalCountService;
+import com.arnellconsulting.worktajm.ms.web.rest.util.HeaderUtil;
+import com.arnellconsulting.worktajm.ms.web.rest.util.PaginationUtil;
+
+import com.codahale.metrics.annotation.Timed;
+import io.github.jhipster.web.util.ResponseUtil;
+import io.swagger.annotations.ApiParam;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * REST controller for managing Project.
+ */
+@RestController
+@RequestMapping("/api")
+public class ProjectResource {
+
+    private final Logger log = LoggerFactory.getLogger(ProjectResource.class);
+
+    private static final String ENTITY_NAME = "project";
+
+    private final ProjectRepository projectRepository;
+
+    private final TotalCountService totalCountService;
+
+    public ProjectResource(ProjectRepository projectRepository, TotalCountService totalCountService) {
+        this.projectRepository = projectRepository;
+        this.totalCountService = totalCountService;
+    }
+
+    /**
+     * POST  /projects : Create a new project.
+     *
+     * @param project the project to create
+     * @return the ResponseEntity with status 201 (Created) and with body the new project, or with status 400 (Bad Request) if the project has already an ID
+     * @throws URISyntaxException if the Location URI syntax is incorrect
+     */
+    @PostMapping("/projects")
+    @Timed
+    public ResponseEntity<Project> createProject(@RequestBody Project project) throws URISyntaxException {
+        log.debug("REST request to save Project : {}", project);
+        if (project.getId() != null) {
+            return ResponseEntity.badRequest().headers(HeaderUtil.createFailureAlert(ENTITY_NAME, "idexists", "A new project cannot already have an ID")).body(null);
+        }
+        Project result = projectRepository.save(project);
+        return ResponseEntity.created(new URI("/api/projects/" + result.getId()))
+            .headers(HeaderUtil.createEntityCreationAlert(ENTITY_NAME, result.getId().toString()))
+            .body(result);
+    }
+
+    /**
+     * PUT  /projects : Updates an existing project.
+     *
+     * @param project the project to update
+     * @return the ResponseEntity with status 200 (OK) and with body the updated project,
+     * or with status 400 (Bad Request) if the project is not valid,
+     * or with status 500 (Internal Server Error) if the project couldn't be updated
+     * @throws URISyntaxException if the Location URI syntax is incorrect
+     */
+    @PutMapping("/projects")
+    @Timed
+    public ResponseEntity<Project> updateProject(@RequestBody Project project) throws URISyntaxException {
+        log.debug("REST request to update Project : {}", project);
+        if (project.getId() == null) {
+            return createProject(project);
+        }
+        Project result = projectRepository.save(project);
+        return ResponseEntity.ok()
+            .headers(HeaderUtil.createEntityUpdateAlert(ENTITY_NAME, project.getId().toString()))
+            .body(result);
+    }
+
+    /**
+     * GET  /projects : get all the projects.
+     *
+     * <p>
+     * The X-Total-Count header is counted with the strategy of application.pagination.count-strategy, which the
+     * X-Total-Count-Strategy header tells.
+     * </p>
+     *
+     * @param pageable the pagination information
+     * @return the ResponseEntity with status 200 (OK) and the list of projects in body
+     */
+    @GetMapping("/projects")
+    @Timed
+    public ResponseEntity<List<Project>> getAllProjects(@ApiParam Pageable pageable) {
+        log.debug("REST request to get a page of Projects");
+        Slice<Project> page = projectRepository.findAllBy(pageable);
+        TotalCount totalCount = totalCountService.count(page, "project", null, projectRepository::count);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(page, totalCount, "/api/projects");
+        return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
+    }
+
+    /**
+     * GET  /projects/:id : get the "id" project.
+     *
+     * @param id the id of the project to retrieve
+     * @return the ResponseEntity with status 200 (OK) and with body the project, or with status 404 (Not Found)
+     */
+    @GetMapping("/projects/{id}")
+    @Timed
+    public ResponseEntity<Project> getProject(@PathVariable Long id) {
+        log.debug("REST request to get Project : {}", id);
+        Project project = projectRepository.findOne(id);
+        return ResponseUtil.wrapOrNotFound(Optional.ofNullable(project));
+    }
+
+    /**
+     * DELETE  /projects/:id : delete the "id" project.
+     *
+     * @param id the id of the project to delete
+     * @return the ResponseEntity with status 200 (OK)
+     */
+    @DeleteMapping("/projects/{id}")
+    @Timed
+    public ResponseEntity<Void> deleteProject(@PathVariable Long id) {
+        log.debug("REST request to delete Project : {}", id);
+        projectRepository.delete(id);
+        return ResponseEntity.ok().headers(HeaderUtil.createEntityDeletionAlert(ENTITY_NAME, id.toString())).build();
+    }
+}
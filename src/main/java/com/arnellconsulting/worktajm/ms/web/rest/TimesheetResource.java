@@ -0,0 +1,73 @@
+package com.arnellconsulting.worktajm.ms.web.rest;
+
+import com.arnellconsulting.worktajm.ms.domain.TimesheetRollup;
+import com.arnellconsulting.worktajm.ms.domain.enumeration.TimesheetPeriod;
+import com.arnellconsulting.worktajm.ms.security.AuthoritiesConstants;
+import com.arnellconsulting.worktajm.ms.service.TimesheetService;
+import com.arnellconsulting.worktajm.ms.web.rest.errors.CustomParameterizedException;
+
+import com.codahale.metrics.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.annotation.Secured;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * REST controller for getting the timesheets.
+ */
+@RestController
+@RequestMapping("/api")
+public class TimesheetResource {
+
+    private final Logger log = LoggerFactory.getLogger(TimesheetResource.class);
+
+    private final TimesheetService timesheetService;
+
+    public TimesheetResource(TimesheetService timesheetService) {
+        this.timesheetService = timesheetService;
+    }
+
+    /**
+     * GET  /timesheets : get the time spent per worker and project during each period of a date range.
+     *
+     * @param period the length of the periods: DAY, WEEK or MONTH
+     * @param workerId the id of the worker, all the workers by default
+     * @param projectId the id of the project, all the projects by default
+     * @param fromDate a day of the first period
+     * @param toDate a day of the last period
+     * @return the ResponseEntity with status 200 (OK) and the list of timesheet rows in body, sorted by period
+     */
+    @GetMapping("/timesheets")
+    @Timed
+    public ResponseEntity<List<TimesheetRollup>> getTimesheets(@RequestParam TimesheetPeriod period,
+        @RequestParam(required = false) Long workerId,
+        @RequestParam(required = false) Long projectId,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate) {
+        log.debug("REST request to get the {} timesheets from {} to {}", period, fromDate, toDate);
+        if (toDate.isBefore(fromDate)) {
+            throw new CustomParameterizedException("error.invalidDateRange", fromDate.toString(), toDate.toString());
+        }
+        return ResponseEntity.ok(timesheetService.find(period, workerId, projectId, fromDate, toDate));
+    }
+
+    /**
+     * POST  /timesheets/rebuild : recompute the timesheets from the work logs, in the background.
+     *
+     * @return the ResponseEntity with status 202 (Accepted)
+     */
+    @PostMapping("/timesheets/rebuild")
+    @Timed
+    @Secured(AuthoritiesConstants.ADMIN)
+    public ResponseEntity<Void> rebuildTimesheets() {
+        log.debug("REST request to rebuild the timesheets");
+        timesheetService.rebuildAsync();
+        return new ResponseEntity<>(HttpStatus.ACCEPTED);
+    }
+}
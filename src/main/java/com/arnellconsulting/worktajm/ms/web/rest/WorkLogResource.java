@@ -0,0 +1,276 @@
+package com.arnellconsulting.worktajm.ms.web.rest;
+
+import com.arnellconsulting.worktajm.ms.config.ApplicationProperties;
+import com.arnellconsulting.worktajm.ms.domain.WorkLog;
+import com.arnellconsulting.worktajm.ms.service.WorkLogBatchResult;
+import com.arnellconsulting.worktajm.ms.service.WorkLogExportService;
+import com.arnellconsulting.worktajm.ms.service.WorkLogService;
+import com.arnellconsulting.worktajm.ms.web.rest.errors.CustomParameterizedException;
+import com.arnellconsulting.worktajm.ms.web.rest.util.HeaderUtil;
+import com.arnellconsulting.worktajm.ms.web.rest.util.PaginationUtil;
+import com.arnellconsulting.worktajm.ms.web.rest.util.SeekCursor;
+
+import com.codahale.metrics.annotation.Timed;
+import io.github.jhipster.web.util.ResponseUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+
+/**
+ * REST controller for managing WorkLog.
+ */
+@RestController
+@RequestMapping("/api")
+public class WorkLogResource {
+
+    private final Logger log = LoggerFactory.getLogger(WorkLogResource.class);
+
+    private static final String ENTITY_NAME = "workLog";
+
+    static final int MAX_PAGE_SIZE = 1000;
+
+    private final WorkLogService workLogService;
+
+    private final WorkLogExportService workLogExportService;
+
+    private final int maxBatchSize;
+
+    private final int maxDurationDays;
+
+    private final ZoneId zoneId;
+
+    private final Semaphore exports;
+
+    public WorkLogResource(WorkLogService workLogService, WorkLogExportService workLogExportService,
+        ApplicationProperties applicationProperties) {
+        this.workLogService = workLogService;
+        this.workLogExportService = workLogExportService;
+        this.maxBatchSize = applicationProperties.getWorkLog().getMaxBatchSize();
+        this.maxDurationDays = applicationProperties.getWorkLog().getMaxDurationDays();
+        this.zoneId = ZoneId.of(applicationProperties.getTimesheet().getZoneId());
+        this.exports = new Semaphore(Math.max(1, applicationProperties.getWorkLog().getMaxConcurrentExports()));
+    }
+
+    /**
+     * POST  /work-logs : Create a new workLog.
+     *
+     * @param workLog the workLog to create
+     * @return the ResponseEntity with status 201 (Created) and with body the new workLog, or with status 400 (Bad Request) if the workLog has already an ID or is longer than application.work-log.max-duration-days
+     * @throws URISyntaxException if the Location URI syntax is incorrect
+     */
+    @PostMapping("/work-logs")
+    @Timed
+    public ResponseEntity<WorkLog> createWorkLog(@RequestBody WorkLog workLog) throws URISyntaxException {
+        log.debug("REST request to save WorkLog : {}", workLog);
+        if (workLog.getId() != null) {
+            return ResponseEntity.badRequest().headers(HeaderUtil.createFailureAlert(ENTITY_NAME, "idexists", "A new workLog cannot already have an ID")).body(null);
+        }
+        checkDuration(workLog);
+        WorkLog result = workLogService.save(workLog);
+        return ResponseEntity.created(new URI("/api/work-logs/" + result.getId()))
+            .headers(HeaderUtil.createEntityCreationAlert(ENTITY_NAME, result.getId().toString()))
+            .body(result);
+    }
+
+    /**
+     * POST  /work-logs/batch : Create several workLogs at once.
+     *
+     * <p>
+     * The whole batch is validated before the valid workLogs are inserted, in JDBC batches. The invalid workLogs
+     * are not created, and do not prevent the others from being created.
+     * </p>
+     *
+     * @param workLogs the workLogs to create, at most application.work-log.max-batch-size
+     * @return the ResponseEntity with status 201 (Created) if all the workLogs are created, or with status 207 (Multi-Status) if some are invalid, and with body the result of each workLog, in the same order
+     */
+    @PostMapping("/work-logs/batch")
+    @Timed
+    public ResponseEntity<List<WorkLogBatchResult>> createWorkLogs(@RequestBody List<WorkLog> workLogs) {
+        log.debug("REST request to save a batch of {} WorkLogs", workLogs.size());
+        if (workLogs.size() > maxBatchSize) {
+            throw new CustomParameterizedException("error.batchTooLarge", Integer.toString(workLogs.size()),
+                Integer.toString(maxBatchSize));
+        }
+        List<WorkLogBatchResult> results = workLogService.createAll(workLogs);
+        boolean allCreated = results.stream()
+            .allMatch(result -> result.getStatus() == WorkLogBatchResult.Status.CREATED);
+        return new ResponseEntity<>(results, allCreated ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS);
+    }
+
+    /**
+     * PUT  /work-logs : Updates an existing workLog.
+     *
+     * @param workLog the workLog to update
+     * @return the ResponseEntity with status 200 (OK) and with body the updated workLog,
+     * or with status 400 (Bad Request) if the workLog is not valid or is longer than application.work-log.max-duration-days,
+     * or with status 500 (Internal Server Error) if the workLog couldn't be updated
+     * @throws URISyntaxException if the Location URI syntax is incorrect
+     */
+    @PutMapping("/work-logs")
+    @Timed
+    public ResponseEntity<WorkLog> updateWorkLog(@RequestBody WorkLog workLog) throws URISyntaxException {
+        log.debug("REST request to update WorkLog : {}", workLog);
+        if (workLog.getId() == null) {
+            return createWorkLog(workLog);
+        }
+        checkDuration(workLog);
+        WorkLog result = workLogService.save(workLog);
+        return ResponseEntity.ok()
+            .headers(HeaderUtil.createEntityUpdateAlert(ENTITY_NAME, workLog.getId().toString()))
+            .body(result);
+    }
+
+    /**
+     * GET  /work-logs : get a page of the latest workLogs, by start date.
+     *
+     * <p>
+     * The pages are read by keyset pagination, for infinite scrolling: the "next" link of the Link header holds the
+     * cursor of the next page, and is missing on the last page. There is no total count.
+     * </p>
+     *
+     * @param workerId the id of the worker, all the workers by default
+     * @param projectId the id of the project, all the projects by default
+     * @param cursor the cursor of the page, from the Link header of the previous page, the first page by default
+     * @param size the size of the page, at most 1000
+     * @return the ResponseEntity with status 200 (OK) and the list of workLogs in body
+     */
+    @GetMapping("/work-logs")
+    @Timed
+    public ResponseEntity<List<WorkLog>> getAllWorkLogs(@RequestParam(required = false) Long workerId,
+        @RequestParam(required = false) Long projectId,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "20") int size) {
+        log.debug("REST request to get a page of WorkLogs");
+        if (size < 1) {
+            throw new CustomParameterizedException("error.invalidPageSize", Integer.toString(size));
+        }
+        int pageSize = Math.min(size, MAX_PAGE_SIZE);
+        SeekCursor before = SeekCursor.decodeDated(cursor);
+        Slice<WorkLog> page = workLogService.findBefore(workerId, projectId,
+            before != null ? before.getDate() : null, before != null ? before.getId() : null, pageSize);
+
+        SeekCursor nextCursor = null;
+        if (page.hasNext()) {
+            WorkLog last = page.getContent().get(page.getNumberOfElements() - 1);
+            nextCursor = SeekCursor.of(last.getStartDate().toInstant(), last.getId());
+        }
+        UriComponentsBuilder baseUrl = UriComponentsBuilder.fromUriString("/api/work-logs");
+        if (workerId != null) {
+            baseUrl.queryParam("workerId", workerId);
+        }
+        if (projectId != null) {
+            baseUrl.queryParam("projectId", projectId);
+        }
+        HttpHeaders headers = PaginationUtil.generateSeekPaginationHttpHeaders(nextCursor, baseUrl.toUriString(),
+            pageSize);
+        return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
+    }
+
+    /**
+     * GET  /work-logs/export : export the workLogs as a CSV or XLSX file, sorted by start date.
+     *
+     * <p>
+     * The file is written on the "taskExecutor" while the workLogs are read, so that any number of workLogs can be
+     * exported, and the request thread is released. At most application.work-log.max-concurrent-exports files are
+     * written at once.
+     * </p>
+     *
+     * @param format the format of the file, CSV by default
+     * @param workerId the id of the worker, all the workers by default
+     * @param projectId the id of the project, all the projects by default
+     * @param fromDate the first day of the start dates, included, in the time zone of the timesheets
+     * @param toDate the last day of the start dates, included, in the time zone of the timesheets
+     * @return the ResponseEntity with status 200 (OK) and the file in body, or with status 503 (Service Unavailable) if too many exports are running
+     */
+    @GetMapping("/work-logs/export")
+    @Timed
+    public ResponseEntity<StreamingResponseBody> exportWorkLogs(
+        @RequestParam(defaultValue = "CSV") WorkLogExportService.Format format,
+        @RequestParam(required = false) Long workerId,
+        @RequestParam(required = false) Long projectId,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate) {
+        log.debug("REST request to export the WorkLogs as {}", format);
+        Instant from = startOf(fromDate);
+        Instant to = startOf(toDate != null ? toDate.plusDays(1) : null);
+        StringBuilder filename = new StringBuilder("work-logs");
+        if (fromDate != null) {
+            filename.append('-').append(fromDate);
+        }
+        if (toDate != null) {
+            filename.append('-').append(toDate);
+        }
+        filename.append('.').append(format.getExtension());
+        if (!exports.tryAcquire()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .headers(HeaderUtil.createFailureAlert(ENTITY_NAME, "tooManyExports", "Too many exports are running"))
+                .build();
+        }
+        StreamingResponseBody body = outputStream -> {
+            try {
+                workLogExportService.export(format, workerId, projectId, from, to, outputStream);
+            } finally {
+                exports.release();
+            }
+        };
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(format.getContentType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+            .body(body);
+    }
+
+    private void checkDuration(WorkLog workLog) {
+        if (workLogService.isTooLong(workLog)) {
+            throw new CustomParameterizedException("error.endDate.tooLong", Integer.toString(maxDurationDays));
+        }
+    }
+
+    private Instant startOf(LocalDate date) {
+        return date != null ? date.atStartOfDay(zoneId).toInstant() : null;
+    }
+
+    /**
+     * GET  /work-logs/:id : get the "id" workLog.
+     *
+     * @param id the id of the workLog to retrieve
+     * @return the ResponseEntity with status 200 (OK) and with body the workLog, or with status 404 (Not Found)
+     */
+    @GetMapping("/work-logs/{id}")
+    @Timed
+    public ResponseEntity<WorkLog> getWorkLog(@PathVariable Long id) {
+        log.debug("REST request to get WorkLog : {}", id);
+        WorkLog workLog = workLogService.findOne(id);
+        return ResponseUtil.wrapOrNotFound(Optional.ofNullable(workLog));
+    }
+
+    /**
+     * DELETE  /work-logs/:id : delete the "id" workLog.
+     *
+     * @param id the id of the workLog to delete
+     * @return the ResponseEntity with status 200 (OK)
+     */
+    @DeleteMapping("/work-logs/{id}")
+    @Timed
+    public ResponseEntity<Void> deleteWorkLog(@PathVariable Long id) {
+        log.debug("REST request to delete WorkLog : {}", id);
+        workLogService.delete(id);
+        return ResponseEntity.ok().headers(HeaderUtil.createEntityDeletionAlert(ENTITY_NAME, id.toString())).build();
+    }
+}
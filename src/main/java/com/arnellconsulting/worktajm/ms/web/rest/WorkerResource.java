@@ -0,0 +1,144 @@
+package com.arnellconsulting.worktajm.ms.web.rest;
+
+import com.arnellconsulting.worktajm.ms.service.WorkerService;
+import com.arnellconsulting.worktajm.ms.service.dto.WorkerDTO;
+import com.arnellconsulting.worktajm.ms.web.rest.errors.CustomParameterizedException;
+import com.arnellconsulting.worktajm.ms.web.rest.util.HeaderUtil;
+import com.arnellconsulting.worktajm.ms.web.rest.util.PaginationUtil;
+import com.arnellconsulting.worktajm.ms.web.rest.util.SeekCursor;
+
+import com.codahale.metrics.annotation.Timed;
+import io.github.jhipster.web.util.ResponseUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * REST controller for managing Worker.
+ */
+@RestController
+@RequestMapping("/api")
+public class WorkerResource {
+
+    private final Logger log = LoggerFactory.getLogger(WorkerResource.class);
+
+    private static final String ENTITY_NAME = "worker";
+
+    static final int MAX_PAGE_SIZE = 1000;
+
+    private final WorkerService workerService;
+
+    public WorkerResource(WorkerService workerService) {
+        this.workerService = workerService;
+    }
+
+    /**
+     * POST  /workers : Create a new worker.
+     *
+     * @param workerDTO the workerDTO to create
+     * @return the ResponseEntity with status 201 (Created) and with body the new workerDTO, or with status 400 (Bad Request) if the worker has already an ID
+     * @throws URISyntaxException if the Location URI syntax is incorrect
+     */
+    @PostMapping("/workers")
+    @Timed
+    public ResponseEntity<WorkerDTO> createWorker(@RequestBody WorkerDTO workerDTO) throws URISyntaxException {
+        log.debug("REST request to save Worker : {}", workerDTO);
+        if (workerDTO.getId() != null) {
+            return ResponseEntity.badRequest().headers(HeaderUtil.createFailureAlert(ENTITY_NAME, "idexists", "A new worker cannot already have an ID")).body(null);
+        }
+        WorkerDTO result = workerService.save(workerDTO);
+        return ResponseEntity.created(new URI("/api/workers/" + result.getId()))
+            .headers(HeaderUtil.createEntityCreationAlert(ENTITY_NAME, result.getId().toString()))
+            .body(result);
+    }
+
+    /**
+     * PUT  /workers : Updates an existing worker.
+     *
+     * @param workerDTO the workerDTO to update
+     * @return the ResponseEntity with status 200 (OK) and with body the updated workerDTO,
+     * or with status 400 (Bad Request) if the workerDTO is not valid,
+     * or with status 500 (Internal Server Error) if the workerDTO couldn't be updated
+     * @throws URISyntaxException if the Location URI syntax is incorrect
+     */
+    @PutMapping("/workers")
+    @Timed
+    public ResponseEntity<WorkerDTO> updateWorker(@RequestBody WorkerDTO workerDTO) throws URISyntaxException {
+        log.debug("REST request to update Worker : {}", workerDTO);
+        if (workerDTO.getId() == null) {
+            return createWorker(workerDTO);
+        }
+        WorkerDTO result = workerService.save(workerDTO);
+        return ResponseEntity.ok()
+            .headers(HeaderUtil.createEntityUpdateAlert(ENTITY_NAME, workerDTO.getId().toString()))
+            .body(result);
+    }
+
+    /**
+     * GET  /workers : get a page of the latest workers, by id.
+     *
+     * <p>
+     * The pages are read by keyset pagination, for infinite scrolling: the "next" link of the Link header holds the
+     * cursor of the next page, and is missing on the last page. There is no total count.
+     * </p>
+     *
+     * @param cursor the cursor of the page, from the Link header of the previous page, the first page by default
+     * @param size the size of the page, at most 1000
+     * @return the ResponseEntity with status 200 (OK) and the list of workers in body
+     */
+    @GetMapping("/workers")
+    @Timed
+    public ResponseEntity<List<WorkerDTO>> getAllWorkers(@RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "20") int size) {
+        log.debug("REST request to get a page of Workers");
+        if (size < 1) {
+            throw new CustomParameterizedException("error.invalidPageSize", Integer.toString(size));
+        }
+        int pageSize = Math.min(size, MAX_PAGE_SIZE);
+        Slice<WorkerDTO> page = workerService.findBefore(SeekCursor.decodeId(cursor), pageSize);
+
+        SeekCursor nextCursor = null;
+        if (page.hasNext()) {
+            nextCursor = SeekCursor.of(page.getContent().get(page.getNumberOfElements() - 1).getId());
+        }
+        HttpHeaders headers = PaginationUtil.generateSeekPaginationHttpHeaders(nextCursor, "/api/workers", pageSize);
+        return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
+    }
+
+    /**
+     * GET  /workers/:id : get the "id" worker.
+     *
+     * @param id the id of the workerDTO to retrieve
+     * @return the ResponseEntity with status 200 (OK) and with body the workerDTO, or with status 404 (Not Found)
+     */
+    @GetMapping("/workers/{id}")
+    @Timed
+    public ResponseEntity<WorkerDTO> getWorker(@PathVariable Long id) {
+        log.debug("REST request to get Worker : {}", id);
+        WorkerDTO workerDTO = workerService.findOne(id);
+        return ResponseUtil.wrapOrNotFound(Optional.ofNullable(workerDTO));
+    }
+
+    /**
+     * DELETE  /workers/:id : delete the "id" worker.
+     *
+     * @param id the id of the workerDTO to delete
+     * @return the ResponseEntity with status 200 (OK)
+     */
+    @DeleteMapping("/workers/{id}")
+    @Timed
+    public ResponseEntity<Void> deleteWorker(@PathVariable Long id) {
+        log.debug("REST request to delete Worker : {}", id);
+        workerService.delete(id);
+        return ResponseEntity.ok().headers(HeaderUtil.createEntityDeletionAlert(ENTITY_NAME, id.toString())).build();
+    }
+}
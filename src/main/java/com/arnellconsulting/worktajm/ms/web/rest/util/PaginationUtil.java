@@ -1,9 +1,14 @@
 package com.arnellconsulting.worktajm.ms.web.rest.util;
 
+import com.arnellconsulting.worktajm.ms.service.TotalCount;
+
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.util.Locale;
+
 /**
  * Utility class for handling pagination.
  *
@@ -13,15 +18,38 @@ import org.springframework.web.util.UriComponentsBuilder;
  */
 public final class PaginationUtil {
 
+    public static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
+    public static final String TOTAL_COUNT_STRATEGY_HEADER = "X-Total-Count-Strategy";
+
     private PaginationUtil() {
     }
 
     public static HttpHeaders generatePaginationHttpHeaders(Page page, String baseUrl) {
+        return generatePaginationHttpHeaders(page, TotalCount.exact(page.getTotalElements()), baseUrl);
+    }
+
+    /**
+     * Generate the headers of a page whose elements are counted separately.
+     *
+     * <p>
+     * The X-Total-Count-Strategy header tells how the X-Total-Count was obtained. The "last" link is only sent when
+     * the count is trustworthy, as an estimated count may point before or after the actual last page, and the "next"
+     * link depends on the page only.
+     * </p>
+     *
+     * @param page the page read from the list
+     * @param totalCount the count of the elements of the list
+     * @param baseUrl the URL of the list, with its filter parameters
+     * @return the headers
+     */
+    public static HttpHeaders generatePaginationHttpHeaders(Slice<?> page, TotalCount totalCount, String baseUrl) {
 
         HttpHeaders headers = new HttpHeaders();
-        headers.add("X-Total-Count", Long.toString(page.getTotalElements()));
+        headers.add(TOTAL_COUNT_HEADER, Long.toString(totalCount.getCount()));
+        headers.add(TOTAL_COUNT_STRATEGY_HEADER, totalCount.getStrategy().name().toLowerCase(Locale.ENGLISH));
         String link = "";
-        if ((page.getNumber() + 1) < page.getTotalPages()) {
+        if (page.hasNext()) {
             link = "<" + generateUri(baseUrl, page.getNumber() + 1, page.getSize()) + ">; rel=\"next\",";
         }
         // prev link
@@ -29,17 +57,43 @@ public final class PaginationUtil {
             link += "<" + generateUri(baseUrl, page.getNumber() - 1, page.getSize()) + ">; rel=\"prev\",";
         }
         // last and first link
-        int lastPage = 0;
-        if (page.getTotalPages() > 0) {
-            lastPage = page.getTotalPages() - 1;
+        if (totalCount.isTrustworthy()) {
+            long lastPage = 0;
+            if (totalCount.getCount() > 0 && page.getSize() > 0) {
+                lastPage = (totalCount.getCount() - 1) / page.getSize();
+            }
+            link += "<" + generateUri(baseUrl, lastPage, page.getSize()) + ">; rel=\"last\",";
         }
-        link += "<" + generateUri(baseUrl, lastPage, page.getSize()) + ">; rel=\"last\",";
         link += "<" + generateUri(baseUrl, 0, page.getSize()) + ">; rel=\"first\"";
         headers.add(HttpHeaders.LINK, link);
         return headers;
     }
 
-    private static String generateUri(String baseUrl, int page, int size) {
+    /**
+     * Generate the headers of a page read by keyset pagination, which only links to the next page.
+     *
+     * <p>
+     * No total count is sent, as counting the elements would cost as much as reading them all.
+     * </p>
+     *
+     * @param nextCursor the cursor of the next page, or null if this page is the last one
+     * @param baseUrl the URL of the list, with its filter parameters
+     * @param size the size of the pages
+     * @return the headers
+     */
+    public static HttpHeaders generateSeekPaginationHttpHeaders(SeekCursor nextCursor, String baseUrl, int size) {
+        HttpHeaders headers = new HttpHeaders();
+        if (nextCursor != null) {
+            String uri = UriComponentsBuilder.fromUriString(baseUrl)
+                .queryParam("cursor", nextCursor.encode())
+                .queryParam("size", size)
+                .toUriString();
+            headers.add(HttpHeaders.LINK, "<" + uri + ">; rel=\"next\"");
+        }
+        return headers;
+    }
+
+    private static String generateUri(String baseUrl, long page, int size) {
         return UriComponentsBuilder.fromUriString(baseUrl).queryParam("page", page).queryParam("size", size).toUriString();
     }
 }
@@ -0,0 +1,131 @@
+package com.arnellconsulting.worktajm.ms.web.rest.util;
+
+import com.arnellconsulting.worktajm.ms.web.rest.errors.CustomParameterizedException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Position of a page in a list sorted by date then id, or by id only, for keyset pagination.
+ *
+ * <p>
+ * A cursor holds the date and id of the last element of a page, or only its id, and is sent to the clients as an
+ * opaque URL safe string, so that they cannot rely on its content.
+ * </p>
+ */
+public final class SeekCursor {
+
+    private final Instant date;
+
+    private final long id;
+
+    private SeekCursor(Instant date, long id) {
+        this.date = date;
+        this.id = id;
+    }
+
+    public static SeekCursor of(Instant date, long id) {
+        if (date == null) {
+            throw new IllegalArgumentException("The date of a cursor cannot be null");
+        }
+        return new SeekCursor(date, id);
+    }
+
+    /**
+     * @param id the id of the last element of a page sorted by id
+     * @return the cursor, without date
+     */
+    public static SeekCursor of(long id) {
+        return new SeekCursor(null, id);
+    }
+
+    /**
+     * Decode a cursor sent by a client.
+     *
+     * @param value the cursor, as returned by {@link #encode()}
+     * @return the cursor
+     * @throws IllegalArgumentException if the value is not a valid cursor
+     */
+    public static SeekCursor decode(String value) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8).split(":");
+            if (parts.length == 1) {
+                return new SeekCursor(null, Long.parseLong(parts[0]));
+            }
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid cursor " + value);
+            }
+            Instant date = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+            return new SeekCursor(date, Long.parseLong(parts[2]));
+        } catch (NumberFormatException | DateTimeException e) {
+            throw new IllegalArgumentException("Invalid cursor " + value, e);
+        }
+    }
+
+    /**
+     * Decode the cursor of a list sorted by date then id, sent as a request parameter.
+     *
+     * @param value the cursor, or null for the first page
+     * @return the cursor, or null for the first page
+     * @throws CustomParameterizedException "error.invalidCursor" if the value is not a cursor with a date
+     */
+    public static SeekCursor decodeDated(String value) {
+        SeekCursor cursor = decodeParameter(value);
+        if (cursor != null && cursor.date == null) {
+            throw new CustomParameterizedException("error.invalidCursor", value);
+        }
+        return cursor;
+    }
+
+    /**
+     * Decode the cursor of a list sorted by id only, sent as a request parameter.
+     *
+     * @param value the cursor, or null for the first page
+     * @return the id of the cursor, or null for the first page
+     * @throws CustomParameterizedException "error.invalidCursor" if the value is not a cursor without date
+     */
+    public static Long decodeId(String value) {
+        SeekCursor cursor = decodeParameter(value);
+        if (cursor == null) {
+            return null;
+        }
+        if (cursor.date != null) {
+            throw new CustomParameterizedException("error.invalidCursor", value);
+        }
+        return cursor.id;
+    }
+
+    private static SeekCursor decodeParameter(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return decode(value);
+        } catch (IllegalArgumentException e) {
+            throw new CustomParameterizedException("error.invalidCursor", value);
+        }
+    }
+
+    public String encode() {
+        String value = date != null ? date.getEpochSecond() + ":" + date.getNano() + ":" + id : Long.toString(id);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the date, or null for a cursor of a list sorted by id only
+     */
+    public Instant getDate() {
+        return date;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    @Override
+    public String toString() {
+        return "SeekCursor{date=" + date + ", id=" + id + "}";
+    }
+}
@@ -0,0 +1,55 @@
+package com.arnellconsulting.worktajm.ms.web.rest.vm;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * View Model object for changing the level of several Logback loggers at once.
+ */
+public class LogLevelsVM {
+
+    private List<LoggerVM> loggers = new ArrayList<>();
+
+    private long timeToLiveSeconds;
+
+    private boolean clusterWide;
+
+    public List<LoggerVM> getLoggers() {
+        return loggers;
+    }
+
+    public void setLoggers(List<LoggerVM> loggers) {
+        this.loggers = loggers;
+    }
+
+    /**
+     * @return the delay before the previous levels are restored, 0 to keep the new levels
+     */
+    public long getTimeToLiveSeconds() {
+        return timeToLiveSeconds;
+    }
+
+    public void setTimeToLiveSeconds(long timeToLiveSeconds) {
+        this.timeToLiveSeconds = timeToLiveSeconds;
+    }
+
+    /**
+     * @return true to change the levels on all the instances of the application
+     */
+    public boolean isClusterWide() {
+        return clusterWide;
+    }
+
+    public void setClusterWide(boolean clusterWide) {
+        this.clusterWide = clusterWide;
+    }
+
+    @Override
+    public String toString() {
+        return "LogLevelsVM{" +
+            "loggers=" + loggers +
+            ", timeToLiveSeconds=" + timeToLiveSeconds +
+            ", clusterWide=" + clusterWide +
+            '}';
+    }
+}
@@ -0,0 +1,106 @@
+package com.arnellconsulting.worktajm.ms.aop.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.arnellconsulting.worktajm.ms.config.ApplicationProperties;
+import com.arnellconsulting.worktajm.ms.service.CacheWarmUpService;
+import com.arnellconsulting.worktajm.ms.web.rest.LogsResource;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.AspectJExpressionPointcut;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the LoggingAspect class.
+ *
+ * @see LoggingAspect
+ */
+public class LoggingAspectTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(LoggingAspect.class);
+
+    private Level level;
+
+    private LoggingAspect loggingAspect;
+
+    @Before
+    public void setup() {
+        level = logger.getLevel();
+        ApplicationProperties.Logging.Aspect properties = new ApplicationProperties.Logging.Aspect();
+        properties.setMaxCallsPerSecond(2);
+        properties.setMaxArgumentLength(5);
+        loggingAspect = new LoggingAspect(new MockEnvironment(), properties);
+    }
+
+    @After
+    public void teardown() {
+        logger.setLevel(level);
+    }
+
+    @Test
+    public void testPassThroughWhenDebugIsOff() throws Throwable {
+        logger.setLevel(Level.INFO);
+        MethodInvocation invocation = mock(MethodInvocation.class);
+        when(invocation.proceed()).thenReturn("result");
+
+        assertThat(loggingAspect.invoke(invocation)).isEqualTo("result");
+        verify(invocation).proceed();
+        verifyNoMoreInteractions(invocation);
+    }
+
+    @Test
+    public void testLoggingWhenDebugIsOn() throws Throwable {
+        logger.setLevel(Level.DEBUG);
+        MethodInvocation invocation = mock(MethodInvocation.class);
+        when(invocation.getMethod()).thenReturn(Object.class.getMethod("toString"));
+        when(invocation.getArguments()).thenReturn(new Object[] {"argument"});
+        when(invocation.proceed()).thenReturn("result");
+
+        assertThat(loggingAspect.invoke(invocation)).isEqualTo("result");
+        verify(invocation).getArguments();
+    }
+
+    @Test
+    public void testPointcut() {
+        AspectJExpressionPointcut pointcut = new AspectJExpressionPointcut();
+        pointcut.setExpression(LoggingAspect.LOGGING_POINTCUT);
+
+        assertThat(pointcut.matches(CacheWarmUpService.class)).isTrue();
+        assertThat(pointcut.matches(LogsResource.class)).isTrue();
+        assertThat(pointcut.matches(ApplicationProperties.class)).isFalse();
+    }
+
+    @Test
+    public void testRateLimit() {
+        assertThat(loggingAspect.acquire(10000)).isTrue();
+        assertThat(loggingAspect.acquire(10100)).isTrue();
+        assertThat(loggingAspect.acquire(10200)).isFalse();
+        assertThat(loggingAspect.acquire(10999)).isFalse();
+        assertThat(loggingAspect.acquire(11000)).isTrue();
+    }
+
+    @Test
+    public void testAbbreviate() {
+        assertThat(loggingAspect.abbreviate(null)).isEqualTo("null");
+        assertThat(loggingAspect.abbreviate("short")).isEqualTo("short");
+        assertThat(loggingAspect.abbreviate("too long")).isEqualTo("too l...");
+        assertThat(loggingAspect.abbreviate(new Object[] {1, "argument"})).isEqualTo("[1, argum...]");
+        assertThat(loggingAspect.abbreviate(new Object[] {Arrays.asList(1, 2)})).isEqualTo("[[1, 2]]");
+
+        List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            list.add(i);
+        }
+        assertThat(loggingAspect.abbreviate(list)).isEqualTo("[0, 1, 2, 3, 4, 5, 6, 7, 8, 9, ... 2 more]");
+    }
+}
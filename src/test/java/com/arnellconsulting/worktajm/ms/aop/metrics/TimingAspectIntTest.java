@@ -0,0 +1,40 @@
+package com.arnellconsulting.worktajm.ms.aop.metrics;
+
+import com.arnellconsulting.worktajm.ms.WorktajmMsApp;
+import com.arnellconsulting.worktajm.ms.repository.WorkerRepository;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the TimingAspect advice, applied to the application beans.
+ *
+ * @see TimingAspect
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = WorktajmMsApp.class, properties = "application.metrics.method-timing.enabled=true")
+public class TimingAspectIntTest {
+
+    @Autowired
+    private WorkerRepository workerRepository;
+
+    @Autowired
+    private MetricRegistry metricRegistry;
+
+    @Test
+    public void testRepositoryCallsAreTimed() {
+        workerRepository.count();
+
+        Timer timer = metricRegistry.getTimers().get(
+            MetricRegistry.name(TimingAspect.NAME_PREFIX, WorkerRepository.class.getName(), "count"));
+        assertThat(timer).isNotNull();
+        assertThat(timer.getCount()).isGreaterThanOrEqualTo(1);
+    }
+}
@@ -0,0 +1,86 @@
+package com.arnellconsulting.worktajm.ms.aop.metrics;
+
+import com.arnellconsulting.worktajm.ms.config.ApplicationProperties;
+import com.arnellconsulting.worktajm.ms.service.CacheWarmer;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the TimingAspect class.
+ *
+ * @see TimingAspect
+ */
+public class TimingAspectTest {
+
+    private MetricRegistry metricRegistry;
+
+    private TimingAspect timingAspect;
+
+    @Before
+    public void setup() {
+        metricRegistry = new MetricRegistry();
+        ApplicationProperties.Metrics.MethodTiming properties = new ApplicationProperties.Metrics.MethodTiming();
+        properties.setSlowCallThresholdMs(1);
+        timingAspect = new TimingAspect(metricRegistry, properties);
+    }
+
+    @Test
+    public void testCallsAreTimed() throws Throwable {
+        MethodInvocation invocation = mockInvocation();
+        when(invocation.proceed()).thenReturn("result");
+
+        assertThat(timingAspect.invoke(invocation)).isEqualTo("result");
+        assertThat(timingAspect.invoke(invocation)).isEqualTo("result");
+
+        Timer timer = metricRegistry.getTimers().get("methods.java.lang.StringBuilder.toString");
+        assertThat(timer).isNotNull();
+        assertThat(timer.getCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void testFailedAndSlowCallsAreTimed() throws Throwable {
+        MethodInvocation invocation = mockInvocation();
+        when(invocation.proceed()).thenAnswer(call -> {
+            Thread.sleep(5);
+            throw new IllegalStateException("test");
+        });
+
+        try {
+            timingAspect.invoke(invocation);
+            fail("The exception was not thrown");
+        } catch (IllegalStateException e) {
+            assertThat(e).hasMessage("test");
+        }
+
+        Timer timer = metricRegistry.getTimers().get("methods.java.lang.StringBuilder.toString");
+        assertThat(timer.getCount()).isEqualTo(1);
+        assertThat(timer.getSnapshot().getMax()).isGreaterThanOrEqualTo(5000000);
+    }
+
+    @Test
+    public void testComponentName() {
+        Object proxy = Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {Runnable.class, CacheWarmer.class},
+            (target, method, args) -> null);
+
+        assertThat(TimingAspect.getComponentName(proxy.getClass())).isEqualTo(CacheWarmer.class.getName());
+        assertThat(TimingAspect.getComponentName(TimingAspectTest.class)).isEqualTo(TimingAspectTest.class.getName());
+    }
+
+    private MethodInvocation mockInvocation() throws NoSuchMethodException {
+        MethodInvocation invocation = mock(MethodInvocation.class);
+        when(invocation.getThis()).thenReturn(new StringBuilder());
+        when(invocation.getMethod()).thenReturn(StringBuilder.class.getMethod("toString"));
+        return invocation;
+    }
+}
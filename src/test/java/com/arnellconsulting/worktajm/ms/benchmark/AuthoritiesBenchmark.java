@@ -0,0 +1,70 @@
+package com.arnellconsulting.worktajm.ms.benchmark;
+
+import com.arnellconsulting.worktajm.ms.security.AuthoritiesConstants;
+import com.arnellconsulting.worktajm.ms.security.AuthoritySet;
+import com.arnellconsulting.worktajm.ms.security.jwt.JWTAuthenticationToken;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares building a JWT authentication and checking its roles with per-request authority objects, as the
+ * TokenProvider used to do, and with the shared {@link AuthoritySet}.
+ *
+ * <p>
+ * Run it after "./mvnw test-compile" with the main method, or with
+ * "java -cp target/test-classes:&lt;test classpath&gt; org.openjdk.jmh.Main AuthoritiesBenchmark -prof gc"
+ * to also compare the allocation rates.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthoritiesBenchmark {
+
+    private static final String TOKEN = "header.payload.signature";
+
+    private final String claim = AuthoritiesConstants.USER + "," + AuthoritiesConstants.ADMIN;
+
+    @Benchmark
+    public boolean perRequestAuthorities() {
+        Collection<? extends GrantedAuthority> authorities =
+            Arrays.stream(claim.split(","))
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toList());
+        User principal = new User("user", "", authorities);
+        Authentication authentication = new UsernamePasswordAuthenticationToken(principal, TOKEN, authorities);
+        return authentication.getAuthorities().stream()
+            .anyMatch(grantedAuthority -> grantedAuthority.getAuthority().equals(AuthoritiesConstants.ADMIN));
+    }
+
+    @Benchmark
+    public boolean sharedAuthorities() {
+        AuthoritySet authorities = AuthoritySet.fromClaim(claim);
+        User principal = new User("user", "", authorities);
+        Authentication authentication = new JWTAuthenticationToken(principal, TOKEN, authorities);
+        return ((AuthoritySet) authentication.getAuthorities()).hasAuthority(AuthoritiesConstants.ADMIN);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(AuthoritiesBenchmark.class.getSimpleName())
+            .build())
+            .run();
+    }
+}
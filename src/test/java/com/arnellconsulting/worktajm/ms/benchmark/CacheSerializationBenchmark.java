@@ -0,0 +1,93 @@
+package com.arnellconsulting.worktajm.ms.benchmark;
+
+import com.arnellconsulting.worktajm.ms.config.cache.CacheSerializers;
+import com.arnellconsulting.worktajm.ms.domain.PersistentAuditEvent;
+
+import com.hazelcast.config.SerializationConfig;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.spi.serialization.SerializationService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a Hazelcast round trip of cached values with Java serialization, and with the
+ * {@link CacheSerializers}.
+ *
+ * <p>
+ * Run it after "./mvnw test-compile" with the main method, which also prints the serialized sizes, or with
+ * "java -cp target/test-classes:&lt;test classpath&gt; org.openjdk.jmh.Main CacheSerializationBenchmark -prof gc"
+ * to also compare the allocation rates.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheSerializationBenchmark {
+
+    @Param({"java", "compact"})
+    private String serialization;
+
+    private SerializationService serializationService;
+
+    private PersistentAuditEvent auditEvent;
+
+    private Instant instant;
+
+    @Setup
+    public void setup() {
+        serializationService = createSerializationService("compact".equals(serialization));
+        auditEvent = createAuditEvent();
+        instant = Instant.now();
+    }
+
+    @Benchmark
+    public Object auditEventRoundTrip() {
+        return serializationService.toObject(serializationService.toData(auditEvent));
+    }
+
+    @Benchmark
+    public Object instantRoundTrip() {
+        return serializationService.toObject(serializationService.toData(instant));
+    }
+
+    private static SerializationService createSerializationService(boolean compact) {
+        SerializationConfig serializationConfig = new SerializationConfig();
+        if (compact) {
+            CacheSerializers.register(serializationConfig);
+        }
+        return new DefaultSerializationServiceBuilder().setConfig(serializationConfig).build();
+    }
+
+    private static PersistentAuditEvent createAuditEvent() {
+        PersistentAuditEvent event = new PersistentAuditEvent();
+        event.setId(42L);
+        event.setPrincipal("admin");
+        event.setAuditEventDate(Instant.now());
+        event.setAuditEventType("AUTHENTICATION_SUCCESS");
+        event.getData().put("remoteAddress", "127.0.0.1");
+        event.getData().put("sessionId", "5E4B2F6A3C1D");
+        return event;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (boolean compact : new boolean[] {false, true}) {
+            SerializationService serializationService = createSerializationService(compact);
+            System.out.printf("%s serialization: audit event %d bytes, instant %d bytes%n",
+                compact ? "Compact" : "Java",
+                serializationService.toData(createAuditEvent()).totalSize(),
+                serializationService.toData(Instant.now()).totalSize());
+        }
+        new Runner(new OptionsBuilder()
+            .include(CacheSerializationBenchmark.class.getSimpleName())
+            .build())
+            .run();
+    }
+}
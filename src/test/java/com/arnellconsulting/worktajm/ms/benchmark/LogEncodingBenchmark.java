@@ -0,0 +1,95 @@
+package com.arnellconsulting.worktajm.ms.benchmark;
+
+import com.arnellconsulting.worktajm.ms.config.logging.StructuredJsonEncoder;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.encoder.Encoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import net.logstash.logback.encoder.LogstashEncoder;
+import net.logstash.logback.stacktrace.ShortenedThrowableConverter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the encoding of a logging event by the LogstashEncoder and by the {@link StructuredJsonEncoder}, with the
+ * static fields of the LoggingConfiguration.
+ *
+ * <p>
+ * Run it after "./mvnw test-compile" with the main method, or with
+ * "java -cp target/test-classes:&lt;test classpath&gt; org.openjdk.jmh.Main LogEncodingBenchmark -prof gc"
+ * to also compare the allocation rates.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LogEncodingBenchmark {
+
+    @Param({"logstash", "structured"})
+    private String encoding;
+
+    private Encoder<ILoggingEvent> encoder;
+
+    private final ByteArrayOutputStream outputStream = new ByteArrayOutputStream(4096);
+
+    private ILoggingEvent event;
+
+    @Setup
+    public void setup() throws IOException {
+        LoggerContext context = new LoggerContext();
+        Map<String, String> staticFields = new LinkedHashMap<>();
+        staticFields.put("app_name", "worktajmMs");
+        staticFields.put("app_port", "8081");
+        staticFields.put("instance_id", "worktajmMs:worktajmMs:8081");
+        if ("structured".equals(encoding)) {
+            StructuredJsonEncoder structuredEncoder = new StructuredJsonEncoder();
+            structuredEncoder.setStaticFields(staticFields);
+            structuredEncoder.setThrowableConverter(new ShortenedThrowableConverter());
+            encoder = structuredEncoder;
+        } else {
+            LogstashEncoder logstashEncoder = new LogstashEncoder();
+            logstashEncoder.setCustomFields("{\"app_name\":\"worktajmMs\",\"app_port\":\"8081\"," +
+                "\"instance_id\":\"worktajmMs:worktajmMs:8081\"}");
+            logstashEncoder.setThrowableConverter(new ShortenedThrowableConverter());
+            logstashEncoder.setImmediateFlush(false);
+            encoder = logstashEncoder;
+        }
+        encoder.setContext(context);
+        encoder.start();
+        encoder.init(outputStream);
+        Logger logger = context.getLogger("com.arnellconsulting.worktajm.ms.service.WorkLogService");
+        LoggingEvent loggingEvent = new LoggingEvent(Logger.class.getName(), logger, Level.INFO,
+            "Saved work log {} of worker {} in project {}", null, new Object[] {1234L, "worker-42", "Worktajm"});
+        loggingEvent.setThreadName("http-nio-8081-exec-7");
+        loggingEvent.prepareForDeferredProcessing();
+        event = loggingEvent;
+    }
+
+    @Benchmark
+    public int encode() throws IOException {
+        outputStream.reset();
+        encoder.doEncode(event);
+        return outputStream.size();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(LogEncodingBenchmark.class.getSimpleName())
+            .build())
+            .run();
+    }
+}
@@ -0,0 +1,83 @@
+package com.arnellconsulting.worktajm.ms.config;
+
+import io.github.jhipster.config.JHipsterProperties;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.MaxSizeConfig;
+import com.hazelcast.config.NearCacheConfig;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.beans.factory.config.YamlPropertiesFactoryBean;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.bind.RelaxedDataBinder;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the CacheConfiguration class.
+ *
+ * <p>
+ * The cache regions are read from the main application.yml, which is hidden by the test one on the classpath.
+ * </p>
+ *
+ * @see CacheConfiguration
+ */
+public class CacheConfigurationTest {
+
+    private static final String PROJECT_REGION = "com.arnellconsulting.worktajm.ms.domain.Project";
+
+    private JHipsterProperties jHipsterProperties;
+
+    private ApplicationProperties applicationProperties;
+
+    private CacheConfiguration cacheConfiguration;
+
+    @Before
+    public void setup() {
+        jHipsterProperties = new JHipsterProperties();
+        applicationProperties = new ApplicationProperties();
+        YamlPropertiesFactoryBean yaml = new YamlPropertiesFactoryBean();
+        yaml.setResources(new FileSystemResource("src/main/resources/config/application.yml"));
+        new RelaxedDataBinder(applicationProperties, "application").bind(new MutablePropertyValues(yaml.getObject()));
+        cacheConfiguration = new CacheConfiguration(new MockEnvironment(), new ServerProperties(), null);
+    }
+
+    @Test
+    public void testRegionsAreConfigured() {
+        Config config = cacheConfiguration.createHazelcastConfig(jHipsterProperties, applicationProperties);
+
+        assertThat(config.getMapConfigs()).containsKey(PROJECT_REGION);
+        assertThat(config.getMapConfigs().keySet()).filteredOn(name -> name.endsWith(".Organization")).isEmpty();
+    }
+
+    @Test
+    public void testProjectRegion() {
+        ApplicationProperties.Cache.Region region = applicationProperties.getCache().getRegions().stream()
+            .filter(candidate -> PROJECT_REGION.equals(candidate.getName()))
+            .findFirst()
+            .orElseThrow(IllegalStateException::new);
+
+        MapConfig mapConfig = cacheConfiguration.initializeRegionMapConfig(region, jHipsterProperties);
+
+        assertThat(mapConfig.getName()).isEqualTo(PROJECT_REGION);
+        assertThat(mapConfig.getTimeToLiveSeconds())
+            .isEqualTo(jHipsterProperties.getCache().getHazelcast().getTimeToLiveSeconds());
+        assertThat(mapConfig.getBackupCount()).isEqualTo(jHipsterProperties.getCache().getHazelcast().getBackupCount());
+        assertThat(mapConfig.getEvictionPolicy()).isEqualTo(EvictionPolicy.LRU);
+        assertThat(mapConfig.getMaxSizeConfig().getSize()).isEqualTo(10000);
+        assertThat(mapConfig.getMaxSizeConfig().getMaxSizePolicy()).isEqualTo(MaxSizeConfig.MaxSizePolicy.PER_NODE);
+
+        NearCacheConfig nearCacheConfig = mapConfig.getNearCacheConfig();
+        assertThat(nearCacheConfig).isNotNull();
+        assertThat(nearCacheConfig.isInvalidateOnChange()).isTrue();
+        assertThat(nearCacheConfig.getMaxSize()).isEqualTo(10000);
+        assertThat(nearCacheConfig.getInMemoryFormat()).isEqualTo(InMemoryFormat.OBJECT);
+        assertThat(nearCacheConfig.getEvictionPolicy()).isEqualTo(EvictionPolicy.LRU.name());
+    }
+}
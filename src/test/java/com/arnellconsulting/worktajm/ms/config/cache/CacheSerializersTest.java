@@ -0,0 +1,121 @@
+package com.arnellconsulting.worktajm.ms.config.cache;
+
+import com.arnellconsulting.worktajm.ms.domain.PersistentAuditEvent;
+import com.arnellconsulting.worktajm.ms.service.LogLevelChange;
+
+import com.hazelcast.config.SerializationConfig;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.serialization.SerializationService;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+/**
+ * Unit tests for the CacheSerializers class.
+ *
+ * @see CacheSerializers
+ */
+public class CacheSerializersTest {
+
+    private SerializationService serializationService;
+
+    private SerializationService javaSerializationService;
+
+    @Before
+    public void setup() {
+        SerializationConfig serializationConfig = new SerializationConfig();
+        CacheSerializers.register(serializationConfig);
+        serializationService = new DefaultSerializationServiceBuilder().setConfig(serializationConfig).build();
+        javaSerializationService = new DefaultSerializationServiceBuilder().build();
+    }
+
+    @Test
+    public void testJavaTimeRoundTrip() {
+        Instant instant = Instant.ofEpochSecond(1500000000L, 123456789);
+        ZonedDateTime dateTime = ZonedDateTime.of(2017, 7, 14, 10, 30, 0, 5, ZoneId.of("Europe/Stockholm"));
+        LocalDate date = LocalDate.of(2017, 7, 14);
+
+        assertThat(roundTrip(instant)).isEqualTo(instant);
+        assertThat(roundTrip(dateTime)).isEqualTo(dateTime);
+        assertThat(roundTrip(date)).isEqualTo(date);
+    }
+
+    @Test
+    public void testPersistentAuditEventRoundTrip() {
+        PersistentAuditEvent event = createAuditEvent();
+
+        PersistentAuditEvent copy = roundTrip(event);
+
+        assertThat(copy.getId()).isEqualTo(event.getId());
+        assertThat(copy.getPrincipal()).isEqualTo(event.getPrincipal());
+        assertThat(copy.getAuditEventDate()).isEqualTo(event.getAuditEventDate());
+        assertThat(copy.getAuditEventType()).isEqualTo(event.getAuditEventType());
+        assertThat(copy.getData()).isEqualTo(event.getData());
+    }
+
+    @Test
+    public void testPersistentAuditEventWithNullFields() {
+        PersistentAuditEvent event = new PersistentAuditEvent();
+        event.setData(null);
+
+        PersistentAuditEvent copy = roundTrip(event);
+
+        assertThat(copy.getId()).isNull();
+        assertThat(copy.getPrincipal()).isNull();
+        assertThat(copy.getAuditEventDate()).isNull();
+        assertThat(copy.getData()).isNull();
+    }
+
+    @Test
+    public void testLogLevelChangeRoundTrip() {
+        Map<String, String> levels = new LinkedHashMap<>();
+        levels.put("com.arnellconsulting", "DEBUG");
+        levels.put("org.hibernate", null);
+        LogLevelChange change = new LogLevelChange(UUID.randomUUID(), levels, 300);
+
+        LogLevelChange copy = roundTrip(change);
+
+        assertThat(copy.getOrigin()).isEqualTo(change.getOrigin());
+        assertThat(copy.getLevels()).containsExactly(
+            entry("com.arnellconsulting", "DEBUG"), entry("org.hibernate", null));
+        assertThat(copy.getTimeToLiveSeconds()).isEqualTo(300);
+    }
+
+    @Test
+    public void testSmallerThanJavaSerialization() {
+        PersistentAuditEvent event = createAuditEvent();
+        Instant instant = Instant.now();
+
+        assertThat(serializationService.toData(event).totalSize())
+            .isLessThan(javaSerializationService.toData(event).totalSize() / 2);
+        assertThat(serializationService.toData(instant).totalSize())
+            .isLessThan(javaSerializationService.toData(instant).totalSize() / 2);
+    }
+
+    private <T> T roundTrip(T object) {
+        Data data = serializationService.toData(object);
+        return serializationService.toObject(data);
+    }
+
+    static PersistentAuditEvent createAuditEvent() {
+        PersistentAuditEvent event = new PersistentAuditEvent();
+        event.setId(42L);
+        event.setPrincipal("admin");
+        event.setAuditEventDate(Instant.ofEpochSecond(1500000000L));
+        event.setAuditEventType("AUTHENTICATION_SUCCESS");
+        event.getData().put("remoteAddress", "127.0.0.1");
+        event.getData().put("sessionId", "5E4B2F6A3C1D");
+        return event;
+    }
+}
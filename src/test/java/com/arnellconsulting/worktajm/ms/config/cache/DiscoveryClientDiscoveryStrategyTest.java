@@ -0,0 +1,79 @@
+package com.arnellconsulting.worktajm.ms.config.cache;
+
+import com.codahale.metrics.MetricRegistry;
+import com.hazelcast.logging.Logger;
+import com.hazelcast.nio.Address;
+import com.hazelcast.spi.discovery.DiscoveryNode;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the DiscoveryClientDiscoveryStrategy class.
+ *
+ * @see DiscoveryClientDiscoveryStrategy
+ */
+public class DiscoveryClientDiscoveryStrategyTest {
+
+    private DiscoveryClient discoveryClient;
+
+    private MetricRegistry metricRegistry;
+
+    @Before
+    public void setup() {
+        discoveryClient = mock(DiscoveryClient.class);
+        metricRegistry = new MetricRegistry();
+        when(discoveryClient.getInstances("worktajmMs")).thenReturn(Arrays.asList(
+            new DefaultServiceInstance("worktajmMs", "127.0.0.2", 8081, false),
+            new DefaultServiceInstance("worktajmMs", "127.0.0.3", 8082, false)));
+    }
+
+    @Test
+    public void testDiscoversOneMemberPerHost() throws Exception {
+        assertThat(discoverAddresses(false)).containsExactly(
+            new Address("127.0.0.2", 5701), new Address("127.0.0.3", 5701));
+        assertThat(metricRegistry.timer("hazelcast.discovery.lookups").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testDiscoversLocalhostMembers() throws Exception {
+        assertThat(discoverAddresses(true)).containsExactly(
+            new Address("127.0.0.1", 8081 + 5701), new Address("127.0.0.1", 8082 + 5701));
+    }
+
+    @Test
+    public void testDiscoversEachTime() throws Exception {
+        discoverAddresses(false);
+        when(discoveryClient.getInstances("worktajmMs")).thenReturn(Arrays.asList(
+            new DefaultServiceInstance("worktajmMs", "127.0.0.4", 8081, false)));
+
+        assertThat(discoverAddresses(false)).containsExactly(new Address("127.0.0.4", 5701));
+    }
+
+    @Test
+    public void testDiscoveryServiceFailure() {
+        when(discoveryClient.getInstances("worktajmMs")).thenThrow(new IllegalStateException("unavailable"));
+
+        assertThat(discoverAddresses(false)).isEmpty();
+    }
+
+    private List<Address> discoverAddresses(boolean localhostOnly) {
+        DiscoveryClientDiscoveryStrategy strategy = new DiscoveryClientDiscoveryStrategy(
+            Logger.getLogger(DiscoveryClientDiscoveryStrategy.class), discoveryClient, "worktajmMs",
+            localhostOnly, metricRegistry);
+        List<Address> addresses = new ArrayList<>();
+        for (DiscoveryNode node : strategy.discoverNodes()) {
+            addresses.add(node.getPrivateAddress());
+        }
+        return addresses;
+    }
+}
@@ -0,0 +1,174 @@
+package com.arnellconsulting.worktajm.ms.config.cache;
+
+import com.arnellconsulting.worktajm.ms.config.ApplicationProperties;
+
+import com.codahale.metrics.MetricRegistry;
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.spring.cache.HazelcastCacheManager;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.cache.Cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Unit tests for the TwoLevelCacheManager class.
+ *
+ * <p>
+ * Two cache managers on the same Hazelcast instance stand for two members of a cluster.
+ * </p>
+ *
+ * @see TwoLevelCacheManager
+ */
+public class TwoLevelCacheManagerTest {
+
+    private HazelcastInstance hazelcastInstance;
+
+    private MetricRegistry metricRegistry;
+
+    private TwoLevelCacheManager cacheManager;
+
+    private TwoLevelCacheManager otherCacheManager;
+
+    @Before
+    public void setup() {
+        Config config = new Config();
+        config.setInstanceName("two-level-cache-test");
+        config.getGroupConfig().setName("two-level-cache-test");
+        config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(false);
+        CacheSerializers.register(config.getSerializationConfig());
+        hazelcastInstance = Hazelcast.newHazelcastInstance(config);
+
+        ApplicationProperties.Cache.Local properties = new ApplicationProperties.Cache.Local();
+        ApplicationProperties.Cache.LocalCache testCache = new ApplicationProperties.Cache.LocalCache();
+        testCache.setName("test");
+        testCache.setImmutable(true);
+        properties.getCaches().add(testCache);
+        ApplicationProperties.Cache.LocalCache smallCache = new ApplicationProperties.Cache.LocalCache();
+        smallCache.setName("small");
+        smallCache.setImmutable(true);
+        smallCache.setMaxSize(1L);
+        properties.getCaches().add(smallCache);
+        ApplicationProperties.Cache.LocalCache mutableCache = new ApplicationProperties.Cache.LocalCache();
+        mutableCache.setName("mutable");
+        properties.getCaches().add(mutableCache);
+        metricRegistry = new MetricRegistry();
+        cacheManager = new TwoLevelCacheManager(hazelcastInstance,
+            new HazelcastCacheManager(hazelcastInstance), properties, metricRegistry);
+        otherCacheManager = new TwoLevelCacheManager(hazelcastInstance,
+            new HazelcastCacheManager(hazelcastInstance), properties, null);
+    }
+
+    @After
+    public void destroy() {
+        hazelcastInstance.shutdown();
+    }
+
+    @Test
+    public void testReadsFromLocalCache() {
+        Cache cache = cacheManager.getCache("test");
+        cache.put("key", "value");
+        IMap<Object, Object> distributedCache = hazelcastInstance.getMap("test");
+        distributedCache.evict("key");
+
+        assertThat(cache.get("key", String.class)).isEqualTo("value");
+        assertThat(otherCacheManager.getCache("test").get("key")).isNull();
+    }
+
+    @Test
+    public void testReadsFromDistributedCacheOnMiss() {
+        cacheManager.getCache("test").put("key", "value");
+
+        assertThat(otherCacheManager.getCache("test").get("key", String.class)).isEqualTo("value");
+        assertThat(((TwoLevelCache) otherCacheManager.getCache("test")).getLocalCache().getIfPresent("key"))
+            .isNotNull();
+    }
+
+    @Test
+    public void testInvalidatesOtherMembers() {
+        Cache cache = cacheManager.getCache("test");
+        Cache otherCache = otherCacheManager.getCache("test");
+        cache.put("key", "value");
+        assertThat(otherCache.get("key", String.class)).isEqualTo("value");
+
+        cache.put("key", "new value");
+
+        await().atMost(5, TimeUnit.SECONDS)
+            .until(() -> "new value".equals(otherCache.get("key", String.class)));
+
+        cache.evict("key");
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> otherCache.get("key") == null);
+    }
+
+    @Test
+    public void testClearInvalidatesOtherMembers() {
+        Cache cache = cacheManager.getCache("test");
+        Cache otherCache = otherCacheManager.getCache("test");
+        cache.put("key", "value");
+        assertThat(otherCache.get("key", String.class)).isEqualTo("value");
+
+        cache.clear();
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> otherCache.get("key") == null);
+    }
+
+    @Test
+    public void testLoadsMissingValue() {
+        Cache cache = cacheManager.getCache("test");
+
+        assertThat(cache.get("key", () -> "loaded")).isEqualTo("loaded");
+        assertThat(cache.get("key", () -> "not loaded")).isEqualTo("loaded");
+        assertThat(otherCacheManager.getCache("test").get("key", String.class)).isEqualTo("loaded");
+    }
+
+    @Test
+    public void testMetrics() {
+        Cache cache = cacheManager.getCache("test");
+        cache.put("key", "value");
+        cache.get("key");
+        cache.get("key");
+        cache.get("missing");
+
+        assertThat(metricRegistry.getGauges().get("cache.local.test.hits").getValue()).isEqualTo(2L);
+        assertThat(metricRegistry.getGauges().get("cache.local.test.misses").getValue()).isEqualTo(1L);
+        assertThat(metricRegistry.getGauges().get("cache.local.test.size").getValue()).isEqualTo(1L);
+    }
+
+    @Test
+    public void testLocalCacheIsBounded() {
+        TwoLevelCache cache = (TwoLevelCache) cacheManager.getCache("small");
+        for (int i = 0; i < 10; i++) {
+            cache.put(i, "value " + i);
+        }
+        cache.getLocalCache().cleanUp();
+
+        assertThat(cache.getLocalCache().estimatedSize()).isEqualTo(1);
+        assertThat(cache.get(0, String.class)).isEqualTo("value 0");
+    }
+
+    @Test
+    public void testMutableCacheHasNoLocalCache() {
+        Cache cache = cacheManager.getCache("mutable");
+        List<String> value = new ArrayList<>();
+        value.add("value");
+        cache.put("key", value);
+        List<?> cachedValue = cache.get("key", List.class);
+        cachedValue.clear();
+
+        assertThat(cache).isNotInstanceOf(TwoLevelCache.class);
+        assertThat(cacheManager.getCache("undeclared")).isNotInstanceOf(TwoLevelCache.class);
+        List<?> readValue = cache.get("key", List.class);
+        assertThat(readValue).isEqualTo(Collections.singletonList("value"));
+    }
+}
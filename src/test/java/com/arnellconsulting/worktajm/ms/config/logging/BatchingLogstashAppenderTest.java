@@ -0,0 +1,174 @@
+package com.arnellconsulting.worktajm.ms.config.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.encoder.EncoderBase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the BatchingLogstashAppender class.
+ *
+ * @see BatchingLogstashAppender
+ */
+public class BatchingLogstashAppenderTest {
+
+    private final LoggerContext context = new LoggerContext();
+
+    private final Logger logger = context.getLogger(BatchingLogstashAppenderTest.class);
+
+    private final CountDownLatch encoding = new CountDownLatch(1);
+
+    private BatchingLogstashAppender appender;
+
+    @Before
+    public void setup() {
+        MessageEncoder encoder = new MessageEncoder();
+        encoder.setContext(context);
+        encoder.start();
+        appender = new BatchingLogstashAppender();
+        appender.setContext(context);
+        appender.setName("LOGSTASH");
+        appender.setHost("localhost");
+        appender.setEncoder(encoder);
+    }
+
+    @After
+    public void teardown() {
+        encoding.countDown();
+        appender.stop();
+    }
+
+    @Test
+    public void testUdp() throws Exception {
+        encoding.countDown();
+        try (DatagramSocket receiver = new DatagramSocket(0, InetAddress.getLoopbackAddress())) {
+            receiver.setSoTimeout(5000);
+            appender.setPort(receiver.getLocalPort());
+            appender.start();
+
+            appender.doAppend(event(Level.INFO, "first"));
+            appender.doAppend(event(Level.ERROR, "second"));
+
+            assertThat(receive(receiver)).isEqualTo("INFO first\n");
+            assertThat(receive(receiver)).isEqualTo("ERROR second\n");
+        }
+        assertThat(appender.getSentEvents()).isEqualTo(2);
+    }
+
+    @Test
+    public void testTcp() throws Exception {
+        encoding.countDown();
+        try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            server.setSoTimeout(5000);
+            appender.setPort(server.getLocalPort());
+            appender.setProtocol(BatchingLogstashAppender.Protocol.TCP);
+            appender.start();
+
+            for (int i = 0; i < 100; i++) {
+                appender.doAppend(event(Level.INFO, "event " + i));
+            }
+            try (Socket socket = server.accept()) {
+                socket.setSoTimeout(5000);
+                BufferedReader reader =
+                    new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                for (int i = 0; i < 100; i++) {
+                    assertThat(reader.readLine()).isEqualTo("INFO event " + i);
+                }
+            }
+        }
+        assertThat(appender.getSentEvents()).isEqualTo(100);
+    }
+
+    @Test
+    public void testDropPolicy() throws Exception {
+        appender.setPort(9);
+        appender.setQueueSize(8);
+        appender.setMaxBlockingMillis(10);
+        appender.start();
+
+        // The sender takes the first event, then waits in the encoder
+        appender.doAppend(event(Level.INFO, "taken"));
+        while (appender.getQueueDepth() > 0) {
+            Thread.sleep(1);
+        }
+
+        for (int i = 0; i < 5; i++) {
+            appender.doAppend(event(Level.DEBUG, "debug"));
+        }
+        assertThat(appender.getQueueDepth()).isEqualTo(4);
+        assertThat(appender.getDroppedEvents(Level.DEBUG)).isEqualTo(1);
+
+        for (int i = 0; i < 3; i++) {
+            appender.doAppend(event(Level.INFO, "info"));
+        }
+        assertThat(appender.getQueueDepth()).isEqualTo(6);
+        assertThat(appender.getDroppedEvents(Level.INFO)).isEqualTo(1);
+
+        for (int i = 0; i < 3; i++) {
+            appender.doAppend(event(Level.WARN, "warn"));
+        }
+        assertThat(appender.getQueueDepth()).isEqualTo(8);
+        assertThat(appender.getDroppedEvents(Level.WARN)).isEqualTo(1);
+
+        // ERROR events wait for the sender, which is still busy
+        appender.doAppend(event(Level.ERROR, "error"));
+        assertThat(appender.getDroppedEvents(Level.ERROR)).isEqualTo(1);
+
+        encoding.countDown();
+        while (appender.getQueueDepth() > 0) {
+            Thread.sleep(1);
+        }
+        appender.doAppend(event(Level.ERROR, "error"));
+        assertThat(appender.getDroppedEvents(Level.ERROR)).isEqualTo(1);
+    }
+
+    private ILoggingEvent event(Level level, String message) {
+        return new LoggingEvent(Logger.class.getName(), logger, level, message, null, null);
+    }
+
+    private static String receive(DatagramSocket receiver) throws IOException {
+        DatagramPacket packet = new DatagramPacket(new byte[1024], 1024);
+        receiver.receive(packet);
+        return new String(packet.getData(), 0, packet.getLength(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes the level and message of the events, once the encoding latch is released.
+     */
+    private class MessageEncoder extends EncoderBase<ILoggingEvent> {
+
+        @Override
+        public void doEncode(ILoggingEvent event) throws IOException {
+            try {
+                encoding.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            outputStream.write((event.getLevel() + " " + event.getFormattedMessage() + "\n")
+                .getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void close() {
+            // Nothing to do.
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.arnellconsulting.worktajm.ms.config.logging;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the RingBuffer class.
+ *
+ * @see RingBuffer
+ */
+public class RingBufferTest {
+
+    @Test
+    public void testCapacityIsRoundedUp() {
+        assertThat(new RingBuffer<>(1).capacity()).isEqualTo(1);
+        assertThat(new RingBuffer<>(512).capacity()).isEqualTo(512);
+        assertThat(new RingBuffer<>(513).capacity()).isEqualTo(1024);
+    }
+
+    @Test
+    public void testOfferAndPoll() {
+        RingBuffer<Integer> ringBuffer = new RingBuffer<>(4);
+        assertThat(ringBuffer.poll()).isNull();
+        for (int lap = 0; lap < 3; lap++) {
+            for (int i = 0; i < 4; i++) {
+                assertThat(ringBuffer.offer(i)).isTrue();
+            }
+            assertThat(ringBuffer.offer(4)).isFalse();
+            assertThat(ringBuffer.size()).isEqualTo(4);
+            for (int i = 0; i < 4; i++) {
+                assertThat(ringBuffer.poll()).isEqualTo(i);
+            }
+            assertThat(ringBuffer.poll()).isNull();
+            assertThat(ringBuffer.isEmpty()).isTrue();
+        }
+    }
+
+    @Test
+    public void testConcurrentProducers() throws Exception {
+        int producers = 4;
+        int elementsPerProducer = 100000;
+        RingBuffer<Integer> ringBuffer = new RingBuffer<>(64);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < elementsPerProducer; i++) {
+                    while (!ringBuffer.offer(producer * elementsPerProducer + i)) {
+                        Thread.yield();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+
+        int[] next = new int[producers];
+        int received = 0;
+        while (received < producers * elementsPerProducer) {
+            Integer element = ringBuffer.poll();
+            if (element == null) {
+                Thread.yield();
+                continue;
+            }
+            int producer = element / elementsPerProducer;
+            // Elements of a producer come out in order
+            assertThat(element % elementsPerProducer).isEqualTo(next[producer]++);
+            received++;
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertThat(ringBuffer.poll()).isNull();
+    }
+}
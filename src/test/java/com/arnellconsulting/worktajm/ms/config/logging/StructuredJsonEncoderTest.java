@@ -0,0 +1,122 @@
+package com.arnellconsulting.worktajm.ms.config.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.encoder.Encoder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import net.logstash.logback.encoder.LogstashEncoder;
+import net.logstash.logback.stacktrace.ShortenedThrowableConverter;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the StructuredJsonEncoder class.
+ *
+ * @see StructuredJsonEncoder
+ */
+public class StructuredJsonEncoderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final LoggerContext context = new LoggerContext();
+
+    private final Logger logger = context.getLogger("com.arnellconsulting.worktajm.ms.Test");
+
+    private final Map<String, String> staticFields = new LinkedHashMap<>();
+
+    private StructuredJsonEncoder encoder;
+
+    @Before
+    public void setup() {
+        context.putProperty("HOSTNAME", "test-host");
+        staticFields.put("app_name", "worktajmMs");
+        staticFields.put("app_port", "8081");
+        staticFields.put("instance_id", "worktajmMs:1");
+        encoder = new StructuredJsonEncoder();
+        encoder.setContext(context);
+        encoder.setStaticFields(staticFields);
+        encoder.setThrowableConverter(new ShortenedThrowableConverter());
+        encoder.start();
+    }
+
+    @Test
+    public void testSameFieldsAsLogstashEncoder() throws IOException {
+        LogstashEncoder logstashEncoder = new LogstashEncoder();
+        logstashEncoder.setContext(context);
+        logstashEncoder.setCustomFields(objectMapper.writeValueAsString(staticFields));
+        logstashEncoder.setThrowableConverter(new ShortenedThrowableConverter());
+        logstashEncoder.start();
+
+        LoggingEvent event = event(Level.WARN, "Quotes \" and \\, control \n\t\u0001, unicode \u00e9\u20ac\ud83d\ude00",
+            kv("durationMs", 1234), kv("component", "service"));
+        event.setThrowableProxy(new ch.qos.logback.classic.spi.ThrowableProxy(new IllegalStateException("test")));
+        event.setMDCPropertyMap(Collections.singletonMap("request_id", "abc"));
+
+        JsonNode expected = objectMapper.readTree(encode(logstashEncoder, event));
+        ObjectNode actual = (ObjectNode) objectMapper.readTree(encode(encoder, event));
+
+        // The structured arguments are only written by this encoder
+        assertThat(actual.remove("durationMs").asInt()).isEqualTo(1234);
+        assertThat(actual.remove("component").asText()).isEqualTo("service");
+        assertThat(actual).isEqualTo(expected);
+        assertThat(actual.get("message").asText()).endsWith("\u00e9\u20ac\ud83d\ude00");
+        assertThat(actual.get("HOSTNAME").asText()).isEqualTo("test-host");
+    }
+
+    @Test
+    public void testOneLinePerEvent() throws IOException {
+        String json = encode(encoder, event(Level.INFO, "multi\nline"));
+
+        assertThat(json).endsWith("}\n");
+        assertThat(json.indexOf('\n')).isEqualTo(json.length() - 1);
+    }
+
+    @Test
+    public void testTimestamp() throws IOException {
+        LoggingEvent event = event(Level.INFO, "message");
+        event.setTimeStamp(1500000000123L);
+
+        encoder.setZone(ZoneId.of("UTC"));
+        assertThat(field(event, "@timestamp")).isEqualTo("2017-07-14T02:40:00.123+00:00");
+        encoder.setZone(ZoneId.of("Europe/Stockholm"));
+        assertThat(field(event, "@timestamp")).isEqualTo("2017-07-14T04:40:00.123+02:00");
+        event.setTimeStamp(1500000001007L);
+        assertThat(field(event, "@timestamp")).isEqualTo("2017-07-14T04:40:01.007+02:00");
+        event.setTimeStamp(-1L);
+        encoder.setZone(ZoneId.of("UTC"));
+        assertThat(field(event, "@timestamp")).isEqualTo("1969-12-31T23:59:59.999+00:00");
+    }
+
+    private String field(ILoggingEvent event, String name) throws IOException {
+        return objectMapper.readTree(encode(encoder, event)).get(name).asText();
+    }
+
+    private LoggingEvent event(Level level, String message, Object... arguments) {
+        LoggingEvent event = new LoggingEvent(Logger.class.getName(), logger, level, message, null, arguments);
+        event.setThreadName("thread \"1\"");
+        return event;
+    }
+
+    private static String encode(Encoder<ILoggingEvent> encoder, ILoggingEvent event) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        encoder.init(outputStream);
+        encoder.doEncode(event);
+        return new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,91 @@
+package com.arnellconsulting.worktajm.ms.config.metrics;
+
+import com.codahale.metrics.Clock;
+import com.codahale.metrics.Snapshot;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Unit tests for the HdrHistogramReservoir class.
+ *
+ * @see HdrHistogramReservoir
+ */
+public class HdrHistogramReservoirTest {
+
+    private long tick;
+
+    private HdrHistogramReservoir reservoir;
+
+    @Before
+    public void setup() {
+        Clock clock = new Clock() {
+
+            @Override
+            public long getTick() {
+                return tick;
+            }
+        };
+        reservoir = new HdrHistogramReservoir(1, TimeUnit.MINUTES, clock);
+    }
+
+    @Test
+    public void testPercentiles() {
+        for (int i = 1; i <= 1000; i++) {
+            reservoir.update(i * 1000L);
+        }
+
+        Snapshot snapshot = reservoir.getSnapshot();
+
+        assertThat(snapshot.size()).isEqualTo(1000);
+        assertThat(snapshot.getMin()).isEqualTo(1000);
+        assertThat((double) snapshot.getMax()).isCloseTo(1000000, within(10000.0));
+        assertThat(snapshot.getMedian()).isCloseTo(500000, within(5000.0));
+        assertThat(snapshot.get95thPercentile()).isCloseTo(950000, within(9500.0));
+        assertThat(snapshot.get99thPercentile()).isCloseTo(990000, within(9900.0));
+        assertThat(snapshot.get999thPercentile()).isCloseTo(999000, within(9990.0));
+    }
+
+    @Test
+    public void testEmptySnapshot() {
+        Snapshot snapshot = reservoir.getSnapshot();
+
+        assertThat(snapshot.size()).isEqualTo(0);
+        assertThat(snapshot.getMax()).isEqualTo(0);
+        assertThat(snapshot.getMean()).isEqualTo(0.0);
+        assertThat(snapshot.get99thPercentile()).isEqualTo(0.0);
+        assertThat(snapshot.getValues()).isEmpty();
+    }
+
+    @Test
+    public void testSnapshotsCoverTwoWindows() {
+        reservoir.update(100);
+        assertThat(reservoir.getSnapshot().size()).isEqualTo(1);
+
+        tick += TimeUnit.SECONDS.toNanos(61);
+        reservoir.update(200);
+        assertThat(reservoir.getSnapshot().size()).isEqualTo(2);
+
+        tick += TimeUnit.SECONDS.toNanos(61);
+        Snapshot snapshot = reservoir.getSnapshot();
+        assertThat(snapshot.size()).isEqualTo(1);
+        assertThat(snapshot.getMin()).isEqualTo(200);
+
+        tick += TimeUnit.SECONDS.toNanos(150);
+        assertThat(reservoir.getSnapshot().size()).isEqualTo(0);
+    }
+
+    @Test
+    public void testValuesAreDistinct() {
+        reservoir.update(10);
+        reservoir.update(10);
+        reservoir.update(20);
+        reservoir.update(-1);
+
+        assertThat(reservoir.getSnapshot().getValues()).containsExactly(10, 20);
+    }
+}
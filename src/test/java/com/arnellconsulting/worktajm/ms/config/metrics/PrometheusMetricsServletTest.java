@@ -0,0 +1,93 @@
+package com.arnellconsulting.worktajm.ms.config.metrics;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the PrometheusMetricsServlet class.
+ *
+ * @see PrometheusMetricsServlet
+ */
+public class PrometheusMetricsServletTest {
+
+    private MetricRegistry metricRegistry;
+
+    private PrometheusMetricsServlet servlet;
+
+    @Before
+    public void setup() {
+        metricRegistry = new MetricRegistry();
+        servlet = new PrometheusMetricsServlet(metricRegistry);
+    }
+
+    @Test
+    public void testGaugesAndCounters() throws Exception {
+        metricRegistry.register("jvm.memory.heap.used", (Gauge<Long>) () -> 1024L);
+        metricRegistry.register("cache.hit-ratio", (Gauge<Double>) () -> 0.25);
+        metricRegistry.register("not.a.number", (Gauge<String>) () -> "text");
+        metricRegistry.counter("security.jwt.rejected.expired").inc(3);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        servlet.doGet(new MockHttpServletRequest(), response);
+
+        assertThat(response.getContentType()).isEqualTo(PrometheusMetricsServlet.CONTENT_TYPE);
+        assertThat(response.getContentAsString())
+            .contains("# TYPE jvm_memory_heap_used gauge\njvm_memory_heap_used 1024\n")
+            .contains("# TYPE cache_hit_ratio gauge\ncache_hit_ratio 0.25\n")
+            .contains("# TYPE security_jwt_rejected_expired gauge\nsecurity_jwt_rejected_expired 3\n")
+            .doesNotContain("not_a_number");
+    }
+
+    @Test
+    public void testMetersAndTimers() throws Exception {
+        metricRegistry.meter("requests").mark(5);
+        metricRegistry.timer("web.routes.GET./api/work-logs/{id}").update(2, TimeUnit.SECONDS);
+        metricRegistry.histogram("sizes").update(10);
+
+        String output = write();
+
+        assertThat(output)
+            .contains("# TYPE requests_total counter\nrequests_total 5\n")
+            .contains("# TYPE web_routes_GET__api_work_logs__id_ summary\n")
+            .contains("web_routes_GET__api_work_logs__id_{quantile=\"0.5\"} 2\n")
+            .contains("web_routes_GET__api_work_logs__id_{quantile=\"0.999\"} 2\n")
+            .contains("web_routes_GET__api_work_logs__id__count 1\n")
+            .contains("sizes{quantile=\"0.99\"} 10\n")
+            .contains("sizes_count 1\n");
+    }
+
+    @Test
+    public void testWritesLargeRegistriesInChunks() throws Exception {
+        for (int i = 0; i < 2000; i++) {
+            metricRegistry.counter("counter." + i).inc(i);
+        }
+
+        String output = write();
+
+        assertThat(output).contains("counter_0 0\n").contains("counter_1999 1999\n");
+        assertThat(output.split("\n")).hasSize(4000);
+        assertThat(write()).isEqualTo(output);
+    }
+
+    @Test
+    public void testSanitize() {
+        assertThat(PrometheusMetricsServlet.sanitize("jvm.memory.heap-used")).isEqualTo("jvm_memory_heap_used");
+        assertThat(PrometheusMetricsServlet.sanitize("1xx")).isEqualTo("_1xx");
+        assertThat(PrometheusMetricsServlet.sanitize("a:b_c")).isEqualTo("a:b_c");
+    }
+
+    private String write() throws Exception {
+        StringWriter writer = new StringWriter();
+        servlet.write(writer);
+        return writer.toString();
+    }
+}
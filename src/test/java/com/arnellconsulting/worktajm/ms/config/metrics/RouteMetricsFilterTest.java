@@ -0,0 +1,103 @@
+package com.arnellconsulting.worktajm.ms.config.metrics;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.ServletException;
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the RouteMetricsFilter class.
+ *
+ * @see RouteMetricsFilter
+ */
+public class RouteMetricsFilterTest {
+
+    private MetricRegistry metricRegistry;
+
+    private RouteMetricsFilter filter;
+
+    @Before
+    public void setup() {
+        metricRegistry = new MetricRegistry();
+        filter = new RouteMetricsFilter(metricRegistry);
+    }
+
+    @Test
+    public void testTimesEachRoute() throws IOException, ServletException {
+        handle("GET", "/api/work-logs/1", "/api/work-logs/{id}", 200);
+        handle("GET", "/api/work-logs/2", "/api/work-logs/{id}", 200);
+        handle("DELETE", "/api/work-logs/2", "/api/work-logs/{id}", 200);
+        handle("GET", "/missing", null, 404);
+
+        assertThat(routeTimer("GET", "/api/work-logs/{id}").getCount()).isEqualTo(2);
+        assertThat(routeTimer("DELETE", "/api/work-logs/{id}").getCount()).isEqualTo(1);
+        assertThat(routeTimer("GET", RouteMetricsFilter.UNMATCHED_ROUTE).getCount()).isEqualTo(1);
+        assertThat(routeTimer("GET", "/api/work-logs/{id}").getSnapshot()).isInstanceOf(HdrHistogramSnapshot.class);
+    }
+
+    @Test
+    public void testKeepsInstrumentedFilterMetrics() throws IOException, ServletException {
+        handle("GET", "/api/work-logs/1", "/api/work-logs/{id}", 200);
+        handle("GET", "/missing", null, 404);
+        handle("GET", "/teapot", null, 418);
+
+        assertThat(metricRegistry.timer(RouteMetricsFilter.NAME_PREFIX + ".requests").getCount()).isEqualTo(3);
+        assertThat(metricRegistry.meter(RouteMetricsFilter.NAME_PREFIX + ".responseCodes.ok").getCount())
+            .isEqualTo(1);
+        assertThat(metricRegistry.meter(RouteMetricsFilter.NAME_PREFIX + ".responseCodes.notFound").getCount())
+            .isEqualTo(1);
+        assertThat(metricRegistry.meter(RouteMetricsFilter.NAME_PREFIX + ".responseCodes.other").getCount())
+            .isEqualTo(1);
+        assertThat(metricRegistry.counter(RouteMetricsFilter.NAME_PREFIX + ".activeRequests").getCount())
+            .isEqualTo(0);
+    }
+
+    @Test
+    public void testTimesForwardedRequestOnce() throws IOException, ServletException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/work-logs");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/work-logs");
+            filter.doFilter(req, res, new MockFilterChain());
+        });
+
+        assertThat(routeTimer("GET", "/api/work-logs").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testBoundsTheNumberOfRoutes() throws IOException, ServletException {
+        for (int i = 0; i < RouteMetricsFilter.MAX_ROUTES + 10; i++) {
+            handle("GET", "/api/" + i, "/api/" + i, 200);
+        }
+
+        assertThat(metricRegistry.getTimers().keySet().stream().filter(name ->
+            name.startsWith(RouteMetricsFilter.ROUTES_PREFIX))).hasSize(RouteMetricsFilter.MAX_ROUTES + 1);
+        assertThat(metricRegistry.timer(RouteMetricsFilter.ROUTES_PREFIX + "." + RouteMetricsFilter.OTHER_ROUTE)
+            .getCount()).isEqualTo(10);
+    }
+
+    private void handle(String method, String uri, String pattern, int status) throws IOException, ServletException {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, (req, res) -> {
+            if (pattern != null) {
+                req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+            }
+            response.setStatus(status);
+        });
+    }
+
+    private Timer routeTimer(String method, String route) {
+        return metricRegistry.getTimers().get(MetricRegistry.name(RouteMetricsFilter.ROUTES_PREFIX, method, route));
+    }
+}
@@ -0,0 +1,166 @@
+package com.arnellconsulting.worktajm.ms.repository;
+
+import com.arnellconsulting.worktajm.ms.domain.PersistentAuditEvent;
+
+import liquibase.changelog.ChangeLogParameters;
+import liquibase.changelog.ChangeSet;
+import liquibase.changelog.DatabaseChangeLog;
+import liquibase.database.Database;
+import liquibase.database.DatabaseFactory;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.parser.ChangeLogParserFactory;
+import liquibase.resource.ClassLoaderResourceAccessor;
+import liquibase.resource.ResourceAccessor;
+import org.hibernate.id.IdentifierGeneratorHelper;
+import org.hibernate.id.IntegralDataTypeHolder;
+import org.hibernate.id.enhanced.AccessCallback;
+import org.hibernate.id.enhanced.Optimizer;
+import org.hibernate.id.enhanced.OptimizerFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.persistence.SequenceGenerator;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the changelog creating the id sequence of the {@link PersistentAuditEvent} entity.
+ *
+ * <p>
+ * The changesets are run on a database which already has audit events, then the first ids are allocated by the
+ * Hibernate optimizer used for the entity.
+ * </p>
+ */
+public class AuditEventSequenceTest {
+
+    private static final String CHANGELOG = "config/liquibase/changelog/20261018000000_audit_event_sequence.xml";
+
+    private static final long EXISTING_EVENTS = 120;
+
+    private Connection connection;
+
+    private Database database;
+
+    private DatabaseChangeLog changeLog;
+
+    @Before
+    public void setup() throws Exception {
+        connection = DriverManager.getConnection("jdbc:h2:mem:audit-event-sequence-test");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table jhi_persistent_audit_event (event_id bigint primary key)");
+            for (long id = 1; id <= EXISTING_EVENTS; id++) {
+                statement.execute("insert into jhi_persistent_audit_event (event_id) values (" + id + ")");
+            }
+        }
+        database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(new JdbcConnection(connection));
+        ResourceAccessor resourceAccessor = new ClassLoaderResourceAccessor();
+        changeLog = ChangeLogParserFactory.getInstance().getParser(CHANGELOG, resourceAccessor)
+            .parse(CHANGELOG, new ChangeLogParameters(database), resourceAccessor);
+    }
+
+    @After
+    public void destroy() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop all objects");
+        }
+        connection.close();
+    }
+
+    @Test
+    public void testSequenceStartsAfterExistingEvents() throws Exception {
+        execute("20261018000000-1");
+
+        Optimizer optimizer = createOptimizer();
+        AccessCallback callback = callback("select jhi_persistent_audit_event_seq.nextval");
+
+        assertThat(optimizer.generate(callback)).isEqualTo(EXISTING_EVENTS + 1);
+        for (int i = 1; i < getAllocationSize(); i++) {
+            optimizer.generate(callback);
+        }
+        assertThat(optimizer.generate(callback)).isEqualTo(EXISTING_EVENTS + getAllocationSize() + 1);
+    }
+
+    @Test
+    public void testTableStartsAfterExistingEvents() throws Exception {
+        // The MySQL changeset, which runs on H2 too
+        execute("20261018000000-2");
+
+        Optimizer optimizer = createOptimizer();
+        AccessCallback callback = new AccessCallback() {
+
+            @Override
+            public IntegralDataTypeHolder getNextValue() {
+                // As the Hibernate TableStructure, read the value then increment it
+                IntegralDataTypeHolder value = select("select next_val from jhi_persistent_audit_event_seq");
+                update("update jhi_persistent_audit_event_seq set next_val = next_val + " + getAllocationSize());
+                return value;
+            }
+
+            @Override
+            public String getTenantIdentifier() {
+                return null;
+            }
+        };
+
+        assertThat(optimizer.generate(callback)).isEqualTo(EXISTING_EVENTS + 1);
+    }
+
+    private void execute(String changeSetId) throws Exception {
+        for (ChangeSet changeSet : changeLog.getChangeSets()) {
+            if (changeSet.getId().equals(changeSetId)) {
+                changeSet.execute(changeLog, database);
+            }
+        }
+    }
+
+    private Optimizer createOptimizer() {
+        return OptimizerFactory.buildOptimizer(OptimizerFactory.POOL, Long.class, getAllocationSize(), 1);
+    }
+
+    private int getAllocationSize() {
+        try {
+            return PersistentAuditEvent.class.getDeclaredField("id").getAnnotation(SequenceGenerator.class)
+                .allocationSize();
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private AccessCallback callback(String sql) {
+        return new AccessCallback() {
+
+            @Override
+            public IntegralDataTypeHolder getNextValue() {
+                return select(sql);
+            }
+
+            @Override
+            public String getTenantIdentifier() {
+                return null;
+            }
+        };
+    }
+
+    private IntegralDataTypeHolder select(String sql) {
+        try (Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return IdentifierGeneratorHelper.getIntegralDataTypeHolder(Long.class).initialize(resultSet.getLong(1));
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void update(String sql) {
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate(sql);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.arnellconsulting.worktajm.ms.repository;
+
+import com.arnellconsulting.worktajm.ms.WorktajmMsApp;
+import com.arnellconsulting.worktajm.ms.config.Constants;
+import com.arnellconsulting.worktajm.ms.config.audit.AuditEventWriter;
+import com.arnellconsulting.worktajm.ms.domain.PersistentAuditEvent;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.audit.AuditEvent;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.arnellconsulting.worktajm.ms.repository.CustomAuditEventRepository.EVENT_DATA_COLUMN_MAX_LENGTH;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the CustomAuditEventRepository class.
+ *
+ * @see CustomAuditEventRepository
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = WorktajmMsApp.class)
+public class CustomAuditEventRepositoryIntTest {
+
+    @Autowired
+    private PersistenceAuditEventRepository persistenceAuditEventRepository;
+
+    @Autowired
+    private CustomAuditEventRepository customAuditEventRepository;
+
+    @Autowired
+    private AuditEventWriter auditEventWriter;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Before
+    @After
+    public void cleanup() {
+        auditEventWriter.flush();
+        persistenceAuditEventRepository.deleteAll();
+    }
+
+    @Test
+    public void addAuditEvent() {
+        Map<String, Object> data = new HashMap<>();
+        data.put("test-key", "test-value");
+        AuditEvent event = new AuditEvent("test-user", "test-type", data);
+
+        customAuditEventRepository.add(event);
+        auditEventWriter.flush();
+
+        List<PersistentAuditEvent> persistentAuditEvents = persistenceAuditEventRepository.findAll();
+        assertThat(persistentAuditEvents).hasSize(1);
+        PersistentAuditEvent persistentAuditEvent = persistentAuditEvents.get(0);
+        assertThat(persistentAuditEvent.getPrincipal()).isEqualTo(event.getPrincipal());
+        assertThat(persistentAuditEvent.getAuditEventType()).isEqualTo(event.getType());
+        assertThat(persistentAuditEvent.getAuditEventDate()).isEqualTo(event.getTimestamp().toInstant());
+        String value = transactionTemplate.execute(status ->
+            persistenceAuditEventRepository.findOne(persistentAuditEvent.getId()).getData().get("test-key"));
+        assertThat(value).isEqualTo("test-value");
+    }
+
+    @Test
+    public void addAuditEventsInBatches() {
+        for (int i = 0; i < 250; i++) {
+            customAuditEventRepository.add(new AuditEvent("test-user", "test-type", "index=" + i));
+        }
+        auditEventWriter.flush();
+
+        assertThat(auditEventWriter.getQueueDepth()).isZero();
+        assertThat(persistenceAuditEventRepository.count()).isEqualTo(250);
+        List<AuditEvent> auditEvents = customAuditEventRepository.find("test-user",
+            Date.from(Instant.now().minus(1, ChronoUnit.HOURS)), "test-type");
+        assertThat(auditEvents).hasSize(250);
+    }
+
+    @Test
+    public void addAuditEventTruncateLargeData() {
+        Map<String, Object> data = new HashMap<>();
+        StringBuilder largeData = new StringBuilder();
+        for (int i = 0; i < EVENT_DATA_COLUMN_MAX_LENGTH + 10; i++) {
+            largeData.append("a");
+        }
+        data.put("test-key", largeData);
+        customAuditEventRepository.add(new AuditEvent("test-user", "test-type", data));
+        auditEventWriter.flush();
+
+        List<PersistentAuditEvent> persistentAuditEvents = persistenceAuditEventRepository.findAll();
+        assertThat(persistentAuditEvents).hasSize(1);
+        String value = transactionTemplate.execute(status ->
+            persistenceAuditEventRepository.findOne(persistentAuditEvents.get(0).getId()).getData().get("test-key"));
+        assertThat(value).hasSize(EVENT_DATA_COLUMN_MAX_LENGTH);
+    }
+
+    @Test
+    public void addAuditEventWithAnonymousUser() {
+        customAuditEventRepository.add(new AuditEvent(Constants.ANONYMOUS_USER, "test-type", new HashMap<>()));
+        auditEventWriter.flush();
+
+        assertThat(persistenceAuditEventRepository.count()).isZero();
+    }
+
+    @Test
+    public void addAuditEventWithAuthorizationFailureType() {
+        customAuditEventRepository.add(new AuditEvent("test-user", "AUTHORIZATION_FAILURE", new HashMap<>()));
+        auditEventWriter.flush();
+
+        assertThat(persistenceAuditEventRepository.count()).isZero();
+    }
+}
@@ -0,0 +1,99 @@
+package com.arnellconsulting.worktajm.ms.security.jwt;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the TokenPreValidator class.
+ *
+ * @see TokenPreValidator
+ */
+public class TokenPreValidatorTest {
+
+    private static final long NOW = 1500000000000L;
+
+    private static final String HEADER = encode("{\"alg\":\"HS512\"}");
+
+    @Test
+    public void testValidToken() {
+        String token = Jwts.builder()
+            .setSubject("test-user")
+            .signWith(SignatureAlgorithm.HS512, "secret")
+            .setExpiration(new Date(NOW + 60000))
+            .compact();
+
+        assertThat(TokenPreValidator.check("Bearer " + token, 7, NOW)).isNull();
+    }
+
+    @Test
+    public void testExpiredToken() {
+        String token = Jwts.builder()
+            .setSubject("test-user")
+            .signWith(SignatureAlgorithm.HS512, "secret")
+            .setExpiration(new Date(NOW - 1000))
+            .compact();
+
+        assertThat(TokenPreValidator.check(token, 0, NOW)).isEqualTo(TokenRejection.EXPIRED);
+    }
+
+    @Test
+    public void testTokenWithoutExpiration() {
+        assertThat(check("{\"sub\":\"test-user\"}")).isNull();
+    }
+
+    @Test
+    public void testFractionalExpiration() {
+        assertThat(check("{\"exp\":1500000000.2}")).isNull();
+        assertThat(check("{\"exp\":1499999998.2}")).isEqualTo(TokenRejection.EXPIRED);
+    }
+
+    @Test
+    public void testOnlyTopLevelExpirationIsRead() {
+        assertThat(check("{\"sub\":\"exp\",\"nested\":{\"exp\":1},\"exp\" : 1500000060}")).isNull();
+        assertThat(check("{\"sub\":\"exp\"}")).isNull();
+        assertThat(check("{\"e\\\"xp\":1,\"exp\":\"1\"}")).isNull();
+    }
+
+    @Test
+    public void testMalformedTokens() {
+        assertThat(TokenPreValidator.check("", 0, NOW)).isEqualTo(TokenRejection.MALFORMED);
+        assertThat(TokenPreValidator.check("not-a-token", 0, NOW)).isEqualTo(TokenRejection.MALFORMED);
+        assertThat(TokenPreValidator.check("a.b.c.d", 0, NOW)).isEqualTo(TokenRejection.MALFORMED);
+        assertThat(TokenPreValidator.check(".b.c", 0, NOW)).isEqualTo(TokenRejection.MALFORMED);
+        assertThat(TokenPreValidator.check("a..c", 0, NOW)).isEqualTo(TokenRejection.MALFORMED);
+        assertThat(TokenPreValidator.check("a!.b.c", 0, NOW)).isEqualTo(TokenRejection.MALFORMED);
+        assertThat(check("[\"exp\"]")).isEqualTo(TokenRejection.MALFORMED);
+    }
+
+    @Test
+    public void testUnsignedToken() {
+        assertThat(TokenPreValidator.check(HEADER + "." + encode("{}") + ".", 0, NOW))
+            .isEqualTo(TokenRejection.UNSIGNED);
+    }
+
+    @Test
+    public void testTooLongToken() {
+        StringBuilder payload = new StringBuilder("{\"sub\":\"");
+        for (int i = 0; i < TokenPreValidator.MAX_TOKEN_LENGTH; i++) {
+            payload.append('a');
+        }
+        payload.append("\"}");
+
+        assertThat(check(payload.toString())).isEqualTo(TokenRejection.TOO_LONG);
+    }
+
+    private TokenRejection check(String claims) {
+        return TokenPreValidator.check(HEADER + "." + encode(claims) + ".c2lnbmF0dXJl", 0, NOW);
+    }
+
+    private static String encode(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,256 @@
+package com.arnellconsulting.worktajm.ms.security.jwt;
+
+import com.arnellconsulting.worktajm.ms.config.ApplicationProperties;
+import com.arnellconsulting.worktajm.ms.security.AuthoritiesConstants;
+import com.arnellconsulting.worktajm.ms.security.AuthoritySet;
+
+import io.github.jhipster.config.JHipsterProperties;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the TokenProvider class.
+ *
+ * @see TokenProvider
+ */
+public class TokenProviderTest {
+
+    private static final String SECRET = "e5c9ee274ae87bc031adda32e27fa98b9290da83";
+
+    private JHipsterProperties jHipsterProperties;
+
+    private ApplicationProperties applicationProperties;
+
+    private TokenProvider tokenProvider;
+
+    private File jwksFile;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Before
+    public void setup() {
+        jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getSecurity().getAuthentication().getJwt().setSecret(SECRET);
+        jHipsterProperties.getSecurity().getAuthentication().getJwt().setTokenValidityInSeconds(60);
+        applicationProperties = new ApplicationProperties();
+        tokenProvider = new TokenProvider(jHipsterProperties, applicationProperties);
+        tokenProvider.init();
+    }
+
+    @Test
+    public void testValidTokenIsVerifiedOnce() {
+        String token = tokenProvider.createToken(createAuthentication(), false);
+
+        Authentication authentication = tokenProvider.resolveAuthentication(token).get();
+
+        assertThat(authentication.getName()).isEqualTo("test-user");
+        assertThat(authentication.getCredentials()).isEqualTo(token);
+        assertThat(authentication.getAuthorities()).extracting("authority").containsExactly(AuthoritiesConstants.USER);
+        assertThat(getCache().size()).isEqualTo(1);
+
+        Authentication cachedAuthentication = tokenProvider.resolveAuthentication(token).get();
+        assertThat(cachedAuthentication).isNotSameAs(authentication);
+        assertThat(cachedAuthentication.getPrincipal()).isSameAs(authentication.getPrincipal());
+        assertThat(cachedAuthentication.getAuthorities()).isSameAs(authentication.getAuthorities());
+        assertThat(getCache().size()).isEqualTo(1);
+    }
+
+    @Test
+    public void testCachedAuthenticationIsNotShared() {
+        String token = tokenProvider.createToken(createAuthentication(), false);
+        Authentication authentication = tokenProvider.resolveAuthentication(token).get();
+
+        authentication.setAuthenticated(false);
+        ((CredentialsContainer) authentication).eraseCredentials();
+
+        Authentication cachedAuthentication = tokenProvider.resolveAuthentication(token).get();
+        assertThat(cachedAuthentication.isAuthenticated()).isTrue();
+        assertThat(cachedAuthentication.getCredentials()).isEqualTo(token);
+    }
+
+    @Test
+    public void testAuthoritiesAreShared() {
+        Authentication first = resolve(tokenProvider, tokenProvider.createToken(createAuthentication(), false));
+        Authentication second = resolve(tokenProvider, tokenProvider.createToken(createAuthentication(), true));
+
+        assertThat(first).isNotSameAs(second);
+        assertThat(first.getAuthorities()).isInstanceOf(AuthoritySet.class).isSameAs(second.getAuthorities());
+        assertThat(((AuthoritySet) first.getAuthorities()).hasAuthority(AuthoritiesConstants.USER)).isTrue();
+        assertThat(((AuthoritySet) first.getAuthorities()).hasAuthority(AuthoritiesConstants.ADMIN)).isFalse();
+    }
+
+    @Test
+    public void testInvalidSignatureIsNotCached() {
+        String token = Jwts.builder()
+            .setSubject("test-user")
+            .claim("auth", AuthoritiesConstants.USER)
+            .signWith(SignatureAlgorithm.HS512, "another-secret")
+            .setExpiration(new Date(System.currentTimeMillis() + 60000))
+            .compact();
+
+        assertThat(tokenProvider.resolveAuthentication(token).isPresent()).isFalse();
+        assertThat(getCache().size()).isEqualTo(0);
+    }
+
+    @Test
+    public void testExpiredTokenIsEvicted() {
+        String token = tokenProvider.createToken(createAuthentication(), false);
+        getCache().put(token, new VerifiedToken("test-user", AuthoritySet.fromClaim(AuthoritiesConstants.USER),
+            System.currentTimeMillis() - 1));
+
+        assertThat(getCache().get(token)).isNull();
+        assertThat(getCache().size()).isEqualTo(0);
+    }
+
+    @Test
+    public void testCacheIsBounded() {
+        applicationProperties.getSecurity().getTokenCache().setMaxEntries(2);
+        tokenProvider.init();
+
+        for (int i = 0; i < 5; i++) {
+            String token = Jwts.builder()
+                .setSubject("test-user-" + i)
+                .claim("auth", AuthoritiesConstants.USER)
+                .signWith(SignatureAlgorithm.HS512, SECRET)
+                .setExpiration(new Date(System.currentTimeMillis() + 60000))
+                .compact();
+            assertThat(tokenProvider.resolveAuthentication(token).isPresent()).isTrue();
+        }
+
+        assertThat(getCache().size()).isEqualTo(2);
+    }
+
+    @Test
+    public void testCacheDisabled() {
+        applicationProperties.getSecurity().getTokenCache().setEnabled(false);
+        TokenProvider uncachedTokenProvider = new TokenProvider(jHipsterProperties, applicationProperties);
+        uncachedTokenProvider.init();
+        String token = uncachedTokenProvider.createToken(createAuthentication(), false);
+
+        assertThat(resolve(uncachedTokenProvider, token).getName()).isEqualTo("test-user");
+        assertThat(ReflectionTestUtils.getField(uncachedTokenProvider, "verifiedTokenCache")).isNull();
+    }
+
+    @Test
+    public void testPublicKeyVerification() throws Exception {
+        KeyPair rsaKeyPair = generateKeyPair("RSA", 2048);
+        KeyPair ecKeyPair = generateKeyPair("EC", 256);
+        TokenProvider publicKeyTokenProvider = createPublicKeyTokenProvider(
+            toJwk("rsa-1", (RSAPublicKey) rsaKeyPair.getPublic()),
+            toJwk("ec-1", (ECPublicKey) ecKeyPair.getPublic()));
+
+        String rsaToken = createSignedToken("rsa-1", SignatureAlgorithm.RS256, rsaKeyPair.getPrivate());
+        String ecToken = createSignedToken("ec-1", SignatureAlgorithm.ES256, ecKeyPair.getPrivate());
+        String unknownKeyToken = createSignedToken("rsa-2", SignatureAlgorithm.RS256, rsaKeyPair.getPrivate());
+        String wrongKeyToken = createSignedToken("ec-1", SignatureAlgorithm.RS256, rsaKeyPair.getPrivate());
+        String secretToken = tokenProvider.createToken(createAuthentication(), false);
+
+        assertThat(resolve(publicKeyTokenProvider, rsaToken).getName()).isEqualTo("test-user");
+        assertThat(publicKeyTokenProvider.resolveAuthentication(ecToken).isPresent()).isTrue();
+        assertThat(publicKeyTokenProvider.resolveAuthentication(unknownKeyToken).isPresent()).isFalse();
+        assertThat(publicKeyTokenProvider.resolveAuthentication(wrongKeyToken).isPresent()).isFalse();
+        assertThat(publicKeyTokenProvider.resolveAuthentication(secretToken).isPresent()).isFalse();
+    }
+
+    @Test
+    public void testSigningKeyRotation() throws Exception {
+        KeyPair oldKeyPair = generateKeyPair("RSA", 2048);
+        KeyPair newKeyPair = generateKeyPair("RSA", 2048);
+        TokenProvider publicKeyTokenProvider = createPublicKeyTokenProvider(
+            toJwk("old", (RSAPublicKey) oldKeyPair.getPublic()));
+        String oldToken = createSignedToken("old", SignatureAlgorithm.RS256, oldKeyPair.getPrivate());
+        String newToken = createSignedToken("new", SignatureAlgorithm.RS256, newKeyPair.getPrivate());
+        assertThat(publicKeyTokenProvider.resolveAuthentication(oldToken).isPresent()).isTrue();
+        assertThat(publicKeyTokenProvider.resolveAuthentication(newToken).isPresent()).isFalse();
+
+        writeJwks(toJwk("new", (RSAPublicKey) newKeyPair.getPublic()));
+        jwksFile.setLastModified(jwksFile.lastModified() + 10000);
+        publicKeyTokenProvider.refreshSigningKeys();
+
+        assertThat(publicKeyTokenProvider.resolveAuthentication(oldToken).isPresent()).isFalse();
+        assertThat(publicKeyTokenProvider.resolveAuthentication(newToken).isPresent()).isTrue();
+    }
+
+    private TokenProvider createPublicKeyTokenProvider(String... jwks) throws IOException {
+        jwksFile = temporaryFolder.newFile("jwks.json");
+        writeJwks(jwks);
+        applicationProperties.getSecurity().getJwks().setLocation(jwksFile.toURI().toString());
+        TokenProvider publicKeyTokenProvider = new TokenProvider(jHipsterProperties, applicationProperties);
+        publicKeyTokenProvider.init();
+        return publicKeyTokenProvider;
+    }
+
+    private void writeJwks(String... jwks) throws IOException {
+        String content = "{\"keys\":[" + String.join(",", jwks) + "]}";
+        Files.write(jwksFile.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private KeyPair generateKeyPair(String algorithm, int keySize) throws Exception {
+        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance(algorithm);
+        keyPairGenerator.initialize(keySize);
+        return keyPairGenerator.generateKeyPair();
+    }
+
+    private String toJwk(String keyId, RSAPublicKey publicKey) {
+        return "{\"kty\":\"RSA\",\"kid\":\"" + keyId + "\",\"use\":\"sig\",\"alg\":\"RS256\"," +
+            "\"n\":\"" + encode(publicKey.getModulus()) + "\",\"e\":\"" + encode(publicKey.getPublicExponent()) + "\"}";
+    }
+
+    private String toJwk(String keyId, ECPublicKey publicKey) {
+        return "{\"kty\":\"EC\",\"kid\":\"" + keyId + "\",\"crv\":\"P-256\"," +
+            "\"x\":\"" + encode(publicKey.getW().getAffineX()) + "\",\"y\":\"" + encode(publicKey.getW().getAffineY()) + "\"}";
+    }
+
+    private String encode(BigInteger value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.toByteArray());
+    }
+
+    private String createSignedToken(String keyId, SignatureAlgorithm algorithm, PrivateKey privateKey) {
+        return Jwts.builder()
+            .setHeaderParam("kid", keyId)
+            .setSubject("test-user")
+            .claim("auth", AuthoritiesConstants.USER)
+            .signWith(algorithm, privateKey)
+            .setExpiration(new Date(System.currentTimeMillis() + 60000))
+            .compact();
+    }
+
+    private Authentication resolve(TokenProvider provider, String token) {
+        return provider.resolveAuthentication(token).orElseThrow(IllegalStateException::new);
+    }
+
+    private VerifiedTokenCache getCache() {
+        return (VerifiedTokenCache) ReflectionTestUtils.getField(tokenProvider, "verifiedTokenCache");
+    }
+
+    private Authentication createAuthentication() {
+        return new UsernamePasswordAuthenticationToken("test-user", "test-password",
+            Collections.singletonList(new SimpleGrantedAuthority(AuthoritiesConstants.USER)));
+    }
+}
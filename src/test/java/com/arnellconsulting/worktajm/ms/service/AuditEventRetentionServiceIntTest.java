@@ -0,0 +1,113 @@
+package com.arnellconsulting.worktajm.ms.service;
+
+import com.arnellconsulting.worktajm.ms.WorktajmMsApp;
+import com.arnellconsulting.worktajm.ms.config.ApplicationProperties;
+import com.arnellconsulting.worktajm.ms.domain.PersistentAuditEvent;
+import com.arnellconsulting.worktajm.ms.repository.PersistenceAuditEventRepository;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the AuditEventRetentionService class.
+ *
+ * @see AuditEventRetentionService
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = WorktajmMsApp.class)
+public class AuditEventRetentionServiceIntTest {
+
+    private static final Instant CUTOFF = Instant.parse("2017-01-01T00:00:00Z");
+
+    @Autowired
+    private AuditEventRetentionService auditEventRetentionService;
+
+    @Autowired
+    private PersistenceAuditEventRepository persistenceAuditEventRepository;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private ApplicationProperties.Audit.Retention properties;
+
+    private int chunkSize;
+
+    @Before
+    public void setup() {
+        properties = applicationProperties.getAudit().getRetention();
+        chunkSize = properties.getChunkSize();
+        cleanup();
+        properties.setChunkSize(2);
+        for (int i = 0; i < 5; i++) {
+            persistenceAuditEventRepository.save(createAuditEvent(CUTOFF.minusSeconds(3600 * (i + 1))));
+        }
+        persistenceAuditEventRepository.save(createAuditEvent(CUTOFF));
+    }
+
+    @After
+    public void cleanup() {
+        properties.setChunkSize(chunkSize);
+        properties.setArchive(false);
+        persistenceAuditEventRepository.deleteAll();
+        jdbcTemplate.update("delete from jhi_persistent_audit_evt_data_arch");
+        jdbcTemplate.update("delete from jhi_persistent_audit_event_arch");
+    }
+
+    @Test
+    public void testRemoveAuditEventsBefore() {
+        long removedEvents = auditEventRetentionService.removeAuditEventsBefore(CUTOFF, Long.MAX_VALUE);
+
+        assertThat(removedEvents).isEqualTo(5);
+        assertThat(persistenceAuditEventRepository.findAll())
+            .extracting(PersistentAuditEvent::getAuditEventDate).containsExactly(CUTOFF);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from jhi_persistent_audit_evt_data", Long.class))
+            .isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from jhi_persistent_audit_event_arch", Long.class))
+            .isZero();
+    }
+
+    @Test
+    public void testArchiveAuditEventsBefore() {
+        properties.setArchive(true);
+
+        long removedEvents = auditEventRetentionService.removeAuditEventsBefore(CUTOFF, Long.MAX_VALUE);
+
+        assertThat(removedEvents).isEqualTo(5);
+        assertThat(persistenceAuditEventRepository.count()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from jhi_persistent_audit_event_arch", Long.class))
+            .isEqualTo(5);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from jhi_persistent_audit_evt_data_arch", Long.class))
+            .isEqualTo(5);
+    }
+
+    @Test
+    public void testStopAtDeadline() {
+        long removedEvents = auditEventRetentionService.removeAuditEventsBefore(CUTOFF, 0);
+
+        // One chunk is always removed, the next run removes the others
+        assertThat(removedEvents).isEqualTo(2);
+        assertThat(persistenceAuditEventRepository.count()).isEqualTo(4);
+    }
+
+    private static PersistentAuditEvent createAuditEvent(Instant date) {
+        PersistentAuditEvent auditEvent = new PersistentAuditEvent();
+        auditEvent.setPrincipal("test-user");
+        auditEvent.setAuditEventType("test-type");
+        auditEvent.setAuditEventDate(date);
+        auditEvent.getData().put("remoteAddress", "127.0.0.1");
+        return auditEvent;
+    }
+}
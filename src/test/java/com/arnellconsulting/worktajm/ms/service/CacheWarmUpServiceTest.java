@@ -0,0 +1,170 @@
+package com.arnellconsulting.worktajm.ms.service;
+
+import com.arnellconsulting.worktajm.ms.config.ApplicationProperties;
+
+import com.codahale.metrics.MetricRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.boot.actuate.health.Status;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for the CacheWarmUpService class.
+ *
+ * @see CacheWarmUpService
+ */
+public class CacheWarmUpServiceTest {
+
+    private ApplicationProperties applicationProperties;
+
+    private MetricRegistry metricRegistry;
+
+    private List<Runnable> workers;
+
+    private CacheWarmUpService cacheWarmUpService;
+
+    @Before
+    public void setup() {
+        applicationProperties = new ApplicationProperties();
+        metricRegistry = new MetricRegistry();
+        workers = new ArrayList<>();
+        cacheWarmUpService = new CacheWarmUpService(applicationProperties, mock(EntityManagerFactory.class),
+            workers::add);
+        cacheWarmUpService.setMetricRegistry(metricRegistry);
+    }
+
+    @Test
+    public void testRunsCacheWarmers() {
+        AtomicInteger calls = new AtomicInteger();
+        cacheWarmUpService.setCacheWarmers(Arrays.asList(
+            cacheWarmer("first", () -> {
+                calls.incrementAndGet();
+                return 10;
+            }),
+            cacheWarmer("second", () -> {
+                calls.incrementAndGet();
+                return 5;
+            })));
+        CacheWarmUpHealthIndicator healthIndicator = new CacheWarmUpHealthIndicator(cacheWarmUpService);
+
+        cacheWarmUpService.start();
+
+        assertThat(healthIndicator.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+        assertThat(workers).hasSize(2);
+
+        workers.forEach(Runnable::run);
+
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(cacheWarmUpService.isDone()).isTrue();
+        assertThat(healthIndicator.health().getStatus()).isEqualTo(Status.UP);
+        assertThat(metricRegistry.counter("cache.warm-up.entries").getCount()).isEqualTo(15);
+        assertThat(metricRegistry.getGauges().get("cache.warm-up.progress").getValue()).isEqualTo(1.0);
+    }
+
+    @Test
+    public void testBoundedParallelism() {
+        applicationProperties.getCache().getWarmUp().setParallelism(2);
+        List<CacheWarmer> cacheWarmers = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            cacheWarmers.add(cacheWarmer("cache" + i, () -> 1));
+        }
+        cacheWarmUpService.setCacheWarmers(cacheWarmers);
+
+        cacheWarmUpService.start();
+        assertThat(workers).hasSize(2);
+        workers.forEach(Runnable::run);
+
+        assertThat(cacheWarmUpService.getCompletedTasks()).isEqualTo(5);
+        assertThat(cacheWarmUpService.isDone()).isTrue();
+    }
+
+    @Test
+    public void testFailedWarmer() {
+        cacheWarmUpService.setCacheWarmers(Arrays.asList(
+            cacheWarmer("failing", () -> {
+                throw new IllegalStateException("Database is down");
+            }),
+            cacheWarmer("working", () -> 1)));
+        applicationProperties.getCache().getWarmUp().setParallelism(1);
+
+        cacheWarmUpService.start();
+        workers.forEach(Runnable::run);
+
+        assertThat(cacheWarmUpService.isDone()).isTrue();
+        assertThat(metricRegistry.counter("cache.warm-up.failed").getCount()).isEqualTo(1);
+        assertThat(metricRegistry.counter("cache.warm-up.entries").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testTimeBudget() throws Exception {
+        applicationProperties.getCache().getWarmUp().setTimeBudgetSeconds(0);
+        AtomicInteger calls = new AtomicInteger();
+        cacheWarmUpService.setCacheWarmers(Arrays.asList(
+            cacheWarmer("first", calls::incrementAndGet),
+            cacheWarmer("second", calls::incrementAndGet)));
+
+        cacheWarmUpService.start();
+        Thread.sleep(10);
+
+        assertThat(cacheWarmUpService.isDone()).isTrue();
+
+        workers.forEach(Runnable::run);
+
+        assertThat(calls.get()).isEqualTo(0);
+        assertThat(metricRegistry.counter("cache.warm-up.skipped").getCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void testNothingToWarmUp() {
+        cacheWarmUpService.start();
+
+        assertThat(workers).isEmpty();
+        assertThat(cacheWarmUpService.isDone()).isTrue();
+    }
+
+    @Test
+    public void testDisabled() {
+        applicationProperties.getCache().getWarmUp().setEnabled(false);
+        cacheWarmUpService.setCacheWarmers(Arrays.asList(cacheWarmer("cache", () -> 1)));
+
+        cacheWarmUpService.start();
+
+        assertThat(workers).isEmpty();
+        assertThat(cacheWarmUpService.isDone()).isTrue();
+    }
+
+    private static CacheWarmer cacheWarmer(String name, WarmUp warmUp) {
+        return new CacheWarmer() {
+
+            @Override
+            public String getCacheName() {
+                return name;
+            }
+
+            @Override
+            public int warmUp() {
+                try {
+                    return warmUp.warmUp();
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        };
+    }
+
+    @FunctionalInterface
+    private interface WarmUp {
+
+        int warmUp() throws Exception;
+    }
+}
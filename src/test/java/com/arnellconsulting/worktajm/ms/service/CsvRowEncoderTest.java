@@ -0,0 +1,56 @@
+package com.arnellconsulting.worktajm.ms.service;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the CsvRowEncoder class.
+ *
+ * @see CsvRowEncoder
+ */
+public class CsvRowEncoderTest {
+
+    @Test
+    public void testRowsEncoded() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        CsvRowEncoder encoder = new CsvRowEncoder(outputStream, 16, new String[]{"id", "comment"});
+        encoder.writeRow(new Object[]{1L, "plain"});
+        encoder.writeRow(new Object[]{2L, "a, \"quoted\"\nvalue"});
+        encoder.writeRow(new Object[]{null, "åäö"});
+        encoder.finish();
+
+        assertThat(new String(outputStream.toByteArray(), StandardCharsets.UTF_8)).isEqualTo(
+            "id,comment\r\n" +
+            "1,plain\r\n" +
+            "2,\"a, \"\"quoted\"\"\nvalue\"\r\n" +
+            ",åäö\r\n");
+    }
+
+    @Test
+    public void testFormulasEscaped() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        CsvRowEncoder encoder = new CsvRowEncoder(outputStream, 16, new String[]{"value"});
+        encoder.writeRow(new Object[]{"=HYPERLINK(\"http://example.com\")"});
+        encoder.writeRow(new Object[]{"+1"});
+        encoder.writeRow(new Object[]{"-1"});
+        encoder.writeRow(new Object[]{"@SUM(A1)"});
+        encoder.writeRow(new Object[]{"\tvalue"});
+        encoder.writeRow(new Object[]{-1L});
+        encoder.writeRow(new Object[]{"a-b"});
+        encoder.finish();
+
+        assertThat(new String(outputStream.toByteArray(), StandardCharsets.UTF_8)).isEqualTo(
+            "value\r\n" +
+            "\"'=HYPERLINK(\"\"http://example.com\"\")\"\r\n" +
+            "\"'+1\"\r\n" +
+            "\"'-1\"\r\n" +
+            "\"'@SUM(A1)\"\r\n" +
+            "\"'\tvalue\"\r\n" +
+            "-1\r\n" +
+            "a-b\r\n");
+    }
+}
@@ -0,0 +1,126 @@
+package com.arnellconsulting.worktajm.ms.service;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import org.junit.After;
+import org.junit.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the LogLevelService class.
+ *
+ * @see LogLevelService
+ */
+public class LogLevelServiceTest {
+
+    private static final String NAME = LogLevelServiceTest.class.getName();
+
+    private final Logger logger = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(NAME);
+
+    private final LogLevelService logLevelService = new LogLevelService();
+
+    @After
+    public void teardown() {
+        logger.setLevel(null);
+    }
+
+    @Test
+    public void testLevelIsRestoredAfterTimeToLive() {
+        logger.setLevel(Level.WARN);
+
+        logLevelService.applyLevels(Collections.singletonMap(NAME, Level.DEBUG), 10, 1000);
+        assertThat(logger.getLevel()).isEqualTo(Level.DEBUG);
+
+        logLevelService.revertExpiredLevels(10999);
+        assertThat(logger.getLevel()).isEqualTo(Level.DEBUG);
+        logLevelService.revertExpiredLevels(11000);
+        assertThat(logger.getLevel()).isEqualTo(Level.WARN);
+    }
+
+    @Test
+    public void testFirstLevelIsRestoredAfterSeveralChanges() {
+        logLevelService.applyLevels(Collections.singletonMap(NAME, Level.DEBUG), 10, 1000);
+        logLevelService.applyLevels(Collections.singletonMap(NAME, Level.TRACE), 10, 5000);
+
+        logLevelService.revertExpiredLevels(11000);
+        assertThat(logger.getLevel()).isEqualTo(Level.TRACE);
+        logLevelService.revertExpiredLevels(15000);
+        assertThat(logger.getLevel()).isNull();
+    }
+
+    @Test
+    public void testChangeWithoutTimeToLiveCancelsTheRestore() {
+        logLevelService.applyLevels(Collections.singletonMap(NAME, Level.DEBUG), 10, 1000);
+        logLevelService.applyLevels(Collections.singletonMap(NAME, Level.ERROR), 0, 2000);
+
+        logLevelService.revertExpiredLevels(20000);
+        assertThat(logger.getLevel()).isEqualTo(Level.ERROR);
+    }
+
+    @Test
+    public void testGetLoggersByPrefix() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        LogLevelService uncachedLogLevelService = new LogLevelService(0);
+        context.getLogger(NAME + ".prefix.b");
+        context.getLogger(NAME + ".prefix.a");
+        context.getLogger(NAME + ".prefixed");
+
+        assertThat(uncachedLogLevelService.getLoggers(NAME + ".prefix.")).extracting(Logger::getName)
+            .containsExactly(NAME + ".prefix.a", NAME + ".prefix.b");
+
+        // A logger created after the first search is found by the next one once the snapshot has expired
+        context.getLogger(NAME + ".prefix.c");
+        Page<Logger> page = uncachedLogLevelService.getLoggers(NAME + ".prefix.", new PageRequest(1, 2));
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.getContent()).extracting(Logger::getName).containsExactly(NAME + ".prefix.c");
+    }
+
+    @Test
+    public void testGetLoggersReusesSnapshot() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        context.getLogger(NAME + ".snapshot.a");
+        assertThat(logLevelService.getLoggers(NAME + ".snapshot.")).extracting(Logger::getName)
+            .containsExactly(NAME + ".snapshot.a");
+
+        context.getLogger(NAME + ".snapshot.b");
+        assertThat(logLevelService.getLoggers(NAME + ".snapshot.")).extracting(Logger::getName)
+            .containsExactly(NAME + ".snapshot.a");
+
+        // A logger whose level is changed is listed at once
+        logLevelService.applyLevels(Collections.singletonMap(NAME + ".snapshot.c", Level.DEBUG), 0, 1000);
+        assertThat(logLevelService.getLoggers(NAME + ".snapshot.")).extracting(Logger::getName)
+            .containsExactly(NAME + ".snapshot.a", NAME + ".snapshot.b", NAME + ".snapshot.c");
+        context.getLogger(NAME + ".snapshot.c").setLevel(null);
+    }
+
+    @Test
+    public void testGetLoggersReadsSnapshotAgainOnMiss() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        assertThat(logLevelService.getLoggers(null)).isNotEmpty();
+
+        context.getLogger(NAME + ".missed");
+        assertThat(logLevelService.getLoggers(NAME + ".missed")).extracting(Logger::getName)
+            .containsExactly(NAME + ".missed");
+    }
+
+    @Test
+    public void testGetLoggersStartsWithRoot() {
+        Page<Logger> page = logLevelService.getLoggers(null, new PageRequest(0, 2));
+
+        assertThat(page.getContent().get(0).getName()).isEqualTo(Logger.ROOT_LOGGER_NAME);
+        assertThat(page.getTotalElements()).isEqualTo(logLevelService.getLoggers(null).size());
+        assertThat(logLevelService.getLoggers("ROO")).extracting(Logger::getName).contains(Logger.ROOT_LOGGER_NAME);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRootLevelCannotBeInherited() {
+        logLevelService.changeLevels(Collections.singletonMap(Logger.ROOT_LOGGER_NAME, null), 0, false);
+    }
+}
@@ -0,0 +1,72 @@
+package com.arnellconsulting.worktajm.ms.service;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the StreamingQuery class.
+ *
+ * @see StreamingQuery
+ */
+public class StreamingQueryTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    private PreparedStatement statement;
+
+    private ResultSet resultSet;
+
+    @Before
+    public void setup() throws Exception {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        statement = mock(PreparedStatement.class);
+        resultSet = mock(ResultSet.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(metaData.getDatabaseProductName()).thenReturn("MySQL");
+        when(connection.prepareStatement(anyString(), anyInt(), anyInt())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Test
+    public void testRowsWritten() throws Exception {
+        String result = StreamingQuery.execute(jdbcTemplate, "select 1 where ?", Collections.singletonList(true),
+            rows -> "written");
+
+        assertThat(result).isEqualTo("written");
+        verify(statement).setFetchSize(Integer.MIN_VALUE);
+        verify(statement).setObject(1, true);
+        verify(resultSet).close();
+        verify(statement, never()).cancel();
+    }
+
+    @Test
+    public void testQueryCancelledWhenRowsCannotBeWritten() throws Exception {
+        assertThatThrownBy(() -> StreamingQuery.execute(jdbcTemplate, "select 1", Collections.emptyList(), rows -> {
+            throw new IOException("Broken pipe");
+        })).isInstanceOf(IOException.class).hasMessage("Broken pipe");
+
+        verify(statement).cancel();
+    }
+}
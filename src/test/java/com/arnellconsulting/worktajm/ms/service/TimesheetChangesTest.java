@@ -0,0 +1,90 @@
+package com.arnellconsulting.worktajm.ms.service;
+
+import com.arnellconsulting.worktajm.ms.domain.TimesheetRollup;
+import com.arnellconsulting.worktajm.ms.domain.enumeration.TimesheetPeriod;
+
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Unit tests for the TimesheetChanges class.
+ *
+ * @see TimesheetChanges
+ */
+public class TimesheetChangesTest {
+
+    private static final Long WORKER_ID = 1L;
+
+    private static final Long PROJECT_ID = 2L;
+
+    @Test
+    public void testWorkLogSplitAtMidnight() {
+        TimesheetChanges changes = new TimesheetChanges(ZoneOffset.UTC);
+        // Sunday 22:00 to Monday 02:00, the last day of January
+        changes.add(ZonedDateTime.parse("2017-01-01T22:00:00Z"), ZonedDateTime.parse("2017-01-02T02:00:00Z"),
+            WORKER_ID, PROJECT_ID, 1);
+
+        assertThat(rollups(changes, TimesheetPeriod.DAY))
+            .extracting(TimesheetRollup::getPeriodStart, TimesheetRollup::getDurationSeconds,
+                TimesheetRollup::getEntries)
+            .containsExactly(tuple(LocalDate.of(2017, 1, 1), 7200L, 1), tuple(LocalDate.of(2017, 1, 2), 7200L, 1));
+        assertThat(rollups(changes, TimesheetPeriod.WEEK))
+            .extracting(TimesheetRollup::getPeriodStart, TimesheetRollup::getDurationSeconds,
+                TimesheetRollup::getEntries)
+            .containsExactly(tuple(LocalDate.of(2016, 12, 26), 7200L, 1), tuple(LocalDate.of(2017, 1, 2), 7200L, 1));
+        assertThat(rollups(changes, TimesheetPeriod.MONTH))
+            .extracting(TimesheetRollup::getPeriodStart, TimesheetRollup::getDurationSeconds,
+                TimesheetRollup::getEntries)
+            .containsExactly(tuple(LocalDate.of(2017, 1, 1), 14400L, 1));
+    }
+
+    @Test
+    public void testDaysInTimeZone() {
+        TimesheetChanges changes = new TimesheetChanges(ZoneId.of("Europe/Stockholm"));
+        changes.add(ZonedDateTime.parse("2017-01-01T23:30:00Z"), ZonedDateTime.parse("2017-01-02T00:30:00Z"),
+            WORKER_ID, PROJECT_ID, 1);
+
+        assertThat(rollups(changes, TimesheetPeriod.DAY))
+            .extracting(TimesheetRollup::getPeriodStart, TimesheetRollup::getDurationSeconds)
+            .containsExactly(tuple(LocalDate.of(2017, 1, 2), 3600L));
+    }
+
+    @Test
+    public void testRemovedWorkLogCancelsAddedOne() {
+        TimesheetChanges changes = new TimesheetChanges(ZoneOffset.UTC);
+        ZonedDateTime start = ZonedDateTime.parse("2017-03-01T08:00:00Z");
+        changes.add(start, start.plusHours(8), WORKER_ID, PROJECT_ID, 1);
+        changes.add(start, start.plusHours(8), WORKER_ID, PROJECT_ID, -1);
+        changes.add(start, start.plusHours(4), WORKER_ID, PROJECT_ID, 1);
+
+        assertThat(rollups(changes, TimesheetPeriod.DAY))
+            .extracting(TimesheetRollup::getDurationSeconds, TimesheetRollup::getEntries)
+            .containsExactly(tuple(14400L, 1));
+    }
+
+    @Test
+    public void testIncompleteWorkLogsNotCounted() {
+        TimesheetChanges changes = new TimesheetChanges(ZoneOffset.UTC);
+        ZonedDateTime start = ZonedDateTime.parse("2017-03-01T08:00:00Z");
+        changes.add(start, null, WORKER_ID, PROJECT_ID, 1);
+        changes.add(start, start.minusHours(1), WORKER_ID, PROJECT_ID, 1);
+        changes.add(start, start.plusHours(1), null, PROJECT_ID, 1);
+
+        assertThat(changes.getRollups()).isEmpty();
+    }
+
+    private static List<TimesheetRollup> rollups(TimesheetChanges changes, TimesheetPeriod period) {
+        return changes.getRollups().stream()
+            .filter(rollup -> rollup.getPeriod() == period)
+            .collect(Collectors.toList());
+    }
+}
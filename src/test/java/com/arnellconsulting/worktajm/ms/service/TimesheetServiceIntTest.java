@@ -0,0 +1,140 @@
+package com.arnellconsulting.worktajm.ms.service;
+
+import com.arnellconsulting.worktajm.ms.WorktajmMsApp;
+import com.arnellconsulting.worktajm.ms.domain.Project;
+import com.arnellconsulting.worktajm.ms.domain.TimesheetRollup;
+import com.arnellconsulting.worktajm.ms.domain.WorkLog;
+import com.arnellconsulting.worktajm.ms.domain.Worker;
+import com.arnellconsulting.worktajm.ms.domain.enumeration.TimesheetPeriod;
+import com.arnellconsulting.worktajm.ms.repository.ProjectRepository;
+import com.arnellconsulting.worktajm.ms.repository.WorkLogRepository;
+import com.arnellconsulting.worktajm.ms.repository.WorkerRepository;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.sql.Date;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Test class for the TimesheetService class.
+ *
+ * @see TimesheetService
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = WorktajmMsApp.class)
+public class TimesheetServiceIntTest {
+
+    private static final ZonedDateTime START_DATE = ZonedDateTime.parse("2017-05-01T08:00:00Z");
+
+    @Autowired
+    private TimesheetService timesheetService;
+
+    @Autowired
+    private WorkLogService workLogService;
+
+    @Autowired
+    private WorkLogRepository workLogRepository;
+
+    @Autowired
+    private WorkerRepository workerRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Worker worker;
+
+    private Project project;
+
+    @Before
+    public void setup() {
+        cleanup();
+        worker = workerRepository.save(new Worker().firstName("Ada"));
+        project = projectRepository.save(new Project().projectTitle("Analytical Engine"));
+        workLogService.createAll(Arrays.asList(
+            new WorkLog().startDate(START_DATE).endDate(START_DATE.plusHours(8)).worker(worker).project(project),
+            new WorkLog().startDate(START_DATE.plusDays(1)).endDate(START_DATE.plusDays(1).plusHours(2))
+                .worker(worker).project(project)));
+    }
+
+    @After
+    public void cleanup() {
+        jdbcTemplate.update("delete from timesheet_rollup");
+        workLogRepository.deleteAll();
+        workerRepository.deleteAll();
+        projectRepository.deleteAll();
+    }
+
+    @Test
+    public void testRebuild() {
+        jdbcTemplate.update("delete from timesheet_rollup");
+        // A row of a worker without work log, and a wrong row
+        jdbcTemplate.update("insert into timesheet_rollup values ('DAY', ?, ?, ?, 3600, 1)", worker.getId() + 1,
+            Date.valueOf("2017-05-01"), project.getId());
+        jdbcTemplate.update("insert into timesheet_rollup values ('DAY', ?, ?, ?, 3600, 1)", worker.getId(),
+            Date.valueOf("2017-05-03"), project.getId());
+
+        long workers = timesheetService.rebuild();
+
+        assertThat(workers).isEqualTo(1);
+        assertThat(timesheetService.find(TimesheetPeriod.DAY, null, null, LocalDate.of(2017, 5, 1),
+            LocalDate.of(2017, 5, 31)))
+            .extracting(TimesheetRollup::getWorkerId, TimesheetRollup::getPeriodStart,
+                TimesheetRollup::getDurationSeconds)
+            .containsExactly(tuple(worker.getId(), LocalDate.of(2017, 5, 1), 28800L),
+                tuple(worker.getId(), LocalDate.of(2017, 5, 2), 7200L));
+        assertThat(timesheetService.find(TimesheetPeriod.MONTH, worker.getId(), project.getId(),
+            LocalDate.of(2017, 5, 1), LocalDate.of(2017, 5, 1)))
+            .extracting(TimesheetRollup::getDurationSeconds, TimesheetRollup::getEntries)
+            .containsExactly(tuple(36000L, 2));
+    }
+
+    @Test
+    public void testConcurrentUpdates() throws Exception {
+        WorkLog workLog = workLogRepository.findAll().stream()
+            .filter(candidate -> candidate.getStartDate().isEqual(START_DATE))
+            .findFirst().get();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> updates = new ArrayList<>();
+            for (int i = 1; i <= 20; i++) {
+                WorkLog update = new WorkLog().startDate(START_DATE).endDate(START_DATE.plusMinutes(i))
+                    .worker(worker).project(project);
+                update.setId(workLog.getId());
+                updates.add(executor.submit(() -> workLogService.save(update)));
+            }
+            for (Future<?> update : updates) {
+                update.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        WorkLog saved = workLogRepository.findOne(workLog.getId());
+        long seconds = Duration.between(saved.getStartDate(), saved.getEndDate()).getSeconds();
+        assertThat(timesheetService.find(TimesheetPeriod.DAY, worker.getId(), project.getId(),
+            LocalDate.of(2017, 5, 1), LocalDate.of(2017, 5, 1)))
+            .extracting(TimesheetRollup::getDurationSeconds, TimesheetRollup::getEntries)
+            .containsExactly(tuple(seconds, 1));
+    }
+}
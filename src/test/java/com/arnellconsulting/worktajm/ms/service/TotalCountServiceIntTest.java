@@ -0,0 +1,153 @@
+package com.arnellconsulting.worktajm.ms.service;
+
+import com.arnellconsulting.worktajm.ms.WorktajmMsApp;
+import com.arnellconsulting.worktajm.ms.config.ApplicationProperties;
+
+import com.hazelcast.core.HazelcastInstance;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the TotalCountService class.
+ *
+ * @see TotalCountService
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = WorktajmMsApp.class)
+public class TotalCountServiceIntTest {
+
+    /**
+     * The first page of 2 elements of a longer list.
+     */
+    private static final Slice<String> FIRST_PAGE = new SliceImpl<>(Arrays.asList("a", "b"), new PageRequest(0, 2),
+        true);
+
+    @Autowired
+    private TotalCountService totalCountService;
+
+    @Autowired
+    private HazelcastInstance hazelcastInstance;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private final AtomicInteger counts = new AtomicInteger();
+
+    @Before
+    public void setup() {
+        hazelcastInstance.getMap(TotalCountService.TOTAL_COUNTS_MAP).clear();
+        counts.set(0);
+    }
+
+    private Supplier<Long> countOf(long count) {
+        return () -> {
+            counts.incrementAndGet();
+            return count;
+        };
+    }
+
+    @Test
+    public void countLastPageWithoutQuery() {
+        Slice<String> lastPage = new SliceImpl<>(Collections.singletonList("e"), new PageRequest(2, 2), false);
+
+        TotalCount totalCount = totalCountService.count(TotalCount.Strategy.EXACT, lastPage, "project", null,
+            countOf(10));
+
+        assertThat(totalCount.getCount()).isEqualTo(5);
+        assertThat(totalCount.getStrategy()).isEqualTo(TotalCount.Strategy.EXACT);
+        assertThat(counts.get()).isEqualTo(0);
+    }
+
+    @Test
+    public void countExact() {
+        totalCountService.count(TotalCount.Strategy.EXACT, FIRST_PAGE, "project", null, countOf(10));
+        TotalCount totalCount = totalCountService.count(TotalCount.Strategy.EXACT, FIRST_PAGE, "project", null,
+            countOf(10));
+
+        assertThat(totalCount.getCount()).isEqualTo(10);
+        assertThat(totalCount.getStrategy()).isEqualTo(TotalCount.Strategy.EXACT);
+        assertThat(counts.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void countCachedPerFilter() {
+        TotalCount first = totalCountService.count(TotalCount.Strategy.CACHED, FIRST_PAGE, "project", null,
+            countOf(10));
+        TotalCount second = totalCountService.count(TotalCount.Strategy.CACHED, FIRST_PAGE, "project", null,
+            countOf(11));
+        TotalCount filtered = totalCountService.count(TotalCount.Strategy.CACHED, FIRST_PAGE, "project",
+            "projectTitle=a", countOf(3));
+
+        assertThat(first.getStrategy()).isEqualTo(TotalCount.Strategy.EXACT);
+        assertThat(second.getCount()).isEqualTo(10);
+        assertThat(second.getStrategy()).isEqualTo(TotalCount.Strategy.CACHED);
+        assertThat(filtered.getCount()).isEqualTo(3);
+        assertThat(filtered.getStrategy()).isEqualTo(TotalCount.Strategy.EXACT);
+        assertThat(counts.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void countCachedAgainWhenListGrew() {
+        totalCountService.count(TotalCount.Strategy.CACHED, FIRST_PAGE, "project", null, countOf(3));
+        Slice<String> fifthPage = new SliceImpl<>(Arrays.asList("i", "j"), new PageRequest(4, 2), true);
+
+        TotalCount totalCount = totalCountService.count(TotalCount.Strategy.CACHED, fifthPage, "project", null,
+            countOf(12));
+
+        assertThat(totalCount.getCount()).isEqualTo(12);
+        assertThat(totalCount.getStrategy()).isEqualTo(TotalCount.Strategy.EXACT);
+    }
+
+    @Test
+    public void countEstimated() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getPagination().setEstimateThreshold(0);
+        TotalCountService estimatingService = new TotalCountService(applicationProperties, dataSource);
+
+        TotalCount totalCount = estimatingService.count(TotalCount.Strategy.ESTIMATED, FIRST_PAGE, "project", null,
+            countOf(10));
+
+        assertThat(totalCount.getStrategy()).isEqualTo(TotalCount.Strategy.ESTIMATED);
+        assertThat(totalCount.isTrustworthy()).isFalse();
+        // At least the elements of the first page and the next one
+        assertThat(totalCount.getCount()).isGreaterThanOrEqualTo(3);
+        assertThat(counts.get()).isEqualTo(0);
+    }
+
+    @Test
+    public void countFilteredListWithoutEstimate() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getPagination().setEstimateThreshold(0);
+        TotalCountService estimatingService = new TotalCountService(applicationProperties, dataSource);
+
+        TotalCount totalCount = estimatingService.count(TotalCount.Strategy.ESTIMATED, FIRST_PAGE, "project",
+            "projectTitle=a", countOf(10));
+
+        assertThat(totalCount.getCount()).isEqualTo(10);
+        assertThat(totalCount.getStrategy()).isEqualTo(TotalCount.Strategy.EXACT);
+    }
+
+    @Test
+    public void countSmallTableWithoutEstimate() {
+        TotalCount totalCount = totalCountService.count(TotalCount.Strategy.ESTIMATED, FIRST_PAGE, "project", null,
+            countOf(10));
+
+        assertThat(totalCount.getCount()).isEqualTo(10);
+        assertThat(totalCount.isTrustworthy()).isTrue();
+    }
+}
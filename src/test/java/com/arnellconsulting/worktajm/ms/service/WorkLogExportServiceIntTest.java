@@ -0,0 +1,110 @@
+package com.arnellconsulting.worktajm.ms.service;
+
+import com.arnellconsulting.worktajm.ms.WorktajmMsApp;
+import com.arnellconsulting.worktajm.ms.domain.Project;
+import com.arnellconsulting.worktajm.ms.domain.WorkLog;
+import com.arnellconsulting.worktajm.ms.domain.Worker;
+import com.arnellconsulting.worktajm.ms.repository.ProjectRepository;
+import com.arnellconsulting.worktajm.ms.repository.WorkLogRepository;
+import com.arnellconsulting.worktajm.ms.repository.WorkerRepository;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for the WorkLogExportService class.
+ *
+ * @see WorkLogExportService
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = WorktajmMsApp.class)
+public class WorkLogExportServiceIntTest {
+
+    private static final ZonedDateTime START_DATE = ZonedDateTime.parse("2017-05-01T08:00:00Z");
+
+    @Autowired
+    private WorkLogExportService workLogExportService;
+
+    @Autowired
+    private WorkLogService workLogService;
+
+    @Autowired
+    private WorkLogRepository workLogRepository;
+
+    @Autowired
+    private WorkerRepository workerRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Worker worker;
+
+    @Before
+    public void setup() {
+        cleanup();
+        worker = workerRepository.save(new Worker().firstName("Ada").lastName("Lovelace"));
+        Project project = projectRepository.save(new Project().projectTitle("Analytical Engine"));
+        List<WorkLog> workLogs = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            workLogs.add(new WorkLog().startDate(START_DATE.plusDays(i)).endDate(START_DATE.plusDays(i).plusHours(8))
+                .comment("Day, " + i).worker(worker).project(project));
+        }
+        workLogService.createAll(workLogs);
+    }
+
+    @After
+    public void cleanup() {
+        jdbcTemplate.update("delete from timesheet_rollup");
+        workLogRepository.deleteAll();
+        workerRepository.deleteAll();
+        projectRepository.deleteAll();
+    }
+
+    @Test
+    public void testExportCsv() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        long workLogs = workLogExportService.export(WorkLogExportService.Format.CSV, worker.getId(), null,
+            START_DATE.plusDays(1).toInstant(), null, outputStream);
+
+        assertThat(workLogs).isEqualTo(2);
+        String[] lines = new String(outputStream.toByteArray(), StandardCharsets.UTF_8).split("\r\n");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).isEqualTo(String.join(",", WorkLogExportService.HEADER));
+        assertThat(lines[1]).contains(",Ada,Lovelace,").contains(",Analytical Engine,2017-05-02T08:00:00Z," +
+            "2017-05-02T16:00:00Z,8.0,\"Day, 1\"");
+    }
+
+    @Test
+    public void testExportStoppedWhenClientDisconnects() {
+        OutputStream disconnected = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        assertThatThrownBy(() -> workLogExportService.export(WorkLogExportService.Format.CSV, null, null, null,
+            null, disconnected)).isInstanceOf(IOException.class).hasMessage("Broken pipe");
+    }
+}
@@ -0,0 +1,64 @@
+package com.arnellconsulting.worktajm.ms.service;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the XlsxRowEncoder class.
+ *
+ * @see XlsxRowEncoder
+ */
+public class XlsxRowEncoderTest {
+
+    @Test
+    public void testRowsSplitInSheets() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        XlsxRowEncoder encoder = new XlsxRowEncoder(outputStream, 16, "Work logs", new String[]{"id", "comment"}, 3);
+        encoder.writeRow(new Object[]{1L, "<a & b>"});
+        encoder.writeRow(new Object[]{2.5, null});
+        encoder.writeRow(new Object[]{3L, "bell\u0007"});
+        encoder.finish();
+
+        Map<String, String> entries = unzip(outputStream.toByteArray());
+        assertThat(entries).containsOnlyKeys("xl/worksheets/sheet1.xml", "xl/worksheets/sheet2.xml",
+            "[Content_Types].xml", "_rels/.rels", "xl/workbook.xml", "xl/_rels/workbook.xml.rels");
+        assertThat(entries.get("xl/worksheets/sheet1.xml"))
+            .contains("<row><c t=\"inlineStr\"><is><t xml:space=\"preserve\">id</t></is></c>")
+            .contains("<row><c><v>1</v></c><c t=\"inlineStr\"><is><t xml:space=\"preserve\">&lt;a &amp; b&gt;</t>")
+            .contains("<row><c><v>2.5</v></c><c/></row>");
+        assertThat(entries.get("xl/worksheets/sheet2.xml"))
+            .contains(">id</t>")
+            .contains("<row><c><v>3</v></c><c t=\"inlineStr\"><is><t xml:space=\"preserve\">bell</t>");
+        assertThat(entries.get("xl/workbook.xml"))
+            .contains("<sheet name=\"Work logs\" sheetId=\"1\" r:id=\"rId1\"/>")
+            .contains("<sheet name=\"Work logs 2\" sheetId=\"2\" r:id=\"rId2\"/>");
+        assertThat(entries.get("[Content_Types].xml")).contains("/xl/worksheets/sheet2.xml");
+    }
+
+    private static Map<String, String> unzip(byte[] bytes) throws IOException {
+        Map<String, String> entries = new LinkedHashMap<>();
+        try (ZipInputStream zipInputStream = new ZipInputStream(new ByteArrayInputStream(bytes))) {
+            ZipEntry entry;
+            while ((entry = zipInputStream.getNextEntry()) != null) {
+                ByteArrayOutputStream content = new ByteArrayOutputStream();
+                byte[] buffer = new byte[1024];
+                int length;
+                while ((length = zipInputStream.read(buffer)) > 0) {
+                    content.write(buffer, 0, length);
+                }
+                entries.put(entry.getName(), new String(content.toByteArray(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,262 @@
+package com.arnellconsulting.worktajm.ms.web.rest;
+
+import com.arnellconsulting.worktajm.ms.WorktajmMsApp;
+import com.arnellconsulting.worktajm.ms.config.audit.AuditEventConverter;
+import com.arnellconsulting.worktajm.ms.domain.PersistentAuditEvent;
+import com.arnellconsulting.worktajm.ms.repository.PersistenceAuditEventRepository;
+import com.arnellconsulting.worktajm.ms.service.AuditEventExportService;
+import com.arnellconsulting.worktajm.ms.service.AuditEventService;
+import com.arnellconsulting.worktajm.ms.web.rest.errors.ExceptionTranslator;
+import com.arnellconsulting.worktajm.ms.web.rest.util.SeekCursor;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Test class for the AuditResource REST controller.
+ *
+ * @see AuditResource
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = WorktajmMsApp.class)
+public class AuditResourceIntTest {
+
+    private static final String SAMPLE_PRINCIPAL = "SAMPLE_PRINCIPAL";
+    private static final String SAMPLE_TYPE = "SAMPLE_TYPE";
+    private static final LocalDate SAMPLE_DAY = LocalDate.of(2015, 8, 4);
+    private static final Instant SAMPLE_TIMESTAMP = SAMPLE_DAY.atStartOfDay(ZoneId.systemDefault()).toInstant()
+        .plusSeconds(3600);
+
+    private static final Pattern NEXT_LINK = Pattern.compile("<([^>]*)>; rel=\"next\"");
+
+    @Autowired
+    private PersistenceAuditEventRepository auditEventRepository;
+
+    @Autowired
+    private AuditEventService auditEventService;
+
+    @Autowired
+    private AuditEventConverter auditEventConverter;
+
+    @Autowired
+    private AuditEventExportService auditEventExportService;
+
+    @Autowired
+    private ExceptionTranslator exceptionTranslator;
+
+    private MockMvc restAuditMockMvc;
+
+    @Before
+    public void setup() {
+        auditEventRepository.deleteAll();
+        AuditResource auditResource = new AuditResource(auditEventService, auditEventConverter,
+            auditEventExportService);
+        this.restAuditMockMvc = MockMvcBuilders.standaloneSetup(auditResource)
+            .setControllerAdvice(exceptionTranslator)
+            .build();
+    }
+
+    @After
+    public void cleanup() {
+        auditEventRepository.deleteAll();
+    }
+
+    @Test
+    public void getAllAudits() throws Exception {
+        auditEventRepository.save(createAuditEvent(SAMPLE_PRINCIPAL, SAMPLE_TYPE, SAMPLE_TIMESTAMP));
+
+        restAuditMockMvc.perform(get("/management/audits"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(header().doesNotExist(HttpHeaders.LINK))
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(jsonPath("$.[*].principal").value(hasItem(SAMPLE_PRINCIPAL)))
+            .andExpect(jsonPath("$.[0].data.remoteAddress").value("127.0.0.1"));
+    }
+
+    @Test
+    public void getAllAuditsPageByPage() throws Exception {
+        // Several events have the same date, the pages are then split by id
+        for (int i = 0; i < 7; i++) {
+            auditEventRepository.save(
+                createAuditEvent(SAMPLE_PRINCIPAL, SAMPLE_TYPE, SAMPLE_TIMESTAMP.plusSeconds(i / 2)));
+        }
+
+        List<String> pages = new ArrayList<>();
+        String url = "/management/audits?size=3";
+        int events = 0;
+        while (url != null) {
+            MvcResult result = restAuditMockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn();
+            pages.add(url);
+            events += JsonPath.<List<?>>read(result.getResponse().getContentAsString(), "$").size();
+            String link = result.getResponse().getHeader(HttpHeaders.LINK);
+            Matcher matcher = link != null ? NEXT_LINK.matcher(link) : null;
+            url = matcher != null && matcher.find() ? matcher.group(1) : null;
+        }
+
+        assertThat(pages).hasSize(3);
+        assertThat(events).isEqualTo(7);
+    }
+
+    @Test
+    public void getAuditsWhenEventsAreDeletedBetweenQueries() throws Exception {
+        // The retention deletes the second event after its id is read, the cursor is still after it
+        PersistentAuditEvent first = createAuditEvent(SAMPLE_PRINCIPAL, SAMPLE_TYPE, SAMPLE_TIMESTAMP.plusSeconds(2));
+        first.setId(3L);
+        PersistenceAuditEventRepository repository = mock(PersistenceAuditEventRepository.class);
+        when(repository.findKeysBefore(any(), any(), any(), any(), any(), any(), anyInt())).thenReturn(Arrays.asList(
+            new Object[]{3L, SAMPLE_TIMESTAMP.plusSeconds(2)},
+            new Object[]{2L, SAMPLE_TIMESTAMP.plusSeconds(1)},
+            new Object[]{1L, SAMPLE_TIMESTAMP}));
+        when(repository.findAllWithDataByIdIn(Arrays.asList(3L, 2L))).thenReturn(Collections.singletonList(first));
+        AuditResource auditResource = new AuditResource(new AuditEventService(repository), auditEventConverter,
+            auditEventExportService);
+        MockMvc restAuditMockMvc = MockMvcBuilders.standaloneSetup(auditResource).build();
+
+        String expectedCursor = SeekCursor.of(SAMPLE_TIMESTAMP.plusSeconds(1), 2L).encode();
+        restAuditMockMvc.perform(get("/management/audits?size=2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("cursor=" + expectedCursor)));
+    }
+
+    @Test
+    public void getAuditsByPrincipalTypeAndDates() throws Exception {
+        auditEventRepository.save(createAuditEvent(SAMPLE_PRINCIPAL, SAMPLE_TYPE, SAMPLE_TIMESTAMP));
+        auditEventRepository.save(createAuditEvent("other", SAMPLE_TYPE, SAMPLE_TIMESTAMP));
+        auditEventRepository.save(createAuditEvent(SAMPLE_PRINCIPAL, "OTHER_TYPE", SAMPLE_TIMESTAMP));
+        auditEventRepository.save(
+            createAuditEvent(SAMPLE_PRINCIPAL, SAMPLE_TYPE, SAMPLE_TIMESTAMP.plusSeconds(2 * 24 * 3600)));
+
+        restAuditMockMvc.perform(get("/management/audits?principal={principal}&type={type}&fromDate={from}" +
+            "&toDate={to}", SAMPLE_PRINCIPAL, SAMPLE_TYPE, SAMPLE_DAY, SAMPLE_DAY))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$.[0].principal").value(SAMPLE_PRINCIPAL))
+            .andExpect(jsonPath("$.[0].type").value(SAMPLE_TYPE));
+    }
+
+    @Test
+    public void getAuditsWithInvalidCursor() throws Exception {
+        restAuditMockMvc.perform(get("/management/audits?cursor=invalid"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.invalidCursor"));
+    }
+
+    @Test
+    public void exportAudits() throws Exception {
+        PersistentAuditEvent withoutData = createAuditEvent(SAMPLE_PRINCIPAL, SAMPLE_TYPE, SAMPLE_TIMESTAMP);
+        withoutData.getData().clear();
+        auditEventRepository.save(withoutData);
+        PersistentAuditEvent withData =
+            createAuditEvent(SAMPLE_PRINCIPAL, SAMPLE_TYPE, SAMPLE_TIMESTAMP.plusSeconds(1));
+        withData.getData().put("sessionId", "5E4B2F6A3C1D");
+        auditEventRepository.save(withData);
+        auditEventRepository.save(createAuditEvent("other", SAMPLE_TYPE, SAMPLE_TIMESTAMP));
+        auditEventRepository.save(
+            createAuditEvent(SAMPLE_PRINCIPAL, SAMPLE_TYPE, SAMPLE_TIMESTAMP.plusSeconds(2 * 24 * 3600)));
+
+        MvcResult result = restAuditMockMvc.perform(get("/management/audits/export?principal={principal}" +
+            "&fromDate={from}&toDate={to}", SAMPLE_PRINCIPAL, SAMPLE_DAY, SAMPLE_DAY))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/gzip"))
+            .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"audits-2015-08-04-2015-08-04.ndjson.gz\""))
+            .andReturn();
+
+        List<String> lines = gunzipLines(result.getResponse().getContentAsByteArray());
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0)).isEqualTo("{\"id\":" + withoutData.getId() + ",\"timestamp\":\"" +
+            SAMPLE_TIMESTAMP + "\",\"principal\":\"SAMPLE_PRINCIPAL\",\"type\":\"SAMPLE_TYPE\",\"data\":{}}");
+        assertThat(JsonPath.<Integer>read(lines.get(1), "$.id")).isEqualTo(withData.getId().intValue());
+        assertThat(JsonPath.<String>read(lines.get(1), "$.data.remoteAddress")).isEqualTo("127.0.0.1");
+        assertThat(JsonPath.<String>read(lines.get(1), "$.data.sessionId")).isEqualTo("5E4B2F6A3C1D");
+    }
+
+    @Test
+    public void exportNoAudits() throws Exception {
+        MvcResult result = restAuditMockMvc.perform(get("/management/audits/export"))
+            .andExpect(status().isOk())
+            .andReturn();
+
+        assertThat(gunzipLines(result.getResponse().getContentAsByteArray())).isEmpty();
+    }
+
+    @Test
+    public void getAudit() throws Exception {
+        PersistentAuditEvent auditEvent =
+            auditEventRepository.save(createAuditEvent(SAMPLE_PRINCIPAL, SAMPLE_TYPE, SAMPLE_TIMESTAMP));
+
+        restAuditMockMvc.perform(get("/management/audits/{id}", auditEvent.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(jsonPath("$.principal").value(SAMPLE_PRINCIPAL))
+            .andExpect(jsonPath("$.data.remoteAddress").value("127.0.0.1"));
+    }
+
+    @Test
+    public void getNonExistingAudit() throws Exception {
+        restAuditMockMvc.perform(get("/management/audits/{id}", Long.MAX_VALUE))
+            .andExpect(status().isNotFound());
+    }
+
+    private static List<String> gunzipLines(byte[] content) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+            new GZIPInputStream(new ByteArrayInputStream(content)), StandardCharsets.UTF_8))) {
+            return reader.lines().collect(Collectors.toList());
+        }
+    }
+
+    private static PersistentAuditEvent createAuditEvent(String principal, String type, Instant date) {
+        PersistentAuditEvent auditEvent = new PersistentAuditEvent();
+        auditEvent.setPrincipal(principal);
+        auditEvent.setAuditEventType(type);
+        auditEvent.setAuditEventDate(date);
+        auditEvent.getData().put("remoteAddress", "127.0.0.1");
+        return auditEvent;
+    }
+}
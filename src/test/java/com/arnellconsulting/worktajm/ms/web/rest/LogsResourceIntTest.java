@@ -1,24 +1,34 @@
 package com.arnellconsulting.worktajm.ms.web.rest;
 
 import com.arnellconsulting.worktajm.ms.WorktajmMsApp;
+import com.arnellconsulting.worktajm.ms.config.logging.BatchingLogstashAppender;
+import com.arnellconsulting.worktajm.ms.service.LogLevelService;
+import com.arnellconsulting.worktajm.ms.web.rest.errors.ExceptionTranslator;
+import com.arnellconsulting.worktajm.ms.web.rest.vm.LogLevelsVM;
 import com.arnellconsulting.worktajm.ms.web.rest.vm.LoggerVM;
-import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.LoggerContext;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.MockitoAnnotations;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.util.Arrays;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -30,15 +40,24 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @SpringBootTest(classes = WorktajmMsApp.class)
 public class LogsResourceIntTest {
 
+    private static final String TEST_LOGGER = "com.arnellconsulting.worktajm.ms.web.rest.LogsResourceIntTest.test";
+
+    @Autowired
+    private LogLevelService logLevelService;
+
+    @Autowired
+    private ExceptionTranslator exceptionTranslator;
+
     private MockMvc restLogsMockMvc;
 
     @Before
     public void setup() {
         MockitoAnnotations.initMocks(this);
 
-        LogsResource logsResource = new LogsResource();
+        LogsResource logsResource = new LogsResource(logLevelService);
         this.restLogsMockMvc = MockMvcBuilders
             .standaloneSetup(logsResource)
+            .setControllerAdvice(exceptionTranslator)
             .build();
     }
 
@@ -49,6 +68,19 @@ public class LogsResourceIntTest {
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE));
     }
 
+    @Test
+    public void getAllLogsWithoutPaging() throws Exception {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        for (int i = 0; i < 150; i++) {
+            context.getLogger(TEST_LOGGER + ".all." + i);
+        }
+
+        restLogsMockMvc.perform(get("/management/logs?prefix={prefix}", TEST_LOGGER + ".all."))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(jsonPath("$", hasSize(150)));
+    }
+
     @Test
     public void changeLogs()throws Exception {
         LoggerVM logger = new LoggerVM();
@@ -61,9 +93,63 @@ public class LogsResourceIntTest {
             .andExpect(status().isNoContent());
     }
 
+    @Test
+    public void getLogsPage() throws Exception {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        context.getLogger(TEST_LOGGER + ".page.a");
+        context.getLogger(TEST_LOGGER + ".page.b");
+        context.getLogger(TEST_LOGGER + ".page.c");
+
+        restLogsMockMvc.perform(get("/management/logs?prefix={prefix}&page=1&size=2", TEST_LOGGER + ".page."))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "3"))
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$[0].name").value(TEST_LOGGER + ".page.c"));
+    }
+
+    @Test
+    public void changeLogsInBulk() throws Exception {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        context.getLogger(TEST_LOGGER + ".bulk").setLevel(Level.WARN);
+        LogLevelsVM logLevels = new LogLevelsVM();
+        logLevels.setLoggers(Arrays.asList(logger(TEST_LOGGER + ".bulk", "TRACE"), logger(TEST_LOGGER + ".other", "ERROR")));
+        logLevels.setTimeToLiveSeconds(60);
+
+        restLogsMockMvc.perform(put("/management/logs/bulk")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(logLevels)))
+            .andExpect(status().isNoContent());
+
+        assertThat(context.getLogger(TEST_LOGGER + ".bulk").getLevel()).isEqualTo(Level.TRACE);
+        assertThat(context.getLogger(TEST_LOGGER + ".other").getLevel()).isEqualTo(Level.ERROR);
+    }
+
+    @Test
+    public void changeLogsWithInvalidLevel() throws Exception {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        context.getLogger(TEST_LOGGER + ".invalid").setLevel(Level.WARN);
+        LogLevelsVM logLevels = new LogLevelsVM();
+        logLevels.setLoggers(Arrays.asList(logger(TEST_LOGGER + ".invalid", "DEBUG"), logger(TEST_LOGGER, "VERBOSE")));
+
+        restLogsMockMvc.perform(put("/management/logs/bulk")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(logLevels)))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.invalidLogLevel"));
+
+        assertThat(context.getLogger(TEST_LOGGER + ".invalid").getLevel()).isEqualTo(Level.WARN);
+    }
+
     @Test
     public void testLogstashAppender() {
         LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
-        assertThat(context.getLogger("ROOT").getAppender("ASYNC_LOGSTASH")).isInstanceOf(AsyncAppender.class);
+        assertThat(context.getLogger("ROOT").getAppender("ASYNC_LOGSTASH")).isInstanceOf(BatchingLogstashAppender.class);
+    }
+
+    private static LoggerVM logger(String name, String level) {
+        LoggerVM logger = new LoggerVM();
+        logger.setName(name);
+        logger.setLevel(level);
+        return logger;
     }
 }
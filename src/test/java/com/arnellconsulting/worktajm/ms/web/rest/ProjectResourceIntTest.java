@@ -0,0 +1,238 @@
+package com.arnellconsulting.worktajm.ms.web.rest;
+
+import com.arnellconsulting.worktajm.ms.WorktajmMsApp;
+import com.arnellconsulting.worktajm.ms.config.ApplicationProperties;
+import com.arnellconsulting.worktajm.ms.domain.Project;
+import com.arnellconsulting.worktajm.ms.repository.ProjectRepository;
+import com.arnellconsulting.worktajm.ms.service.TotalCount;
+import com.arnellconsulting.worktajm.ms.service.TotalCountService;
+import com.arnellconsulting.worktajm.ms.web.rest.errors.ExceptionTranslator;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Test class for the ProjectResource REST controller.
+ *
+ * @see ProjectResource
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = WorktajmMsApp.class)
+public class ProjectResourceIntTest {
+
+    private static final Long DEFAULT_PROJECT_ID = 1L;
+
+    private static final String DEFAULT_PROJECT_TITLE = "AAAAAAAAAA";
+    private static final String UPDATED_PROJECT_TITLE = "BBBBBBBBBB";
+
+    private static final Long DEFAULT_MIN_SALARY = 1L;
+
+    private static final Long DEFAULT_MAX_SALARY = 2L;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TotalCountService totalCountService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MappingJackson2HttpMessageConverter jacksonMessageConverter;
+
+    @Autowired
+    private PageableHandlerMethodArgumentResolver pageableArgumentResolver;
+
+    @Autowired
+    private ExceptionTranslator exceptionTranslator;
+
+    @Autowired
+    private EntityManager em;
+
+    private MockMvc restProjectMockMvc;
+
+    private Project project;
+
+    @Before
+    public void setup() {
+        ProjectResource projectResource = new ProjectResource(projectRepository, totalCountService);
+        this.restProjectMockMvc = buildMockMvc(projectResource);
+    }
+
+    private MockMvc buildMockMvc(ProjectResource projectResource) {
+        return MockMvcBuilders.standaloneSetup(projectResource)
+            .setCustomArgumentResolvers(pageableArgumentResolver)
+            .setControllerAdvice(exceptionTranslator)
+            .setMessageConverters(jacksonMessageConverter).build();
+    }
+
+    /**
+     * Create an entity for this test.
+     *
+     * This is a static method, as tests for other entities might also need it,
+     * if they test an entity which requires the current entity.
+     */
+    public static Project createEntity(EntityManager em) {
+        return new Project()
+            .projectId(DEFAULT_PROJECT_ID)
+            .projectTitle(DEFAULT_PROJECT_TITLE)
+            .minSalary(DEFAULT_MIN_SALARY)
+            .maxSalary(DEFAULT_MAX_SALARY);
+    }
+
+    @Before
+    public void initTest() {
+        project = createEntity(em);
+    }
+
+    @Test
+    @Transactional
+    public void createProject() throws Exception {
+        int databaseSizeBeforeCreate = projectRepository.findAll().size();
+
+        restProjectMockMvc.perform(post("/api/projects")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(project)))
+            .andExpect(status().isCreated());
+
+        List<Project> projectList = projectRepository.findAll();
+        assertThat(projectList).hasSize(databaseSizeBeforeCreate + 1);
+        Project testProject = projectList.get(projectList.size() - 1);
+        assertThat(testProject.getProjectId()).isEqualTo(DEFAULT_PROJECT_ID);
+        assertThat(testProject.getProjectTitle()).isEqualTo(DEFAULT_PROJECT_TITLE);
+        assertThat(testProject.getMinSalary()).isEqualTo(DEFAULT_MIN_SALARY);
+        assertThat(testProject.getMaxSalary()).isEqualTo(DEFAULT_MAX_SALARY);
+    }
+
+    @Test
+    @Transactional
+    public void createProjectWithExistingId() throws Exception {
+        int databaseSizeBeforeCreate = projectRepository.findAll().size();
+
+        project.setId(1L);
+        restProjectMockMvc.perform(post("/api/projects")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(project)))
+            .andExpect(status().isBadRequest());
+
+        assertThat(projectRepository.findAll()).hasSize(databaseSizeBeforeCreate);
+    }
+
+    @Test
+    @Transactional
+    public void getAllProjects() throws Exception {
+        projectRepository.saveAndFlush(project);
+        long databaseSize = projectRepository.count();
+
+        // The only page is the last one, so its position gives the count
+        restProjectMockMvc.perform(get("/api/projects?sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(header().string("X-Total-Count", Long.toString(databaseSize)))
+            .andExpect(header().string("X-Total-Count-Strategy", "exact"))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"last\"")))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(project.getId().intValue())))
+            .andExpect(jsonPath("$.[*].projectTitle").value(hasItem(DEFAULT_PROJECT_TITLE)));
+    }
+
+    @Test
+    @Transactional
+    public void getAllProjectsWithEstimatedCount() throws Exception {
+        projectRepository.saveAndFlush(project);
+        projectRepository.saveAndFlush(createEntity(em));
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getPagination().setCountStrategy(TotalCount.Strategy.ESTIMATED);
+        applicationProperties.getPagination().setEstimateThreshold(0);
+        MockMvc estimatingMockMvc = buildMockMvc(new ProjectResource(projectRepository,
+            new TotalCountService(applicationProperties, dataSource)));
+
+        estimatingMockMvc.perform(get("/api/projects?page=0&size=1"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count-Strategy", "estimated"))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"next\"")))
+            .andExpect(header().string(HttpHeaders.LINK, not(containsString("rel=\"last\""))));
+    }
+
+    @Test
+    @Transactional
+    public void getProject() throws Exception {
+        projectRepository.saveAndFlush(project);
+
+        restProjectMockMvc.perform(get("/api/projects/{id}", project.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(jsonPath("$.id").value(project.getId().intValue()))
+            .andExpect(jsonPath("$.projectId").value(DEFAULT_PROJECT_ID.intValue()))
+            .andExpect(jsonPath("$.projectTitle").value(DEFAULT_PROJECT_TITLE))
+            .andExpect(jsonPath("$.minSalary").value(DEFAULT_MIN_SALARY.intValue()))
+            .andExpect(jsonPath("$.maxSalary").value(DEFAULT_MAX_SALARY.intValue()));
+    }
+
+    @Test
+    @Transactional
+    public void getNonExistingProject() throws Exception {
+        restProjectMockMvc.perform(get("/api/projects/{id}", Long.MAX_VALUE))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional
+    public void updateProject() throws Exception {
+        projectRepository.saveAndFlush(project);
+        int databaseSizeBeforeUpdate = projectRepository.findAll().size();
+
+        Project updatedProject = projectRepository.findOne(project.getId());
+        em.detach(updatedProject);
+        updatedProject.projectTitle(UPDATED_PROJECT_TITLE);
+
+        restProjectMockMvc.perform(put("/api/projects")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(updatedProject)))
+            .andExpect(status().isOk());
+
+        assertThat(projectRepository.findAll()).hasSize(databaseSizeBeforeUpdate);
+        assertThat(projectRepository.findOne(project.getId()).getProjectTitle()).isEqualTo(UPDATED_PROJECT_TITLE);
+    }
+
+    @Test
+    @Transactional
+    public void deleteProject() throws Exception {
+        projectRepository.saveAndFlush(project);
+        int databaseSizeBeforeDelete = projectRepository.findAll().size();
+
+        restProjectMockMvc.perform(delete("/api/projects/{id}", project.getId())
+            .accept(TestUtil.APPLICATION_JSON_UTF8))
+            .andExpect(status().isOk());
+
+        assertThat(projectRepository.findAll()).hasSize(databaseSizeBeforeDelete - 1);
+    }
+
+    @Test
+    @Transactional
+    public void equalsVerifier() throws Exception {
+        TestUtil.equalsVerifier(Project.class);
+    }
+}
@@ -0,0 +1,147 @@
+package com.arnellconsulting.worktajm.ms.web.rest;
+
+import com.arnellconsulting.worktajm.ms.WorktajmMsApp;
+import com.arnellconsulting.worktajm.ms.domain.WorkLog;
+import com.arnellconsulting.worktajm.ms.service.TimesheetService;
+import com.arnellconsulting.worktajm.ms.service.WorkLogService;
+import com.arnellconsulting.worktajm.ms.web.rest.errors.ExceptionTranslator;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.time.ZonedDateTime;
+import java.util.Collections;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Test class for the TimesheetResource REST controller.
+ *
+ * @see TimesheetResource
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = WorktajmMsApp.class)
+public class TimesheetResourceIntTest {
+
+    private static final ZonedDateTime MONDAY = ZonedDateTime.parse("2017-05-01T08:00:00Z");
+
+    @Autowired
+    private TimesheetService timesheetService;
+
+    @Autowired
+    private WorkLogService workLogService;
+
+    @Autowired
+    private MappingJackson2HttpMessageConverter jacksonMessageConverter;
+
+    @Autowired
+    private ExceptionTranslator exceptionTranslator;
+
+    @Autowired
+    private EntityManager em;
+
+    private MockMvc restTimesheetMockMvc;
+
+    private WorkLog workLog;
+
+    @Before
+    public void setup() {
+        TimesheetResource timesheetResource = new TimesheetResource(timesheetService);
+        this.restTimesheetMockMvc = MockMvcBuilders.standaloneSetup(timesheetResource)
+            .setControllerAdvice(exceptionTranslator)
+            .setMessageConverters(jacksonMessageConverter).build();
+        workLog = WorkLogResourceIntTest.createEntity(em).startDate(MONDAY).endDate(MONDAY.plusHours(8));
+    }
+
+    @Test
+    @Transactional
+    public void getTimesheetsOfCreatedWorkLogs() throws Exception {
+        workLogService.save(workLog);
+        workLogService.createAll(Collections.singletonList(new WorkLog()
+            .startDate(MONDAY.plusDays(1)).endDate(MONDAY.plusDays(1).plusHours(4))
+            .worker(workLog.getWorker()).project(workLog.getProject())));
+
+        restTimesheetMockMvc.perform(get("/api/timesheets")
+            .param("period", "DAY")
+            .param("workerId", workLog.getWorker().getId().toString())
+            .param("fromDate", "2017-05-01")
+            .param("toDate", "2017-05-31"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(jsonPath("$", hasSize(2)))
+            .andExpect(jsonPath("$.[0].periodStart").value("2017-05-01"))
+            .andExpect(jsonPath("$.[0].projectId").value(workLog.getProject().getId().intValue()))
+            .andExpect(jsonPath("$.[0].hours").value(8.0))
+            .andExpect(jsonPath("$.[1].periodStart").value("2017-05-02"))
+            .andExpect(jsonPath("$.[1].hours").value(4.0));
+
+        // The week of the range start is included
+        restTimesheetMockMvc.perform(get("/api/timesheets")
+            .param("period", "WEEK")
+            .param("projectId", workLog.getProject().getId().toString())
+            .param("fromDate", "2017-05-03")
+            .param("toDate", "2017-05-03"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$.[0].periodStart").value("2017-05-01"))
+            .andExpect(jsonPath("$.[0].hours").value(12.0))
+            .andExpect(jsonPath("$.[0].entries").value(2));
+    }
+
+    @Test
+    @Transactional
+    public void getTimesheetsOfUpdatedWorkLog() throws Exception {
+        workLogService.save(workLog);
+        em.flush();
+        em.detach(workLog);
+        workLogService.save(workLog.startDate(MONDAY.plusDays(1)).endDate(MONDAY.plusDays(1).plusHours(2)));
+
+        restTimesheetMockMvc.perform(get("/api/timesheets")
+            .param("period", "DAY")
+            .param("workerId", workLog.getWorker().getId().toString())
+            .param("fromDate", "2017-05-01")
+            .param("toDate", "2017-05-31"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$.[0].periodStart").value("2017-05-02"))
+            .andExpect(jsonPath("$.[0].durationSeconds").value(7200));
+    }
+
+    @Test
+    @Transactional
+    public void getTimesheetsOfDeletedWorkLog() throws Exception {
+        workLogService.save(workLog);
+        workLogService.delete(workLog.getId());
+
+        restTimesheetMockMvc.perform(get("/api/timesheets")
+            .param("period", "MONTH")
+            .param("workerId", workLog.getWorker().getId().toString())
+            .param("fromDate", "2017-05-01")
+            .param("toDate", "2017-05-31"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    @Transactional
+    public void getTimesheetsWithInvalidDateRange() throws Exception {
+        restTimesheetMockMvc.perform(get("/api/timesheets")
+            .param("period", "DAY")
+            .param("fromDate", "2017-05-31")
+            .param("toDate", "2017-05-01"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.invalidDateRange"));
+    }
+}
@@ -0,0 +1,469 @@
+package com.arnellconsulting.worktajm.ms.web.rest;
+
+import com.arnellconsulting.worktajm.ms.WorktajmMsApp;
+import com.arnellconsulting.worktajm.ms.config.ApplicationProperties;
+import com.arnellconsulting.worktajm.ms.domain.Project;
+import com.arnellconsulting.worktajm.ms.domain.WorkLog;
+import com.arnellconsulting.worktajm.ms.domain.Worker;
+import com.arnellconsulting.worktajm.ms.repository.WorkLogRepository;
+import com.arnellconsulting.worktajm.ms.service.WorkLogExportService;
+import com.arnellconsulting.worktajm.ms.service.WorkLogService;
+import com.arnellconsulting.worktajm.ms.web.rest.errors.ExceptionTranslator;
+import com.arnellconsulting.worktajm.ms.web.rest.util.SeekCursor;
+
+import com.jayway.jsonpath.JsonPath;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.arnellconsulting.worktajm.ms.web.rest.TestUtil.sameInstant;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Test class for the WorkLogResource REST controller.
+ *
+ * @see WorkLogResource
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = WorktajmMsApp.class)
+public class WorkLogResourceIntTest {
+
+    private static final ZonedDateTime DEFAULT_START_DATE = ZonedDateTime.ofInstant(Instant.ofEpochMilli(0L), ZoneOffset.UTC);
+    private static final ZonedDateTime UPDATED_START_DATE = ZonedDateTime.now(ZoneId.systemDefault()).withNano(0);
+
+    private static final ZonedDateTime DEFAULT_END_DATE = DEFAULT_START_DATE.plusHours(8);
+
+    private static final String DEFAULT_COMMENT = "AAAAAAAAAA";
+
+    private static final Pattern NEXT_LINK = Pattern.compile("<([^>]*)>; rel=\"next\"");
+
+    @Autowired
+    private WorkLogRepository workLogRepository;
+
+    @Autowired
+    private WorkLogService workLogService;
+
+    @Autowired
+    private WorkLogExportService workLogExportService;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private MappingJackson2HttpMessageConverter jacksonMessageConverter;
+
+    @Autowired
+    private PageableHandlerMethodArgumentResolver pageableArgumentResolver;
+
+    @Autowired
+    private ExceptionTranslator exceptionTranslator;
+
+    @Autowired
+    private EntityManager em;
+
+    private MockMvc restWorkLogMockMvc;
+
+    private WorkLog workLog;
+
+    @Before
+    public void setup() {
+        WorkLogResource workLogResource = new WorkLogResource(workLogService, workLogExportService,
+            applicationProperties);
+        this.restWorkLogMockMvc = buildMockMvc(workLogResource);
+    }
+
+    private MockMvc buildMockMvc(WorkLogResource workLogResource) {
+        return MockMvcBuilders.standaloneSetup(workLogResource)
+            .setCustomArgumentResolvers(pageableArgumentResolver)
+            .setControllerAdvice(exceptionTranslator)
+            .setMessageConverters(jacksonMessageConverter).build();
+    }
+
+    /**
+     * Create an entity for this test.
+     *
+     * This is a static method, as tests for other entities might also need it,
+     * if they test an entity which requires the current entity.
+     */
+    public static WorkLog createEntity(EntityManager em) {
+        Worker worker = new Worker().firstName("Ada").lastName("Lovelace");
+        em.persist(worker);
+        Project project = new Project().projectTitle("Analytical Engine");
+        em.persist(project);
+        em.flush();
+        return new WorkLog()
+            .startDate(DEFAULT_START_DATE)
+            .endDate(DEFAULT_END_DATE)
+            .comment(DEFAULT_COMMENT)
+            .worker(worker)
+            .project(project);
+    }
+
+    @Before
+    public void initTest() {
+        workLog = createEntity(em);
+    }
+
+    @Test
+    @Transactional
+    public void createWorkLog() throws Exception {
+        int databaseSizeBeforeCreate = workLogRepository.findAll().size();
+
+        restWorkLogMockMvc.perform(post("/api/work-logs")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(workLog)))
+            .andExpect(status().isCreated());
+
+        List<WorkLog> workLogList = workLogRepository.findAll();
+        assertThat(workLogList).hasSize(databaseSizeBeforeCreate + 1);
+        WorkLog testWorkLog = workLogList.get(workLogList.size() - 1);
+        assertThat(testWorkLog.getStartDate()).isEqualTo(DEFAULT_START_DATE);
+        assertThat(testWorkLog.getEndDate()).isEqualTo(DEFAULT_END_DATE);
+        assertThat(testWorkLog.getComment()).isEqualTo(DEFAULT_COMMENT);
+        assertThat(testWorkLog.getWorker()).isEqualTo(workLog.getWorker());
+    }
+
+    @Test
+    @Transactional
+    public void createWorkLogWithExistingId() throws Exception {
+        int databaseSizeBeforeCreate = workLogRepository.findAll().size();
+        workLog.setId(1L);
+
+        restWorkLogMockMvc.perform(post("/api/work-logs")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(workLog)))
+            .andExpect(status().isBadRequest());
+
+        assertThat(workLogRepository.findAll()).hasSize(databaseSizeBeforeCreate);
+    }
+
+    @Test
+    @Transactional
+    public void createWorkLogTooLong() throws Exception {
+        int databaseSizeBeforeCreate = workLogRepository.findAll().size();
+        workLog.setEndDate(DEFAULT_START_DATE.plusDays(32));
+
+        restWorkLogMockMvc.perform(post("/api/work-logs")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(workLog)))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.endDate.tooLong"));
+
+        assertThat(workLogRepository.findAll()).hasSize(databaseSizeBeforeCreate);
+    }
+
+    @Test
+    @Transactional
+    public void updateWorkLogTooLong() throws Exception {
+        workLogRepository.saveAndFlush(workLog);
+        WorkLog updatedWorkLog = new WorkLog()
+            .startDate(DEFAULT_START_DATE)
+            .endDate(DEFAULT_START_DATE.plusDays(32))
+            .worker(workLog.getWorker())
+            .project(workLog.getProject());
+        updatedWorkLog.setId(workLog.getId());
+
+        restWorkLogMockMvc.perform(put("/api/work-logs")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(updatedWorkLog)))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.endDate.tooLong"));
+
+        assertThat(workLogRepository.findOne(workLog.getId()).getEndDate()).isEqualTo(DEFAULT_END_DATE);
+    }
+
+    @Test
+    @Transactional
+    public void createWorkLogBatch() throws Exception {
+        int databaseSizeBeforeCreate = workLogRepository.findAll().size();
+        // More than hibernate.jdbc.batch_size, so that several JDBC batches are sent
+        int size = 120;
+        List<WorkLog> workLogs = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            workLogs.add(new WorkLog()
+                .startDate(DEFAULT_START_DATE.plusDays(i))
+                .endDate(DEFAULT_END_DATE.plusDays(i))
+                .comment(DEFAULT_COMMENT)
+                .worker(workLog.getWorker())
+                .project(workLog.getProject()));
+        }
+
+        restWorkLogMockMvc.perform(post("/api/work-logs/batch")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(workLogs)))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$", hasSize(size)))
+            .andExpect(jsonPath("$.[0].index").value(0))
+            .andExpect(jsonPath("$.[119].index").value(119))
+            .andExpect(jsonPath("$.[*].status").value(everyItem(is("CREATED"))))
+            .andExpect(jsonPath("$.[*].id").value(everyItem(notNullValue())));
+
+        List<WorkLog> workLogList = workLogRepository.findAll();
+        assertThat(workLogList).hasSize(databaseSizeBeforeCreate + size);
+        assertThat(workLogList).allMatch(created -> created.getWorker().getId().equals(workLog.getWorker().getId()));
+    }
+
+    @Test
+    @Transactional
+    public void createWorkLogBatchWithInvalidWorkLogs() throws Exception {
+        int databaseSizeBeforeCreate = workLogRepository.findAll().size();
+        Worker unknownWorker = new Worker();
+        unknownWorker.setId(Long.MAX_VALUE);
+        List<WorkLog> workLogs = Arrays.asList(
+            workLog,
+            new WorkLog().worker(workLog.getWorker()).project(workLog.getProject()),
+            new WorkLog().startDate(DEFAULT_END_DATE).endDate(DEFAULT_START_DATE)
+                .worker(unknownWorker).project(workLog.getProject()),
+            new WorkLog().startDate(DEFAULT_START_DATE),
+            new WorkLog().startDate(DEFAULT_START_DATE).endDate(DEFAULT_START_DATE.plusYears(10))
+                .worker(workLog.getWorker()).project(workLog.getProject()));
+
+        restWorkLogMockMvc.perform(post("/api/work-logs/batch")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(workLogs)))
+            .andExpect(status().isMultiStatus())
+            .andExpect(jsonPath("$", hasSize(5)))
+            .andExpect(jsonPath("$.[0].status").value("CREATED"))
+            .andExpect(jsonPath("$.[0].id").value(notNullValue()))
+            .andExpect(jsonPath("$.[1].status").value("INVALID"))
+            .andExpect(jsonPath("$.[1].errors").value(hasItem("startDate.required")))
+            .andExpect(jsonPath("$.[2].status").value("INVALID"))
+            .andExpect(jsonPath("$.[2].errors").value(hasItem("endDate.beforeStartDate")))
+            .andExpect(jsonPath("$.[2].errors").value(hasItem("worker.notFound")))
+            .andExpect(jsonPath("$.[3].errors").value(hasItem("worker.required")))
+            .andExpect(jsonPath("$.[3].errors").value(hasItem("project.required")))
+            .andExpect(jsonPath("$.[4].status").value("INVALID"))
+            .andExpect(jsonPath("$.[4].errors").value(hasItem("endDate.tooLong")));
+
+        assertThat(workLogRepository.findAll()).hasSize(databaseSizeBeforeCreate + 1);
+    }
+
+    @Test
+    @Transactional
+    public void createWorkLogBatchTooLarge() throws Exception {
+        int databaseSizeBeforeCreate = workLogRepository.findAll().size();
+        ApplicationProperties properties = new ApplicationProperties();
+        properties.getWorkLog().setMaxBatchSize(1);
+        MockMvc restMockMvc = buildMockMvc(new WorkLogResource(workLogService, workLogExportService,
+            properties));
+
+        restMockMvc.perform(post("/api/work-logs/batch")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(Arrays.asList(workLog, workLog))))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.batchTooLarge"));
+
+        assertThat(workLogRepository.findAll()).hasSize(databaseSizeBeforeCreate);
+    }
+
+    @Test
+    @Transactional
+    public void exportWorkLogs() throws Exception {
+        // The export reads the committed work logs, with its own connection
+        MvcResult result = restWorkLogMockMvc.perform(get("/api/work-logs/export")
+            .param("workerId", Long.toString(Long.MAX_VALUE))
+            .param("fromDate", "2017-05-01")
+            .param("toDate", "2017-05-31"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        restWorkLogMockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk());
+        // The headers and the file are written to the response of the first dispatch
+        assertThat(result.getResponse().getContentType()).isEqualTo("text/csv");
+        assertThat(result.getResponse().getHeader(HttpHeaders.CONTENT_DISPOSITION))
+            .isEqualTo("attachment; filename=\"work-logs-2017-05-01-2017-05-31.csv\"");
+        assertThat(result.getResponse().getContentAsString()).isEqualTo("id,workerId,firstName,lastName," +
+            "projectId,projectTitle,startDate,endDate,hours,comment\r\n");
+    }
+
+    @Test
+    @Transactional
+    public void exportWorkLogsWhileTooManyExportsAreRunning() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        WorkLogExportService blockingExportService = mock(WorkLogExportService.class);
+        doAnswer(invocation -> {
+            running.countDown();
+            done.await(10, TimeUnit.SECONDS);
+            return 0L;
+        }).when(blockingExportService).export(any(), any(), any(), any(), any(), any());
+        ApplicationProperties properties = new ApplicationProperties();
+        properties.getWorkLog().setMaxConcurrentExports(1);
+        MockMvc exportMockMvc = buildMockMvc(new WorkLogResource(workLogService, blockingExportService, properties));
+
+        MvcResult first = exportMockMvc.perform(get("/api/work-logs/export"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        assertThat(running.await(10, TimeUnit.SECONDS)).isTrue();
+        exportMockMvc.perform(get("/api/work-logs/export"))
+            .andExpect(status().isServiceUnavailable());
+
+        done.countDown();
+        exportMockMvc.perform(asyncDispatch(first))
+            .andExpect(status().isOk());
+        exportMockMvc.perform(get("/api/work-logs/export"))
+            .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    @Transactional
+    public void getAllWorkLogs() throws Exception {
+        workLogRepository.saveAndFlush(workLog);
+
+        restWorkLogMockMvc.perform(get("/api/work-logs"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(workLog.getId().intValue())))
+            .andExpect(jsonPath("$.[*].startDate").value(hasItem(sameInstant(DEFAULT_START_DATE))))
+            .andExpect(jsonPath("$.[*].endDate").value(hasItem(sameInstant(DEFAULT_END_DATE))))
+            .andExpect(jsonPath("$.[*].comment").value(hasItem(DEFAULT_COMMENT)));
+    }
+
+    @Test
+    @Transactional
+    public void getAllWorkLogsPageByPage() throws Exception {
+        // Several workLogs start at the same date, the pages are then split by id
+        List<Long> expectedIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            WorkLog other = new WorkLog()
+                .startDate(DEFAULT_START_DATE.plusHours(i / 2))
+                .endDate(DEFAULT_END_DATE.plusHours(i / 2))
+                .worker(workLog.getWorker())
+                .project(workLog.getProject());
+            // Latest start date first, then latest id first, as the ids are allocated in order
+            expectedIds.add(0, workLogRepository.saveAndFlush(other).getId());
+        }
+        List<Long> ids = new ArrayList<>();
+        List<String> pages = new ArrayList<>();
+        String url = "/api/work-logs?workerId=" + workLog.getWorker().getId() + "&size=2";
+        while (url != null) {
+            MvcResult result = restWorkLogMockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn();
+            pages.add(url);
+            for (Number id : JsonPath.<List<Number>>read(result.getResponse().getContentAsString(), "$.[*].id")) {
+                ids.add(id.longValue());
+            }
+            String link = result.getResponse().getHeader(HttpHeaders.LINK);
+            Matcher matcher = link != null ? NEXT_LINK.matcher(link) : null;
+            url = matcher != null && matcher.find() ? matcher.group(1) : null;
+        }
+
+        assertThat(pages).hasSize(3);
+        assertThat(pages.get(1)).contains("workerId=" + workLog.getWorker().getId());
+        assertThat(ids).containsExactlyElementsOf(expectedIds);
+    }
+
+    @Test
+    @Transactional
+    public void getAllWorkLogsWithInvalidCursor() throws Exception {
+        restWorkLogMockMvc.perform(get("/api/work-logs?cursor={cursor}", SeekCursor.of(1L).encode()))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.invalidCursor"));
+    }
+
+    @Test
+    @Transactional
+    public void getAllWorkLogsWithInvalidSize() throws Exception {
+        restWorkLogMockMvc.perform(get("/api/work-logs?size=0"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.invalidPageSize"));
+    }
+
+    @Test
+    @Transactional
+    public void getWorkLog() throws Exception {
+        workLogRepository.saveAndFlush(workLog);
+
+        restWorkLogMockMvc.perform(get("/api/work-logs/{id}", workLog.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(jsonPath("$.id").value(workLog.getId().intValue()))
+            .andExpect(jsonPath("$.startDate").value(sameInstant(DEFAULT_START_DATE)))
+            .andExpect(jsonPath("$.comment").value(DEFAULT_COMMENT))
+            .andExpect(jsonPath("$.worker.id").value(workLog.getWorker().getId().intValue()));
+    }
+
+    @Test
+    @Transactional
+    public void getNonExistingWorkLog() throws Exception {
+        restWorkLogMockMvc.perform(get("/api/work-logs/{id}", Long.MAX_VALUE))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional
+    public void updateWorkLog() throws Exception {
+        workLogService.save(workLog);
+        int databaseSizeBeforeUpdate = workLogRepository.findAll().size();
+
+        WorkLog updatedWorkLog = workLogRepository.findOne(workLog.getId());
+        em.detach(updatedWorkLog);
+        updatedWorkLog.startDate(UPDATED_START_DATE);
+
+        restWorkLogMockMvc.perform(put("/api/work-logs")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(updatedWorkLog)))
+            .andExpect(status().isOk());
+
+        List<WorkLog> workLogList = workLogRepository.findAll();
+        assertThat(workLogList).hasSize(databaseSizeBeforeUpdate);
+        WorkLog testWorkLog = workLogList.get(workLogList.size() - 1);
+        assertThat(testWorkLog.getStartDate()).isEqualTo(UPDATED_START_DATE);
+    }
+
+    @Test
+    @Transactional
+    public void deleteWorkLog() throws Exception {
+        workLogService.save(workLog);
+        int databaseSizeBeforeDelete = workLogRepository.findAll().size();
+
+        restWorkLogMockMvc.perform(delete("/api/work-logs/{id}", workLog.getId())
+            .accept(TestUtil.APPLICATION_JSON_UTF8))
+            .andExpect(status().isOk());
+
+        assertThat(workLogRepository.findAll()).hasSize(databaseSizeBeforeDelete - 1);
+    }
+
+    @Test
+    @Transactional
+    public void equalsVerifier() throws Exception {
+        TestUtil.equalsVerifier(WorkLog.class);
+    }
+}
@@ -0,0 +1,274 @@
+package com.arnellconsulting.worktajm.ms.web.rest;
+
+import com.arnellconsulting.worktajm.ms.WorktajmMsApp;
+import com.arnellconsulting.worktajm.ms.domain.Worker;
+import com.arnellconsulting.worktajm.ms.domain.enumeration.Role;
+import com.arnellconsulting.worktajm.ms.repository.WorkerRepository;
+import com.arnellconsulting.worktajm.ms.service.WorkerService;
+import com.arnellconsulting.worktajm.ms.service.dto.WorkerDTO;
+import com.arnellconsulting.worktajm.ms.service.mapper.WorkerMapper;
+import com.arnellconsulting.worktajm.ms.web.rest.errors.ExceptionTranslator;
+import com.arnellconsulting.worktajm.ms.web.rest.util.SeekCursor;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Test class for the WorkerResource REST controller.
+ *
+ * @see WorkerResource
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = WorktajmMsApp.class)
+public class WorkerResourceIntTest {
+
+    private static final Long DEFAULT_WORKER_ID = 1L;
+
+    private static final String DEFAULT_FIRST_NAME = "AAAAAAAAAA";
+    private static final String UPDATED_FIRST_NAME = "BBBBBBBBBB";
+
+    private static final String DEFAULT_LAST_NAME = "AAAAAAAAAA";
+
+    private static final String DEFAULT_EMAIL = "AAAAAAAAAA";
+
+    private static final Role DEFAULT_ROLE = Role.OWNER;
+
+    private static final Pattern NEXT_LINK = Pattern.compile("<([^>]*)>; rel=\"next\"");
+
+    @Autowired
+    private WorkerRepository workerRepository;
+
+    @Autowired
+    private WorkerMapper workerMapper;
+
+    @Autowired
+    private WorkerService workerService;
+
+    @Autowired
+    private MappingJackson2HttpMessageConverter jacksonMessageConverter;
+
+    @Autowired
+    private ExceptionTranslator exceptionTranslator;
+
+    @Autowired
+    private EntityManager em;
+
+    private MockMvc restWorkerMockMvc;
+
+    private Worker worker;
+
+    @Before
+    public void setup() {
+        WorkerResource workerResource = new WorkerResource(workerService);
+        this.restWorkerMockMvc = MockMvcBuilders.standaloneSetup(workerResource)
+            .setControllerAdvice(exceptionTranslator)
+            .setMessageConverters(jacksonMessageConverter).build();
+    }
+
+    /**
+     * Create an entity for this test.
+     *
+     * This is a static method, as tests for other entities might also need it,
+     * if they test an entity which requires the current entity.
+     */
+    public static Worker createEntity(EntityManager em) {
+        return new Worker()
+            .workerId(DEFAULT_WORKER_ID)
+            .firstName(DEFAULT_FIRST_NAME)
+            .lastName(DEFAULT_LAST_NAME)
+            .email(DEFAULT_EMAIL)
+            .role(DEFAULT_ROLE);
+    }
+
+    @Before
+    public void initTest() {
+        worker = createEntity(em);
+    }
+
+    @Test
+    @Transactional
+    public void createWorker() throws Exception {
+        int databaseSizeBeforeCreate = workerRepository.findAll().size();
+
+        WorkerDTO workerDTO = workerMapper.toDto(worker);
+        restWorkerMockMvc.perform(post("/api/workers")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(workerDTO)))
+            .andExpect(status().isCreated());
+
+        List<Worker> workerList = workerRepository.findAll();
+        assertThat(workerList).hasSize(databaseSizeBeforeCreate + 1);
+        Worker testWorker = workerList.get(workerList.size() - 1);
+        assertThat(testWorker.getWorkerId()).isEqualTo(DEFAULT_WORKER_ID);
+        assertThat(testWorker.getFirstName()).isEqualTo(DEFAULT_FIRST_NAME);
+        assertThat(testWorker.getLastName()).isEqualTo(DEFAULT_LAST_NAME);
+        assertThat(testWorker.getEmail()).isEqualTo(DEFAULT_EMAIL);
+        assertThat(testWorker.getRole()).isEqualTo(DEFAULT_ROLE);
+    }
+
+    @Test
+    @Transactional
+    public void createWorkerWithExistingId() throws Exception {
+        int databaseSizeBeforeCreate = workerRepository.findAll().size();
+
+        worker.setId(1L);
+        WorkerDTO workerDTO = workerMapper.toDto(worker);
+        restWorkerMockMvc.perform(post("/api/workers")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(workerDTO)))
+            .andExpect(status().isBadRequest());
+
+        assertThat(workerRepository.findAll()).hasSize(databaseSizeBeforeCreate);
+    }
+
+    @Test
+    @Transactional
+    public void getAllWorkers() throws Exception {
+        workerRepository.saveAndFlush(worker);
+
+        restWorkerMockMvc.perform(get("/api/workers"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(jsonPath("$.[0].id").value(worker.getId().intValue()))
+            .andExpect(jsonPath("$.[*].firstName").value(hasItem(DEFAULT_FIRST_NAME)))
+            .andExpect(jsonPath("$.[*].role").value(hasItem(DEFAULT_ROLE.toString())));
+    }
+
+    @Test
+    @Transactional
+    public void getAllWorkersPageByPage() throws Exception {
+        int databaseSize = workerRepository.findAll().size();
+        for (int i = 0; i < 5; i++) {
+            workerRepository.saveAndFlush(createEntity(em));
+        }
+
+        List<Long> ids = new ArrayList<>();
+        String url = "/api/workers?size=2";
+        while (url != null) {
+            MvcResult result = restWorkerMockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn();
+            for (Number id : JsonPath.<List<Number>>read(result.getResponse().getContentAsString(), "$.[*].id")) {
+                ids.add(id.longValue());
+            }
+            String link = result.getResponse().getHeader(HttpHeaders.LINK);
+            Matcher matcher = link != null ? NEXT_LINK.matcher(link) : null;
+            url = matcher != null && matcher.find() ? matcher.group(1) : null;
+        }
+
+        assertThat(ids).hasSize(databaseSize + 5);
+        assertThat(ids).doesNotHaveDuplicates();
+        assertThat(ids).isSortedAccordingTo((a, b) -> Long.compare(b, a));
+    }
+
+    @Test
+    @Transactional
+    public void getAllWorkersWithInvalidCursor() throws Exception {
+        restWorkerMockMvc.perform(get("/api/workers?cursor=invalid"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.invalidCursor"));
+    }
+
+    @Test
+    @Transactional
+    public void getAllWorkersWithDatedCursor() throws Exception {
+        restWorkerMockMvc.perform(get("/api/workers?cursor={cursor}", SeekCursor.of(Instant.now(), 1L).encode()))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.invalidCursor"));
+    }
+
+    @Test
+    @Transactional
+    public void getWorker() throws Exception {
+        workerRepository.saveAndFlush(worker);
+
+        restWorkerMockMvc.perform(get("/api/workers/{id}", worker.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(jsonPath("$.id").value(worker.getId().intValue()))
+            .andExpect(jsonPath("$.workerId").value(DEFAULT_WORKER_ID.intValue()))
+            .andExpect(jsonPath("$.firstName").value(DEFAULT_FIRST_NAME))
+            .andExpect(jsonPath("$.lastName").value(DEFAULT_LAST_NAME))
+            .andExpect(jsonPath("$.email").value(DEFAULT_EMAIL))
+            .andExpect(jsonPath("$.role").value(DEFAULT_ROLE.toString()));
+    }
+
+    @Test
+    @Transactional
+    public void getNonExistingWorker() throws Exception {
+        restWorkerMockMvc.perform(get("/api/workers/{id}", Long.MAX_VALUE))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional
+    public void updateWorker() throws Exception {
+        workerRepository.saveAndFlush(worker);
+        int databaseSizeBeforeUpdate = workerRepository.findAll().size();
+
+        Worker updatedWorker = workerRepository.findOne(worker.getId());
+        em.detach(updatedWorker);
+        updatedWorker.firstName(UPDATED_FIRST_NAME);
+        WorkerDTO workerDTO = workerMapper.toDto(updatedWorker);
+
+        restWorkerMockMvc.perform(put("/api/workers")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(workerDTO)))
+            .andExpect(status().isOk());
+
+        List<Worker> workerList = workerRepository.findAll();
+        assertThat(workerList).hasSize(databaseSizeBeforeUpdate);
+        assertThat(workerRepository.findOne(worker.getId()).getFirstName()).isEqualTo(UPDATED_FIRST_NAME);
+    }
+
+    @Test
+    @Transactional
+    public void deleteWorker() throws Exception {
+        workerRepository.saveAndFlush(worker);
+        int databaseSizeBeforeDelete = workerRepository.findAll().size();
+
+        restWorkerMockMvc.perform(delete("/api/workers/{id}", worker.getId())
+            .accept(TestUtil.APPLICATION_JSON_UTF8))
+            .andExpect(status().isOk());
+
+        assertThat(workerRepository.findAll()).hasSize(databaseSizeBeforeDelete - 1);
+    }
+
+    @Test
+    @Transactional
+    public void equalsVerifier() throws Exception {
+        TestUtil.equalsVerifier(Worker.class);
+        TestUtil.equalsVerifier(WorkerDTO.class);
+    }
+
+    @Test
+    @Transactional
+    public void testEntityFromId() {
+        assertThat(workerMapper.fromId(42L).getId()).isEqualTo(42);
+        assertThat(workerMapper.fromId(null)).isNull();
+    }
+}